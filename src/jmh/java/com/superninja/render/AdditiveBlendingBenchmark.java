@@ -0,0 +1,129 @@
+package com.superninja.render;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One frame's light stamps (blade glow and sparkles: soft brushes at low
+ * alpha) drawn SRC_OVER against additive, into the targets the world pass
+ * can draw into. VOLATILE is an accelerated image like the BufferStrategy
+ * back buffer and needs a display; SOFTWARE is SoftwareBackend presenting
+ * into an INT_RGB image.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AdditiveBlendingBenchmark {
+
+    private static final int WIDTH = 1280;
+    private static final int HEIGHT = 720;
+    private static final int STAMPS = 1500;
+
+    @Param({"INT_RGB", "INT_ARGB_PRE", "VOLATILE", "SOFTWARE"})
+    public String target;
+
+    private final int[] x = new int[STAMPS];
+    private final int[] y = new int[STAMPS];
+    private final int[] size = new int[STAMPS];
+    private final float[] alpha = new float[STAMPS];
+    private BufferedImage brush;
+
+    private BufferedImage image;
+    private VolatileImage volatileImage;
+    private Graphics2D g;
+    private final Java2DBackend java2d = new Java2DBackend();
+    private SoftwareBackend software;
+
+    @Setup
+    public void setup() {
+        brush = GlowSprites.getBladeBrush(new Color(100, 200, 255));
+        Random random = new Random(42);
+        for (int i = 0; i < STAMPS; i++) {
+            size[i] = 16 + random.nextInt(48);
+            x[i] = random.nextInt(WIDTH - size[i]);
+            y[i] = random.nextInt(HEIGHT - size[i]);
+            alpha[i] = 0.05f + random.nextFloat() * 0.5f;
+        }
+
+        switch (target) {
+            case "INT_RGB", "SOFTWARE" -> image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+            case "INT_ARGB_PRE" -> image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB_PRE);
+            case "VOLATILE" -> {
+                if (GraphicsEnvironment.isHeadless()) {
+                    throw new IllegalStateException("VOLATILE needs a display");
+                }
+                volatileImage = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                        .getDefaultConfiguration().createCompatibleVolatileImage(WIDTH, HEIGHT);
+            }
+            default -> throw new IllegalArgumentException("Unknown target: " + target);
+        }
+        if ("SOFTWARE".equals(target)) {
+            software = new SoftwareBackend(1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (g != null) {
+            g.dispose();
+        }
+        if (volatileImage != null) {
+            volatileImage.flush();
+        }
+    }
+
+    @Benchmark
+    public void srcOver() {
+        frame(false);
+    }
+
+    @Benchmark
+    public void additive() {
+        frame(true);
+    }
+
+    private void frame(boolean additive) {
+        RenderBackend r = begin();
+        r.setAdditive(additive);
+        for (int i = 0; i < STAMPS; i++) {
+            r.drawImage(brush, x[i], y[i], size[i], size[i], alpha[i]);
+        }
+        r.setAdditive(false);
+        end();
+    }
+
+    private RenderBackend begin() {
+        if (software != null) {
+            software.begin(WIDTH, HEIGHT, 1.0, 0, 0);
+            return software;
+        }
+        if (g == null) {
+            g = volatileImage != null ? volatileImage.createGraphics() : image.createGraphics();
+        }
+        java2d.begin(g);
+        return java2d;
+    }
+
+    private void end() {
+        if (software != null) {
+            Graphics2D sink = image.createGraphics();
+            software.present(sink, WIDTH, HEIGHT);
+            sink.dispose();
+            return;
+        }
+        java2d.end();
+        // Accelerated pipelines queue SRC_OVER; wait for it like a present would
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -0,0 +1,61 @@
+package com.superninja.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TouchManager.activeTouches: one touch down and up plus a count read,
+ * ConcurrentHashMap&lt;Long, Object&gt; against a LongObjectMap guarded by
+ * its monitor (uncontended, as on the single input thread)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ActiveTouchesBenchmark {
+
+    private static final int FINGERS = 10;
+    private static final Object TOUCH = new Object();
+
+    private final Map<Long, Object> concurrent = new ConcurrentHashMap<>();
+    private final LongObjectMap<Object> primitive = new LongObjectMap<>(64);
+    private volatile int count;
+    private long nextSession;
+
+    @Setup
+    public void setup() {
+        for (long s = 0; s < FINGERS - 1; s++) {
+            concurrent.put(s, TOUCH);
+            primitive.put(s, TOUCH);
+        }
+        nextSession = FINGERS;
+    }
+
+    @Benchmark
+    public void concurrentHashMap(Blackhole bh) {
+        long session = nextSession++;
+        concurrent.put(session, TOUCH);
+        concurrent.remove(session - FINGERS + 1);
+        bh.consume(concurrent.size());
+    }
+
+    @Benchmark
+    public void longObjectMap(Blackhole bh) {
+        long session = nextSession++;
+        synchronized (primitive) {
+            primitive.put(session, TOUCH);
+            count = primitive.size();
+        }
+        synchronized (primitive) {
+            primitive.remove(session - FINGERS + 1);
+            count = primitive.size();
+        }
+        bh.consume(count);
+    }
+}
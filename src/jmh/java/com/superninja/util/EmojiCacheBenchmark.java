@@ -0,0 +1,59 @@
+package com.superninja.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmojiLoader's scaled-image caches: the per-frame lookup by pixel size,
+ * the former HashMap&lt;Integer, image&gt; per type against the
+ * size-indexed arrays EmojiLoader uses now
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EmojiCacheBenchmark {
+
+    private static final int TYPES = 12;
+    private static final int[] SIZES = {64, 72, 96, 128, 150};
+
+    private final Map<Integer, Object>[] boxed = newMaps();
+    private final Object[][] bySize = new Object[TYPES][SIZES[SIZES.length - 1] + 1];
+    private int next;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<Integer, Object>[] newMaps() {
+        return new Map[TYPES];
+    }
+
+    @Setup
+    public void setup() {
+        for (int t = 0; t < TYPES; t++) {
+            boxed[t] = new HashMap<>();
+            for (int size : SIZES) {
+                Object image = new Object();
+                boxed[t].put(size, image);
+                bySize[t][size] = image;
+            }
+        }
+    }
+
+    @Benchmark
+    public Object hashMap() {
+        int i = next = (next + 1) % (TYPES * SIZES.length);
+        return boxed[i % TYPES].get(SIZES[i % SIZES.length]);
+    }
+
+    @Benchmark
+    public Object array() {
+        int i = next = (next + 1) % (TYPES * SIZES.length);
+        Object[] sizes = bySize[i % TYPES];
+        int size = SIZES[i % SIZES.length];
+        return size < sizes.length ? sizes[size] : null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.superninja.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SuperNinjaGame frame times: add a frame and read the mean and max of
+ * the last second, ArrayDeque&lt;Double&gt; against DoubleRing
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FrameTimesBenchmark {
+
+    private static final int FRAMES = 60;
+
+    private final ArrayDeque<Double> boxed = new ArrayDeque<>(FRAMES);
+    private final DoubleRing primitive = new DoubleRing(FRAMES);
+    private double frame;
+
+    @Benchmark
+    public double arrayDeque() {
+        frame = (frame + 0.37) % 17;
+        if (boxed.size() == FRAMES) {
+            boxed.removeFirst();
+        }
+        boxed.addLast(frame);
+        double sum = 0;
+        double max = 0;
+        for (Double d : boxed) {
+            sum += d;
+            max = Math.max(max, d);
+        }
+        return sum / boxed.size() + max;
+    }
+
+    @Benchmark
+    public double doubleRing() {
+        frame = (frame + 0.37) % 17;
+        primitive.add(frame);
+        return primitive.mean() + primitive.max();
+    }
+}
@@ -0,0 +1,49 @@
+package com.superninja.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlyphAtlas.atlases: a lookup by packed colour/size key,
+ * HashMap&lt;Long, Object&gt; against LongObjectMap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GlyphAtlasLookupBenchmark {
+
+    private static final int ATLASES = 24;
+
+    private final Map<Long, Object> boxed = new HashMap<>();
+    private final LongObjectMap<Object> primitive = new LongObjectMap<>(32);
+    private final long[] keys = new long[ATLASES];
+    private int next;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < ATLASES; i++) {
+            int rgb = 0xFF000000 | (i * 0x0A1B2C);
+            keys[i] = ((long) rgb << 32) | (24 + i * 4);
+            boxed.put(keys[i], new Object());
+            primitive.put(keys[i], new Object());
+        }
+    }
+
+    @Benchmark
+    public Object hashMap() {
+        next = (next + 1) % ATLASES;
+        return boxed.get(keys[next]);
+    }
+
+    @Benchmark
+    public Object longObjectMap() {
+        next = (next + 1) % ATLASES;
+        return primitive.get(keys[next]);
+    }
+}
@@ -0,0 +1,67 @@
+package com.superninja.util;
+
+import com.superninja.objects.PowerUpType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PowerUpState timers: one tick (count down every active effect) plus the
+ * per-object effect checks, EnumMap&lt;PowerUpType, Double&gt; against
+ * EnumDoubleMap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PowerUpTimersBenchmark {
+
+    private static final double DT = 1 / 60.0;
+    private static final int CHECKS = 40;
+    private static final PowerUpType[] TYPES = PowerUpType.values();
+
+    private final Map<PowerUpType, Double> boxed = new EnumMap<>(PowerUpType.class);
+    private final EnumDoubleMap<PowerUpType> primitive = new EnumDoubleMap<>(PowerUpType.class);
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        for (PowerUpType type : TYPES) {
+            boxed.put(type, 1e9);
+            primitive.put(type, 1e9);
+        }
+    }
+
+    @Benchmark
+    public int enumMap() {
+        for (Map.Entry<PowerUpType, Double> e : boxed.entrySet()) {
+            if (e.getValue() > 0) {
+                e.setValue(Math.max(0, e.getValue() - DT));
+            }
+        }
+        int active = 0;
+        for (int i = 0; i < CHECKS; i++) {
+            Double left = boxed.get(TYPES[i % TYPES.length]);
+            if (left != null && left > 0) active++;
+        }
+        return active;
+    }
+
+    @Benchmark
+    public int enumDoubleMap() {
+        for (int i = 0; i < primitive.size(); i++) {
+            double left = primitive.getAt(i);
+            if (left > 0) {
+                primitive.putAt(i, Math.max(0, left - DT));
+            }
+        }
+        int active = 0;
+        for (int i = 0; i < CHECKS; i++) {
+            if (primitive.get(TYPES[i % TYPES.length]) > 0) active++;
+        }
+        return active;
+    }
+}
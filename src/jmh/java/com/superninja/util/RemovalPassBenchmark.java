@@ -0,0 +1,99 @@
+package com.superninja.util;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * GameEngine's per-tick removal passes over its copy-on-write object
+ * lists: a fresh ArrayList of objects plus removeAll, removing marked
+ * indices one by one from the back (one array copy each), and removeIf
+ * with a reused predicate. Every third tick `removed` of forty objects
+ * leave: one as in normal play, or many at once as when a round ends or
+ * sliced halves fall off together.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RemovalPassBenchmark {
+
+    private static final int OBJECTS = 40;
+
+    /** Stands in for a game object whose update decides it leaves */
+    private static final class Item {
+        boolean gone;
+    }
+
+    @Param({"1", "20"})
+    public int removed;
+
+    private final List<Item> objects = new CopyOnWriteArrayList<>();
+    private final IntArrayList removeIndices = new IntArrayList();
+    private final Predicate<Item> gone = item -> item.gone;
+    private int tick;
+
+    @Setup
+    public void setup() {
+        for (int i = 0; i < OBJECTS; i++) {
+            objects.add(new Item());
+        }
+    }
+
+    /** The update pass: mark this tick's leavers (same cost for all) */
+    private void update() {
+        tick++;
+        for (int i = 0; i < objects.size(); i++) {
+            objects.get(i).gone = tick % 3 == 0 && Math.floorMod(i - tick, OBJECTS) < removed;
+        }
+    }
+
+    /** Spawn replacements so the list stays at OBJECTS (same cost for all) */
+    private int refill() {
+        while (objects.size() < OBJECTS) {
+            objects.add(new Item());
+        }
+        return objects.size();
+    }
+
+    @Benchmark
+    public int arrayListRemoveAll() {
+        update();
+        List<Item> toRemove = new ArrayList<>();
+        for (Item item : objects) {
+            if (item.gone) {
+                toRemove.add(item);
+            }
+        }
+        objects.removeAll(toRemove);
+        return refill();
+    }
+
+    @Benchmark
+    public int removeByIndex() {
+        update();
+        removeIndices.clear();
+        for (int i = 0; i < objects.size(); i++) {
+            if (objects.get(i).gone) {
+                removeIndices.add(i);
+            }
+        }
+        for (int i = removeIndices.size() - 1; i >= 0; i--) {
+            objects.remove(removeIndices.get(i));
+        }
+        return refill();
+    }
+
+    @Benchmark
+    public int removeIf() {
+        update();
+        objects.removeIf(gone);
+        return refill();
+    }
+}
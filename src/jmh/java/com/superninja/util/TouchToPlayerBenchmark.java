@@ -0,0 +1,58 @@
+package com.superninja.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameEngine.touchToPlayer: a touch's life (down, moves, up) with ten
+ * fingers on the table, HashMap&lt;Long, Integer&gt; against LongIntMap
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TouchToPlayerBenchmark {
+
+    private static final int FINGERS = 10;
+    private static final int MOVES = 30;
+
+    private final Map<Long, Integer> boxed = new HashMap<>();
+    private final LongIntMap primitive = new LongIntMap(16, 0);
+    private long nextSession;
+
+    @Setup
+    public void setup() {
+        for (long s = 0; s < FINGERS - 1; s++) {
+            boxed.put(s, (int) (s & 1) + 1);
+            primitive.put(s, (int) (s & 1) + 1);
+        }
+        nextSession = FINGERS;
+    }
+
+    @Benchmark
+    public void hashMap(Blackhole bh) {
+        long session = nextSession++;
+        boxed.put(session, 1);
+        for (int i = 0; i < MOVES; i++) {
+            Integer player = boxed.get(session - (i % FINGERS));
+            bh.consume(player == null ? 0 : player);
+        }
+        boxed.remove(session - FINGERS + 1);
+    }
+
+    @Benchmark
+    public void longIntMap(Blackhole bh) {
+        long session = nextSession++;
+        primitive.put(session, 1);
+        for (int i = 0; i < MOVES; i++) {
+            bh.consume(primitive.get(session - (i % FINGERS)));
+        }
+        primitive.remove(session - FINGERS + 1);
+    }
+}
@@ -1,21 +1,32 @@
 package com.superninja;
 
 import com.superninja.config.GameConfig;
+import com.superninja.config.HardwareProfile;
 import com.superninja.engine.GameEngine;
+import com.superninja.engine.GameEventBatch;
 import com.superninja.input.InputSimulator;
 import com.superninja.input.TouchListener;
 import com.superninja.input.TouchManager;
 import com.superninja.input.TouchPoint;
-import com.superninja.objects.GameObject;
-import com.superninja.objects.Player;
+import com.superninja.input.TuioLoadGenerator;
 import com.superninja.render.EmojiLoader;
+import com.superninja.render.FrameAllocationCounter;
 import com.superninja.render.GameRenderer;
+import com.superninja.render.GlowSprites;
+import com.superninja.render.GlyphAtlas;
+import com.superninja.render.QualityGovernor;
+import com.superninja.render.QualityTier;
+import com.superninja.render.RenderResources;
+import com.superninja.replay.InputRecorder;
+import com.superninja.util.DoubleRing;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.image.BufferStrategy;
+import java.io.IOException;
+import java.util.concurrent.Flow;
 
 /**
  * Main game class for SuperNinja using Canvas with BufferStrategy
@@ -27,7 +38,8 @@ import java.awt.image.BufferStrategy;
  * using TUIO protocol for touch input.
  */
 public class SuperNinjaGame extends Canvas implements Runnable,
-        InputSimulator.KeyboardListener, GameEngine.GameEventListener, TouchListener {
+        InputSimulator.KeyboardListener, TouchListener,
+        QualityGovernor.TierListener {
     
     private static final String TITLE = "SuperNinja";
     private static final int NUM_BUFFERS = 2; // Double buffering
@@ -35,6 +47,7 @@ public class SuperNinjaGame extends Canvas implements Runnable,
     // Window
     private Frame frame;
     private boolean fullscreen;
+    private boolean exclusiveFullscreen; // The device's full-screen window is ours
     private GraphicsDevice graphicsDevice;
     
     // Game state
@@ -47,6 +60,8 @@ public class SuperNinjaGame extends Canvas implements Runnable,
     private GameRenderer renderer;
     private TouchManager touchManager;
     private InputSimulator inputSimulator;
+    private TuioLoadGenerator loadGenerator;
+    private InputRecorder inputRecorder;
     
     // Screen dimensions
     private int screenWidth;
@@ -55,7 +70,12 @@ public class SuperNinjaGame extends Canvas implements Runnable,
     // Performance tracking
     private int fps;
     private int ups;
-    private double avgFrameTime = 0;
+    private final DoubleRing frameTimes = new DoubleRing(GameConfig.TARGET_FPS); // Last second of frame times (ms)
+    private final FrameAllocationCounter allocationCounter = new FrameAllocationCounter();
+    private final QualityGovernor qualityGovernor = new QualityGovernor();
+    private long updateNanos; // Update time since the last rendered frame
+    
+    private static final Color CLEAR_COLOR = new Color(10, 10, 20);
     
     public SuperNinjaGame() {
         this.fullscreen = GameConfig.FULLSCREEN;
@@ -81,6 +101,10 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         // Preload emoji images
         EmojiLoader.loadEmojis();
         
+        // Pre-rasterise score popup text and shared render resources
+        GlyphAtlas.preload();
+        RenderResources.preload();
+        
         // Create window
         createWindow();
         
@@ -88,7 +112,7 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         BufferStrategy bs = null;
         for (int i = 0; i < 10 && bs == null; i++) {
             try {
-                createBufferStrategy(NUM_BUFFERS);
+                createBuffers();
                 bs = getBufferStrategy();
                 Thread.sleep(100);
             } catch (InterruptedException e) {
@@ -101,13 +125,16 @@ public class SuperNinjaGame extends Canvas implements Runnable,
             return;
         }
         bufferStrategy = bs;
+        logPresentation();
         
         // Initialize renderer
         renderer = new GameRenderer(screenWidth, screenHeight);
         
         // Initialize game engine
         engine = new GameEngine(screenWidth, screenHeight);
-        engine.addListener(this);
+        engine.getEvents().subscribe(new EventLog());
+        qualityGovernor.addListener(this);
+        qualityGovernor.setResolutionScaler(renderer.getResolutionScaler());
         
         // Initialize input
         initInput();
@@ -115,6 +142,9 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         // Recalculate config values for actual screen size
         GameConfig.recalculatePixelValues(screenWidth, screenHeight);
         
+        // Glow animations depend on the recalculated object sizes
+        GlowSprites.preload();
+        
         System.out.println("SuperNinja initialized. Screen: " + screenWidth + "x" + screenHeight);
     }
     
@@ -150,14 +180,19 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         frame.add(this);
         frame.pack();
         
-        if (fullscreen) {
-            frame.setLocation(0, 0);
+        if (fullscreen && GameConfig.EXCLUSIVE_FULLSCREEN && enterExclusiveFullscreen()) {
+            // The device shows and sizes the frame
+            setPreferredSize(new Dimension(screenWidth, screenHeight));
+            frame.validate();
         } else {
-            frame.setLocationRelativeTo(null);
+            if (fullscreen) {
+                frame.setLocation(0, 0);
+            } else {
+                frame.setLocationRelativeTo(null);
+            }
+            frame.setVisible(true);
         }
         
-        frame.setVisible(true);
-        
         System.out.println("Canvas size: " + getWidth() + "x" + getHeight());
         
         // Window listener
@@ -174,7 +209,125 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         frame.repaint();
     }
     
+    /**
+     * Make the frame the device's full-screen window and optionally switch
+     * to the configured refresh rate. Falls back (returns false) if the
+     * device does not support it or does not accept the window.
+     */
+    private boolean enterExclusiveFullscreen() {
+        if (!graphicsDevice.isFullScreenSupported()) {
+            System.out.println("Exclusive fullscreen not supported - using undecorated window");
+            return false;
+        }
+        
+        frame.setResizable(false);
+        try {
+            graphicsDevice.setFullScreenWindow(frame);
+        } catch (RuntimeException e) {
+            System.err.println("Exclusive fullscreen failed: " + e.getMessage());
+        }
+        if (graphicsDevice.getFullScreenWindow() != frame) {
+            graphicsDevice.setFullScreenWindow(null);
+            System.out.println("Exclusive fullscreen refused - using undecorated window");
+            return false;
+        }
+        exclusiveFullscreen = true;
+        
+        if (GameConfig.DISPLAY_REFRESH_RATE > 0) {
+            if (graphicsDevice.isDisplayChangeSupported()) {
+                DisplayMode mode = chooseDisplayMode(GameConfig.DISPLAY_REFRESH_RATE);
+                if (mode != null && !mode.equals(graphicsDevice.getDisplayMode())) {
+                    try {
+                        graphicsDevice.setDisplayMode(mode);
+                    } catch (IllegalArgumentException | UnsupportedOperationException e) {
+                        System.err.println("Display mode change failed: " + e.getMessage());
+                    }
+                }
+            } else {
+                System.out.println("Display mode changes not supported - keeping desktop mode");
+            }
+        }
+        
+        DisplayMode current = graphicsDevice.getDisplayMode();
+        screenWidth = current.getWidth();
+        screenHeight = current.getHeight();
+        return true;
+    }
+    
+    /**
+     * Pick a display mode at the current resolution with the refresh rate
+     * closest to the target, preferring 16 bits per pixel for the
+     * low-bandwidth profile and the current depth otherwise
+     * @return The mode, or null if the device lists none at this resolution
+     */
+    private DisplayMode chooseDisplayMode(int refreshRate) {
+        DisplayMode current = graphicsDevice.getDisplayMode();
+        int depth = GameConfig.HARDWARE_PROFILE.getLayerBits() == 16 ? 16 : current.getBitDepth();
+        
+        DisplayMode best = null;
+        for (int pass = 0; pass < 2 && best == null; pass++) {
+            // Second pass accepts any depth if the preferred one is not offered
+            for (DisplayMode mode : graphicsDevice.getDisplayModes()) {
+                if (mode.getWidth() != current.getWidth() || mode.getHeight() != current.getHeight()) continue;
+                if (pass == 0 && mode.getBitDepth() != depth
+                        && mode.getBitDepth() != DisplayMode.BIT_DEPTH_MULTI) continue;
+                if (best == null || refreshDistance(mode, refreshRate) < refreshDistance(best, refreshRate)) {
+                    best = mode;
+                }
+            }
+        }
+        return best;
+    }
+    
+    private static int refreshDistance(DisplayMode mode, int refreshRate) {
+        if (mode.getRefreshRate() == DisplayMode.REFRESH_RATE_UNKNOWN) return Integer.MAX_VALUE;
+        return Math.abs(mode.getRefreshRate() - refreshRate);
+    }
+    
+    /**
+     * Create the buffer strategy, asking for accelerated page flipping first
+     * (only granted in exclusive fullscreen on most platforms)
+     */
+    private void createBuffers() {
+        if (exclusiveFullscreen) {
+            BufferCapabilities flip = new BufferCapabilities(new ImageCapabilities(true),
+                    new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED);
+            try {
+                createBufferStrategy(NUM_BUFFERS, flip);
+                return;
+            } catch (AWTException e) {
+                System.out.println("Page flipping not available (" + e.getMessage() + ") - blitting");
+            }
+        }
+        createBufferStrategy(NUM_BUFFERS);
+    }
+    
+    /**
+     * Log how frames actually reach the screen
+     */
+    private void logPresentation() {
+        String window = exclusiveFullscreen ? "exclusive fullscreen" : fullscreen ? "undecorated window" : "window";
+        BufferCapabilities caps = bufferStrategy.getCapabilities();
+        String present = caps.isPageFlipping()
+                ? "page flipping" + (caps.getFlipContents() != null ? " (" + caps.getFlipContents() + ")" : "")
+                : "blitting";
+        DisplayMode mode = graphicsDevice.getDisplayMode();
+        System.out.println("Presentation: " + window + ", " + present + ", " + mode.getWidth() + "x" + mode.getHeight()
+                + " @ " + (mode.getRefreshRate() == DisplayMode.REFRESH_RATE_UNKNOWN ? "?" : mode.getRefreshRate())
+                + " Hz, " + mode.getBitDepth() + "-bit");
+    }
+    
     private void initInput() {
+        // Record each match's input as the engine applies it, on the recorder's time grid
+        if (GameConfig.INPUT_RECORDING) {
+            inputRecorder = new InputRecorder(engine, screenWidth, screenHeight);
+            engine.addListener(inputRecorder);
+            engine.setInputListener(inputRecorder);
+            engine.setClock(inputRecorder::now);
+            inputRecorder.start();
+            System.out.println("Recording input to " + GameConfig.INPUT_RECORDING_DIR);
+        }
+        
         // Initialize TUIO touch manager
         touchManager = new TouchManager();
         touchManager.addListener(engine);
@@ -185,7 +338,23 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         if (!tuioConnected) {
             System.out.println("TUIO not available - using mouse simulation");
         } else {
-            System.out.println("TUIO connected on port " + GameConfig.TUIO_PORT);
+            System.out.println("TUIO connected on " + (GameConfig.TUIO_SOURCES.isBlank() || !GameConfig.TUIO_NIO_RECEIVER
+                    ? "port " + GameConfig.TUIO_PORT : "sources " + GameConfig.TUIO_SOURCES));
+        }
+        
+        if (GameConfig.TUIO_STORM) {
+            loadGenerator = new TuioLoadGenerator(GameConfig.TUIO_PORT);
+            loadGenerator.setMonitor(touchManager);
+            loadGenerator.addQueue("engine", engine::getQueuedTouches);
+            if (inputRecorder != null) {
+                loadGenerator.addQueue("recorder", inputRecorder::getQueuedRecords);
+            }
+            try {
+                loadGenerator.start();
+            } catch (IOException e) {
+                System.err.println("Failed to start TUIO load generator: " + e.getMessage());
+                loadGenerator = null;
+            }
         }
         
         // Initialize input simulator (mouse/keyboard)
@@ -224,6 +393,15 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         running = false;
         
         // Disconnect TUIO
+        if (loadGenerator != null) {
+            loadGenerator.stop();
+        }
+        if (inputRecorder != null) {
+            inputRecorder.stop();
+        }
+        if (engine != null) {
+            engine.getEvents().close();
+        }
         if (touchManager != null) {
             touchManager.disconnect();
         }
@@ -236,6 +414,15 @@ public class SuperNinjaGame extends Canvas implements Runnable,
             e.printStackTrace();
         }
         
+        if (renderer != null) {
+            renderer.dispose();
+        }
+        
+        // Give the display back (restores the desktop display mode)
+        if (exclusiveFullscreen) {
+            graphicsDevice.setFullScreenWindow(null);
+        }
+        
         // Dispose frame
         if (frame != null) {
             frame.dispose();
@@ -274,7 +461,9 @@ public class SuperNinjaGame extends Canvas implements Runnable,
             // Update at fixed timestep
             while (delta >= 1) {
                 double deltaTime = 1.0 / GameConfig.TARGET_FPS;
+                long updateStart = System.nanoTime();
                 update(deltaTime);
+                updateNanos += System.nanoTime() - updateStart;
                 updates++;
                 delta--;
             }
@@ -292,8 +481,12 @@ public class SuperNinjaGame extends Canvas implements Runnable,
                 updates = 0;
                 
                 if (GameConfig.TUIO_DEBUG) {
-                    System.out.println("FPS: " + fps + " UPS: " + ups);
+                    System.out.println("FPS: " + fps + " UPS: " + ups
+                            + " Alloc: " + (long) (allocationCounter.getAverageFrameBytes() / 1024) + " KB/frame"
+                            + " (peak " + (allocationCounter.getPeakFrameBytes() / 1024) + " KB)"
+                            + " Quality: " + qualityGovernor.getTier());
                 }
+                allocationCounter.resetPeak();
             }
             
             // Small sleep to prevent 100% CPU usage
@@ -309,7 +502,7 @@ public class SuperNinjaGame extends Canvas implements Runnable,
      * Update game state
      */
     private void update(double deltaTime) {
-        // Update engine
+        // Update engine (applies the touches queued since the last update)
         engine.update(deltaTime);
         
         // Update renderer
@@ -325,12 +518,13 @@ public class SuperNinjaGame extends Canvas implements Runnable,
     private void render() {
         // BufferStrategy can become invalid
         if (bufferStrategy == null) {
-            createBufferStrategy(NUM_BUFFERS);
+            createBuffers();
             bufferStrategy = getBufferStrategy();
             return;
         }
         
         long renderStart = System.nanoTime();
+        long drawEnd = renderStart;
         
         // Render loop - may need multiple attempts if buffer is lost
         do {
@@ -350,7 +544,7 @@ public class SuperNinjaGame extends Canvas implements Runnable,
                     }
                     
                     // Clear background
-                    g2d.setColor(new Color(10, 10, 20));
+                    g2d.setColor(CLEAR_COLOR);
                     g2d.fillRect(0, 0, w, h);
                     
                     // Render game if ready
@@ -361,24 +555,28 @@ public class SuperNinjaGame extends Canvas implements Runnable,
                             screenHeight = h;
                             engine.setScreenSize(w, h);
                             renderer.setScreenSize(w, h);
+                            qualityGovernor.reset();
                             if (inputSimulator != null) {
                                 inputSimulator.setScreenSize(w, h);
                             }
                         }
                         
-                        // Main render
+                        // Main render (measured for per-frame allocations)
+                        allocationCounter.beginFrame();
                         renderer.render(g2d, engine, w, h);
+                        allocationCounter.endFrame();
                         
                         // Debug info overlay
                         if (GameConfig.TUIO_DEBUG) {
+                            renderer.renderDebugInfo(g2d, engine, allocationCounter, qualityGovernor);
                             g2d.setColor(Color.YELLOW);
-                            g2d.setFont(new Font("Monospaced", Font.PLAIN, 12));
-                            g2d.drawString("FPS: " + fps + " | Frame: " + String.format("%.1f", avgFrameTime) + "ms | " + w + "x" + h, 10, h - 30);
+                            g2d.setFont(RenderResources.font(RenderResources.MONOSPACED, Font.PLAIN, 12));
+                            g2d.drawString("FPS: " + fps + " | Frame: " + String.format("%.1f avg %.1f max", frameTimes.mean(), frameTimes.max()) + "ms | " + w + "x" + h, 10, h - 30);
                         }
                     } else {
                         // Show loading message
                         g2d.setColor(Color.WHITE);
-                        g2d.setFont(new Font("SansSerif", Font.BOLD, 32));
+                        g2d.setFont(RenderResources.font(RenderResources.SANS_SERIF, Font.BOLD, 32));
                         g2d.drawString("Loading...", w/2 - 60, h/2);
                     }
                     
@@ -392,6 +590,7 @@ public class SuperNinjaGame extends Canvas implements Runnable,
             } while (bufferStrategy.contentsRestored()); // Repeat if contents were restored
             
             // Show the buffer
+            drawEnd = System.nanoTime();
             bufferStrategy.show();
             
         } while (bufferStrategy.contentsLost()); // Repeat if contents were lost
@@ -402,7 +601,11 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         // Track frame time for performance monitoring
         long renderEnd = System.nanoTime();
         double frameTime = (renderEnd - renderStart) / 1_000_000.0;
-        avgFrameTime = avgFrameTime * 0.95 + frameTime * 0.05; // Smooth average
+        frameTimes.add(frameTime);
+        
+        // Effect quality follows the frame's work time (present and vsync waits excluded)
+        qualityGovernor.recordFrame((updateNanos + drawEnd - renderStart) / 1_000_000.0);
+        updateNanos = 0;
     }
     
     // ========================================
@@ -443,39 +646,64 @@ public class SuperNinjaGame extends Canvas implements Runnable,
     }
     
     // ========================================
-    // GameEventListener Implementation
+    // Engine Events
     // ========================================
     
-    @Override
-    public void onStateChanged(GameEngine.GameState newState) {
-        if (GameConfig.TUIO_DEBUG) {
-            System.out.println("Game state: " + newState);
+    /**
+     * Console log of the game's events, on the publisher's delivery thread
+     * so printing never holds up an engine update
+     */
+    private static final class EventLog implements Flow.Subscriber<GameEventBatch> {
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
         }
-    }
-    
-    @Override
-    public void onRoundEnd(Player roundWinner, int round) {
-        String winner = roundWinner != null ? roundWinner.getName() : "No one";
-        System.out.println("Round " + round + " ended. Winner: " + winner);
-    }
-    
-    @Override
-    public void onGameOver(Player winner) {
-        System.out.println("Game Over! " + winner.getName() + " wins with " + 
-                          winner.getScore() + " points!");
-    }
-    
-    @Override
-    public void onSlice(GameObject obj, int playerId, int points, boolean critical) {
-        if (GameConfig.TUIO_DEBUG) {
-            System.out.println("Player " + playerId + " sliced " + obj.getType().getName() + 
-                              " for " + points + " pts" + (critical ? " (CRITICAL!)" : ""));
+        
+        @Override
+        public void onNext(GameEventBatch events) {
+            for (int i = 0; i < events.size(); i++) {
+                switch (events.kind(i)) {
+                    case STATE_CHANGED -> {
+                        if (GameConfig.TUIO_DEBUG) {
+                            System.out.println("Game state: " + events.state(i));
+                        }
+                    }
+                    case ROUND_END -> {
+                        String winner = events.playerId(i) != 0 ? "Player " + events.playerId(i) : "No one";
+                        System.out.println("Round " + events.round(i) + " ended. Winner: " + winner);
+                    }
+                    case GAME_OVER -> System.out.println("Game Over! Player " + events.playerId(i)
+                            + " wins with " + events.points(i) + " points!");
+                    case SLICE -> {
+                        if (GameConfig.TUIO_DEBUG) {
+                            System.out.println("Player " + events.playerId(i) + " sliced " + events.objectType(i).getName()
+                                    + " for " + events.points(i) + " pts" + (events.critical(i) ? " (CRITICAL!)" : ""));
+                        }
+                    }
+                    case BOMB_HIT -> System.out.println("Player " + events.playerId(i) + " hit a bomb!");
+                }
+            }
         }
+        
+        @Override
+        public void onError(Throwable error) {
+            System.err.println("SuperNinjaGame: Event log stopped: " + error.getMessage());
+        }
+        
+        @Override
+        public void onComplete() {}
     }
     
+    // ========================================
+    // TierListener Implementation
+    // ========================================
+    
     @Override
-    public void onBombHit(int playerId) {
-        System.out.println("Player " + playerId + " hit a bomb!");
+    public void onQualityTierChanged(QualityTier previous, QualityTier current, double averageFrameMs) {
+        System.out.println("Quality " + previous + " -> " + current + " (avg frame "
+                + String.format("%.1f", averageFrameMs) + " ms, " 
+                + qualityGovernor.getTierChanges() + " changes)");
     }
     
     // ========================================
@@ -489,16 +717,41 @@ public class SuperNinjaGame extends Canvas implements Runnable,
         System.out.println("=================================");
         
         // Parse command line arguments
+        HardwareProfile profile = null;
+        Boolean additive = null;
         for (String arg : args) {
             switch (arg.toLowerCase()) {
                 case "-w", "--windowed" -> GameConfig.FULLSCREEN = false;
                 case "-d", "--debug" -> GameConfig.TUIO_DEBUG = true;
+                case "--tuio-lib" -> GameConfig.TUIO_NIO_RECEIVER = false;
+                case "-s", "--split" -> GameConfig.SPLIT_RENDERING = true;
+                case "-r", "--software" -> GameConfig.SOFTWARE_RENDERER = true;
+                case "--additive" -> additive = true;
+                case "--no-additive" -> additive = false;
+                case "-l", "--low-bandwidth" -> profile = HardwareProfile.LOW_BANDWIDTH;
+                case "-e", "--exclusive" -> GameConfig.EXCLUSIVE_FULLSCREEN = true;
+                case "--storm" -> GameConfig.TUIO_STORM = true;
+                case "--record" -> GameConfig.INPUT_RECORDING = true;
                 case "-h", "--help" -> {
                     System.out.println("SuperNinja - Competitive Fruit Ninja Clone");
                     System.out.println("Usage: java -jar superninja.jar [options]");
                     System.out.println("Options:");
                     System.out.println("  -w, --windowed  Run in windowed mode");
                     System.out.println("  -d, --debug     Enable debug output");
+                    System.out.println("  --tuio-lib      Receive TUIO through tuio-lib instead of the built-in receiver");
+                    System.out.println("  --tuio-sources=\"PORT[:A,B,C,D,E,F];...\"  Merge several TUIO sensors (affine into table space)");
+                    System.out.println("  -s, --split     Render the two table halves on two threads");
+                    System.out.println("  -r, --software  Rasterise the world in software (int[] framebuffer)");
+                    System.out.println("  --additive, --no-additive  Additive light effects (default: with --software only)");
+                    System.out.println("  -l, --low-bandwidth  16-bit layers and bitmask sprites (same as --profile=low-bandwidth)");
+                    System.out.println("  --profile=NAME  Hardware profile: standard or low-bandwidth (default: detect)");
+                    System.out.println("  -e, --exclusive Exclusive fullscreen with page flipping");
+                    System.out.println("  --refresh=HZ    Display refresh rate in exclusive fullscreen");
+                    System.out.println("  --record        Record every match's input to " + GameConfig.INPUT_RECORDING_DIR + "/");
+                    System.out.println("  --seed=N        Fixed gameplay random seed");
+                    System.out.println("  --storm         Send synthetic TUIO swipes to the TUIO port (load test)");
+                    System.out.println("  --storm-sessions=N, --storm-rate=HZ, --storm-drop=F, --storm-lost-up=F,");
+                    System.out.println("  --storm-pattern=line|zigzag|circle|mixed  Load generator settings");
                     System.out.println("  -h, --help      Show this help");
                     System.out.println("\nControls:");
                     System.out.println("  Touch/Mouse    Slice fruits");
@@ -507,8 +760,36 @@ public class SuperNinjaGame extends Canvas implements Runnable,
                     System.out.println("  R              Restart game");
                     System.exit(0);
                 }
+                default -> {
+                    if (arg.toLowerCase().startsWith("--refresh=")) {
+                        try {
+                            GameConfig.DISPLAY_REFRESH_RATE = Integer.parseInt(arg.substring("--refresh=".length()));
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid refresh rate: " + arg);
+                        }
+                    } else if (arg.toLowerCase().startsWith("--tuio-sources=")) {
+                        GameConfig.TUIO_SOURCES = arg.substring("--tuio-sources=".length());
+                    } else if (arg.toLowerCase().startsWith("--seed=")) {
+                        try {
+                            GameConfig.GAME_SEED = Long.parseLong(arg.substring("--seed=".length()));
+                        } catch (NumberFormatException e) {
+                            System.err.println("Invalid seed: " + arg);
+                        }
+                    } else if (TuioLoadGenerator.parseOption(arg)) {
+                        GameConfig.TUIO_STORM = true;
+                    } else if (arg.toLowerCase().startsWith("--profile=")) {
+                        profile = HardwareProfile.fromName(arg.substring("--profile=".length()));
+                        if (profile == null) {
+                            System.err.println("Unknown hardware profile: " + arg + " (using detection)");
+                        }
+                    }
+                }
             }
         }
+        GameConfig.HARDWARE_PROFILE = profile != null ? profile : HardwareProfile.detect();
+        GameConfig.ADDITIVE_BLENDING = additive != null ? additive : GameConfig.SOFTWARE_RENDERER;
+        System.out.println("Hardware profile: " + GameConfig.HARDWARE_PROFILE
+                + " (" + GameConfig.HARDWARE_PROFILE.getLayerBits() + "-bit layers)");
         
         // Use EDT for Swing components
         SuperNinjaGame game = new SuperNinjaGame();
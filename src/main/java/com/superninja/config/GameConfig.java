@@ -19,6 +19,46 @@ public class GameConfig {
     public static boolean FULLSCREEN = true;
     public static boolean VSYNC_ENABLED = true;
     
+    /** Take the display exclusively (page flipping) instead of covering it with an undecorated window */
+    public static boolean EXCLUSIVE_FULLSCREEN = false;
+    
+    /** Refresh rate to switch to in exclusive fullscreen (0 = keep the desktop's display mode) */
+    public static int DISPLAY_REFRESH_RATE = 0;
+    
+    /** Render the world at a reduced internal resolution when frames get slow */
+    public static boolean DYNAMIC_RESOLUTION = true;
+    
+    /** Lowest internal resolution scale for the world pass */
+    public static final double MIN_RENDER_SCALE = 0.5;
+    
+    /** Render time budget per frame (leaves headroom for present and input) */
+    public static final double RENDER_BUDGET_MS = 12.0;
+    
+    /** Step effect quality down (fewer particles, no glows) when frames get slow */
+    public static boolean QUALITY_GOVERNOR_ENABLED = true;
+    
+    /** Draw the world pass as two halves on two worker threads */
+    public static boolean SPLIT_RENDERING = false;
+    
+    /** Rasterise the world pass into an int[] framebuffer instead of drawing through Java2D */
+    public static boolean SOFTWARE_RENDERER = false;
+    
+    /** Horizontal bands the software renderer rasterises in parallel (1 = game thread only) */
+    public static int SOFTWARE_RENDER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+    
+    /**
+     * Draw sparkles, sparks and blade glow with additive blending (false = SRC_OVER overdraw).
+     * Set at startup to SOFTWARE_RENDERER unless --additive or --no-additive is given: Java2D
+     * runs the additive composite on the CPU and reads the back buffer back for every stamp.
+     */
+    public static boolean ADDITIVE_BLENDING = false;
+    
+    /** Layer formats and sprite transparency for the table PC (detected from the display unless set with --profile) */
+    public static HardwareProfile HARDWARE_PROFILE = HardwareProfile.STANDARD;
+    
+    /** Frame work time budget for the quality governor (update + draw, excluding present) */
+    public static final double FRAME_BUDGET_MS = 1000.0 / 60;
+    
     // ============================================
     // TUIO Settings
     // ============================================
@@ -27,6 +67,73 @@ public class GameConfig {
     public static final int MAX_TOUCH_POINTS = 32;
     public static boolean TUIO_DEBUG = false;
     
+    /** Receive TUIO with the built-in NIO receiver (false = tuio-lib TuioClient) */
+    public static boolean TUIO_NIO_RECEIVER = true;
+    
+    /**
+     * Several TUIO sensors, one port each, merged into one touch stream
+     * (built-in receiver only): "port[:a,b,c,d,e,f];..." where the optional
+     * affine maps sensor to table coordinates, x' = a*x + b*y + c and
+     * y' = d*x + e*y + f. Empty = TUIO_PORT alone (--tuio-sources=)
+     */
+    public static String TUIO_SOURCES = "";
+    /** Touches of two sensors closer than this are one finger (table widths) */
+    public static double TUIO_SEAM_DISTANCE = 0.03;
+    /** How long a touch lifted at a sensor's edge waits to be picked up by the next sensor (ms) */
+    public static double TUIO_SEAM_HANDOFF_MS = 120;
+    
+    /** Smooth touch jitter (One-Euro filter) and draw the blade tip ahead of the sensor */
+    public static boolean TOUCH_FILTER_ENABLED = true;
+    /** Filter cutoff at rest (Hz); lower = steadier but laggier slow strokes */
+    public static double TOUCH_FILTER_MIN_CUTOFF = 2.0;
+    /** Cutoff increase per unit of speed (screens per second); higher = less lag on fast swipes */
+    public static double TOUCH_FILTER_BETA = 20.0;
+    /** Cutoff for the velocity estimate (Hz) */
+    public static double TOUCH_FILTER_DERIVATIVE_CUTOFF = 1.0;
+    /** Prediction horizon for TUIO touches: tracker, UDP, tick and buffering latency (ms) */
+    public static double TUIO_PREDICTION_MS = 30;
+    /** Prediction horizon for mouse input (tick and buffering only) (ms) */
+    public static double MOUSE_PREDICTION_MS = 12;
+    
+    // ============================================
+    // TUIO Load Generator (touch-storm testing)
+    // ============================================
+    
+    /** Run the TUIO load generator alongside the game (--storm) */
+    public static boolean TUIO_STORM = false;
+    /** Concurrent synthetic sessions (one stroke at a time each) */
+    public static int STORM_SESSIONS = 32;
+    /** Bundles sent per second */
+    public static int STORM_RATE_HZ = 200;
+    /** Fraction of bundles dropped before sending (0..1) */
+    public static double STORM_DROP_RATE = 0.0;
+    /** Fraction of strokes whose session stays in the alive list after lifting (0..1) */
+    public static double STORM_LOST_UP_RATE = 0.0;
+    /** Swipe pattern: line, zigzag, circle or mixed */
+    public static String STORM_PATTERN = "mixed";
+    
+    // ============================================
+    // Input Recording and Replay
+    // ============================================
+    
+    /** Record every touch and tick of each match to a binary log (--record) */
+    public static boolean INPUT_RECORDING = false;
+    /** Directory the input logs are written to */
+    public static String INPUT_RECORDING_DIR = "recordings";
+    /** Start a new log file once the current one reaches this size (MB) */
+    public static int INPUT_RECORDING_FILE_MB = 64;
+    /** Replays keep a full game-state keyframe this often, so seeks simulate at most this far (s) */
+    public static double REPLAY_KEYFRAME_SECONDS = 1.0;
+    
+    // ============================================
+    // Engine Events
+    // ============================================
+    
+    /** Events one engine update can hold; further ones in that update are dropped */
+    public static int EVENT_RING_CAPACITY = 256;
+    /** Event batches buffered per subscriber before its overflow policy applies */
+    public static int EVENT_SUBSCRIBER_BUFFER = 256;
+    
     // ============================================
     // Game Settings
     // ============================================
@@ -43,6 +150,9 @@ public class GameConfig {
     /** Countdown before round starts */
     public static final int COUNTDOWN_SECONDS = 3;
     
+    /** Gameplay random seed; 0 draws a new seed for every match (--seed=) */
+    public static long GAME_SEED = 0;
+    
     // ============================================
     // Object Spawn Settings
     // ============================================
@@ -105,6 +215,9 @@ public class GameConfig {
     /** Trail length for blade effect */
     public static final int BLADE_TRAIL_LENGTH = 20;
     
+    /** Interval the drawn trail is resampled at (20 points cover the 150 ms trail life) */
+    public static double BLADE_TRAIL_SAMPLE_MS = 8;
+    
     /** Particle count for slice effect */
     public static final int SLICE_PARTICLE_COUNT = 15;
     
@@ -114,6 +227,15 @@ public class GameConfig {
     /** Juice splash particle count */
     public static final int JUICE_PARTICLE_COUNT = 25;
     
+    /** Capacity of the shared particle pool (new particles are dropped when full) */
+    public static final int MAX_PARTICLES = 4096;
+    
+    /** Enable persistent juice splatter under the fruit */
+    public static boolean SPLATTER_ENABLED = true;
+    
+    /** Seconds for juice splatter to fade out completely */
+    public static final double SPLATTER_FADE_SECONDS = 8.0;
+    
     // ============================================
     // Colors
     // ============================================
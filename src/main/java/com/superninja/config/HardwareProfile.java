@@ -0,0 +1,74 @@
+package com.superninja.config;
+
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+
+/**
+ * Render settings for a class of table PC.
+ * LOW_BANDWIDTH is for older machines that are limited by memory bandwidth
+ * when blitting full-screen 32-bit layers: offscreen layers are 16-bit
+ * (565), the background and splatter are pre-composited into one opaque
+ * layer, and emoji sprites use bitmask instead of full alpha. This only
+ * pays off on a 16-bit desktop; on a 32-bit one every 16-bit blit has to be
+ * converted, which is why detect() only picks it for 16-bit displays.
+ */
+public enum HardwareProfile {
+    /** 32-bit layers, translucent splatter layer, antialiased sprites */
+    STANDARD(BufferedImage.TYPE_INT_RGB, false, false),
+    /** 16-bit opaque layers, splatter baked into the background, bitmask sprites */
+    LOW_BANDWIDTH(BufferedImage.TYPE_USHORT_565_RGB, true, true);
+
+    private final int layerType;
+    private final boolean compositedTable;
+    private final boolean bitmaskSprites;
+
+    HardwareProfile(int layerType, boolean compositedTable, boolean bitmaskSprites) {
+        this.layerType = layerType;
+        this.compositedTable = compositedTable;
+        this.bitmaskSprites = bitmaskSprites;
+    }
+
+    /** BufferedImage type for opaque full-screen layers and offscreen buffers */
+    public int getLayerType() { return layerType; }
+
+    /** Bits per pixel of the opaque layers */
+    public int getLayerBits() { return layerType == BufferedImage.TYPE_USHORT_565_RGB ? 16 : 32; }
+
+    /** Splatter is composited into an opaque copy of the background instead of its own layer */
+    public boolean isCompositedTable() { return compositedTable; }
+
+    /** Emoji sprites are converted to bitmask transparency */
+    public boolean isBitmaskSprites() { return bitmaskSprites; }
+
+    /**
+     * Pick a profile for the default screen: LOW_BANDWIDTH when the
+     * desktop runs at 16 bits per pixel or less, STANDARD otherwise
+     */
+    public static HardwareProfile detect() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return STANDARD;
+        }
+        DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDisplayMode();
+        int bitDepth = mode.getBitDepth();
+        if (bitDepth != DisplayMode.BIT_DEPTH_MULTI && bitDepth <= 16) {
+            return LOW_BANDWIDTH;
+        }
+        return STANDARD;
+    }
+
+    /**
+     * Parse a profile name as given on the command line ("standard", "low-bandwidth")
+     * @return The profile, or null if the name is unknown
+     */
+    public static HardwareProfile fromName(String name) {
+        String normalized = name.trim().toUpperCase().replace('-', '_');
+        for (HardwareProfile profile : values()) {
+            if (profile.name().equals(normalized)) {
+                return profile;
+            }
+        }
+        return null;
+    }
+}
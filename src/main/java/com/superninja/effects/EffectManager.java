@@ -1,6 +1,10 @@
 package com.superninja.effects;
 
+import com.superninja.config.GameConfig;
+import com.superninja.render.RenderBackend;
+
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -10,26 +14,41 @@ import java.util.List;
  */
 public class EffectManager {
     
-    private final List<ParticleEffect> particleEffects;
+    private final ParticlePool particlePool;
+    private final List<ExplosionEffect> explosions;
     private final List<ScorePopup> scorePopups;
+    private final ParticleRenderer particleRenderer;
+    private final SplatterLayer splatterLayer;
     private ScreenShake activeShake;
     
     public EffectManager() {
-        this.particleEffects = new ArrayList<>();
+        this.particlePool = new ParticlePool(GameConfig.MAX_PARTICLES);
+        this.explosions = new ArrayList<>();
         this.scorePopups = new ArrayList<>();
+        this.particleRenderer = new ParticleRenderer();
+        this.splatterLayer = new SplatterLayer();
     }
     
     /**
      * Update all effects
      */
     public void update(double deltaTime) {
-        // Update particle effects
-        Iterator<ParticleEffect> particleIt = particleEffects.iterator();
-        while (particleIt.hasNext()) {
-            ParticleEffect effect = particleIt.next();
-            effect.update(deltaTime);
-            if (effect.isFinished()) {
-                particleIt.remove();
+        // Update all particles
+        particlePool.update(deltaTime);
+        
+        // Stamp droplets that just died into the splatter layer
+        if (GameConfig.SPLATTER_ENABLED) {
+            splatterLayer.stamp(particlePool);
+        }
+        particlePool.clearSplats();
+        splatterLayer.update(deltaTime);
+        
+        // Update explosion flashes
+        for (int i = explosions.size() - 1; i >= 0; i--) {
+            ExplosionEffect explosion = explosions.get(i);
+            explosion.update(deltaTime);
+            if (explosion.isFinished()) {
+                explosions.remove(i);
             }
         }
         
@@ -52,18 +71,51 @@ public class EffectManager {
         }
     }
     
+    /**
+     * Render persistent decals (juice splatter). Drawn under the game objects.
+     */
+    public void renderDecals(RenderBackend r, int width, int height) {
+        if (GameConfig.SPLATTER_ENABLED) {
+            splatterLayer.render(r, width, height);
+        }
+    }
+    
+    /**
+     * Render the background with the decals already composited into it
+     * (one opaque blit; used by the low-bandwidth profile instead of
+     * drawing the background and then renderDecals)
+     */
+    public void renderBackgroundWithDecals(RenderBackend r, BufferedImage background) {
+        if (GameConfig.SPLATTER_ENABLED) {
+            splatterLayer.renderComposited(r, background);
+        } else {
+            r.drawImage(background, 0, 0, 1f);
+        }
+    }
+    
     /**
      * Render all effects
      */
-    public void render(Graphics2D g2d) {
-        // Render particle effects
-        for (ParticleEffect effect : particleEffects) {
-            effect.render(g2d);
+    public void render(RenderBackend r) {
+        render(r, particleRenderer, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+    
+    /**
+     * Render the effects that may reach the column between minX and maxX,
+     * drawing particles with the given renderer (one per render thread)
+     */
+    public void render(RenderBackend r, ParticleRenderer particles, double minX, double maxX) {
+        // Render explosion flashes
+        for (ExplosionEffect explosion : explosions) {
+            explosion.render(r);
         }
         
+        // Render all particles in one batched pass
+        particles.render(r, particlePool, minX, maxX);
+        
         // Render score popups
         for (ScorePopup popup : scorePopups) {
-            popup.render(g2d);
+            popup.render(r);
         }
     }
     
@@ -71,7 +123,7 @@ public class EffectManager {
      * Add a juice splash effect
      */
     public void addJuiceSplash(double x, double y, Color color, double sliceAngle) {
-        particleEffects.add(new JuiceSplashEffect(x, y, color, sliceAngle));
+        new JuiceSplashEffect(x, y, color, sliceAngle).emit(particlePool);
     }
     
     /**
@@ -79,7 +131,8 @@ public class EffectManager {
      */
     public void addExplosion(double x, double y) {
         ExplosionEffect explosion = new ExplosionEffect(x, y);
-        particleEffects.add(explosion);
+        explosion.emit(particlePool);
+        explosions.add(explosion);
         
         // Trigger screen shake
         activeShake = new ScreenShake(explosion.getShakeIntensity(), explosion.getShakeDuration());
@@ -89,7 +142,7 @@ public class EffectManager {
      * Add a sparkle effect for special fruits
      */
     public void addSparkle(double x, double y) {
-        particleEffects.add(new SparkleEffect(x, y));
+        new SparkleEffect(x, y).emit(particlePool);
     }
     
     /**
@@ -118,11 +171,27 @@ public class EffectManager {
         return activeShake != null ? activeShake.getOffsetY() : 0;
     }
     
+    /**
+     * Get the shared particle pool
+     */
+    public ParticlePool getParticlePool() {
+        return particlePool;
+    }
+    
+    /**
+     * Get the default particle renderer (used by single-threaded rendering)
+     */
+    public ParticleRenderer getParticleRenderer() {
+        return particleRenderer;
+    }
+    
     /**
      * Clear all effects
      */
     public void clear() {
-        particleEffects.clear();
+        particlePool.clear();
+        splatterLayer.clear();
+        explosions.clear();
         scorePopups.clear();
         activeShake = null;
     }
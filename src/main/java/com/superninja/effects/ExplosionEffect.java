@@ -1,25 +1,44 @@
 package com.superninja.effects;
 
 import com.superninja.config.GameConfig;
-import java.awt.*;
+import com.superninja.render.QualityGovernor;
+import com.superninja.render.RenderBackend;
 
 /**
  * Explosion effect when hitting a bomb.
+ * Emits fire, smoke, spark and debris particles into the pool and keeps
+ * drawing the bright flash while the longest-lived particle is still young.
  */
 public class ExplosionEffect extends ParticleEffect {
     
+    private static final int YELLOW = 0xFFC832;
+    private static final int ORANGE = 0xFF6400;
+    private static final int RED_ORANGE = 0xFF3200;
+    private static final int SPARK = 0xFFFFC8;
+    private static final int DEBRIS = 0x282828;
+    private static final int FLASH = 0xFFFFC8;
+    
+    private static final int FIRE_DRAG = ParticlePool.dragIndex(0.96);
+    private static final int SMOKE_DRAG = ParticlePool.dragIndex(0.94);
+    private static final int SPARK_DRAG = ParticlePool.dragIndex(0.92);
+    private static final int DEBRIS_DRAG = ParticlePool.dragIndex(0.98);
+    
+    /** The flash fades out once the longest-lived particle has this much life left */
+    private static final double FLASH_END_LIFE = 0.6;
+    
     private double shakeIntensity;
     private double shakeDuration;
+    private double maxLife;
     
     public ExplosionEffect(double x, double y) {
         super(x, y);
         this.shakeIntensity = 20;
         this.shakeDuration = 0.3;
-        createParticles();
     }
     
-    private void createParticles() {
-        int count = GameConfig.EXPLOSION_PARTICLE_COUNT;
+    @Override
+    public void emit(ParticlePool pool) {
+        int count = QualityGovernor.getActiveTier().scaleParticles(GameConfig.EXPLOSION_PARTICLE_COUNT);
         
         // Core explosion particles (orange/yellow)
         for (int i = 0; i < count; i++) {
@@ -31,24 +50,18 @@ public class ExplosionEffect extends ParticleEffect {
             double size = 10 + Math.random() * 25;
             
             // Fire colors
-            Color color;
+            int color;
             double rand = Math.random();
             if (rand < 0.33) {
-                color = new Color(255, 200, 50); // Yellow
+                color = YELLOW;
             } else if (rand < 0.66) {
-                color = new Color(255, 100, 0);  // Orange
+                color = ORANGE;
             } else {
-                color = new Color(255, 50, 0);   // Red-orange
+                color = RED_ORANGE;
             }
             
             double life = 0.4 + Math.random() * 0.4;
-            
-            Particle p = new Particle(x, y, vx, vy, size, color, life,
-                                     Particle.ParticleShape.CIRCLE);
-            p.setGravity(100);
-            p.setDrag(0.96);
-            
-            particles.add(p);
+            emitTracked(pool, vx, vy, size, color, life, ParticleShape.CIRCLE, 100, FIRE_DRAG);
         }
         
         // Smoke particles (gray)
@@ -61,16 +74,10 @@ public class ExplosionEffect extends ParticleEffect {
             double size = 20 + Math.random() * 40;
             
             int gray = 50 + (int)(Math.random() * 50);
-            Color color = new Color(gray, gray, gray, 150);
+            int color = (gray << 16) | (gray << 8) | gray;
             
             double life = 0.6 + Math.random() * 0.6;
-            
-            Particle p = new Particle(x, y, vx, vy, size, color, life,
-                                     Particle.ParticleShape.CIRCLE);
-            p.setGravity(-50); // Float up
-            p.setDrag(0.94);
-            
-            particles.add(p);
+            emitTracked(pool, vx, vy, size, color, life, ParticleShape.CIRCLE, -50, SMOKE_DRAG); // Float up
         }
         
         // Sparks
@@ -81,15 +88,8 @@ public class ExplosionEffect extends ParticleEffect {
             double vy = Math.sin(angle) * speed;
             
             double size = 4 + Math.random() * 8;
-            Color color = new Color(255, 255, 200);
             double life = 0.2 + Math.random() * 0.3;
-            
-            Particle p = new Particle(x, y, vx, vy, size, color, life,
-                                     Particle.ParticleShape.SPARK);
-            p.setGravity(200);
-            p.setDrag(0.92);
-            
-            particles.add(p);
+            emitTracked(pool, vx, vy, size, SPARK, life, ParticleShape.SPARK, 200, SPARK_DRAG);
         }
         
         // Debris
@@ -100,34 +100,42 @@ public class ExplosionEffect extends ParticleEffect {
             double vy = Math.sin(angle) * speed;
             
             double size = 8 + Math.random() * 12;
-            Color color = new Color(40, 40, 40);
             double life = 0.5 + Math.random() * 0.5;
-            
-            Particle p = new Particle(x, y, vx, vy, size, color, life,
-                                     Particle.ParticleShape.SQUARE);
-            p.setGravity(500);
-            p.setDrag(0.98);
-            
-            particles.add(p);
+            emitTracked(pool, vx, vy, size, DEBRIS, life, ParticleShape.SQUARE, 500, DEBRIS_DRAG);
         }
     }
     
-    @Override
-    public void render(Graphics2D g2d) {
-        // Draw flash effect at the beginning
-        if (!particles.isEmpty()) {
-            double maxLife = particles.stream().mapToDouble(p -> p.life).max().orElse(0);
-            if (maxLife > 0.6) {
-                float flashAlpha = (float)((maxLife - 0.6) / 0.2);
-                int alphaValue = Math.max(0, Math.min(255, (int)(flashAlpha * 150)));
-                g2d.setColor(new Color(255, 255, 200, alphaValue));
-                int flashSize = (int)(150 * flashAlpha);
-                g2d.fillOval((int)(x - flashSize), (int)(y - flashSize), 
-                            flashSize * 2, flashSize * 2);
-            }
+    private void emitTracked(ParticlePool pool, double vx, double vy, double size, int color,
+                             double life, ParticleShape shape, double gravity, int drag) {
+        if (pool.emit(x, y, vx, vy, size, color, life, shape, gravity, drag)) {
+            maxLife = Math.max(maxLife, life);
         }
-        
-        super.render(g2d);
+    }
+    
+    /**
+     * Age the flash
+     */
+    public void update(double deltaTime) {
+        maxLife -= deltaTime;
+    }
+    
+    /**
+     * Draw the flash effect at the beginning of the explosion
+     */
+    public void render(RenderBackend r) {
+        if (maxLife > FLASH_END_LIFE) {
+            float flashAlpha = (float)((maxLife - FLASH_END_LIFE) / 0.2);
+            int flashSize = (int)(150 * flashAlpha);
+            r.fillOval((int)(x - flashSize), (int)(y - flashSize), 
+                      flashSize * 2, flashSize * 2, ((int)(flashAlpha * 150) << 24) | FLASH);
+        }
+    }
+    
+    /**
+     * The flash is over (particles live on in the pool)
+     */
+    public boolean isFinished() {
+        return maxLife <= FLASH_END_LIFE;
     }
     
     public double getShakeIntensity() { return shakeIntensity; }
@@ -1,6 +1,7 @@
 package com.superninja.effects;
 
 import com.superninja.config.GameConfig;
+import com.superninja.render.QualityGovernor;
 import java.awt.*;
 
 /**
@@ -8,13 +9,21 @@ import java.awt.*;
  */
 public class JuiceSplashEffect extends ParticleEffect {
     
+    private static final int DROPLET_DRAG = ParticlePool.dragIndex(0.97);
+    private static final int SPRAY_DRAG = ParticlePool.dragIndex(0.95);
+    
+    private final Color juiceColor;
+    private final double sliceAngle;
+    
     public JuiceSplashEffect(double x, double y, Color juiceColor, double sliceAngle) {
         super(x, y);
-        createParticles(juiceColor, sliceAngle);
+        this.juiceColor = juiceColor;
+        this.sliceAngle = sliceAngle;
     }
     
-    private void createParticles(Color color, double sliceAngle) {
-        int count = GameConfig.JUICE_PARTICLE_COUNT;
+    @Override
+    public void emit(ParticlePool pool) {
+        int count = QualityGovernor.getActiveTier().scaleParticles(GameConfig.JUICE_PARTICLE_COUNT);
         
         for (int i = 0; i < count; i++) {
             // Spread particles perpendicular to slice
@@ -29,18 +38,12 @@ public class JuiceSplashEffect extends ParticleEffect {
             // Vary size
             double size = 5 + Math.random() * 15;
             
-            // Vary color slightly
-            Color particleColor = varyColor(color, 30);
-            
             // Life varies
             double life = 0.5 + Math.random() * 0.5;
             
-            Particle p = new Particle(x, y, vx, vy, size, particleColor, life, 
-                                     Particle.ParticleShape.DROPLET);
-            p.setGravity(400);
-            p.setDrag(0.97);
-            
-            particles.add(p);
+            // Vary color slightly; droplets leave a splat where they land
+            pool.emit(x, y, vx, vy, size, varyColor(juiceColor, 30), life,
+                     ParticleShape.DROPLET, 400, DROPLET_DRAG, ParticlePool.FLAG_SPLAT);
         }
         
         // Add some smaller spray particles
@@ -51,23 +54,18 @@ public class JuiceSplashEffect extends ParticleEffect {
             double vy = Math.sin(angle) * speed;
             
             double size = 2 + Math.random() * 5;
-            Color particleColor = varyColor(color, 50);
             double life = 0.3 + Math.random() * 0.4;
             
-            Particle p = new Particle(x, y, vx, vy, size, particleColor, life,
-                                     Particle.ParticleShape.CIRCLE);
-            p.setGravity(200);
-            p.setDrag(0.95);
-            
-            particles.add(p);
+            pool.emit(x, y, vx, vy, size, varyColor(juiceColor, 50), life,
+                     ParticleShape.CIRCLE, 200, SPRAY_DRAG);
         }
     }
     
-    private Color varyColor(Color base, int variance) {
+    private int varyColor(Color base, int variance) {
         int r = clamp(base.getRed() + (int)((Math.random() - 0.5) * variance));
         int g = clamp(base.getGreen() + (int)((Math.random() - 0.5) * variance));
         int b = clamp(base.getBlue() + (int)((Math.random() - 0.5) * variance));
-        return new Color(r, g, b);
+        return (r << 16) | (g << 8) | b;
     }
     
     private int clamp(int value) {
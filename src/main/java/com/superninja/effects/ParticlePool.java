@@ -0,0 +1,237 @@
+package com.superninja.effects;
+
+/**
+ * Fixed-capacity particle storage laid out as parallel primitive arrays.
+ * Effects emit straight into the pool; live particles are always packed in
+ * [0, count) and dead ones are swap-removed, so updating and drawing are
+ * tight loops over primitive data with no per-particle objects.
+ */
+public class ParticlePool {
+
+    /** Particle flag: stamp a splat into the decal layer when the particle dies */
+    public static final int FLAG_SPLAT = 1;
+    
+    /** Maximum number of splats recorded between two drains */
+    private static final int MAX_SPLATS = 512;
+    
+    /** Maximum number of distinct drag constants */
+    private static final int MAX_DRAG_VALUES = 16;
+
+    private static final double[] dragValues = new double[MAX_DRAG_VALUES];
+    private static int dragValueCount = 0;
+
+    private final int capacity;
+    private int count;
+
+    final float[] x, y;
+    final float[] velocityX, velocityY;
+    final float[] size, initialSize;
+    final float[] life, maxLife;
+    final float[] gravity;
+    final float[] rotation, rotationSpeed;
+    final short[] color; // RGB555 colour index
+    final byte[] shape;
+    final byte[] drag;   // Index into the drag table
+    final byte[] flags;
+    
+    // Splats recorded from dying FLAG_SPLAT particles, drained by the decal layer
+    final float[] splatX = new float[MAX_SPLATS];
+    final float[] splatY = new float[MAX_SPLATS];
+    final float[] splatSize = new float[MAX_SPLATS];
+    final short[] splatColor = new short[MAX_SPLATS];
+    private int splatCount;
+
+    /** Drag factors for the current tick, one per registered drag constant */
+    private final float[] dragFactors = new float[MAX_DRAG_VALUES];
+
+    private static final ParticleShape[] SHAPES = ParticleShape.values();
+
+    private int droppedParticles;
+
+    public ParticlePool(int capacity) {
+        this.capacity = capacity;
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.size = new float[capacity];
+        this.initialSize = new float[capacity];
+        this.life = new float[capacity];
+        this.maxLife = new float[capacity];
+        this.gravity = new float[capacity];
+        this.rotation = new float[capacity];
+        this.rotationSpeed = new float[capacity];
+        this.color = new short[capacity];
+        this.shape = new byte[capacity];
+        this.drag = new byte[capacity];
+        this.flags = new byte[capacity];
+    }
+
+    /**
+     * Register a drag constant (velocity multiplier per 1/60s) and get its index.
+     * Emitters register their constants once, so the per-tick factors can be
+     * computed once per constant instead of once per particle.
+     */
+    public static synchronized int dragIndex(double dragValue) {
+        for (int i = 0; i < dragValueCount; i++) {
+            if (dragValues[i] == dragValue) {
+                return i;
+            }
+        }
+        if (dragValueCount == MAX_DRAG_VALUES) {
+            throw new IllegalStateException("Too many particle drag values");
+        }
+        dragValues[dragValueCount] = dragValue;
+        return dragValueCount++;
+    }
+
+    /**
+     * Emit a particle.
+     * @param rgb Particle colour as 0xRRGGBB (alpha is driven by remaining life)
+     * @param dragIndex Index from {@link #dragIndex(double)}
+     * @return false if the pool is full and the particle was dropped
+     */
+    public boolean emit(double px, double py, double vx, double vy, double particleSize,
+                        int rgb, double particleLife, ParticleShape particleShape,
+                        double particleGravity, int dragIndex) {
+        return emit(px, py, vx, vy, particleSize, rgb, particleLife, particleShape,
+                    particleGravity, dragIndex, 0);
+    }
+    
+    /**
+     * Emit a particle with flags.
+     * @param particleFlags Combination of FLAG_ constants
+     * @return false if the pool is full and the particle was dropped
+     */
+    public boolean emit(double px, double py, double vx, double vy, double particleSize,
+                        int rgb, double particleLife, ParticleShape particleShape,
+                        double particleGravity, int dragIndex, int particleFlags) {
+        if (count == capacity) {
+            droppedParticles++;
+            return false;
+        }
+
+        int i = count++;
+        x[i] = (float) px;
+        y[i] = (float) py;
+        velocityX[i] = (float) vx;
+        velocityY[i] = (float) vy;
+        size[i] = (float) particleSize;
+        initialSize[i] = (float) particleSize;
+        life[i] = (float) particleLife;
+        maxLife[i] = (float) particleLife;
+        gravity[i] = (float) particleGravity;
+        rotation[i] = (float) (Math.random() * 360);
+        rotationSpeed[i] = (float) ((Math.random() - 0.5) * 360);
+        color[i] = (short) toRgb555(rgb);
+        shape[i] = (byte) particleShape.ordinal();
+        drag[i] = (byte) dragIndex;
+        flags[i] = (byte) particleFlags;
+        return true;
+    }
+
+    /**
+     * Update all particle physics
+     */
+    public void update(double deltaTime) {
+        // Drag factors once per tick instead of Math.pow twice per particle
+        for (int d = 0; d < dragValueCount; d++) {
+            dragFactors[d] = (float) Math.pow(dragValues[d], deltaTime * 60);
+        }
+
+        float dt = (float) deltaTime;
+        int i = 0;
+        while (i < count) {
+            float remaining = life[i] - dt;
+            if (remaining <= 0) {
+                if ((flags[i] & FLAG_SPLAT) != 0) {
+                    recordSplat(i);
+                }
+                remove(i);
+                continue; // Re-process the particle swapped into this slot
+            }
+
+            float factor = dragFactors[drag[i]];
+            float vx = velocityX[i] * factor;
+            float vy = (velocityY[i] + gravity[i] * dt) * factor;
+            velocityX[i] = vx;
+            velocityY[i] = vy;
+
+            x[i] += vx * dt;
+            y[i] += vy * dt;
+            rotation[i] += rotationSpeed[i] * dt;
+
+            life[i] = remaining;
+            size[i] = initialSize[i] * (remaining / maxLife[i]);
+            i++;
+        }
+    }
+
+    private void recordSplat(int i) {
+        if (splatCount == MAX_SPLATS) return;
+        splatX[splatCount] = x[i];
+        splatY[splatCount] = y[i];
+        splatSize[splatCount] = initialSize[i];
+        splatColor[splatCount] = color[i];
+        splatCount++;
+    }
+    
+    /**
+     * Swap-remove the particle at index i
+     */
+    private void remove(int i) {
+        int last = --count;
+        if (i == last) return;
+
+        x[i] = x[last];
+        y[i] = y[last];
+        velocityX[i] = velocityX[last];
+        velocityY[i] = velocityY[last];
+        size[i] = size[last];
+        initialSize[i] = initialSize[last];
+        life[i] = life[last];
+        maxLife[i] = maxLife[last];
+        gravity[i] = gravity[last];
+        rotation[i] = rotation[last];
+        rotationSpeed[i] = rotationSpeed[last];
+        color[i] = color[last];
+        shape[i] = shape[last];
+        drag[i] = drag[last];
+        flags[i] = flags[last];
+    }
+
+    /**
+     * Remove all particles
+     */
+    public void clear() {
+        count = 0;
+        splatCount = 0;
+    }
+    
+    /**
+     * Number of splats recorded since the last clearSplats()
+     */
+    public int getSplatCount() { return splatCount; }
+    
+    /**
+     * Forget recorded splats (after the decal layer has stamped them)
+     */
+    public void clearSplats() {
+        splatCount = 0;
+    }
+
+    public ParticleShape getShape(int i) {
+        return SHAPES[shape[i]];
+    }
+
+    public int getCount() { return count; }
+    public int getCapacity() { return capacity; }
+    public int getDroppedParticles() { return droppedParticles; }
+
+    /**
+     * Pack a colour into the RGB555 index used for particle colours
+     */
+    public static int toRgb555(int rgb) {
+        return (((rgb >> 19) & 0x1F) << 10) | (((rgb >> 11) & 0x1F) << 5) | ((rgb >> 3) & 0x1F);
+    }
+}
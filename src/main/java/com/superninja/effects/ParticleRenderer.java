@@ -0,0 +1,210 @@
+package com.superninja.effects;
+
+import com.superninja.config.GameConfig;
+import com.superninja.render.AlphaLut;
+import com.superninja.render.RenderBackend;
+
+import java.awt.*;
+import java.awt.geom.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Batched particle renderer.
+ * Particles are drawn as pre-rendered soft sprites, one per shape and colour,
+ * faded through the shared alpha table. Each frame the live particles are
+ * sorted by sprite and alpha level so the draw pass only switches image and
+ * composite when the group changes, and no Graphics2D copies, Colors, strokes
+ * or polygons are allocated per particle. Additive shapes sort after the rest
+ * so blending is switched at most twice per pass.
+ * An instance is not thread-safe (it owns the sort buffer); the sprite cache
+ * is shared and safe to use from several render threads.
+ */
+public class ParticleRenderer {
+
+    /** Resolution of the pre-rendered shape sprites */
+    private static final int SPRITE_SIZE = 32;
+    private static final double HALF_SPRITE = SPRITE_SIZE / 2.0;
+
+    /** Colours are grouped at 5 bits per channel */
+    private static final int COLOR_BUCKETS = 1 << 15;
+
+    private static final ParticleShape[] SHAPES = ParticleShape.values();
+    private static final int DROPLET = ParticleShape.DROPLET.ordinal();
+
+    /** Sort key bit that groups additive shapes after the others */
+    private static final long ADDITIVE_KEY = 1L << 20;
+
+    /** White alpha masks per shape */
+    private static final BufferedImage[] masks = new BufferedImage[SHAPES.length];
+
+    /** Tinted sprites per shape, indexed by RGB555 colour (built on first use) */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final AtomicReferenceArray<BufferedImage>[] tinted = new AtomicReferenceArray[SHAPES.length];
+
+    private static final int INDEX_BITS = 24;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    static {
+        for (ParticleShape shape : SHAPES) {
+            masks[shape.ordinal()] = createMask(shape);
+            tinted[shape.ordinal()] = new AtomicReferenceArray<>(COLOR_BUCKETS);
+        }
+    }
+
+    private long[] keys = new long[0];
+    private final AffineTransform transform = new AffineTransform();
+
+    /**
+     * Draw all live particles in the pool, grouped by sprite and alpha
+     */
+    public void render(RenderBackend r, ParticlePool pool) {
+        render(r, pool, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Draw the live particles that may reach the column between minX and maxX
+     */
+    public void render(RenderBackend r, ParticlePool pool, double minX, double maxX) {
+        int count = pool.getCount();
+        if (keys.length < pool.getCapacity()) {
+            keys = new long[pool.getCapacity()];
+        }
+
+        // Build sort keys: sprite, then alpha level, then particle index
+        int queued = 0;
+        for (int i = 0; i < count; i++) {
+            if (pool.size[i] < 1) continue;
+
+            // Droplets stretch up to twice their size, so allow that much margin
+            double reach = pool.size[i] * 2;
+            if (pool.x[i] + reach < minX || pool.x[i] - reach > maxX) continue;
+
+            int alphaLevel = AlphaLut.level(pool.life[i] / pool.maxLife[i]);
+            if (alphaLevel == 0) continue;
+
+            long spriteKey = (long) pool.shape[i] * COLOR_BUCKETS + pool.color[i];
+            if (GameConfig.ADDITIVE_BLENDING && SHAPES[pool.shape[i]].isAdditive()) {
+                spriteKey |= ADDITIVE_KEY;
+            }
+            keys[queued++] = (spriteKey << 32) | ((long) alphaLevel << INDEX_BITS) | i;
+        }
+        if (queued == 0) return;
+
+        Arrays.sort(keys, 0, queued);
+
+        boolean additive = false;
+        for (int k = 0; k < queued; k++) {
+            long key = keys[k];
+            if (!additive && (key >>> 32 & ADDITIVE_KEY) != 0) {
+                additive = true;
+                r.setAdditive(true);
+            }
+            int i = (int) (key & INDEX_MASK);
+            float alpha = (float) ((key >>> INDEX_BITS) & 0xFF) / AlphaLut.LEVELS;
+
+            int shape = pool.shape[i];
+            BufferedImage sprite = getSprite(shape, pool.color[i]);
+
+            double size = pool.size[i];
+            double scale = size / SPRITE_SIZE;
+            transform.setToTranslation(pool.x[i], pool.y[i]);
+            transform.rotate(Math.toRadians(pool.rotation[i]));
+            if (shape == DROPLET) {
+                // Elongated shape based on velocity
+                double vx = pool.velocityX[i];
+                double vy = pool.velocityY[i];
+                double stretch = Math.min(size * 2, Math.sqrt(vx * vx + vy * vy) * 0.02);
+                transform.translate(0, -stretch / 2);
+                transform.scale(scale, (size + stretch) / SPRITE_SIZE);
+            } else {
+                transform.scale(scale, scale);
+            }
+            transform.translate(-HALF_SPRITE, -HALF_SPRITE);
+
+            r.drawImage(sprite, transform, alpha);
+        }
+        if (additive) {
+            r.setAdditive(false);
+        }
+    }
+
+    /**
+     * Get the tinted sprite for a shape ordinal and RGB555 colour
+     * (also used by the splatter layer for its stamps)
+     */
+    static BufferedImage getSprite(int shape, int rgb555) {
+        AtomicReferenceArray<BufferedImage> shapeSprites = tinted[shape];
+        BufferedImage sprite = shapeSprites.get(rgb555);
+        if (sprite == null) {
+            // Two threads may race to build the same sprite; either copy is fine
+            sprite = createTinted(masks[shape], rgb555);
+            if (!shapeSprites.compareAndSet(rgb555, null, sprite)) {
+                sprite = shapeSprites.get(rgb555);
+            }
+        }
+        return sprite;
+    }
+
+    private static BufferedImage createTinted(BufferedImage mask, int rgb555) {
+        int red = ((rgb555 >> 10) & 0x1F) << 3;
+        int green = ((rgb555 >> 5) & 0x1F) << 3;
+        int blue = (rgb555 & 0x1F) << 3;
+
+        BufferedImage sprite = new BufferedImage(SPRITE_SIZE, SPRITE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sprite.createGraphics();
+        g.drawImage(mask, 0, 0, null);
+        g.setComposite(AlphaComposite.SrcIn);
+        g.setColor(new Color(red | (red >> 5), green | (green >> 5), blue | (blue >> 5)));
+        g.fillRect(0, 0, SPRITE_SIZE, SPRITE_SIZE);
+        g.dispose();
+        return sprite;
+    }
+
+    private static BufferedImage createMask(ParticleShape shape) {
+        BufferedImage mask = new BufferedImage(SPRITE_SIZE, SPRITE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = mask.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        g.setColor(Color.WHITE);
+
+        // Leave a one pixel margin so bilinear scaling gives soft edges
+        double s = SPRITE_SIZE - 2;
+        g.translate(1, 1);
+
+        switch (shape) {
+            case CIRCLE, DROPLET -> g.fill(new Ellipse2D.Double(0, 0, s, s));
+            case SQUARE -> g.fill(new Rectangle2D.Double(0, 0, s, s));
+            case SPARK -> {
+                // Two crossing lines; stroke width matches a 2px line on a typical 10px spark
+                g.setStroke(new BasicStroke((float) (s / 5)));
+                g.draw(new Line2D.Double(0, s / 2, s, s / 2));
+                g.draw(new Line2D.Double(s / 2, 0, s / 2, s));
+            }
+            case STAR -> {
+                Path2D star = new Path2D.Double();
+                for (int i = 0; i < 10; i++) {
+                    double radius = (i % 2 == 0) ? s / 2 : s / 4;
+                    double angle = Math.PI / 2 + i * Math.PI / 5;
+                    double px = s / 2 + radius * Math.cos(angle);
+                    double py = s / 2 - radius * Math.sin(angle);
+                    if (i == 0) star.moveTo(px, py);
+                    else star.lineTo(px, py);
+                }
+                star.closePath();
+                g.fill(star);
+            }
+            case GLINT -> {
+                // Bright core fading out to the edge
+                g.setPaint(new RadialGradientPaint((float) (s / 2), (float) (s / 2), (float) (s / 2),
+                        new float[] {0f, 0.35f, 1f},
+                        new Color[] {Color.WHITE, new Color(255, 255, 255, 150), new Color(255, 255, 255, 0)}));
+                g.fill(new Ellipse2D.Double(0, 0, s, s));
+            }
+        }
+
+        g.dispose();
+        return mask;
+    }
+}
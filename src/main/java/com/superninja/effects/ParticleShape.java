@@ -0,0 +1,26 @@
+package com.superninja.effects;
+
+/**
+ * Shapes a particle can be drawn as.
+ * Additive shapes are light rather than matter (sparks, stars, glints) and
+ * are drawn with additive blending so overlaps brighten.
+ */
+public enum ParticleShape {
+    CIRCLE(false),
+    SQUARE(false),
+    STAR(true),
+    DROPLET(false),
+    SPARK(true),
+    /** Soft round point of light (sparkle trails) */
+    GLINT(true);
+    
+    private final boolean additive;
+    
+    ParticleShape(boolean additive) {
+        this.additive = additive;
+    }
+    
+    public boolean isAdditive() {
+        return additive;
+    }
+}
@@ -1,5 +1,10 @@
 package com.superninja.effects;
 
+import com.superninja.render.GlyphAtlas;
+import com.superninja.render.QualityGovernor;
+import com.superninja.render.RenderBackend;
+import com.superninja.render.RenderResources;
+
 import java.awt.*;
 
 /**
@@ -15,6 +20,8 @@ public class ScorePopup {
     private double life;
     private final double maxLife;
     private double velocityY;
+    private GlyphAtlas.Sprite[] sprites;
+    private int textWidth;
     
     public ScorePopup(double x, double y, int score, boolean isCritical, boolean isCombo, int comboCount) {
         this.x = x;
@@ -42,18 +49,20 @@ public class ScorePopup {
         
         // Determine color and size
         if (score < 0) {
-            this.color = new Color(255, 50, 50);
+            this.color = RenderResources.color(255, 50, 50);
             this.fontSize = 32;
         } else if (isCritical || (isCombo && comboCount > 2)) {
-            this.color = new Color(255, 215, 0);
+            this.color = RenderResources.color(255, 215, 0);
             this.fontSize = 36 + comboCount * 2;
         } else if (isCombo) {
-            this.color = new Color(100, 255, 100);
+            this.color = RenderResources.color(100, 255, 100);
             this.fontSize = 30;
         } else {
             this.color = Color.WHITE;
             this.fontSize = 28;
         }
+        
+        layoutText();
     }
     
     /**
@@ -68,6 +77,7 @@ public class ScorePopup {
         this.maxLife = 1.2;
         this.life = maxLife;
         this.velocityY = -60;
+        layoutText();
     }
     
     public void update(double deltaTime) {
@@ -76,40 +86,27 @@ public class ScorePopup {
         velocityY *= 0.95; // Slow down
     }
     
-    public void render(Graphics2D g2d) {
+    public void render(RenderBackend r) {
         if (life <= 0) return;
         
         float alpha = (float) Math.min(1.0, life / 0.3); // Fade out in last 0.3s
         
-        Graphics2D g = (Graphics2D) g2d.create();
-        g.setFont(new Font("Arial", Font.BOLD, fontSize));
-        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, 
-                          RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        
-        FontMetrics fm = g.getFontMetrics();
-        int textWidth = fm.stringWidth(text);
-        int drawX = (int)(x - textWidth / 2);
-        int drawY = (int) y;
-        
-        // Shadow
-        int shadowAlpha = Math.max(0, Math.min(255, (int)(alpha * 150)));
-        g.setColor(new Color(0, 0, 0, shadowAlpha));
-        g.drawString(text, drawX + 2, drawY + 2);
-        
-        // Main text
-        int mainAlpha = Math.max(0, Math.min(255, (int)(alpha * 255)));
-        g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), mainAlpha));
-        g.drawString(text, drawX, drawY);
-        
-        // Glow for big scores
-        if (fontSize > 32) {
-            int glowAlpha = Math.max(0, Math.min(255, (int)(alpha * 50)));
-            g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), glowAlpha));
-            g.drawString(text, drawX - 1, drawY - 1);
-            g.drawString(text, drawX + 1, drawY + 1);
+        // Shadow, text and glow are baked into the atlas sprites - just blit them faded
+        int penX = (int)(x - textWidth / 2);
+        int baseline = (int) y;
+        for (GlyphAtlas.Sprite sprite : sprites) {
+            r.drawImage(sprite.image, penX - sprite.originX, baseline - sprite.originY, alpha);
+            penX += sprite.advance;
+        }
+    }
+    
+    private void layoutText() {
+        boolean glow = QualityGovernor.getActiveTier().isPopupGlow();
+        sprites = GlyphAtlas.get(color, fontSize, glow).layout(text);
+        textWidth = 0;
+        for (GlyphAtlas.Sprite sprite : sprites) {
+            textWidth += sprite.advance;
         }
-        
-        g.dispose();
     }
     
     public boolean isAlive() {
@@ -1,20 +1,34 @@
 package com.superninja.effects;
 
-import java.awt.*;
+import com.superninja.render.QualityGovernor;
+import com.superninja.render.QualityTier;
 
 /**
  * Sparkle effect for special fruits.
  */
 public class SparkleEffect extends ParticleEffect {
     
+    private static final int GOLD = 0xFFD700;
+    private static final int LIGHT_YELLOW = 0xFFFF96;
+    private static final int WHITE = 0xFFFFFF;
+    
+    private static final int STAR_COUNT = 30;
+    private static final int TRAIL_COUNT = 20;
+    
+    private static final int STAR_DRAG = ParticlePool.dragIndex(0.95);
+    private static final int TRAIL_DRAG = ParticlePool.dragIndex(0.92);
+    
     public SparkleEffect(double x, double y) {
         super(x, y);
-        createParticles();
     }
     
-    private void createParticles() {
+    @Override
+    public void emit(ParticlePool pool) {
+        QualityTier tier = QualityGovernor.getActiveTier();
+        
         // Golden sparkles
-        for (int i = 0; i < 30; i++) {
+        int stars = tier.scaleParticles(STAR_COUNT);
+        for (int i = 0; i < stars; i++) {
             double angle = Math.random() * Math.PI * 2;
             double speed = 100 + Math.random() * 300;
             double vx = Math.cos(angle) * speed;
@@ -23,40 +37,25 @@ public class SparkleEffect extends ParticleEffect {
             double size = 6 + Math.random() * 12;
             
             // Gold/yellow colors
-            Color color;
-            if (Math.random() < 0.5) {
-                color = new Color(255, 215, 0); // Gold
-            } else {
-                color = new Color(255, 255, 150); // Light yellow
-            }
+            int color = Math.random() < 0.5 ? GOLD : LIGHT_YELLOW;
             
             double life = 0.5 + Math.random() * 0.5;
             
-            Particle p = new Particle(x, y, vx, vy, size, color, life,
-                                     Particle.ParticleShape.STAR);
-            p.setGravity(50);
-            p.setDrag(0.95);
-            
-            particles.add(p);
+            pool.emit(x, y, vx, vy, size, color, life, ParticleShape.STAR, 50, STAR_DRAG);
         }
         
-        // White sparkle trails
-        for (int i = 0; i < 20; i++) {
+        // White sparkle trails (soft additive glints)
+        int trails = tier.scaleParticles(TRAIL_COUNT);
+        for (int i = 0; i < trails; i++) {
             double angle = Math.random() * Math.PI * 2;
             double speed = 150 + Math.random() * 200;
             double vx = Math.cos(angle) * speed;
             double vy = Math.sin(angle) * speed;
             
             double size = 3 + Math.random() * 6;
-            Color color = new Color(255, 255, 255);
             double life = 0.3 + Math.random() * 0.4;
             
-            Particle p = new Particle(x, y, vx, vy, size, color, life,
-                                     Particle.ParticleShape.CIRCLE);
-            p.setGravity(0);
-            p.setDrag(0.92);
-            
-            particles.add(p);
+            pool.emit(x, y, vx, vy, size, WHITE, life, ParticleShape.GLINT, 0, TRAIL_DRAG);
         }
     }
 }
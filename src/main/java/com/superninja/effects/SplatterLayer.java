@@ -0,0 +1,169 @@
+package com.superninja.effects;
+
+import com.superninja.config.GameConfig;
+import com.superninja.render.AlphaLut;
+import com.superninja.render.RenderBackend;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Persistent juice splatter drawn under the game objects.
+ * Dying juice droplets are stamped once into an accumulating screen-sized
+ * image, and the whole image fades by a fixed factor every half second, so
+ * splatter costs one blit per frame no matter how much of it there is.
+ *
+ * With a composited table (low-bandwidth profile) the layer is instead an
+ * opaque copy of the background with the splats drawn straight into it, so
+ * background and splatter together cost a single opaque blit. Fading then
+ * blends the background back over the layer, which gives the same result as
+ * fading a separate splatter layer.
+ */
+public class SplatterLayer {
+
+    /** Seconds between whole-layer fade steps */
+    private static final double DECAY_INTERVAL = 0.5;
+
+    /** Opacity of a fresh splat */
+    private static final float SPLAT_ALPHA = 0.55f;
+
+    /** Splats are a bit larger than the droplet that made them */
+    private static final float SPLAT_SCALE = 1.4f;
+
+    private static final int CIRCLE = ParticleShape.CIRCLE.ordinal();
+
+    /**
+     * Multiplies every pixel's alpha once per interval. Chosen so a fully
+     * opaque pixel drops below 1/255 after SPLATTER_FADE_SECONDS.
+     */
+    private static final AlphaComposite DECAY = AlphaComposite.getInstance(AlphaComposite.DST_IN,
+            (float) Math.pow(1.0 / 255, DECAY_INTERVAL / GameConfig.SPLATTER_FADE_SECONDS));
+
+    /** Background drawn over a composited table per interval: keeps DECAY's share of the splats */
+    private static final AlphaComposite RESTORE = AlphaComposite.getInstance(AlphaComposite.SRC_OVER,
+            1 - DECAY.getAlpha());
+
+    private BufferedImage layer;
+    private BufferedImage background; // Non-null when the layer is a composited table
+    private Graphics2D layerGraphics;
+    private boolean empty = true;
+    private double decayTimer;
+    private double timeSinceStamp;
+
+    /**
+     * Stamp all splats recorded by the pool since the last call
+     */
+    public void stamp(ParticlePool pool) {
+        int count = pool.getSplatCount();
+        if (count == 0 || layerGraphics == null) return;
+
+        layerGraphics.setComposite(AlphaLut.get(SPLAT_ALPHA));
+        for (int i = 0; i < count; i++) {
+            BufferedImage sprite = ParticleRenderer.getSprite(CIRCLE, pool.splatColor[i]);
+            int size = Math.max(2, Math.round(pool.splatSize[i] * SPLAT_SCALE));
+            int sx = Math.round(pool.splatX[i] - size / 2f);
+            int sy = Math.round(pool.splatY[i] - size / 2f);
+            layerGraphics.drawImage(sprite, sx, sy, size, size, null);
+        }
+        empty = false;
+        timeSinceStamp = 0;
+    }
+
+    /**
+     * Advance the fade
+     */
+    public void update(double deltaTime) {
+        if (empty) return;
+
+        timeSinceStamp += deltaTime;
+        if (timeSinceStamp >= GameConfig.SPLATTER_FADE_SECONDS) {
+            // Rounding keeps the faintest pixels alive forever, so wipe once everything has faded
+            clear();
+            return;
+        }
+
+        decayTimer += deltaTime;
+        if (decayTimer >= DECAY_INTERVAL) {
+            decayTimer -= DECAY_INTERVAL;
+            if (background != null) {
+                layerGraphics.setComposite(RESTORE);
+                layerGraphics.drawImage(background, 0, 0, null);
+            } else {
+                layerGraphics.setComposite(DECAY);
+                layerGraphics.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+            }
+        }
+    }
+
+    /**
+     * Draw the layer (call after the background, before the game objects)
+     */
+    public void render(RenderBackend r, int width, int height) {
+        BufferedImage image = ensureSize(width, height);
+        if (!empty) {
+            r.drawImage(image, 0, 0, 1f);
+        }
+    }
+
+    /**
+     * Draw the background with the splatter composited into it (one opaque
+     * blit, replaces drawing the background and then the layer)
+     */
+    public void renderComposited(RenderBackend r, BufferedImage background) {
+        r.drawImage(ensureTable(background), 0, 0, 1f);
+    }
+
+    /**
+     * Remove all splatter
+     */
+    public void clear() {
+        if (layerGraphics != null && !empty) {
+            if (background != null) {
+                layerGraphics.setComposite(AlphaComposite.Src);
+                layerGraphics.drawImage(background, 0, 0, null);
+            } else {
+                layerGraphics.setComposite(AlphaComposite.Clear);
+                layerGraphics.fillRect(0, 0, layer.getWidth(), layer.getHeight());
+            }
+        }
+        empty = true;
+        decayTimer = 0;
+        timeSinceStamp = 0;
+    }
+
+    // Synchronized because both split-render workers draw the layer
+    private synchronized BufferedImage ensureSize(int width, int height) {
+        if (layer != null && background == null && layer.getWidth() == width && layer.getHeight() == height) {
+            return layer;
+        }
+        createLayer(new BufferedImage(Math.max(1, width), Math.max(1, height), BufferedImage.TYPE_INT_ARGB_PRE));
+        background = null;
+        return layer;
+    }
+
+    /**
+     * Make the layer an opaque copy of the given background (in its format).
+     * A new background (resize, profile change) starts a fresh table.
+     */
+    private synchronized BufferedImage ensureTable(BufferedImage background) {
+        if (layer != null && this.background == background) {
+            return layer;
+        }
+        createLayer(new BufferedImage(background.getWidth(), background.getHeight(), background.getType()));
+        layerGraphics.drawImage(background, 0, 0, null);
+        this.background = background;
+        return layer;
+    }
+
+    private void createLayer(BufferedImage image) {
+        if (layerGraphics != null) {
+            layerGraphics.dispose();
+        }
+        layer = image;
+        layerGraphics = layer.createGraphics();
+        layerGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        empty = true;
+        decayTimer = 0;
+        timeSinceStamp = 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.superninja.engine;
+
+import com.superninja.objects.BladeTrail;
+import com.superninja.objects.GameObject;
+import com.superninja.objects.Player;
+import com.superninja.objects.PowerUpObject;
+import com.superninja.objects.PowerUpState;
+import com.superninja.util.LongIntMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Full copy of the game state at one moment, taken with
+ * GameEngine.snapshot() and put back with GameEngine.restore().
+ * Replays keep one every REPLAY_KEYFRAME_SECONDS so a seek only has to
+ * simulate forward from the nearest one.
+ */
+public final class EngineSnapshot {
+
+    GameEngine.GameState state;
+    int currentRound;
+    double roundTimer;
+    double countdownTimer;
+    double roundEndTimer;
+    double spawnTimer;
+    double currentSpawnInterval;
+    double currentObjectSpeed;
+    int spawnCounter;
+    double powerUpSpawnTimer;
+    long randomState;
+    long matchSeed;
+
+    final Player player1 = new Player(1, "Player 1");
+    final Player player2 = new Player(2, "Player 2");
+    final PowerUpState player1PowerUps = new PowerUpState(1);
+    final PowerUpState player2PowerUps = new PowerUpState(2);
+    final BladeTrail player1Blade = new BladeTrail(1);
+    final BladeTrail player2Blade = new BladeTrail(2);
+    final List<GameObject> gameObjects = new ArrayList<>();
+    final List<PowerUpObject> powerUpObjects = new ArrayList<>();
+    final LongIntMap touchToPlayer = new LongIntMap(16, 0);
+}
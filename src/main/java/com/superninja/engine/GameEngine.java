@@ -2,15 +2,22 @@ package com.superninja.engine;
 
 import com.superninja.config.GameConfig;
 import com.superninja.effects.EffectManager;
+import com.superninja.input.TouchFrame;
 import com.superninja.input.TouchListener;
 import com.superninja.input.TouchPoint;
 import com.superninja.objects.*;
+import com.superninja.util.LongIntMap;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
 
 /**
  * Core game engine handling game logic, physics, and state management.
+ * Touches from the input threads are queued and applied on the game thread
+ * at the start of the next update(), so the engine's state only changes
+ * inside update() and a recorded match replays in the same order.
  */
 public class GameEngine implements TouchListener {
     
@@ -37,9 +44,24 @@ public class GameEngine implements TouchListener {
     
     private final List<GameObject> gameObjects;
     private final List<PowerUpObject> powerUpObjects;
+    // Removal tests of the per-tick passes: removeIf copies a copy-on-write list once, however many leave
+    private final Predicate<GameObject> objectGone = obj -> obj.isOffScreen(this.screenWidth, this.screenHeight);
+    private final Predicate<PowerUpObject> powerUpGone = obj -> obj.isOffScreen(this.screenWidth, this.screenHeight) || obj.isCollected();
     private final BladeTrail player1Blade;
     private final BladeTrail player2Blade;
-    private final Map<Long, Integer> touchToPlayer; // Maps touch session to player
+    private final LongIntMap touchToPlayer; // Maps touch session to player (0 = unknown)
+    
+    /** Touch changes that fit between two updates (eight full sensor frames) */
+    private static final int TOUCH_QUEUE_CAPACITY = TouchFrame.MAX_CHANGES * 8;
+    
+    // Input waiting for the next update (guarded by inputLock) and the input being applied
+    private final Object inputLock = new Object();
+    private TouchQueue queuedTouches = new TouchQueue(TOUCH_QUEUE_CAPACITY);
+    private TouchQueue appliedTouches = new TouchQueue(TOUCH_QUEUE_CAPACITY);
+    private long touchesDropped;
+    private InputListener inputListener;
+    private volatile LongSupplier clock = System::nanoTime;
+    private volatile long time = System.nanoTime();
     
     private final PowerUpState player1PowerUps;
     private final PowerUpState player2PowerUps;
@@ -48,10 +70,20 @@ public class GameEngine implements TouchListener {
     
     private final EffectManager effectManager;
     private final List<GameEventListener> listeners;
+    private final GameEventPublisher events = new GameEventPublisher(GameConfig.EVENT_RING_CAPACITY);
+    
+    private final GameRandom random = new GameRandom(0);
+    private long matchSeed;
+    private long nextMatchSeed;
     
     private int screenWidth;
     private int screenHeight;
     
+    /**
+     * Called synchronously in the middle of an update, so implementations
+     * must be quick (the input recorder needs the exact moment a match
+     * starts). Anything slower subscribes to getEvents() instead.
+     */
     public interface GameEventListener {
         void onStateChanged(GameState newState);
         void onRoundEnd(Player roundWinner, int round);
@@ -60,6 +92,20 @@ public class GameEngine implements TouchListener {
         void onBombHit(int playerId);
     }
     
+    /**
+     * Sees the engine's input in exactly the order and at the times the
+     * engine uses it (the input recorder). Called on the game thread from
+     * within update().
+     */
+    public interface InputListener {
+        /** A queued touch change is about to be applied */
+        void onTouchApplied(TouchPoint.TouchState state, long sessionId, float x, float y,
+                            float velocityX, float velocityY, long time);
+        
+        /** The touches of this update are applied and the simulation step follows */
+        void onTick(long time);
+    }
+    
     public GameEngine(int screenWidth, int screenHeight) {
         this.screenWidth = screenWidth;
         this.screenHeight = screenHeight;
@@ -71,7 +117,9 @@ public class GameEngine implements TouchListener {
         this.powerUpObjects = new CopyOnWriteArrayList<>();
         this.player1Blade = new BladeTrail(1);
         this.player2Blade = new BladeTrail(2);
-        this.touchToPlayer = new HashMap<>();
+        player1Blade.setClock(() -> time);
+        player2Blade.setClock(() -> time);
+        this.touchToPlayer = new LongIntMap(16, 0);
         
         this.player1PowerUps = new PowerUpState(1);
         this.player2PowerUps = new PowerUpState(2);
@@ -88,10 +136,39 @@ public class GameEngine implements TouchListener {
         listeners.add(listener);
     }
     
+    /**
+     * Set the listener that sees applied input (call before the game loop starts)
+     */
+    public void setInputListener(InputListener listener) {
+        this.inputListener = listener;
+    }
+    
+    /**
+     * Events of each update, published asynchronously when it ends
+     */
+    public GameEventPublisher getEvents() {
+        return events;
+    }
+    
     /**
      * Update game state
      */
     public void update(double deltaTime) {
+        // Take what the input threads queued since the last update
+        TouchQueue touches;
+        long tickTime;
+        synchronized (inputLock) {
+            touches = queuedTouches;
+            queuedTouches = appliedTouches;
+            appliedTouches = touches;
+            tickTime = clock.getAsLong();
+        }
+        applyTouches(touches);
+        time = tickTime;
+        if (inputListener != null) {
+            inputListener.onTick(tickTime);
+        }
+        
         switch (state) {
             case WAITING -> updateWaiting(deltaTime);
             case COUNTDOWN -> updateCountdown(deltaTime);
@@ -104,6 +181,8 @@ public class GameEngine implements TouchListener {
         player1Blade.update(deltaTime);
         player2Blade.update(deltaTime);
         effectManager.update(deltaTime);
+        
+        events.publish();
     }
     
     private void updateWaiting(double deltaTime) {
@@ -152,14 +231,14 @@ public class GameEngine implements TouchListener {
         spawnTimer -= deltaTime * 1000;
         if (spawnTimer <= 0) {
             spawnObject();
-            spawnTimer = effectiveSpawnInterval * (0.8 + Math.random() * 0.4);
+            spawnTimer = effectiveSpawnInterval * (0.8 + random.nextDouble() * 0.4);
         }
         
         // Spawn power-ups periodically
         powerUpSpawnTimer -= deltaTime;
         if (powerUpSpawnTimer <= 0) {
             spawnPowerUp();
-            powerUpSpawnTimer = POWER_UP_SPAWN_INTERVAL * (0.8 + Math.random() * 0.4);
+            powerUpSpawnTimer = POWER_UP_SPAWN_INTERVAL * (0.8 + random.nextDouble() * 0.4);
         }
         
         // Update game objects
@@ -197,8 +276,8 @@ public class GameEngine implements TouchListener {
     }
     
     private void updateGameObjects(double deltaTime) {
-        List<GameObject> toRemove = new ArrayList<>();
-        for (GameObject obj : gameObjects) {
+        for (int i = 0; i < gameObjects.size(); i++) {
+            GameObject obj = gameObjects.get(i);
             // Apply Speed Curse effect: 30% faster for cursed player's fruits
             double effectiveDeltaTime = deltaTime;
             if (obj.getTargetPlayer() == 1 && player1PowerUps.hasSpeedCurse()) {
@@ -207,38 +286,33 @@ public class GameEngine implements TouchListener {
                 effectiveDeltaTime *= 1.3;
             }
             obj.update(effectiveDeltaTime);
-            
-            // Mark for removal if off screen
-            if (obj.isOffScreen(screenWidth, screenHeight)) {
-                toRemove.add(obj);
-            }
         }
-        gameObjects.removeAll(toRemove);
+        gameObjects.removeIf(objectGone);
     }
     
     private void spawnObject() {
         // Burst chance increases with each round: 15%, 25%, 35%
         double burstChance = 0.05 + currentRound * 0.10; // Round 1: 15%, Round 2: 25%, Round 3: 35%
         int spawnCount = 1;
-        if (Math.random() < burstChance) {
-            spawnCount = 2 + (int)(Math.random() * 2); // 2-3 pairs
+        if (random.nextDouble() < burstChance) {
+            spawnCount = 2 + (int)(random.nextDouble() * 2); // 2-3 pairs
         }
         
         for (int s = 0; s < spawnCount; s++) {
             // Same fruit type for both players (fair gameplay)
-            ObjectType type = ObjectType.getRandomObject();
+            ObjectType type = ObjectType.getRandomObject(random);
             
             // Spawn from center divider (x = screenWidth/2)
             double spawnX = screenWidth / 2.0;
             
             // Random Y position for this pair
-            double spawnY = screenHeight * 0.15 + Math.random() * screenHeight * 0.7;
+            double spawnY = screenHeight * 0.15 + random.nextDouble() * screenHeight * 0.7;
             // Mirrored Y position for the other fruit
             double mirroredY = screenHeight - spawnY;
             
             // Calculate velocity
-            double baseSpeed = currentObjectSpeed * (0.85 + Math.random() * 0.3);
-            double vy = (Math.random() - 0.5) * baseSpeed * 0.4;
+            double baseSpeed = currentObjectSpeed * (0.85 + random.nextDouble() * 0.3);
+            double vy = (random.nextDouble() - 0.5) * baseSpeed * 0.4;
             
             // Spawn fruit for Player 1 (going left)
             GameObject obj1 = new GameObject(type, spawnX, spawnY, -baseSpeed, vy, 1);
@@ -252,19 +326,19 @@ public class GameEngine implements TouchListener {
         }
         
         // Apply Bomb Rain effect: extra bombs for cursed player
-        if (player1PowerUps.hasBombRain() && Math.random() < 0.3) {
+        if (player1PowerUps.hasBombRain() && random.nextDouble() < 0.3) {
             spawnExtraBomb(1);
         }
-        if (player2PowerUps.hasBombRain() && Math.random() < 0.3) {
+        if (player2PowerUps.hasBombRain() && random.nextDouble() < 0.3) {
             spawnExtraBomb(2);
         }
     }
     
     private void spawnExtraBomb(int targetPlayer) {
         double spawnX = screenWidth / 2.0;
-        double spawnY = screenHeight * 0.2 + Math.random() * screenHeight * 0.6;
+        double spawnY = screenHeight * 0.2 + random.nextDouble() * screenHeight * 0.6;
         double baseSpeed = currentObjectSpeed * 0.9;
-        double vy = (Math.random() - 0.5) * baseSpeed * 0.3;
+        double vy = (random.nextDouble() - 0.5) * baseSpeed * 0.3;
         double vx = targetPlayer == 1 ? -baseSpeed : baseSpeed;
         
         GameObject bomb = new GameObject(ObjectType.BOMB, spawnX, spawnY, vx, vy, targetPlayer);
@@ -272,15 +346,15 @@ public class GameEngine implements TouchListener {
     }
     
     private void spawnPowerUp() {
-        PowerUpType type = PowerUpType.getRandomPowerUp();
+        PowerUpType type = PowerUpType.getRandomPowerUp(random);
         
         // Spawn from center for both players
         double spawnX = screenWidth / 2.0;
-        double spawnY = screenHeight * 0.3 + Math.random() * screenHeight * 0.4;
+        double spawnY = screenHeight * 0.3 + random.nextDouble() * screenHeight * 0.4;
         double mirroredY = screenHeight - spawnY;
         
         double baseSpeed = currentObjectSpeed * 0.7; // Slower than fruits
-        double vy = (Math.random() - 0.5) * baseSpeed * 0.3;
+        double vy = (random.nextDouble() - 0.5) * baseSpeed * 0.3;
         
         // Power-up for Player 1
         PowerUpObject p1 = new PowerUpObject(type, spawnX, spawnY, -baseSpeed, vy, 1);
@@ -292,15 +366,10 @@ public class GameEngine implements TouchListener {
     }
     
     private void updatePowerUpObjects(double deltaTime) {
-        List<PowerUpObject> toRemove = new ArrayList<>();
-        for (PowerUpObject obj : powerUpObjects) {
-            obj.update(deltaTime);
-            
-            if (obj.isOffScreen(screenWidth, screenHeight) || obj.isCollected()) {
-                toRemove.add(obj);
-            }
+        for (int i = 0; i < powerUpObjects.size(); i++) {
+            powerUpObjects.get(i).update(deltaTime);
         }
-        powerUpObjects.removeAll(toRemove);
+        powerUpObjects.removeIf(powerUpGone);
     }
     
     private void checkPowerUpCollection() {
@@ -308,16 +377,12 @@ public class GameEngine implements TouchListener {
             if (obj.isCollected()) continue;
             
             // Check player 1's blade
-            if (player1Blade.isActive() && obj.intersectsLine(
-                    player1Blade.getLastX(), player1Blade.getLastY(),
-                    player1Blade.getCurrentX(), player1Blade.getCurrentY())) {
+            if (player1Blade.isActive() && player1Blade.intersects(obj)) {
                 collectPowerUp(obj, 1);
             }
             
             // Check player 2's blade
-            if (!obj.isCollected() && player2Blade.isActive() && obj.intersectsLine(
-                    player2Blade.getLastX(), player2Blade.getLastY(),
-                    player2Blade.getCurrentX(), player2Blade.getCurrentY())) {
+            if (!obj.isCollected() && player2Blade.isActive() && player2Blade.intersects(obj)) {
                 collectPowerUp(obj, 2);
             }
         }
@@ -397,6 +462,7 @@ public class GameEngine implements TouchListener {
                 effectManager.addScorePopup(obj.getX(), obj.getY(), -GameConfig.BOMB_PENALTY, 
                                            false, false, 0);
                 
+                events.record(GameEventBatch.Kind.BOMB_HIT, playerId, 0, type.ordinal(), obj.getX(), obj.getY());
                 for (GameEventListener l : listeners) {
                     l.onBombHit(playerId);
                 }
@@ -408,7 +474,7 @@ public class GameEngine implements TouchListener {
             
             // Check for critical hit (center slice)
             // This is simplified - in reality would check actual slice position
-            if (Math.random() < 0.2) {
+            if (random.nextDouble() < 0.2) {
                 points += GameConfig.CRITICAL_BONUS;
                 critical = true;
             }
@@ -430,6 +496,8 @@ public class GameEngine implements TouchListener {
             effectManager.addScorePopup(obj.getX(), obj.getY(), points, critical,
                                        player.getComboCount() > 1, player.getComboCount());
             
+            events.record(GameEventBatch.Kind.SLICE, playerId, points,
+                    type.ordinal() | (critical ? Integer.MIN_VALUE : 0), obj.getX(), obj.getY());
             for (GameEventListener l : listeners) {
                 l.onSlice(obj, playerId, points, critical);
             }
@@ -448,6 +516,12 @@ public class GameEngine implements TouchListener {
         gameObjects.clear();
         effectManager.clear();
         
+        // Every gameplay random number of the match follows from this seed
+        matchSeed = nextMatchSeed != 0 ? nextMatchSeed
+                : GameConfig.GAME_SEED != 0 ? GameConfig.GAME_SEED : GameRandom.newSeed();
+        nextMatchSeed = 0;
+        random.setSeed(matchSeed);
+        
         startCountdown();
     }
     
@@ -481,6 +555,8 @@ public class GameEngine implements TouchListener {
         }
         // Tie: no one wins the round
         
+        events.record(GameEventBatch.Kind.ROUND_END, roundWinner != null ? roundWinner.getId() : 0,
+                currentRound, 0, 0, 0);
         for (GameEventListener l : listeners) {
             l.onRoundEnd(roundWinner, currentRound);
         }
@@ -502,6 +578,7 @@ public class GameEngine implements TouchListener {
         
         winner.setWinner(true);
         
+        events.record(GameEventBatch.Kind.GAME_OVER, winner.getId(), winner.getScore(), 0, 0, 0);
         for (GameEventListener l : listeners) {
             l.onGameOver(winner);
         }
@@ -524,6 +601,7 @@ public class GameEngine implements TouchListener {
     
     private void setState(GameState newState) {
         state = newState;
+        events.record(GameEventBatch.Kind.STATE_CHANGED, 0, newState.ordinal(), 0, 0, 0);
         for (GameEventListener l : listeners) {
             l.onStateChanged(newState);
         }
@@ -533,8 +611,66 @@ public class GameEngine implements TouchListener {
     // TouchListener Implementation
     // ========================================
     
+    /**
+     * Take a whole sensor frame as one unit: all of its changes are applied
+     * together by the same update
+     */
+    @Override
+    public void onTouchFrame(TouchFrame frame) {
+        synchronized (inputLock) {
+            for (int i = 0; i < frame.size(); i++) {
+                queueTouch(frame.get(i));
+            }
+        }
+    }
+    
     @Override
     public void onTouchDown(TouchPoint touch) {
+        synchronized (inputLock) {
+            queueTouch(touch);
+        }
+    }
+    
+    @Override
+    public void onTouchMove(TouchPoint touch) {
+        synchronized (inputLock) {
+            queueTouch(touch);
+        }
+    }
+    
+    @Override
+    public void onTouchUp(TouchPoint touch) {
+        synchronized (inputLock) {
+            queueTouch(touch);
+        }
+    }
+    
+    private void queueTouch(TouchPoint touch) {
+        if (!queuedTouches.add(touch, clock.getAsLong())) {
+            touchesDropped++;
+        }
+    }
+    
+    /**
+     * Apply queued changes in order, each at the time it arrived
+     */
+    private void applyTouches(TouchQueue q) {
+        for (int i = 0; i < q.size(); i++) {
+            time = q.time(i);
+            if (inputListener != null) {
+                inputListener.onTouchApplied(q.state(i), q.session(i), q.x(i), q.y(i),
+                        q.velocityX(i), q.velocityY(i), q.time(i));
+            }
+            switch (q.state(i)) {
+                case DOWN -> applyTouchDown(q, i);
+                case MOVE -> applyTouchMove(q, i);
+                case UP -> touchToPlayer.remove(q.session(i));
+            }
+        }
+        q.clear();
+    }
+    
+    private void applyTouchDown(TouchQueue q, int i) {
         if (state == GameState.WAITING) {
             startGame();
             return;
@@ -545,46 +681,49 @@ public class GameEngine implements TouchListener {
             return;
         }
         
-        // Determine which player this touch belongs to
-        int playerId = touch.isPlayer1Side() ? 1 : 2;
-        touchToPlayer.put(touch.getSessionId(), playerId);
+        // Determine which player this touch belongs to (left half = player 1)
+        int playerId = q.x(i) < 0.5f ? 1 : 2;
+        touchToPlayer.put(q.session(i), playerId);
         
-        // Start blade trail
+        // Start a stroke of the player's blade
         BladeTrail blade = playerId == 1 ? player1Blade : player2Blade;
-        blade.clear();
-        blade.addPoint(touch.getScreenX(screenWidth), touch.getScreenY(screenHeight));
+        addBladePoint(blade, q, i);
     }
     
-    @Override
-    public void onTouchMove(TouchPoint touch) {
+    private void applyTouchMove(TouchQueue q, int i) {
         if (state != GameState.PLAYING) return;
         
-        Integer playerId = touchToPlayer.get(touch.getSessionId());
-        if (playerId == null) {
-            playerId = touch.isPlayer1Side() ? 1 : 2;
-            touchToPlayer.put(touch.getSessionId(), playerId);
+        int playerId = touchToPlayer.get(q.session(i));
+        if (playerId == 0) {
+            playerId = q.x(i) < 0.5f ? 1 : 2;
+            touchToPlayer.put(q.session(i), playerId);
         }
         
         BladeTrail blade = playerId == 1 ? player1Blade : player2Blade;
-        blade.addPoint(touch.getScreenX(screenWidth), touch.getScreenY(screenHeight));
+        addBladePoint(blade, q, i);
     }
     
-    @Override
-    public void onTouchUp(TouchPoint touch) {
-        touchToPlayer.remove(touch.getSessionId());
+    /**
+     * Extend a blade: raw position for hit testing, filtered position and
+     * predicted tip for drawing
+     */
+    private void addBladePoint(BladeTrail blade, TouchQueue q, int i) {
+        blade.addPoint(q.session(i), (int) (q.x(i) * screenWidth), (int) (q.y(i) * screenHeight),
+                q.filteredX(i) * screenWidth, q.filteredY(i) * screenHeight);
+        blade.setPredictedTip(q.session(i), q.predictedX(i) * screenWidth, q.predictedY(i) * screenHeight);
     }
     
-    @Override
-    public void onTouchFrame(List<TouchPoint> activeTouches) {
-        // Reset combos if no active touches for a player
-        boolean player1Active = activeTouches.stream().anyMatch(TouchPoint::isPlayer1Side);
-        boolean player2Active = activeTouches.stream().anyMatch(TouchPoint::isPlayer2Side);
-        
-        if (!player1Active && player1Blade.isActive()) {
-            // Player 1 stopped swiping - could reset combo after delay
+    /** Touch changes dropped because the queue filled up between two updates */
+    public long getTouchesDropped() {
+        synchronized (inputLock) {
+            return touchesDropped;
         }
-        if (!player2Active && player2Blade.isActive()) {
-            // Player 2 stopped swiping
+    }
+    
+    /** Touch changes waiting for the next update */
+    public int getQueuedTouches() {
+        synchronized (inputLock) {
+            return queuedTouches.size();
         }
     }
     
@@ -593,6 +732,8 @@ public class GameEngine implements TouchListener {
     // ========================================
     
     public GameState getState() { return state; }
+    /** Seed of the current (or last) match's gameplay random numbers */
+    public long getMatchSeed() { return matchSeed; }
     public int getCurrentRound() { return currentRound; }
     public double getRoundTimer() { return roundTimer; }
     public int getCountdownValue() { return (int) Math.ceil(countdownTimer); }
@@ -610,8 +751,114 @@ public class GameEngine implements TouchListener {
     
     public EffectManager getEffectManager() { return effectManager; }
     
+    /** Engine time (ns): of the touch being applied, else of the current update */
+    public long getTime() { return time; }
+    
     public void setScreenSize(int width, int height) {
         this.screenWidth = width;
         this.screenHeight = height;
     }
+    
+    /**
+     * Play the next match with this seed (replays use the recorded one)
+     */
+    public void setNextMatchSeed(long seed) {
+        this.nextMatchSeed = seed;
+    }
+    
+    /**
+     * Set the time source (nanoseconds) that stamps queued touches and
+     * updates; the blades see those stamps. The input recorder passes the
+     * times it logs, replays pass the recorded ones.
+     */
+    public void setClock(LongSupplier clock) {
+        this.clock = clock;
+        this.time = clock.getAsLong();
+    }
+    
+    // ========================================
+    // Snapshots (replay keyframes)
+    // ========================================
+    
+    /**
+     * Copy the full game state: timers, scores, objects, blades, power-ups
+     * and the random sequence. Effects are visual only and not included.
+     * Call on the thread that updates the engine.
+     */
+    public EngineSnapshot snapshot() {
+        EngineSnapshot s = new EngineSnapshot();
+        s.state = state;
+        s.currentRound = currentRound;
+        s.roundTimer = roundTimer;
+        s.countdownTimer = countdownTimer;
+        s.roundEndTimer = roundEndTimer;
+        s.spawnTimer = spawnTimer;
+        s.currentSpawnInterval = currentSpawnInterval;
+        s.currentObjectSpeed = currentObjectSpeed;
+        s.spawnCounter = spawnCounter;
+        s.powerUpSpawnTimer = powerUpSpawnTimer;
+        s.randomState = random.getState();
+        s.matchSeed = matchSeed;
+        s.player1.copyFrom(player1);
+        s.player2.copyFrom(player2);
+        s.player1PowerUps.copyFrom(player1PowerUps);
+        s.player2PowerUps.copyFrom(player2PowerUps);
+        s.player1Blade.copyFrom(player1Blade);
+        s.player2Blade.copyFrom(player2Blade);
+        for (GameObject obj : gameObjects) {
+            s.gameObjects.add(obj.copy());
+        }
+        for (PowerUpObject obj : powerUpObjects) {
+            s.powerUpObjects.add(obj.copy());
+        }
+        s.touchToPlayer.copyFrom(touchToPlayer);
+        return s;
+    }
+    
+    /**
+     * Return to a snapshot's state (the snapshot stays unchanged and can be
+     * restored again). Running effects are cleared.
+     */
+    public void restore(EngineSnapshot s) {
+        currentRound = s.currentRound;
+        roundTimer = s.roundTimer;
+        countdownTimer = s.countdownTimer;
+        roundEndTimer = s.roundEndTimer;
+        spawnTimer = s.spawnTimer;
+        currentSpawnInterval = s.currentSpawnInterval;
+        currentObjectSpeed = s.currentObjectSpeed;
+        spawnCounter = s.spawnCounter;
+        powerUpSpawnTimer = s.powerUpSpawnTimer;
+        random.setSeed(s.randomState);
+        matchSeed = s.matchSeed;
+        player1.copyFrom(s.player1);
+        player2.copyFrom(s.player2);
+        player1PowerUps.copyFrom(s.player1PowerUps);
+        player2PowerUps.copyFrom(s.player2PowerUps);
+        player1Blade.copyFrom(s.player1Blade);
+        player2Blade.copyFrom(s.player2Blade);
+        
+        List<GameObject> objects = new ArrayList<>(s.gameObjects.size());
+        for (GameObject obj : s.gameObjects) {
+            objects.add(obj.copy());
+        }
+        gameObjects.clear();
+        gameObjects.addAll(objects);
+        List<PowerUpObject> powerUps = new ArrayList<>(s.powerUpObjects.size());
+        for (PowerUpObject obj : s.powerUpObjects) {
+            powerUps.add(obj.copy());
+        }
+        powerUpObjects.clear();
+        powerUpObjects.addAll(powerUps);
+        touchToPlayer.copyFrom(s.touchToPlayer);
+        effectManager.clear();
+        synchronized (inputLock) {
+            queuedTouches.clear();
+        }
+        time = clock.getAsLong();
+        
+        if (state != s.state) {
+            setState(s.state);
+        }
+    }
 }
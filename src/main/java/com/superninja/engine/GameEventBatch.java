@@ -0,0 +1,91 @@
+package com.superninja.engine;
+
+import com.superninja.objects.ObjectType;
+
+/**
+ * The events of one engine update, as published by GameEventPublisher.
+ * Events are compact records in primitive arrays, read by index; which
+ * fields an event uses depends on its kind:
+ *
+ *   STATE_CHANGED  state
+ *   SLICE          playerId, objectType, points, critical, x, y
+ *   BOMB_HIT       playerId, x, y
+ *   ROUND_END      playerId (winner, 0 = tie), round
+ *   GAME_OVER      playerId (winner), points (winner's total score)
+ *
+ * A batch is immutable and shared by all subscribers.
+ */
+public final class GameEventBatch {
+
+    public enum Kind { STATE_CHANGED, SLICE, BOMB_HIT, ROUND_END, GAME_OVER }
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final GameEngine.GameState[] STATES = GameEngine.GameState.values();
+    private static final ObjectType[] OBJECT_TYPES = ObjectType.values();
+
+    private final long tick;
+    private final int size;
+    private final byte[] kind;
+    private final byte[] player;
+    private final int[] value;  // Points, round or state ordinal
+    private final int[] detail; // Object type ordinal, bit 31 = critical
+    private final float[] x;
+    private final float[] y;
+
+    GameEventBatch(long tick, int size, byte[] kind, byte[] player, int[] value, int[] detail,
+                   float[] x, float[] y) {
+        this.tick = tick;
+        this.size = size;
+        this.kind = kind;
+        this.player = player;
+        this.value = value;
+        this.detail = detail;
+        this.x = x;
+        this.y = y;
+    }
+
+    /** Engine updates before the one these events came from */
+    public long tick() {
+        return tick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Kind kind(int i) {
+        return KINDS[kind[i]];
+    }
+
+    public int playerId(int i) {
+        return player[i];
+    }
+
+    public GameEngine.GameState state(int i) {
+        return STATES[value[i]];
+    }
+
+    public int points(int i) {
+        return value[i];
+    }
+
+    public int round(int i) {
+        return value[i];
+    }
+
+    public ObjectType objectType(int i) {
+        return OBJECT_TYPES[detail[i] & Integer.MAX_VALUE];
+    }
+
+    public boolean critical(int i) {
+        return detail[i] < 0;
+    }
+
+    public float x(int i) {
+        return x[i];
+    }
+
+    public float y(int i) {
+        return y[i];
+    }
+}
@@ -0,0 +1,306 @@
+package com.superninja.engine;
+
+import com.superninja.config.GameConfig;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes the engine's events without letting consumers slow the tick.
+ * During an update the engine writes each event as a compact record into
+ * a preallocated ring (primitive arrays, no allocation). When the update
+ * ends the records are copied into one GameEventBatch and offered to every
+ * subscriber's own bounded buffer; nothing is copied when no one listens.
+ * Each subscriber is served by its own daemon thread, honours its
+ * request(n) demand, and applies its overflow policy when its buffer is
+ * full. The engine only takes a subscriber's buffer lock, which the
+ * delivery thread holds for queue operations only, never during onNext.
+ */
+public final class GameEventPublisher implements Flow.Publisher<GameEventBatch> {
+
+    /** What a full subscriber buffer does with the next batch */
+    public enum Overflow {
+        /** Discard the oldest buffered batch (consumers that want the latest) */
+        DROP_OLDEST,
+        /** Discard the new batch */
+        DROP_NEWEST,
+        /**
+         * Drop nothing: delivery follows the subscriber's demand, and a
+         * subscriber that falls a whole buffer behind is failed with
+         * onError rather than the engine waiting for it
+         */
+        BACKPRESSURE
+    }
+
+    // Events of the current update (engine and input threads), guarded by this
+    private final byte[] kind;
+    private final byte[] player;
+    private final int[] value;
+    private final int[] detail;
+    private final float[] x;
+    private final float[] y;
+    private int count;
+    private long tick;
+
+    private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicLong eventsDropped = new AtomicLong();
+    private final AtomicLong batchesDropped = new AtomicLong();
+    private volatile boolean closed;
+    private int threadCount;
+
+    GameEventPublisher(int capacity) {
+        this.kind = new byte[capacity];
+        this.player = new byte[capacity];
+        this.value = new int[capacity];
+        this.detail = new int[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+    }
+
+    /**
+     * Subscribe with the default policy (DROP_OLDEST) and buffer size
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super GameEventBatch> subscriber) {
+        subscribe(subscriber, Overflow.DROP_OLDEST, GameConfig.EVENT_SUBSCRIBER_BUFFER);
+    }
+
+    /**
+     * @param overflow What a full buffer does with the next batch
+     * @param capacity Batches buffered for this subscriber
+     */
+    public void subscribe(Flow.Subscriber<? super GameEventBatch> subscriber, Overflow overflow, int capacity) {
+        if (subscriber == null || overflow == null) {
+            throw new NullPointerException("Subscriber and overflow policy are required");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Buffer capacity must be positive: " + capacity);
+        }
+        EventSubscription subscription = new EventSubscription(subscriber, overflow, capacity);
+        subscriptions.add(subscription);
+        Thread thread;
+        synchronized (this) {
+            thread = new Thread(subscription, "Game events " + ++threadCount);
+        }
+        thread.setDaemon(true);
+        subscription.thread = thread;
+        thread.start();
+    }
+
+    /**
+     * Complete every subscriber once its buffered batches are delivered.
+     * Later subscribers are completed right away.
+     */
+    public void close() {
+        closed = true;
+        for (EventSubscription s : subscriptions) {
+            s.wake();
+        }
+    }
+
+    /** Events lost because one update produced more than the ring holds */
+    public long getEventsDropped() {
+        return eventsDropped.get();
+    }
+
+    /** Batches discarded by full subscriber buffers (all subscribers) */
+    public long getBatchesDropped() {
+        return batchesDropped.get();
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    // ========================================
+    // Engine side
+    // ========================================
+
+    /**
+     * Add an event to the current update's batch
+     * @param detail Object type ordinal, bit 31 = critical
+     */
+    synchronized void record(GameEventBatch.Kind eventKind, int playerId, int eventValue, int eventDetail,
+                             double eventX, double eventY) {
+        if (count == kind.length) {
+            eventsDropped.incrementAndGet();
+            return;
+        }
+        int i = count++;
+        kind[i] = (byte) eventKind.ordinal();
+        player[i] = (byte) playerId;
+        value[i] = eventValue;
+        detail[i] = eventDetail;
+        x[i] = (float) eventX;
+        y[i] = (float) eventY;
+    }
+
+    /**
+     * End of an update: hand its events to the subscribers' buffers
+     */
+    void publish() {
+        GameEventBatch batch;
+        synchronized (this) {
+            long batchTick = tick++;
+            if (count == 0) return;
+            if (subscriptions.isEmpty()) {
+                count = 0;
+                return;
+            }
+            batch = new GameEventBatch(batchTick, count,
+                    Arrays.copyOf(kind, count), Arrays.copyOf(player, count),
+                    Arrays.copyOf(value, count), Arrays.copyOf(detail, count),
+                    Arrays.copyOf(x, count), Arrays.copyOf(y, count));
+            count = 0;
+        }
+        for (EventSubscription s : subscriptions) {
+            s.offer(batch);
+        }
+    }
+
+    // ========================================
+    // Subscribers
+    // ========================================
+
+    /**
+     * One subscriber's buffer, demand and delivery thread. Buffer, demand
+     * and flags are guarded by this.
+     */
+    private final class EventSubscription implements Flow.Subscription, Runnable {
+
+        private final Flow.Subscriber<? super GameEventBatch> subscriber;
+        private final Overflow overflow;
+        private final GameEventBatch[] buffer;
+        private int head;
+        private int size;
+        private long demand;
+        private boolean cancelled;
+        private Throwable failure;
+        private volatile Thread thread;
+
+        EventSubscription(Flow.Subscriber<? super GameEventBatch> subscriber, Overflow overflow, int capacity) {
+            this.subscriber = subscriber;
+            this.overflow = overflow;
+            this.buffer = new GameEventBatch[capacity];
+        }
+
+        void offer(GameEventBatch batch) {
+            synchronized (this) {
+                if (cancelled || failure != null) return;
+                if (size == buffer.length) {
+                    switch (overflow) {
+                        case DROP_NEWEST -> {
+                            batchesDropped.incrementAndGet();
+                            return;
+                        }
+                        case DROP_OLDEST -> {
+                            buffer[head] = null;
+                            head = (head + 1) % buffer.length;
+                            size--;
+                            batchesDropped.incrementAndGet();
+                        }
+                        case BACKPRESSURE -> {
+                            failure = new IllegalStateException("Subscriber fell "
+                                    + buffer.length + " event batches behind");
+                            wake();
+                            return;
+                        }
+                    }
+                }
+                buffer[(head + size) % buffer.length] = batch;
+                size++;
+            }
+            wake();
+        }
+
+        void wake() {
+            Thread t = thread;
+            if (t != null) {
+                LockSupport.unpark(t);
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            synchronized (this) {
+                if (n <= 0) {
+                    failure = new IllegalArgumentException("Non-positive request: " + n);
+                } else {
+                    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+                }
+            }
+            wake();
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                cancelled = true;
+                Arrays.fill(buffer, null);
+                size = 0;
+            }
+            subscriptions.remove(this);
+            wake();
+        }
+
+        @Override
+        public void run() {
+            try {
+                subscriber.onSubscribe(this);
+            } catch (Throwable t) {
+                System.err.println("GameEventPublisher: onSubscribe failed: " + t);
+                cancel();
+                return;
+            }
+            while (true) {
+                GameEventBatch next = null;
+                Throwable error = null;
+                boolean complete = false;
+                synchronized (this) {
+                    if (cancelled) return;
+                    if (failure != null) {
+                        error = failure;
+                        cancelled = true;
+                    } else if (size > 0 && demand > 0) {
+                        next = buffer[head];
+                        buffer[head] = null;
+                        head = (head + 1) % buffer.length;
+                        size--;
+                        if (demand != Long.MAX_VALUE) demand--;
+                    } else if (size == 0 && closed) {
+                        complete = true;
+                        cancelled = true;
+                    }
+                }
+                if (error != null || complete) {
+                    subscriptions.remove(this);
+                    try {
+                        if (error != null) {
+                            subscriber.onError(error);
+                        } else {
+                            subscriber.onComplete();
+                        }
+                    } catch (Throwable t) {
+                        System.err.println("GameEventPublisher: Subscriber failed: " + t);
+                    }
+                    return;
+                }
+                if (next == null) {
+                    LockSupport.park(this);
+                    continue;
+                }
+                try {
+                    subscriber.onNext(next);
+                } catch (Throwable t) {
+                    System.err.println("GameEventPublisher: Subscriber failed, cancelled: " + t);
+                    cancel();
+                    return;
+                }
+            }
+        }
+    }
+}
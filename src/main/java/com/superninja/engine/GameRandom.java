@@ -0,0 +1,51 @@
+package com.superninja.engine;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Seedable random source for gameplay decisions (what spawns where, power-up
+ * types, critical hits), so a match can be reproduced from its seed and its
+ * input. SplitMix64: one long of state and a few multiplies per number.
+ * Purely visual randomness (particles, spin) still uses Math.random().
+ * Not thread-safe; the engine draws from it on the game thread.
+ */
+public final class GameRandom implements RandomGenerator {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    public GameRandom(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Restart the sequence from a seed
+     */
+    public void setSeed(long seed) {
+        this.state = seed;
+    }
+
+    /** Current position in the sequence (setSeed with it resumes from here) */
+    public long getState() {
+        return state;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * A fresh seed for a new match
+     */
+    public static long newSeed() {
+        return mix(System.nanoTime() ^ System.currentTimeMillis() * GOLDEN_GAMMA);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,82 @@
+package com.superninja.engine;
+
+import com.superninja.input.TouchPoint;
+
+/**
+ * Touch changes waiting for an engine update, copied out of the (reused)
+ * TouchPoints into primitive arrays together with the engine time they
+ * arrived at. The engine keeps two and swaps them: the input threads fill
+ * one under its input lock while the game thread applies the other.
+ */
+final class TouchQueue {
+
+    private static final TouchPoint.TouchState[] STATES = TouchPoint.TouchState.values();
+
+    private final long[] session;
+    private final byte[] state;
+    private final float[] x;
+    private final float[] y;
+    private final float[] velocityX;
+    private final float[] velocityY;
+    private final float[] filteredX;
+    private final float[] filteredY;
+    private final float[] predictedX;
+    private final float[] predictedY;
+    private final long[] time;
+    private int size;
+
+    TouchQueue(int capacity) {
+        this.session = new long[capacity];
+        this.state = new byte[capacity];
+        this.x = new float[capacity];
+        this.y = new float[capacity];
+        this.velocityX = new float[capacity];
+        this.velocityY = new float[capacity];
+        this.filteredX = new float[capacity];
+        this.filteredY = new float[capacity];
+        this.predictedX = new float[capacity];
+        this.predictedY = new float[capacity];
+        this.time = new long[capacity];
+    }
+
+    /**
+     * Append a change
+     * @return false if the queue is full
+     */
+    boolean add(TouchPoint touch, long changeTime) {
+        if (size == session.length) return false;
+        int i = size++;
+        session[i] = touch.getSessionId();
+        state[i] = (byte) touch.getState().ordinal();
+        x[i] = touch.getX();
+        y[i] = touch.getY();
+        velocityX[i] = touch.getVelocityX();
+        velocityY[i] = touch.getVelocityY();
+        filteredX[i] = touch.getFilteredX();
+        filteredY[i] = touch.getFilteredY();
+        predictedX[i] = touch.getPredictedX();
+        predictedY[i] = touch.getPredictedY();
+        time[i] = changeTime;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    long session(int i) { return session[i]; }
+    TouchPoint.TouchState state(int i) { return STATES[state[i]]; }
+    float x(int i) { return x[i]; }
+    float y(int i) { return y[i]; }
+    float velocityX(int i) { return velocityX[i]; }
+    float velocityY(int i) { return velocityY[i]; }
+    float filteredX(int i) { return filteredX[i]; }
+    float filteredY(int i) { return filteredY[i]; }
+    float predictedX(int i) { return predictedX[i]; }
+    float predictedY(int i) { return predictedY[i]; }
+    long time(int i) { return time[i]; }
+}
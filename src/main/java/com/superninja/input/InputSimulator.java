@@ -1,16 +1,16 @@
 package com.superninja.input;
 
+import com.superninja.config.GameConfig;
+
 import java.awt.Component;
 import java.awt.event.*;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Simulates touch input using mouse for testing without hardware.
- * Also handles keyboard input.
+ * Each mouse event is delivered as a one-change TouchFrame, like a tracker
+ * frame from TouchManager. Also handles keyboard input.
  */
 public class InputSimulator implements MouseListener, MouseMotionListener, KeyListener {
     
@@ -19,8 +19,10 @@ public class InputSimulator implements MouseListener, MouseMotionListener, KeyLi
     private final List<TouchListener> touchListeners;
     private final List<KeyboardListener> keyListeners;
     
-    private final Map<Integer, TouchPoint> simulatedTouches;
+    private final TouchFrame frame = new TouchFrame();
+    private final TouchFilter filter = new TouchFilter(GameConfig.MOUSE_PREDICTION_MS);
     private long nextSessionId = 1000;
+    private int pressedButton; // Drag events report no button; they belong to the press
     
     private float lastX, lastY;
     private long lastMoveTime;
@@ -35,7 +37,6 @@ public class InputSimulator implements MouseListener, MouseMotionListener, KeyLi
         this.screenHeight = screenHeight;
         this.touchListeners = new CopyOnWriteArrayList<>();
         this.keyListeners = new CopyOnWriteArrayList<>();
-        this.simulatedTouches = new HashMap<>();
     }
     
     public void attachTo(Component component) {
@@ -84,32 +85,36 @@ public class InputSimulator implements MouseListener, MouseMotionListener, KeyLi
         lastY = y;
         lastMoveTime = System.nanoTime();
         
+        int button = state == TouchPoint.TouchState.MOVE ? pressedButton : e.getButton();
         return new TouchPoint(
-                nextSessionId + e.getButton(),
+                nextSessionId + button,
                 x, y, vx, vy, 0, state
         );
     }
     
+    /**
+     * Filter a single change and send it as its own frame
+     */
+    private void deliver(TouchPoint touch) {
+        filter.apply(touch);
+        frame.clear();
+        frame.add(touch);
+        frame.seal(TouchFrame.NO_FSEQ, System.nanoTime(), 0);
+        for (TouchListener listener : touchListeners) {
+            listener.onTouchFrame(frame);
+        }
+    }
+    
     // MouseListener
     @Override
     public void mousePressed(MouseEvent e) {
-        TouchPoint touch = createTouchPoint(e, TouchPoint.TouchState.DOWN);
-        simulatedTouches.put(e.getButton(), touch);
-        
-        for (TouchListener listener : touchListeners) {
-            listener.onTouchDown(touch);
-        }
+        pressedButton = e.getButton();
+        deliver(createTouchPoint(e, TouchPoint.TouchState.DOWN));
     }
     
     @Override
     public void mouseReleased(MouseEvent e) {
-        TouchPoint touch = createTouchPoint(e, TouchPoint.TouchState.UP);
-        simulatedTouches.remove(e.getButton());
-        
-        for (TouchListener listener : touchListeners) {
-            listener.onTouchUp(touch);
-        }
-        
+        deliver(createTouchPoint(e, TouchPoint.TouchState.UP));
         nextSessionId++;
     }
     
@@ -125,22 +130,7 @@ public class InputSimulator implements MouseListener, MouseMotionListener, KeyLi
     // MouseMotionListener
     @Override
     public void mouseDragged(MouseEvent e) {
-        TouchPoint touch = createTouchPoint(e, TouchPoint.TouchState.MOVE);
-        
-        // Update for all pressed buttons
-        for (Integer button : simulatedTouches.keySet()) {
-            simulatedTouches.put(button, touch);
-        }
-        
-        for (TouchListener listener : touchListeners) {
-            listener.onTouchMove(touch);
-        }
-        
-        // Also send frame update
-        List<TouchPoint> activeTouches = new ArrayList<>(simulatedTouches.values());
-        for (TouchListener listener : touchListeners) {
-            listener.onTouchFrame(activeTouches);
-        }
+        deliver(createTouchPoint(e, TouchPoint.TouchState.MOVE));
     }
     
     @Override
@@ -0,0 +1,133 @@
+package com.superninja.input;
+
+import com.superninja.config.GameConfig;
+
+/**
+ * Per-session jitter filter and short-horizon predictor for touch points.
+ * Positions go through a One-Euro filter (a low-pass whose cutoff rises
+ * with speed, so slow strokes are steady and fast ones do not lag), then
+ * are extrapolated along the smoothed velocity by the prediction horizon
+ * to where the finger will be when the frame reaches the screen.
+ * The raw position stays on the TouchPoint for hit testing; the filtered
+ * and predicted positions are for drawing.
+ * Session state lives in fixed primitive slots. Not thread-safe: each
+ * input source owns one filter.
+ */
+final class TouchFilter {
+
+    private static final int MAX_SESSIONS = TuioReceiver.MAX_SESSIONS;
+
+    /** Time step assumed when two updates carry the same timestamp */
+    private static final double MIN_DT = 1.0 / 1000;
+
+    private final double predictionSeconds;
+
+    private final long[] sessionIds = new long[MAX_SESSIONS];
+    private final boolean[] used = new boolean[MAX_SESSIONS];
+    private final double[] x = new double[MAX_SESSIONS];
+    private final double[] y = new double[MAX_SESSIONS];
+    private final double[] velocityX = new double[MAX_SESSIONS];
+    private final double[] velocityY = new double[MAX_SESSIONS];
+    private final long[] time = new long[MAX_SESSIONS];
+
+    /**
+     * @param predictionMs How far ahead to extrapolate (the latency to hide)
+     */
+    TouchFilter(double predictionMs) {
+        this.predictionSeconds = predictionMs / 1000.0;
+    }
+
+    /**
+     * Filter a touch in place, setting its filtered and predicted positions
+     */
+    void apply(TouchPoint touch) {
+        float rawX = touch.getX();
+        float rawY = touch.getY();
+        int slot = findSlot(touch.getSessionId());
+
+        if (!GameConfig.TOUCH_FILTER_ENABLED || touch.isDown() || slot < 0) {
+            // Start (or pass through): nothing to smooth against yet
+            touch.setFiltered(rawX, rawY, rawX, rawY);
+            if (GameConfig.TOUCH_FILTER_ENABLED && !touch.isUp()) {
+                start(slot >= 0 ? slot : allocateSlot(touch.getSessionId()), touch);
+            } else if (slot >= 0) {
+                used[slot] = false;
+            }
+            return;
+        }
+
+        double dt = Math.max(MIN_DT, (touch.getTimestamp() - time[slot]) / 1_000_000_000.0);
+
+        // Velocity from the tracker if it reports one, otherwise from the positions
+        double measuredVx;
+        double measuredVy;
+        if (touch.getVelocityX() != 0 || touch.getVelocityY() != 0) {
+            measuredVx = touch.getVelocityX();
+            measuredVy = touch.getVelocityY();
+        } else {
+            measuredVx = (rawX - x[slot]) / dt;
+            measuredVy = (rawY - y[slot]) / dt;
+        }
+        double velocityAlpha = smoothing(GameConfig.TOUCH_FILTER_DERIVATIVE_CUTOFF, dt);
+        velocityX[slot] += velocityAlpha * (measuredVx - velocityX[slot]);
+        velocityY[slot] += velocityAlpha * (measuredVy - velocityY[slot]);
+
+        // Cutoff rises with speed: steady when slow, responsive when fast
+        double speed = Math.sqrt(velocityX[slot] * velocityX[slot] + velocityY[slot] * velocityY[slot]);
+        double cutoff = GameConfig.TOUCH_FILTER_MIN_CUTOFF + GameConfig.TOUCH_FILTER_BETA * speed;
+        double alpha = smoothing(cutoff, dt);
+        x[slot] += alpha * (rawX - x[slot]);
+        y[slot] += alpha * (rawY - y[slot]);
+        time[slot] = touch.getTimestamp();
+
+        if (touch.isUp()) {
+            // No lead on release: the stroke ends where the finger left
+            touch.setFiltered((float) x[slot], (float) y[slot], (float) x[slot], (float) y[slot]);
+            used[slot] = false;
+            return;
+        }
+
+        double predictedX = clamp(x[slot] + velocityX[slot] * predictionSeconds);
+        double predictedY = clamp(y[slot] + velocityY[slot] * predictionSeconds);
+        touch.setFiltered((float) x[slot], (float) y[slot], (float) predictedX, (float) predictedY);
+    }
+
+    private void start(int slot, TouchPoint touch) {
+        if (slot < 0) return; // Out of slots; the touch passes through unfiltered
+        x[slot] = touch.getX();
+        y[slot] = touch.getY();
+        velocityX[slot] = touch.getVelocityX();
+        velocityY[slot] = touch.getVelocityY();
+        time[slot] = touch.getTimestamp();
+    }
+
+    /**
+     * Exponential smoothing factor for a low-pass with the given cutoff (Hz)
+     */
+    private static double smoothing(double cutoff, double dt) {
+        double tau = 1.0 / (2 * Math.PI * cutoff);
+        return 1.0 / (1.0 + tau / dt);
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+
+    private int findSlot(long sessionId) {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (used[s] && sessionIds[s] == sessionId) return s;
+        }
+        return -1;
+    }
+
+    private int allocateSlot(long sessionId) {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (!used[s]) {
+                used[s] = true;
+                sessionIds[s] = sessionId;
+                return s;
+            }
+        }
+        return -1;
+    }
+}
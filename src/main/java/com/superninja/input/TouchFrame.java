@@ -0,0 +1,83 @@
+package com.superninja.input;
+
+/**
+ * All touch changes of one sensor frame (one TUIO fseq), delivered together.
+ * Changes are in the order the tracker reported them: ended touches first,
+ * then new and moved ones. The batch and its TouchPoints are reused for the
+ * next frame, so listeners should not keep references after the callback.
+ */
+public final class TouchFrame {
+
+    /** Changes one frame can hold (an end and a new touch for every receiver slot) */
+    public static final int MAX_CHANGES = TuioReceiver.MAX_SESSIONS * 2;
+
+    /** Frame number for frames that do not come from a TUIO tracker */
+    public static final int NO_FSEQ = -1;
+
+    private final TouchPoint[] changes = new TouchPoint[MAX_CHANGES];
+    private int count;
+    private int fseq = NO_FSEQ;
+    private long timestamp;
+    private long timeTag;
+
+    /**
+     * Start collecting a new frame
+     */
+    void clear() {
+        for (int i = 0; i < count; i++) {
+            changes[i] = null;
+        }
+        count = 0;
+        fseq = NO_FSEQ;
+        timestamp = 0;
+        timeTag = 0;
+    }
+
+    /**
+     * Add a change
+     * @return false if the frame is full
+     */
+    boolean add(TouchPoint touch) {
+        if (count == MAX_CHANGES) return false;
+        changes[count++] = touch;
+        return true;
+    }
+
+    /**
+     * Stamp the completed frame
+     */
+    void seal(int fseq, long timestamp, long timeTag) {
+        this.fseq = fseq;
+        this.timestamp = timestamp;
+        this.timeTag = timeTag;
+    }
+
+    /** Number of changed touches */
+    public int size() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /** The i-th changed touch; its state says whether it started, moved or ended */
+    public TouchPoint get(int i) {
+        return changes[i];
+    }
+
+    /** Tracker frame sequence number, or NO_FSEQ */
+    public int getFseq() {
+        return fseq;
+    }
+
+    /** System.nanoTime() at which the frame arrived from the tracker */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /** Raw OSC time tag of the tracker's bundle (0 if unknown, 1 = "immediately") */
+    public long getTimeTag() {
+        return timeTag;
+    }
+}
@@ -1,7 +1,5 @@
 package com.superninja.input;
 
-import java.util.List;
-
 /**
  * Interface for receiving touch events from the TouchManager.
  */
@@ -23,9 +21,17 @@ public interface TouchListener {
     void onTouchUp(TouchPoint touch);
     
     /**
-     * Called each frame with all active touches (optional)
+     * Called once per sensor frame with every change in it. The default
+     * passes the changes on to onTouchDown/Move/Up in order.
      */
-    default void onTouchFrame(List<TouchPoint> activeTouches) {
-        // Default empty implementation
+    default void onTouchFrame(TouchFrame frame) {
+        for (int i = 0; i < frame.size(); i++) {
+            TouchPoint touch = frame.get(i);
+            switch (touch.getState()) {
+                case DOWN -> onTouchDown(touch);
+                case MOVE -> onTouchMove(touch);
+                case UP -> onTouchUp(touch);
+            }
+        }
     }
 }
@@ -1,36 +1,56 @@
 package com.superninja.input;
 
 import com.superninja.config.GameConfig;
+import com.superninja.util.LongObjectMap;
 import TUIO.*;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Manages TUIO touch input from the multitouch display.
+ * Touches come from the built-in NIO receiver (TUIO_NIO_RECEIVER) or from
+ * the tuio-lib TuioClient. The changes of one tracker frame are collected
+ * into a reused TouchFrame and delivered to the listeners in one call when
+ * the frame ends (fseq / refresh).
+ * With TUIO_SOURCES set, several sensors are received on their own ports
+ * and merged into one stream in table coordinates (see TouchMerger).
  */
 public class TouchManager implements TuioListener {
     
     private TuioClient tuioClient;
-    private final Map<Long, TouchPoint> activeTouches;
+    private TuioReceiver receiver;
+    private TouchMerger merger;
+    private final TouchPoint[] receiverTouches = new TouchPoint[TuioReceiver.MAX_SESSIONS];
+    private final TouchFrame frame = new TouchFrame();
+    private final TouchFilter filter = new TouchFilter(GameConfig.TUIO_PREDICTION_MS);
+    private final LongObjectMap<TouchPoint> activeTouches; // Guarded by itself
     private final List<TouchListener> listeners;
     private boolean connected;
     private boolean debugMode;
     
     private int totalTouchesReceived;
-    private int activeTouchCount;
+    private volatile int activeTouchCount;
+    private volatile long framesDelivered;
+    private volatile long changesDelivered;
     
     public TouchManager() {
-        this.activeTouches = new ConcurrentHashMap<>();
+        this.activeTouches = new LongObjectMap<>(TuioReceiver.MAX_SESSIONS);
         this.listeners = new CopyOnWriteArrayList<>();
         this.connected = false;
         this.debugMode = GameConfig.TUIO_DEBUG;
     }
     
     public boolean connect(int port) {
+        if (GameConfig.TUIO_NIO_RECEIVER) {
+            return GameConfig.TUIO_SOURCES.isBlank() ? connectReceiver(port) : connectSources(GameConfig.TUIO_SOURCES);
+        }
+        if (!GameConfig.TUIO_SOURCES.isBlank()) {
+            System.err.println("TouchManager: Multiple TUIO sources need the built-in receiver; using port " + port + " only");
+        }
         try {
             tuioClient = new TuioClient(port);
             tuioClient.addTuioListener(this);
@@ -49,16 +69,81 @@ public class TouchManager implements TuioListener {
         }
     }
     
+    private boolean connectReceiver(int port) {
+        try {
+            receiver = new TuioReceiver(new ReceiverBridge());
+            receiver.start(port);
+            connected = true;
+            
+            if (debugMode) {
+                System.out.println("TouchManager: Receiving TUIO on port " + port);
+            }
+            
+            return true;
+        } catch (Exception e) {
+            System.err.println("TouchManager: Failed to open TUIO port: " + e.getMessage());
+            receiver = null;
+            connected = false;
+            return false;
+        }
+    }
+    
+    private boolean connectSources(String spec) {
+        try {
+            List<TuioSource> sources = TuioSource.parse(spec);
+            if (sources.isEmpty()) {
+                throw new IllegalArgumentException("No TUIO sources in \"" + spec + "\"");
+            }
+            merger = new TouchMerger(sources, new MergerBridge());
+            merger.start();
+            connected = true;
+            
+            if (debugMode) {
+                for (TuioSource source : sources) {
+                    System.out.println("TouchManager: Receiving TUIO sensor " + source);
+                }
+            }
+            
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("TouchManager: Failed to open TUIO sources: " + e.getMessage());
+            merger = null;
+            connected = false;
+            return false;
+        }
+    }
+    
     public boolean connect() {
         return connect(GameConfig.TUIO_PORT);
     }
     
     public void disconnect() {
+        if (merger != null) {
+            merger.stop();
+            merger = null;
+            connected = false;
+            clearTouches();
+            
+            if (debugMode) {
+                System.out.println("TouchManager: Stopped TUIO sources");
+            }
+        }
+        if (receiver != null) {
+            receiver.stop();
+            receiver = null;
+            connected = false;
+            clearTouches();
+            Arrays.fill(receiverTouches, null);
+            
+            if (debugMode) {
+                System.out.println("TouchManager: Stopped TUIO receiver");
+            }
+        }
         if (tuioClient != null) {
             tuioClient.disconnect();
             tuioClient = null;
             connected = false;
-            activeTouches.clear();
+            clearTouches();
             
             if (debugMode) {
                 System.out.println("TouchManager: Disconnected from TUIO");
@@ -67,7 +152,7 @@ public class TouchManager implements TuioListener {
     }
     
     public boolean isConnected() {
-        return connected && tuioClient != null;
+        return connected && (tuioClient != null || receiver != null || merger != null);
     }
     
     public void addListener(TouchListener listener) {
@@ -79,38 +164,124 @@ public class TouchManager implements TuioListener {
     }
     
     public List<TouchPoint> getActiveTouches() {
-        return new ArrayList<>(activeTouches.values());
+        synchronized (activeTouches) {
+            return activeTouches.valuesInto(new ArrayList<>(activeTouches.size()));
+        }
     }
     
     public TouchPoint getTouch(long sessionId) {
-        return activeTouches.get(sessionId);
+        synchronized (activeTouches) {
+            return activeTouches.get(sessionId);
+        }
     }
     
     public int getTouchCount() {
-        return activeTouches.size();
+        return activeTouchCount;
     }
     
     public List<TouchPoint> getPlayer1Touches() {
-        return activeTouches.values().stream()
+        return getActiveTouches().stream()
                 .filter(TouchPoint::isPlayer1Side)
                 .toList();
     }
     
     public List<TouchPoint> getPlayer2Touches() {
-        return activeTouches.values().stream()
+        return getActiveTouches().stream()
                 .filter(TouchPoint::isPlayer2Side)
                 .toList();
     }
     
+    private void trackTouch(long sessionId, TouchPoint touch) {
+        synchronized (activeTouches) {
+            activeTouches.put(sessionId, touch);
+            activeTouchCount = activeTouches.size();
+        }
+    }
+    
+    private void untrackTouch(long sessionId) {
+        synchronized (activeTouches) {
+            activeTouches.remove(sessionId);
+            activeTouchCount = activeTouches.size();
+        }
+    }
+    
+    private void clearTouches() {
+        synchronized (activeTouches) {
+            activeTouches.clear();
+            activeTouchCount = 0;
+        }
+    }
+    
     public void setDebugMode(boolean debug) {
         this.debugMode = debug;
     }
     
+    /** Frames handed to the listeners */
+    public long getFramesDelivered() {
+        return framesDelivered;
+    }
+    
+    /** Touch changes handed to the listeners (all frames) */
+    public long getChangesDelivered() {
+        return changesDelivered;
+    }
+    
+    /** Datagrams taken off the socket(s) by the built-in receiver, or -1 with tuio-lib */
+    public long getPacketsReceived() {
+        if (merger != null) {
+            long packets = 0;
+            for (TuioSource source : merger.getSources()) {
+                packets += source.getPacketsReceived();
+            }
+            return packets;
+        }
+        return receiver != null ? receiver.getPacketsReceived() : -1;
+    }
+    
+    /** Changes queued in the sensor rings for the merger (0 with a single sensor) */
+    public int getSensorQueueDepth() {
+        int depth = 0;
+        if (merger != null) {
+            for (TuioSource source : merger.getSources()) {
+                depth += source.getQueueDepth();
+            }
+        }
+        return depth;
+    }
+    
+    /** Times a sensor's receiver had to wait for the merger to make room */
+    public long getSensorWaitsForRoom() {
+        long waits = 0;
+        if (merger != null) {
+            for (TuioSource source : merger.getSources()) {
+                waits += source.getWaitsForRoom();
+            }
+        }
+        return waits;
+    }
+    
+    /** Changes collected for the frame being built (read without locking, for monitoring) */
+    public int getPendingChanges() {
+        return frame.size();
+    }
+    
     public String getDebugInfo() {
-        return String.format("TUIO: %s | Active: %d | Total: %d",
+        String info = String.format("TUIO: %s | Active: %d | Total: %d | Frames: %d",
                 connected ? "Connected" : "Disconnected",
                 activeTouchCount,
-                totalTouchesReceived);
+                totalTouchesReceived,
+                framesDelivered);
+        if (receiver != null) {
+            info += String.format(" | Packets: %d (%d rejected)",
+                    receiver.getPacketsReceived(), receiver.getPacketsRejected());
+        }
+        if (merger != null) {
+            for (TuioSource source : merger.getSources()) {
+                info += String.format(" | :%d %d pkts", source.getPort(), source.getPacketsReceived());
+            }
+            info += String.format(" | Seam merges: %d", merger.getSeamMerges());
+        }
+        return info;
     }
     
     // ========================================
@@ -120,54 +291,74 @@ public class TouchManager implements TuioListener {
     @Override
     public void addTuioCursor(TuioCursor cursor) {
         TouchPoint touch = createTouchPoint(cursor, TouchPoint.TouchState.DOWN);
-        activeTouches.put(cursor.getSessionID(), touch);
-        activeTouchCount = activeTouches.size();
+        trackTouch(cursor.getSessionID(), touch);
         totalTouchesReceived++;
         
         if (debugMode) {
             System.out.println("Touch DOWN: " + touch);
         }
         
-        for (TouchListener listener : listeners) {
-            listener.onTouchDown(touch);
-        }
+        queue(touch);
     }
     
     @Override
     public void updateTuioCursor(TuioCursor cursor) {
         TouchPoint touch = createTouchPoint(cursor, TouchPoint.TouchState.MOVE);
-        activeTouches.put(cursor.getSessionID(), touch);
+        trackTouch(cursor.getSessionID(), touch);
         
         if (debugMode) {
             System.out.println("Touch MOVE: " + touch);
         }
         
-        for (TouchListener listener : listeners) {
-            listener.onTouchMove(touch);
-        }
+        queue(touch);
     }
     
     @Override
     public void removeTuioCursor(TuioCursor cursor) {
         TouchPoint touch = createTouchPoint(cursor, TouchPoint.TouchState.UP);
-        activeTouches.remove(cursor.getSessionID());
-        activeTouchCount = activeTouches.size();
+        untrackTouch(cursor.getSessionID());
         
         if (debugMode) {
             System.out.println("Touch UP: " + touch);
         }
         
-        for (TouchListener listener : listeners) {
-            listener.onTouchUp(touch);
-        }
+        queue(touch);
     }
     
     @Override
     public void refresh(TuioTime frameTime) {
-        List<TouchPoint> touches = getActiveTouches();
-        for (TouchListener listener : listeners) {
-            listener.onTouchFrame(touches);
+        // fseq is a 32-bit int on the wire; tuio-lib widens it to long
+        deliverFrame((int) frameTime.getFrameID(), System.nanoTime(), 0);
+    }
+    
+    // ========================================
+    // Frame batching
+    // ========================================
+    
+    /**
+     * Filter a change and add it to the current frame (delivering early if it is full)
+     */
+    private void queue(TouchPoint touch) {
+        filter.apply(touch);
+        if (!frame.add(touch)) {
+            deliverFrame(TouchFrame.NO_FSEQ, System.nanoTime(), 0);
+            frame.add(touch);
+        }
+    }
+    
+    /**
+     * Stamp the collected changes and hand them to the listeners as one frame
+     */
+    private void deliverFrame(int fseq, long timestamp, long timeTag) {
+        if (!frame.isEmpty()) {
+            frame.seal(fseq, timestamp, timeTag);
+            framesDelivered++;
+            changesDelivered += frame.size();
+            for (TouchListener listener : listeners) {
+                listener.onTouchFrame(frame);
+            }
         }
+        frame.clear();
     }
     
     @Override
@@ -188,6 +379,113 @@ public class TouchManager implements TuioListener {
     @Override
     public void removeTuioBlob(TuioBlob blob) {}
     
+    // ========================================
+    // Built-in receiver
+    // ========================================
+    
+    /**
+     * Turns receiver slot updates into frame changes. One TouchPoint is
+     * created per touch and updated in place for its moves, so only new
+     * touches allocate.
+     */
+    private final class ReceiverBridge implements TuioReceiver.CursorListener {
+        
+        @Override
+        public void cursorDown(int slot, long sessionId, float x, float y,
+                               float velocityX, float velocityY, float acceleration) {
+            TouchPoint touch = new TouchPoint(sessionId, x, y, velocityX, velocityY, acceleration,
+                    TouchPoint.TouchState.DOWN);
+            receiverTouches[slot] = touch;
+            trackTouch(sessionId, touch);
+            totalTouchesReceived++;
+            
+            if (debugMode) {
+                System.out.println("Touch DOWN: " + touch);
+            }
+            
+            queue(touch);
+        }
+        
+        @Override
+        public void cursorMove(int slot, long sessionId, float x, float y,
+                               float velocityX, float velocityY, float acceleration) {
+            TouchPoint touch = receiverTouches[slot];
+            touch.update(x, y, velocityX, velocityY, acceleration, TouchPoint.TouchState.MOVE);
+            
+            if (debugMode) {
+                System.out.println("Touch MOVE: " + touch);
+            }
+            
+            queue(touch);
+        }
+        
+        @Override
+        public void cursorUp(int slot, long sessionId) {
+            TouchPoint touch = receiverTouches[slot];
+            receiverTouches[slot] = null;
+            touch.release();
+            untrackTouch(sessionId);
+            
+            if (debugMode) {
+                System.out.println("Touch UP: " + touch);
+            }
+            
+            queue(touch);
+        }
+        
+        @Override
+        public void frameEnd(int fseq, long receivedNanos, long timeTag) {
+            deliverFrame(fseq, receivedNanos, timeTag);
+        }
+    }
+    
+    // ========================================
+    // Multiple sensors
+    // ========================================
+    
+    /**
+     * Turns merged touches into frame changes (on the merger thread)
+     */
+    private final class MergerBridge implements TouchMerger.Output {
+        
+        @Override
+        public void touchDown(TouchPoint touch) {
+            trackTouch(touch.getSessionId(), touch);
+            totalTouchesReceived++;
+            
+            if (debugMode) {
+                System.out.println("Touch DOWN: " + touch);
+            }
+            
+            queue(touch);
+        }
+        
+        @Override
+        public void touchMove(TouchPoint touch) {
+            if (debugMode) {
+                System.out.println("Touch MOVE: " + touch);
+            }
+            
+            queue(touch);
+        }
+        
+        @Override
+        public void touchUp(TouchPoint touch) {
+            untrackTouch(touch.getSessionId());
+            
+            if (debugMode) {
+                System.out.println("Touch UP: " + touch);
+            }
+            
+            queue(touch);
+        }
+        
+        @Override
+        public void frameEnd(int fseq, long receivedNanos, long timeTag) {
+            deliverFrame(fseq, receivedNanos, timeTag);
+        }
+    }
+    
     private TouchPoint createTouchPoint(TuioCursor cursor, TouchPoint.TouchState state) {
         return new TouchPoint(
                 cursor.getSessionID(),
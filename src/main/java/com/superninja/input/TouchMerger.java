@@ -0,0 +1,337 @@
+package com.superninja.input;
+
+import com.superninja.config.GameConfig;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Merges the cursor streams of several TUIO sensors into one touch stream
+ * in table coordinates, on its own thread. Each sensor's changes arrive
+ * through its TuioSource queue; every merged touch gets a session id of
+ * its own, so ids from different sensors cannot collide.
+ * A finger at a seam is kept as one touch: where two sensors overlap, the
+ * second sensor's touch is tied to the first one's (and takes over when the
+ * first lifts); where they meet edge to edge, a touch lifted near the
+ * sensor's edge is held for TUIO_SEAM_HANDOFF_MS and continued by a touch
+ * that starts close to it on another sensor.
+ * Merged touches are reused TouchPoints, updated in place.
+ */
+final class TouchMerger implements Runnable {
+
+    /**
+     * Receives the merged changes, on the merger thread
+     */
+    interface Output {
+        void touchDown(TouchPoint touch);
+        void touchMove(TouchPoint touch);
+        void touchUp(TouchPoint touch);
+        /** All changes of a sensor frame (or of expired hand-offs) have been reported */
+        void frameEnd(int fseq, long receivedNanos, long timeTag);
+    }
+
+    private static final int MAX_TOUCHES = TuioReceiver.MAX_SESSIONS;
+    private static final long IDLE_PARK_NANOS = 10_000_000L;
+
+    private final List<TuioSource> sources;
+    private final Output output;
+    private final double seamDistance;
+    private final long handoffNanos;
+
+    // Merged touch for each sensor's receiver slot (-1 = none)
+    private final int[][] sourceTouch;
+
+    // Merged touches
+    private final boolean[] used = new boolean[MAX_TOUCHES];
+    private final TouchPoint[] points = new TouchPoint[MAX_TOUCHES];
+    private final int[] ownerSource = new int[MAX_TOUCHES];   // -1 while waiting for a hand-off
+    private final int[] ownerSlot = new int[MAX_TOUCHES];
+    private final int[] lastSource = new int[MAX_TOUCHES];
+    private final int[] aliasSource = new int[MAX_TOUCHES];   // Second sensor seeing the same finger, or -1
+    private final int[] aliasSlot = new int[MAX_TOUCHES];
+    private final long[] handoffDeadline = new long[MAX_TOUCHES];
+    private final double[] lastX = new double[MAX_TOUCHES];
+    private final double[] lastY = new double[MAX_TOUCHES];
+    private long nextSessionId = 1;
+
+    private Thread thread;
+    private volatile boolean running;
+    private volatile long seamMerges;
+    private volatile long touchesDropped;
+
+    TouchMerger(List<TuioSource> sources, Output output) {
+        this.sources = sources;
+        this.output = output;
+        this.seamDistance = GameConfig.TUIO_SEAM_DISTANCE;
+        this.handoffNanos = (long) (GameConfig.TUIO_SEAM_HANDOFF_MS * 1_000_000);
+        this.sourceTouch = new int[sources.size()][TuioReceiver.MAX_SESSIONS];
+        for (int[] slots : sourceTouch) {
+            Arrays.fill(slots, -1);
+        }
+    }
+
+    /**
+     * Start the merger thread and bind every sensor's port
+     * @throws IOException If a port cannot be bound (the others are closed again)
+     */
+    void start() throws IOException {
+        running = true;
+        thread = new Thread(this, "TUIO merger");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+        try {
+            for (TuioSource source : sources) {
+                source.start(thread);
+            }
+        } catch (IOException e) {
+            stop();
+            throw e;
+        }
+    }
+
+    void stop() {
+        for (TuioSource source : sources) {
+            source.stop();
+        }
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    List<TuioSource> getSources() {
+        return sources;
+    }
+
+    /** Sensor touches joined to another sensor's touch at a seam */
+    long getSeamMerges() {
+        return seamMerges;
+    }
+
+    /** Sensor touches ignored because all merged touches were in use */
+    long getTouchesDropped() {
+        return touchesDropped;
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            boolean drained = false;
+            for (TuioSource source : sources) {
+                drained |= drain(source);
+            }
+            long now = System.nanoTime();
+            long nextDeadline = expireHandoffs(now);
+            if (!drained) {
+                LockSupport.parkNanos(nextDeadline == 0 ? IDLE_PARK_NANOS
+                        : Math.max(1, Math.min(IDLE_PARK_NANOS, nextDeadline - now)));
+            }
+        }
+    }
+
+    /**
+     * Handle the complete sensor frames queued by one sensor. A frame still
+     * being written is left for the next pass, so no other sensor's (or an
+     * expired hand-off's) frame end can deliver it half done.
+     * @return false if there was no complete frame
+     */
+    private boolean drain(TuioSource source) {
+        long n = source.position();
+        long end = source.available();
+        if (n == end) return false;
+        // Stop after the last frame end, unless the ring is full (the receiver waits for room)
+        if (end - n < TuioSource.CAPACITY) {
+            while (end > n && source.kind(end - 1) != TuioSource.EVENT_FRAME) {
+                end--;
+            }
+            if (end == n) return false;
+        }
+        for (; n < end; n++) {
+            switch (source.kind(n)) {
+                case TuioSource.EVENT_DOWN -> down(source, n);
+                case TuioSource.EVENT_MOVE -> move(source, n);
+                case TuioSource.EVENT_UP -> up(source, source.slot(n));
+                case TuioSource.EVENT_FRAME -> output.frameEnd(source.slot(n), source.time(n), source.timeTag(n));
+                default -> {}
+            }
+        }
+        source.release(end);
+        return true;
+    }
+
+    private void down(TuioSource source, long n) {
+        int s = source.getIndex();
+        int slot = source.slot(n);
+        double tx = tableX(source, n);
+        double ty = tableY(source, n);
+
+        int g = findSeamPartner(s, tx, ty);
+        if (g >= 0) {
+            seamMerges++;
+            if (ownerSource[g] < 0) {
+                // Picked up on this side of the seam: the touch carries on
+                handoffDeadline[g] = 0;
+                setOwner(g, s, slot);
+                sourceTouch[s][slot] = g;
+                moveTo(g, source, n, tx, ty);
+            } else {
+                // Both sensors see the finger: follow the first one
+                aliasSource[g] = s;
+                aliasSlot[g] = slot;
+                sourceTouch[s][slot] = g;
+            }
+            return;
+        }
+
+        g = allocate();
+        if (g < 0) {
+            touchesDropped++;
+            return;
+        }
+        setOwner(g, s, slot);
+        aliasSource[g] = -1;
+        handoffDeadline[g] = 0;
+        lastX[g] = tx;
+        lastY[g] = ty;
+        sourceTouch[s][slot] = g;
+        points[g] = new TouchPoint(nextSessionId++, (float) tx, (float) ty,
+                (float) source.tableVelocityX(source.velocityX(n), source.velocityY(n)),
+                (float) source.tableVelocityY(source.velocityX(n), source.velocityY(n)),
+                source.acceleration(n), TouchPoint.TouchState.DOWN);
+        output.touchDown(points[g]);
+    }
+
+    private void move(TuioSource source, long n) {
+        int s = source.getIndex();
+        int slot = source.slot(n);
+        int g = sourceTouch[s][slot];
+        // A second sensor's view of the finger is not passed on while the first one has it
+        if (g >= 0 && ownerSource[g] == s && ownerSlot[g] == slot) {
+            moveTo(g, source, n, tableX(source, n), tableY(source, n));
+        }
+    }
+
+    private void up(TuioSource source, int slot) {
+        int s = source.getIndex();
+        int g = sourceTouch[s][slot];
+        if (g < 0) return;
+        sourceTouch[s][slot] = -1;
+
+        if (aliasSource[g] == s && aliasSlot[g] == slot) {
+            aliasSource[g] = -1;
+            return;
+        }
+        if (aliasSource[g] >= 0) {
+            // The other sensor still sees the finger: it takes over
+            setOwner(g, aliasSource[g], aliasSlot[g]);
+            aliasSource[g] = -1;
+            return;
+        }
+        if (sources.size() > 1 && source.isNearSeam(lastX[g], lastY[g], seamDistance)) {
+            // May be crossing to the next sensor: wait before ending it
+            ownerSource[g] = -1;
+            handoffDeadline[g] = System.nanoTime() + handoffNanos;
+            return;
+        }
+        end(g);
+    }
+
+    /**
+     * End the touches whose hand-off wait is over
+     * @return The earliest remaining deadline, or 0 if none
+     */
+    private long expireHandoffs(long now) {
+        boolean ended = false;
+        long next = 0;
+        for (int g = 0; g < MAX_TOUCHES; g++) {
+            long deadline = handoffDeadline[g];
+            if (!used[g] || deadline == 0) continue;
+            if (now - deadline >= 0) {
+                end(g);
+                ended = true;
+            } else if (next == 0 || deadline - next < 0) {
+                next = deadline;
+            }
+        }
+        if (ended) {
+            output.frameEnd(TouchFrame.NO_FSEQ, now, 0);
+        }
+        return next;
+    }
+
+    /**
+     * Another sensor's touch (alive, or waiting for a hand-off) close to a new one
+     */
+    private int findSeamPartner(int s, double tx, double ty) {
+        if (sources.size() < 2) return -1;
+        int best = -1;
+        double bestDistance = seamDistance * seamDistance;
+        for (int g = 0; g < MAX_TOUCHES; g++) {
+            if (!used[g] || lastSource[g] == s || aliasSource[g] >= 0) continue;
+            double dx = lastX[g] - tx;
+            double dy = lastY[g] - ty;
+            double distance = dx * dx + dy * dy;
+            if (distance <= bestDistance) {
+                bestDistance = distance;
+                best = g;
+            }
+        }
+        return best;
+    }
+
+    private void moveTo(int g, TuioSource source, long n, double tx, double ty) {
+        lastX[g] = tx;
+        lastY[g] = ty;
+        float vx = source.velocityX(n);
+        float vy = source.velocityY(n);
+        points[g].update((float) tx, (float) ty,
+                (float) source.tableVelocityX(vx, vy), (float) source.tableVelocityY(vx, vy),
+                source.acceleration(n), TouchPoint.TouchState.MOVE);
+        output.touchMove(points[g]);
+    }
+
+    private void end(int g) {
+        handoffDeadline[g] = 0;
+        used[g] = false;
+        points[g].release();
+        output.touchUp(points[g]);
+        points[g] = null;
+    }
+
+    private void setOwner(int g, int s, int slot) {
+        ownerSource[g] = s;
+        ownerSlot[g] = slot;
+        lastSource[g] = s;
+    }
+
+    private int allocate() {
+        for (int g = 0; g < MAX_TOUCHES; g++) {
+            if (!used[g]) {
+                used[g] = true;
+                return g;
+            }
+        }
+        return -1;
+    }
+
+    private static double tableX(TuioSource source, long n) {
+        return clamp(source.tableX(source.x(n), source.y(n)));
+    }
+
+    private static double tableY(TuioSource source, long n) {
+        return clamp(source.tableY(source.x(n), source.y(n)));
+    }
+
+    private static double clamp(double value) {
+        return Math.max(0, Math.min(1, value));
+    }
+}
@@ -2,18 +2,26 @@ package com.superninja.input;
 
 /**
  * Represents a single touch point from the TUIO input system.
- * Immutable representation of touch state at a moment in time.
+ * Touch state at a moment in time. Points delivered by the built-in TUIO
+ * receiver are updated in place for the life of the touch, so listeners
+ * should read the values during the callback rather than keep the instance.
+ * x/y are the raw sensor position (use them for hit testing); the filtered
+ * and predicted positions are smoothed and extrapolated for drawing.
  */
 public class TouchPoint {
     
     private final long sessionId;
-    private final float x;
-    private final float y;
-    private final float velocityX;
-    private final float velocityY;
-    private final float acceleration;
-    private final TouchState state;
-    private final long timestamp;
+    private float x;
+    private float y;
+    private float velocityX;
+    private float velocityY;
+    private float acceleration;
+    private float filteredX;
+    private float filteredY;
+    private float predictedX;
+    private float predictedY;
+    private TouchState state;
+    private long timestamp;
     
     /**
      * Touch point states
@@ -36,6 +44,8 @@ public class TouchPoint {
         this.velocityX = velocityX;
         this.velocityY = velocityY;
         this.acceleration = acceleration;
+        this.filteredX = this.predictedX = x;
+        this.filteredY = this.predictedY = y;
         this.state = state;
         this.timestamp = System.nanoTime();
     }
@@ -47,6 +57,39 @@ public class TouchPoint {
         this(sessionId, x, y, 0, 0, 0, state);
     }
     
+    /**
+     * Update the point in place (TouchManager reuses one instance per touch)
+     */
+    void update(float x, float y, float velocityX, float velocityY, float acceleration, TouchState state) {
+        this.x = x;
+        this.y = y;
+        this.velocityX = velocityX;
+        this.velocityY = velocityY;
+        this.acceleration = acceleration;
+        this.filteredX = this.predictedX = x;
+        this.filteredY = this.predictedY = y;
+        this.state = state;
+        this.timestamp = System.nanoTime();
+    }
+    
+    /**
+     * Set the smoothed and extrapolated positions (TouchFilter)
+     */
+    void setFiltered(float filteredX, float filteredY, float predictedX, float predictedY) {
+        this.filteredX = filteredX;
+        this.filteredY = filteredY;
+        this.predictedX = predictedX;
+        this.predictedY = predictedY;
+    }
+    
+    /**
+     * Mark the touch as ended, keeping its last position
+     */
+    void release() {
+        this.state = TouchState.UP;
+        this.timestamp = System.nanoTime();
+    }
+    
     public long getSessionId() { return sessionId; }
     public float getX() { return x; }
     public float getY() { return y; }
@@ -59,6 +102,14 @@ public class TouchPoint {
         return (int)(y * screenHeight);
     }
     
+    /** Jitter-filtered position (normalized) */
+    public float getFilteredX() { return filteredX; }
+    public float getFilteredY() { return filteredY; }
+    
+    /** Filtered position extrapolated to the expected display time (normalized) */
+    public float getPredictedX() { return predictedX; }
+    public float getPredictedY() { return predictedY; }
+    
     public float getVelocityX() { return velocityX; }
     public float getVelocityY() { return velocityY; }
     public float getAcceleration() { return acceleration; }
@@ -0,0 +1,595 @@
+package com.superninja.input;
+
+import com.superninja.config.GameConfig;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntSupplier;
+
+/**
+ * Synthetic TUIO 1.1 tracker for stress testing without a table.
+ * Sends one /tuio/2Dcur bundle (alive, a set per moving cursor, fseq) per
+ * frame to a local UDP port. Each session swipes strokes in a line, zigzag
+ * or circle, rests, and comes back with a new session id. Bundles can be
+ * dropped and lift-offs lost (the session stays in the alive list without
+ * moving, as when a tracker misses the finger leaving).
+ * Once a second it logs what it sent and, when given the TouchManager of
+ * the same process, what that received and delivered to its listeners,
+ * the depths of the input queues, and the bundles lost on the way.
+ */
+public class TuioLoadGenerator implements Runnable {
+
+    /** Stroke shapes */
+    public enum Pattern {
+        LINE, ZIGZAG, CIRCLE, MIXED;
+
+        public static Pattern fromName(String name) {
+            for (Pattern p : values()) {
+                if (p.name().equalsIgnoreCase(name)) return p;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Most sessions one generator drives: what the built-in receiver tracks,
+     * so every alive and set message it sends is taken in whole
+     */
+    public static final int MAX_SESSIONS = TuioReceiver.MAX_SESSIONS;
+
+    private static final int MAX_PACKET = 65536;
+    private static final long REPORT_INTERVAL_NANOS = 1_000_000_000L;
+
+    private static final double MIN_STROKE_SECONDS = 0.15;
+    private static final double MAX_STROKE_SECONDS = 0.45;
+    private static final double MIN_REST_SECONDS = 0.05;
+    private static final double MAX_REST_SECONDS = 0.30;
+    /** How long a session with a lost lift-off stays alive */
+    private static final double LOST_UP_SECONDS = 1.0;
+    private static final double ZIGZAG_AMPLITUDE = 0.04;
+    private static final double ZIGZAG_PERIOD = 0.12;
+
+    private static final byte[] BUNDLE = ascii("#bundle");
+    private static final byte[] CURSOR_2D = ascii("/tuio/2Dcur");
+    private static final byte[] SOURCE = ascii("source");
+    private static final byte[] SOURCE_NAME = ascii("superninja-storm");
+    private static final byte[] ALIVE = ascii("alive");
+    private static final byte[] SET = ascii("set");
+    private static final byte[] FSEQ = ascii("fseq");
+    private static final byte[] SOURCE_TAGS = ascii(",ss");
+    private static final byte[] SET_TAGS = ascii(",sifffff");
+    private static final byte[] FSEQ_TAGS = ascii(",si");
+
+    // Session phases
+    private static final int RESTING = 0;
+    private static final int STROKING = 1;
+    private static final int LINGERING = 2;
+
+    private final int port;
+    private final int sessions;
+    private final int rateHz;
+    private final double dropRate;
+    private final double lostUpRate;
+    private final Pattern pattern;
+    private final Random random = new Random();
+    private final ByteBuffer buffer = ByteBuffer.allocate(MAX_PACKET);
+
+    // Per-session state (structure of arrays)
+    private final int[] phase;
+    private final int[] sessionIds;
+    private final double[] phaseEnd;
+    private final double[] strokeStart;
+    private final Pattern[] strokePattern;
+    private final double[] originX;
+    private final double[] originY;
+    private final double[] velocityX;
+    private final double[] velocityY;
+    private final double[] radius;
+    private final float[] x;
+    private final float[] y;
+    private final float[] speedX;
+    private final float[] speedY;
+    private final boolean[] reported;
+    private final boolean[] endedThisFrame;
+    private int nextSessionId = 1;
+    private int fseq = 1;
+
+    private DatagramChannel channel;
+    private InetSocketAddress target;
+    private Thread thread;
+    private volatile boolean running;
+    private TouchManager monitor;
+    private final List<String> queueNames = new ArrayList<>();
+    private final List<IntSupplier> queueDepths = new ArrayList<>();
+
+    // Statistics (written by the generator thread)
+    private volatile long framesSent;
+    private volatile long framesDropped;
+    private volatile long eventsSent;
+    private volatile int liveSessions;
+
+    /**
+     * Generator for the given port using the STORM_* settings in GameConfig
+     */
+    public TuioLoadGenerator(int port) {
+        this(port, GameConfig.STORM_SESSIONS, GameConfig.STORM_RATE_HZ, GameConfig.STORM_DROP_RATE,
+                GameConfig.STORM_LOST_UP_RATE, Pattern.fromName(GameConfig.STORM_PATTERN));
+    }
+
+    /**
+     * @param sessions   Concurrent sessions (1..MAX_SESSIONS)
+     * @param rateHz     Bundles per second
+     * @param dropRate   Fraction of bundles not sent
+     * @param lostUpRate Fraction of strokes whose lift-off is lost
+     * @param pattern    Stroke shape (null = MIXED)
+     */
+    public TuioLoadGenerator(int port, int sessions, int rateHz, double dropRate, double lostUpRate, Pattern pattern) {
+        this.port = port;
+        if (sessions > MAX_SESSIONS) {
+            System.err.println("TuioLoadGenerator: " + sessions + " sessions capped at " + MAX_SESSIONS);
+        }
+        this.sessions = Math.max(1, Math.min(MAX_SESSIONS, sessions));
+        this.rateHz = Math.max(1, rateHz);
+        this.dropRate = Math.max(0, Math.min(1, dropRate));
+        this.lostUpRate = Math.max(0, Math.min(1, lostUpRate));
+        this.pattern = pattern != null ? pattern : Pattern.MIXED;
+
+        int n = this.sessions;
+        phase = new int[n];
+        sessionIds = new int[n];
+        phaseEnd = new double[n];
+        strokeStart = new double[n];
+        strokePattern = new Pattern[n];
+        originX = new double[n];
+        originY = new double[n];
+        velocityX = new double[n];
+        velocityY = new double[n];
+        radius = new double[n];
+        x = new float[n];
+        y = new float[n];
+        speedX = new float[n];
+        speedY = new float[n];
+        reported = new boolean[n];
+        endedThisFrame = new boolean[n];
+    }
+
+    /**
+     * Also report what this TouchManager receives and delivers
+     */
+    public void setMonitor(TouchManager monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * Also report the depth of a queue further down the input path
+     * (before start)
+     */
+    public void addQueue(String name, IntSupplier depth) {
+        queueNames.add(name);
+        queueDepths.add(depth);
+    }
+
+    /**
+     * Open the socket and start sending on a daemon thread
+     */
+    public void start() throws IOException {
+        channel = DatagramChannel.open();
+        target = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        running = true;
+        thread = new Thread(this, "TUIO load generator");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("TuioLoadGenerator: " + sessions + " sessions, " + rateHz + " Hz, "
+                + pattern.name().toLowerCase(Locale.ROOT) + " strokes, "
+                + percent(dropRate) + " dropped, " + percent(lostUpRate) + " lost lift-offs -> port " + port);
+    }
+
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            try {
+                thread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("TuioLoadGenerator: Failed to close channel: " + e.getMessage());
+        }
+    }
+
+    public long getFramesSent() {
+        return framesSent;
+    }
+
+    public long getFramesDropped() {
+        return framesDropped;
+    }
+
+    /** Touch changes (new, moved and ended cursors) in the bundles actually sent */
+    public long getEventsSent() {
+        return eventsSent;
+    }
+
+    @Override
+    public void run() {
+        long period = 1_000_000_000L / rateHz;
+        long startNanos = System.nanoTime();
+        long next = startNanos;
+        long nextReport = startNanos + REPORT_INTERVAL_NANOS;
+        Report first = new Report();
+        first.sample(this, monitor);
+        Report last = first;
+
+        for (int s = 0; s < sessions; s++) {
+            // Stagger the first strokes so the sessions do not move in lockstep
+            phase[s] = RESTING;
+            phaseEnd[s] = random.nextDouble() * MAX_REST_SECONDS;
+        }
+
+        double lastTime = 0;
+        while (running) {
+            long nowNanos = System.nanoTime();
+            double now = (nowNanos - startNanos) / 1_000_000_000.0;
+            int events = step(now, Math.max(1e-4, now - lastTime));
+            lastTime = now;
+
+            encode();
+            if (random.nextDouble() < dropRate) {
+                framesDropped++;
+            } else {
+                try {
+                    buffer.flip();
+                    channel.send(buffer, target);
+                    framesSent++;
+                    eventsSent += events;
+                } catch (IOException e) {
+                    if (!running) break;
+                    System.err.println("TuioLoadGenerator: Send failed: " + e.getMessage());
+                }
+            }
+            fseq++;
+
+            if (nowNanos >= nextReport) {
+                Report current = new Report();
+                current.sample(this, monitor);
+                current.print(this, last, first, (nowNanos - nextReport + REPORT_INTERVAL_NANOS) / 1_000_000_000.0, liveSessions);
+                last = current;
+                nextReport = nowNanos + REPORT_INTERVAL_NANOS;
+            }
+
+            next += period;
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            } else if (wait < -100 * period) {
+                next = System.nanoTime(); // Far behind: carry on at the rate rather than burst
+            }
+        }
+    }
+
+    // ========================================
+    // Session simulation
+    // ========================================
+
+    /**
+     * Advance every session to the given time
+     * @return Touch changes this frame will carry
+     */
+    private int step(double now, double dt) {
+        int events = 0;
+        int live = 0;
+        for (int s = 0; s < sessions; s++) {
+            endedThisFrame[s] = false;
+            if (phase[s] == STROKING && now >= phaseEnd[s]) {
+                if (random.nextDouble() < lostUpRate) {
+                    phase[s] = LINGERING;
+                    phaseEnd[s] = now + LOST_UP_SECONDS;
+                } else {
+                    endStroke(s, now);
+                }
+            } else if (phase[s] == LINGERING && now >= phaseEnd[s]) {
+                endStroke(s, now);
+            } else if (phase[s] == RESTING && now >= phaseEnd[s]) {
+                beginStroke(s, now);
+            }
+
+            if (endedThisFrame[s]) {
+                events++;
+            }
+            if (phase[s] == STROKING) {
+                move(s, now, dt);
+                events++;
+            }
+            if (phase[s] != RESTING) {
+                live++;
+            }
+        }
+        liveSessions = live;
+        return events;
+    }
+
+    private void beginStroke(int s, double now) {
+        phase[s] = STROKING;
+        sessionIds[s] = nextSessionId++;
+        strokeStart[s] = now;
+        phaseEnd[s] = now + MIN_STROKE_SECONDS + random.nextDouble() * (MAX_STROKE_SECONDS - MIN_STROKE_SECONDS);
+        reported[s] = false;
+
+        Pattern p = pattern;
+        if (p == Pattern.MIXED) {
+            p = Pattern.values()[random.nextInt(Pattern.MIXED.ordinal())];
+        }
+        strokePattern[s] = p;
+        originX[s] = 0.1 + random.nextDouble() * 0.8;
+        originY[s] = 0.1 + random.nextDouble() * 0.8;
+        if (p == Pattern.CIRCLE) {
+            // Origin is the centre; velocity holds the start angle and angular speed
+            radius[s] = 0.04 + random.nextDouble() * 0.1;
+            velocityX[s] = random.nextDouble() * 2 * Math.PI;
+            velocityY[s] = (random.nextBoolean() ? 1 : -1) * (2.5 / radius[s]) * (0.5 + random.nextDouble() * 0.5);
+        } else {
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double speed = 1.0 + random.nextDouble() * 3.0; // Screens per second
+            velocityX[s] = Math.cos(angle) * speed;
+            velocityY[s] = Math.sin(angle) * speed;
+        }
+    }
+
+    private void endStroke(int s, double now) {
+        phase[s] = RESTING;
+        phaseEnd[s] = now + MIN_REST_SECONDS + random.nextDouble() * (MAX_REST_SECONDS - MIN_REST_SECONDS);
+        endedThisFrame[s] = true;
+    }
+
+    private void move(int s, double now, double dt) {
+        double t = now - strokeStart[s];
+        double px;
+        double py;
+        switch (strokePattern[s]) {
+            case CIRCLE -> {
+                double a = velocityX[s] + velocityY[s] * t;
+                px = originX[s] + Math.cos(a) * radius[s];
+                py = originY[s] + Math.sin(a) * radius[s];
+            }
+            case ZIGZAG -> {
+                double speed = Math.hypot(velocityX[s], velocityY[s]);
+                double phaseT = (t / ZIGZAG_PERIOD) % 1.0;
+                double offset = ZIGZAG_AMPLITUDE * (4 * Math.abs(phaseT - 0.5) - 1); // Triangle wave
+                px = originX[s] + velocityX[s] * t - velocityY[s] / speed * offset;
+                py = originY[s] + velocityY[s] * t + velocityX[s] / speed * offset;
+            }
+            default -> {
+                px = originX[s] + velocityX[s] * t;
+                py = originY[s] + velocityY[s] * t;
+            }
+        }
+        float nx = (float) Math.max(0, Math.min(1, px));
+        float ny = (float) Math.max(0, Math.min(1, py));
+        if (reported[s]) {
+            speedX[s] = (float) ((nx - x[s]) / dt);
+            speedY[s] = (float) ((ny - y[s]) / dt);
+        } else {
+            speedX[s] = 0;
+            speedY[s] = 0;
+            reported[s] = true;
+        }
+        x[s] = nx;
+        y[s] = ny;
+    }
+
+    // ========================================
+    // OSC encoding
+    // ========================================
+
+    /**
+     * Write the current frame as one bundle into the buffer
+     */
+    private void encode() {
+        buffer.clear();
+        putString(BUNDLE);
+        buffer.putLong(1); // Time tag "immediately"
+
+        int message = beginMessage();
+        putString(CURSOR_2D);
+        putString(SOURCE_TAGS);
+        putString(SOURCE);
+        putString(SOURCE_NAME);
+        endMessage(message);
+
+        message = beginMessage();
+        putString(CURSOR_2D);
+        int tags = 2;
+        buffer.put((byte) ',').put((byte) 's');
+        for (int s = 0; s < sessions; s++) {
+            if (phase[s] != RESTING) {
+                buffer.put((byte) 'i');
+                tags++;
+            }
+        }
+        pad(tags);
+        putString(ALIVE);
+        for (int s = 0; s < sessions; s++) {
+            if (phase[s] != RESTING) {
+                buffer.putInt(sessionIds[s]);
+            }
+        }
+        endMessage(message);
+
+        for (int s = 0; s < sessions; s++) {
+            if (phase[s] != STROKING) continue;
+            message = beginMessage();
+            putString(CURSOR_2D);
+            putString(SET_TAGS);
+            putString(SET);
+            buffer.putInt(sessionIds[s]);
+            buffer.putFloat(x[s]);
+            buffer.putFloat(y[s]);
+            buffer.putFloat(speedX[s]);
+            buffer.putFloat(speedY[s]);
+            buffer.putFloat(0);
+            endMessage(message);
+        }
+
+        message = beginMessage();
+        putString(CURSOR_2D);
+        putString(FSEQ_TAGS);
+        putString(FSEQ);
+        buffer.putInt(fseq);
+        endMessage(message);
+    }
+
+    private int beginMessage() {
+        int sizePosition = buffer.position();
+        buffer.putInt(0);
+        return sizePosition;
+    }
+
+    private void endMessage(int sizePosition) {
+        buffer.putInt(sizePosition, buffer.position() - sizePosition - 4);
+    }
+
+    /**
+     * Write an OSC string: the bytes, a terminating zero and padding to 4 bytes
+     */
+    private void putString(byte[] s) {
+        buffer.put(s);
+        pad(s.length);
+    }
+
+    private void pad(int length) {
+        for (int i = length; i < ((length + 4) & ~3); i++) {
+            buffer.put((byte) 0);
+        }
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static String percent(double fraction) {
+        return String.format(Locale.ROOT, "%.1f%%", fraction * 100);
+    }
+
+    // ========================================
+    // Reporting
+    // ========================================
+
+    /**
+     * Counter snapshot; consecutive snapshots give the per-second rates
+     */
+    private static final class Report {
+        long framesSent;
+        long framesDropped;
+        long eventsSent;
+        long packetsReceived = -1;
+        long framesDelivered;
+        long changesDelivered;
+        boolean monitored;
+        int sensorQueue;
+        long sensorWaits;
+        int pendingChanges;
+        int[] queues;
+
+        void sample(TuioLoadGenerator generator, TouchManager manager) {
+            framesSent = generator.framesSent;
+            framesDropped = generator.framesDropped;
+            eventsSent = generator.eventsSent;
+            if (manager != null) {
+                monitored = true;
+                packetsReceived = manager.getPacketsReceived();
+                framesDelivered = manager.getFramesDelivered();
+                changesDelivered = manager.getChangesDelivered();
+                sensorQueue = manager.getSensorQueueDepth();
+                sensorWaits = manager.getSensorWaitsForRoom();
+                pendingChanges = manager.getPendingChanges();
+            }
+            queues = new int[generator.queueDepths.size()];
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = generator.queueDepths.get(i).getAsInt();
+            }
+        }
+
+        void print(TuioLoadGenerator generator, Report last, Report first, double seconds, int live) {
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT,
+                    "TuioLoadGenerator: sent %.0f ev/s in %.0f bundles/s (%d dropped), %d live",
+                    (eventsSent - last.eventsSent) / seconds,
+                    (framesSent - last.framesSent) / seconds,
+                    framesDropped - last.framesDropped, live));
+            if (framesDelivered > 0 || packetsReceived > 0) {
+                line.append(String.format(Locale.ROOT, " | delivered %.0f ev/s in %.0f frames/s",
+                        (changesDelivered - last.changesDelivered) / seconds,
+                        (framesDelivered - last.framesDelivered) / seconds));
+            }
+            if (packetsReceived >= 0) {
+                // The socket's own backlog is not visible, so what is still in it counts as lost
+                long lost = (framesSent - first.framesSent) - (packetsReceived - first.packetsReceived);
+                line.append(String.format(Locale.ROOT, " | received %.0f packets/s, %d lost",
+                        (packetsReceived - last.packetsReceived) / seconds, Math.max(0, lost)));
+            }
+            StringBuilder queued = new StringBuilder();
+            if (monitored) {
+                queued.append(String.format(Locale.ROOT, "sensors %d (%d waits), frame %d",
+                        sensorQueue, sensorWaits - last.sensorWaits, pendingChanges));
+            }
+            for (int i = 0; i < queues.length; i++) {
+                if (queued.length() > 0) queued.append(", ");
+                queued.append(generator.queueNames.get(i)).append(' ').append(queues[i]);
+            }
+            if (queued.length() > 0) {
+                line.append(" | queued: ").append(queued);
+            }
+            System.out.println(line);
+        }
+    }
+
+    // ========================================
+    // Command line options
+    // ========================================
+
+    /**
+     * Apply a --storm-* command line option to GameConfig
+     * @return false if the argument is not a storm option
+     */
+    public static boolean parseOption(String arg) {
+        String lower = arg.toLowerCase(Locale.ROOT);
+        int eq = lower.indexOf('=');
+        if (!lower.startsWith("--storm-") || eq < 0) return false;
+        String value = arg.substring(eq + 1);
+        try {
+            switch (lower.substring(0, eq)) {
+                case "--storm-sessions" -> GameConfig.STORM_SESSIONS = Integer.parseInt(value);
+                case "--storm-rate" -> GameConfig.STORM_RATE_HZ = Integer.parseInt(value);
+                case "--storm-drop" -> GameConfig.STORM_DROP_RATE = Double.parseDouble(value);
+                case "--storm-lost-up" -> GameConfig.STORM_LOST_UP_RATE = Double.parseDouble(value);
+                case "--storm-pattern" -> {
+                    if (Pattern.fromName(value) == null) {
+                        System.err.println("Unknown storm pattern: " + arg + " (using mixed)");
+                        value = "mixed";
+                    }
+                    GameConfig.STORM_PATTERN = value;
+                }
+                default -> {
+                    return false;
+                }
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid storm option: " + arg);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,399 @@
+package com.superninja.input;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal TUIO 1.1 receiver for /tuio/2Dcur (cursor) messages.
+ * Packets are received into one reusable direct buffer and the OSC bundle
+ * is parsed in place: addresses and commands are compared as bytes, the
+ * alive/set values of a frame are staged in primitive arrays and applied
+ * when its fseq arrives. Cursor state is kept per slot in primitive arrays,
+ * so steady-state input allocates nothing per packet.
+ * Objects, blobs and other OSC addresses are ignored.
+ */
+final class TuioReceiver implements Runnable {
+
+    /** Most simultaneous cursors tracked (further sessions are dropped) */
+    static final int MAX_SESSIONS = 64;
+
+    /**
+     * Receives the cursor changes of each accepted frame, on the receiver thread
+     */
+    interface CursorListener {
+        void cursorDown(int slot, long sessionId, float x, float y, float velocityX, float velocityY, float acceleration);
+        void cursorMove(int slot, long sessionId, float x, float y, float velocityX, float velocityY, float acceleration);
+        void cursorUp(int slot, long sessionId);
+        /** All changes of the frame have been reported */
+        void frameEnd(int fseq, long receivedNanos, long timeTag);
+    }
+
+    private static final int MAX_PACKET = 65536;
+    private static final int MAX_ARGS = 256;
+    private static final int MAX_BUNDLE_DEPTH = 4;
+
+    private static final byte[] BUNDLE = ascii("#bundle");
+    private static final byte[] CURSOR_2D = ascii("/tuio/2Dcur");
+    private static final byte[] ALIVE = ascii("alive");
+    private static final byte[] SET = ascii("set");
+    private static final byte[] FSEQ = ascii("fseq");
+
+    private final CursorListener listener;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(MAX_PACKET).order(ByteOrder.BIG_ENDIAN);
+    private DatagramChannel channel;
+    private Thread thread;
+
+    // Arguments of the message being parsed (type tag, int bits / float)
+    private final byte[] argTypes = new byte[MAX_ARGS];
+    private final int[] argInts = new int[MAX_ARGS];
+    private final int[] argStarts = new int[MAX_ARGS];
+    private int argCount;
+
+    // Frame being received (applied on fseq)
+    private final long[] pendingAlive = new long[MAX_SESSIONS];
+    private int pendingAliveCount;
+    private boolean pendingAliveReceived;
+    private final long[] pendingSetIds = new long[MAX_SESSIONS];
+    private final float[] pendingSet = new float[MAX_SESSIONS * 5];
+    private int pendingSetCount;
+    private int lastFseq = -1;
+
+    // Packet being parsed
+    private long packetTime;
+    private long packetTimeTag;
+
+    // Cursor slots
+    private final long[] sessionIds = new long[MAX_SESSIONS];
+    private final boolean[] used = new boolean[MAX_SESSIONS];
+    private final boolean[] down = new boolean[MAX_SESSIONS];    // Reported to the listener
+    private final boolean[] alive = new boolean[MAX_SESSIONS];
+    private final boolean[] dirty = new boolean[MAX_SESSIONS];
+    private final float[] state = new float[MAX_SESSIONS * 5];  // x, y, velocity x/y, acceleration
+
+    private volatile long packetsReceived;
+    private volatile long packetsRejected;
+
+    TuioReceiver(CursorListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Bind the UDP port and start the receiver thread
+     */
+    void start(int port) throws IOException {
+        channel = DatagramChannel.open();
+        channel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        channel.setOption(StandardSocketOptions.SO_RCVBUF, 1 << 20);
+        channel.bind(new InetSocketAddress(port));
+
+        thread = new Thread(this, "TUIO receiver");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Close the socket; the receiver thread ends on its next receive
+     */
+    void stop() {
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("TuioReceiver: Failed to close channel: " + e.getMessage());
+        }
+        if (thread != null) {
+            try {
+                thread.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    long getPacketsReceived() {
+        return packetsReceived;
+    }
+
+    long getPacketsRejected() {
+        return packetsRejected;
+    }
+
+    @Override
+    public void run() {
+        while (channel.isOpen()) {
+            try {
+                buffer.clear();
+                if (channel.receive(buffer) == null) continue;
+                buffer.flip();
+                packetTime = System.nanoTime();
+                packetTimeTag = 0;
+                packetsReceived++;
+                if (!parsePacket(0, buffer.limit(), 0)) {
+                    packetsRejected++;
+                }
+            } catch (RuntimeException e) {
+                // A packet the checks missed must not end the receiver thread
+                packetsRejected++;
+                clearPending();
+            } catch (ClosedChannelException e) {
+                break;
+            } catch (IOException e) {
+                System.err.println("TuioReceiver: Receive failed: " + e.getMessage());
+            }
+        }
+    }
+
+    // ========================================
+    // OSC parsing
+    // ========================================
+
+    /**
+     * Parse an OSC packet (bundle or message) between start and end
+     * @return false if it is malformed
+     */
+    private boolean parsePacket(int start, int end, int depth) {
+        if (end - start < 4) return false;
+        if (matchString(start, end, BUNDLE)) {
+            if (depth >= MAX_BUNDLE_DEPTH || end - start < 16) return false;
+            // "#bundle\0" and the 8-byte time tag, then size-prefixed elements
+            if (depth == 0) {
+                packetTimeTag = buffer.getLong(start + 8);
+            }
+            int pos = start + 16;
+            while (pos + 4 <= end) {
+                int size = buffer.getInt(pos);
+                pos += 4;
+                if (size < 0 || (size & 3) != 0 || pos + size > end) return false;
+                if (!parsePacket(pos, pos + size, depth + 1)) return false;
+                pos += size;
+            }
+            return pos == end;
+        }
+        return parseMessage(start, end);
+    }
+
+    private boolean parseMessage(int start, int end) {
+        int typesStart = skipString(start, end);
+        if (typesStart < 0) return false;
+        if (!matchString(start, end, CURSOR_2D)) return true; // Not a cursor message
+
+        if (typesStart >= end || buffer.get(typesStart) != ',') return false;
+        int pos = skipString(typesStart, end);
+        if (pos < 0) return false;
+
+        // Collect argument types and offsets
+        argCount = 0;
+        for (int t = typesStart + 1; t < end && buffer.get(t) != 0; t++) {
+            if (argCount == MAX_ARGS) return false;
+            byte type = buffer.get(t);
+            argTypes[argCount] = type;
+            argStarts[argCount] = pos;
+            switch (type) {
+                case 'i', 'f' -> {
+                    if (pos + 4 > end) return false;
+                    argInts[argCount] = buffer.getInt(pos);
+                    pos += 4;
+                }
+                case 's' -> {
+                    pos = skipString(pos, end);
+                    if (pos < 0) return false;
+                }
+                case 'h', 'd', 't' -> {
+                    if (pos + 8 > end) return false;
+                    pos += 8;
+                }
+                case 'b' -> {
+                    if (pos + 4 > end) return false;
+                    int size = buffer.getInt(pos);
+                    // long arithmetic so a huge size cannot wrap pos backwards
+                    long next = pos + 4L + ((size + 3L) & ~3L);
+                    if (size < 0 || next > end) return false;
+                    pos = (int) next;
+                }
+                case 'T', 'F', 'N', 'I' -> { }
+                default -> {
+                    return false;
+                }
+            }
+            if (pos > end) return false;
+            argCount++;
+        }
+        if (argCount == 0 || argTypes[0] != 's') return false;
+
+        int command = argStarts[0];
+        if (matchString(command, end, SET)) {
+            stageSet();
+        } else if (matchString(command, end, ALIVE)) {
+            stageAlive();
+        } else if (matchString(command, end, FSEQ)) {
+            if (argCount < 2 || argTypes[1] != 'i') return false;
+            applyFrame(argInts[1]);
+        }
+        return true;
+    }
+
+    private void stageSet() {
+        // set s_id x y X Y m
+        if (argCount < 7 || argTypes[1] != 'i' || pendingSetCount == MAX_SESSIONS) return;
+        for (int a = 2; a < 7; a++) {
+            if (argTypes[a] != 'f') return;
+        }
+        int n = pendingSetCount++;
+        pendingSetIds[n] = argInts[1] & 0xFFFFFFFFL;
+        for (int a = 0; a < 5; a++) {
+            pendingSet[n * 5 + a] = Float.intBitsToFloat(argInts[2 + a]);
+        }
+    }
+
+    private void stageAlive() {
+        pendingAliveReceived = true;
+        pendingAliveCount = 0;
+        for (int a = 1; a < argCount && pendingAliveCount < MAX_SESSIONS; a++) {
+            if (argTypes[a] == 'i') {
+                pendingAlive[pendingAliveCount++] = argInts[a] & 0xFFFFFFFFL;
+            }
+        }
+    }
+
+    // ========================================
+    // Frame application
+    // ========================================
+
+    /**
+     * Apply the staged alive/set messages if the frame is newer than the
+     * last one (or the tracker restarted), then report the changes
+     */
+    private void applyFrame(int fseq) {
+        // Same acceptance rule as the reference client: newer, unnumbered (-1)
+        // or far enough back to be a tracker restart
+        boolean accept = fseq > lastFseq || fseq == -1 || lastFseq - fseq > 100;
+        if (accept) {
+            if (fseq != -1) {
+                lastFseq = fseq;
+            }
+            if (pendingAliveReceived) {
+                applyAlive();
+            }
+            applySets();
+            report();
+            listener.frameEnd(fseq, packetTime, packetTimeTag);
+        }
+        clearPending();
+    }
+
+    private void clearPending() {
+        pendingAliveReceived = false;
+        pendingAliveCount = 0;
+        pendingSetCount = 0;
+    }
+
+    private void applyAlive() {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            alive[s] = false;
+        }
+        for (int k = 0; k < pendingAliveCount; k++) {
+            long id = pendingAlive[k];
+            int slot = findSlot(id);
+            if (slot < 0) {
+                slot = allocateSlot(id);
+                if (slot < 0) continue;
+            }
+            alive[slot] = true;
+        }
+    }
+
+    private void applySets() {
+        for (int n = 0; n < pendingSetCount; n++) {
+            int slot = findSlot(pendingSetIds[n]);
+            if (slot < 0 || !alive[slot]) continue; // Not in the alive list
+            System.arraycopy(pendingSet, n * 5, state, slot * 5, 5);
+            dirty[slot] = true;
+        }
+    }
+
+    private void report() {
+        // Removals first so a slot can be reused in the same frame
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (used[s] && !alive[s]) {
+                if (down[s]) {
+                    listener.cursorUp(s, sessionIds[s]);
+                }
+                used[s] = false;
+                down[s] = false;
+                dirty[s] = false;
+            }
+        }
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (!used[s] || !dirty[s]) continue;
+            int i = s * 5;
+            if (!down[s]) {
+                down[s] = true;
+                listener.cursorDown(s, sessionIds[s], state[i], state[i + 1], state[i + 2], state[i + 3], state[i + 4]);
+            } else {
+                listener.cursorMove(s, sessionIds[s], state[i], state[i + 1], state[i + 2], state[i + 3], state[i + 4]);
+            }
+            dirty[s] = false;
+        }
+    }
+
+    private int findSlot(long sessionId) {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (used[s] && sessionIds[s] == sessionId) return s;
+        }
+        return -1;
+    }
+
+    private int allocateSlot(long sessionId) {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (!used[s]) {
+                used[s] = true;
+                down[s] = false;
+                dirty[s] = false;
+                sessionIds[s] = sessionId;
+                return s;
+            }
+        }
+        return -1;
+    }
+
+    // ========================================
+    // Byte helpers
+    // ========================================
+
+    /**
+     * Check if the null-terminated string at pos equals the given bytes
+     */
+    private boolean matchString(int pos, int end, byte[] expected) {
+        if (pos + expected.length >= end) return false;
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer.get(pos + i) != expected[i]) return false;
+        }
+        return buffer.get(pos + expected.length) == 0;
+    }
+
+    /**
+     * Skip a null-terminated, 4-byte padded OSC string
+     * @return The position after it, or -1 if unterminated
+     */
+    private int skipString(int pos, int end) {
+        for (int i = pos; i < end; i++) {
+            if (buffer.get(i) == 0) {
+                return (i + 4) & ~3;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,250 @@
+package com.superninja.input;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * One TUIO sensor of a multi-sensor table: its own receiver on its own
+ * port and the affine calibration from its coordinates into table space.
+ * The receiver thread puts the cursor changes into a single-producer,
+ * single-consumer ring (primitive arrays, volatile head and tail, no locks)
+ * that the TouchMerger drains. If the merger falls behind, the receiver
+ * waits for room rather than dropping changes, so no touch loses its end.
+ */
+final class TuioSource implements TuioReceiver.CursorListener {
+
+    static final byte EVENT_DOWN = 1;
+    static final byte EVENT_MOVE = 2;
+    static final byte EVENT_UP = 3;
+    static final byte EVENT_FRAME = 4;
+
+    static final int CAPACITY = 4096;
+    private static final int MASK = CAPACITY - 1;
+    private static final long FULL_WAIT_NANOS = 50_000L;
+
+    private final int index;
+    private final int port;
+    // x' = a*x + b*y + c, y' = d*x + e*y + f
+    private final double a, b, c, d, e, f;
+    // Table area the sensor covers
+    private final double minX, maxX, minY, maxY;
+
+    private final TuioReceiver receiver = new TuioReceiver(this);
+    private volatile Thread consumer;
+
+    // Ring: written by the receiver thread up to tail, read by the merger from head
+    private final byte[] kind = new byte[CAPACITY];
+    private final int[] slot = new int[CAPACITY];
+    private final long[] sessionId = new long[CAPACITY];
+    private final float[] x = new float[CAPACITY];
+    private final float[] y = new float[CAPACITY];
+    private final float[] velocityX = new float[CAPACITY];
+    private final float[] velocityY = new float[CAPACITY];
+    private final float[] acceleration = new float[CAPACITY];
+    private final long[] time = new long[CAPACITY];
+    private final long[] timeTag = new long[CAPACITY];
+    private volatile long head;
+    private volatile long tail;
+    private volatile long waitsForRoom;
+
+    TuioSource(int index, int port, double[] calibration) {
+        this.index = index;
+        this.port = port;
+        this.a = calibration[0];
+        this.b = calibration[1];
+        this.c = calibration[2];
+        this.d = calibration[3];
+        this.e = calibration[4];
+        this.f = calibration[5];
+
+        // Bounding box of the unit square's image
+        double x0 = c, x1 = a + c, x2 = b + c, x3 = a + b + c;
+        double y0 = f, y1 = d + f, y2 = e + f, y3 = d + e + f;
+        this.minX = Math.min(Math.min(x0, x1), Math.min(x2, x3));
+        this.maxX = Math.max(Math.max(x0, x1), Math.max(x2, x3));
+        this.minY = Math.min(Math.min(y0, y1), Math.min(y2, y3));
+        this.maxY = Math.max(Math.max(y0, y1), Math.max(y2, y3));
+    }
+
+    /**
+     * Parse TUIO_SOURCES: "port[:a,b,c,d,e,f]" entries separated by ';'
+     * @throws IllegalArgumentException If an entry is malformed
+     */
+    static List<TuioSource> parse(String spec) {
+        List<TuioSource> sources = new ArrayList<>();
+        for (String entry : spec.split(";")) {
+            entry = entry.trim();
+            if (entry.isEmpty()) continue;
+            int colon = entry.indexOf(':');
+            double[] calibration = {1, 0, 0, 0, 1, 0};
+            try {
+                int port = Integer.parseInt(colon < 0 ? entry : entry.substring(0, colon).trim());
+                if (colon >= 0) {
+                    String[] values = entry.substring(colon + 1).split(",");
+                    if (values.length != 6) {
+                        throw new IllegalArgumentException("TUIO source " + entry + ": calibration needs 6 values");
+                    }
+                    for (int i = 0; i < 6; i++) {
+                        calibration[i] = Double.parseDouble(values[i].trim());
+                    }
+                }
+                sources.add(new TuioSource(sources.size(), port, calibration));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("TUIO source " + entry + ": " + ex.getMessage());
+            }
+        }
+        return sources;
+    }
+
+    void start(Thread consumer) throws IOException {
+        this.consumer = consumer;
+        receiver.start(port);
+    }
+
+    void stop() {
+        receiver.stop();
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getPort() {
+        return port;
+    }
+
+    long getPacketsReceived() {
+        return receiver.getPacketsReceived();
+    }
+
+    long getPacketsRejected() {
+        return receiver.getPacketsRejected();
+    }
+
+    /** Times the receiver had to wait for the merger */
+    long getWaitsForRoom() {
+        return waitsForRoom;
+    }
+
+    /** Changes queued for the merger */
+    int getQueueDepth() {
+        return (int) (tail - head);
+    }
+
+    double tableX(double sx, double sy) {
+        return a * sx + b * sy + c;
+    }
+
+    double tableY(double sx, double sy) {
+        return d * sx + e * sy + f;
+    }
+
+    /** Velocities only go through the linear part */
+    double tableVelocityX(double vx, double vy) {
+        return a * vx + b * vy;
+    }
+
+    double tableVelocityY(double vx, double vy) {
+        return d * vx + e * vy;
+    }
+
+    /**
+     * Whether a table position is within the given distance of an edge of
+     * this sensor's area that another sensor takes over from (not the
+     * table's own border)
+     */
+    boolean isNearSeam(double tx, double ty, double distance) {
+        return (tx - minX < distance && minX > distance)
+                || (maxX - tx < distance && maxX < 1 - distance)
+                || (ty - minY < distance && minY > distance)
+                || (maxY - ty < distance && maxY < 1 - distance);
+    }
+
+    // ========================================
+    // Producer (receiver thread)
+    // ========================================
+
+    @Override
+    public void cursorDown(int s, long id, float px, float py, float vx, float vy, float acc) {
+        put(EVENT_DOWN, s, id, px, py, vx, vy, acc, 0, 0);
+    }
+
+    @Override
+    public void cursorMove(int s, long id, float px, float py, float vx, float vy, float acc) {
+        put(EVENT_MOVE, s, id, px, py, vx, vy, acc, 0, 0);
+    }
+
+    @Override
+    public void cursorUp(int s, long id) {
+        put(EVENT_UP, s, id, 0, 0, 0, 0, 0, 0, 0);
+    }
+
+    @Override
+    public void frameEnd(int fseq, long receivedNanos, long tag) {
+        put(EVENT_FRAME, fseq, 0, 0, 0, 0, 0, 0, receivedNanos, tag);
+        Thread t = consumer;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    private void put(byte k, int s, long id, float px, float py, float vx, float vy, float acc,
+                     long nanos, long tag) {
+        long t = tail;
+        while (t - head == CAPACITY) {
+            // Full: let the merger catch up (the socket buffers meanwhile)
+            waitsForRoom++;
+            LockSupport.unpark(consumer);
+            LockSupport.parkNanos(FULL_WAIT_NANOS);
+        }
+        int i = (int) (t & MASK);
+        kind[i] = k;
+        slot[i] = s;
+        sessionId[i] = id;
+        x[i] = px;
+        y[i] = py;
+        velocityX[i] = vx;
+        velocityY[i] = vy;
+        acceleration[i] = acc;
+        time[i] = nanos;
+        timeTag[i] = tag;
+        tail = t + 1; // Publishes the entry
+    }
+
+    // ========================================
+    // Consumer (merger thread)
+    // ========================================
+
+    /** Entries ready to read: from position() up to this index (exclusive) */
+    long available() {
+        return tail;
+    }
+
+    long position() {
+        return head;
+    }
+
+    /** Done with entries before n; frees their room */
+    void release(long n) {
+        head = n;
+    }
+
+    byte kind(long n) { return kind[(int) (n & MASK)]; }
+    int slot(long n) { return slot[(int) (n & MASK)]; }
+    long sessionId(long n) { return sessionId[(int) (n & MASK)]; }
+    float x(long n) { return x[(int) (n & MASK)]; }
+    float y(long n) { return y[(int) (n & MASK)]; }
+    float velocityX(long n) { return velocityX[(int) (n & MASK)]; }
+    float velocityY(long n) { return velocityY[(int) (n & MASK)]; }
+    float acceleration(long n) { return acceleration[(int) (n & MASK)]; }
+    long time(long n) { return time[(int) (n & MASK)]; }
+    long timeTag(long n) { return timeTag[(int) (n & MASK)]; }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "port %d [%.3f %.3f %.3f; %.3f %.3f %.3f]", port, a, b, c, d, e, f);
+    }
+}
@@ -1,72 +1,186 @@
 package com.superninja.objects;
 
 import com.superninja.config.GameConfig;
+import com.superninja.render.GlowSprites;
+import com.superninja.render.QualityGovernor;
+import com.superninja.render.QualityTier;
+import com.superninja.render.RenderBackend;
 import java.awt.*;
-import java.awt.geom.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
 
 /**
  * Represents a player's blade trail for slicing.
+ * Each touch session on the player's side is its own stroke, so two
+ * fingers never join into one path. Every raw touch sample goes into the
+ * stroke's hit path, a ring buffer that collision and swipe velocity read
+ * over a fixed time window. The drawn trail is resampled: points are
+ * interpolated along the raw path at exact multiples of
+ * BLADE_TRAIL_SAMPLE_MS, so its length and cost do not depend on the
+ * sensor rate. The drawn points (filtered positions) are a ring like the
+ * hit path, and the drawn trail ends at the newest sample or the predicted
+ * tip so it keeps up with the finger; nothing is allocated per sample.
+ * Times come from the engine's clock (System.nanoTime() when playing live,
+ * the recorded time when replaying). Written by the engine's update and
+ * read by rendering, which never run at the same time.
  */
 public class BladeTrail {
     
     private final int playerId;
     private final Color bladeColor;
-    private final List<TrailPoint> points;
     private static final int MAX_POINTS = GameConfig.BLADE_TRAIL_LENGTH;
     private boolean active;
+    private LongSupplier clock = System::nanoTime;
+    
+    private static final long MAX_AGE = 150_000_000L; // 150ms
+    
+    /** Touches on one side that keep their own stroke (more reuse the stalest) */
+    private static final int MAX_STROKES = 4;
+    /** Raw samples kept for hit testing (several windows even at 1 kHz) */
+    private static final int PATH_CAPACITY = 256;
+    /** Path segments this recent (before the stroke's newest sample) can slice */
+    private static final long HIT_WINDOW = 80_000_000L;
+    /** Swipe speed and direction are measured over this much of the path */
+    private static final long VELOCITY_WINDOW = 30_000_000L;
+    /** Resampled points closer than this to the previous one are dropped (px) */
+    private static final double MIN_TRAIL_STEP = 1.5;
+    
+    private final Stroke[] strokes = new Stroke[MAX_STROKES];
+    private Stroke lastHit; // Stroke of the last intersects() hit (velocity and angle)
+    
+    /** Spacing of glow stamps as a fraction of the stamp size */
+    private static final double GLOW_STAMP_SPACING = 0.35;
+    private static final int MAX_GLOW_STAMPS = 96;
+    
+    /** Half the largest glow stamp, for visibility checks */
+    private static final double GLOW_MARGIN = 24;
+    
+    // Per-frame scratch buffers for rendering (reused, never reallocated in steady state)
+    private float[] ribbonX = new float[(MAX_POINTS + 5) * 2 + 6];
+    private float[] ribbonY = new float[(MAX_POINTS + 5) * 2 + 6];
+    private float[] ribbonAlpha = new float[(MAX_POINTS + 5) * 2 + 6];
+    private float[] renderX = new float[MAX_POINTS + 5];
+    private float[] renderY = new float[MAX_POINTS + 5];
+    private float[] renderAge = new float[MAX_POINTS + 5];
+    private float[] normalX = new float[MAX_POINTS + 5];
+    private float[] normalY = new float[MAX_POINTS + 5];
+    private final BufferedImage glowBrush;
+    private final int bladeRgb;
     
     public BladeTrail(int playerId) {
         this.playerId = playerId;
         this.bladeColor = playerId == 1 ? GameConfig.PLAYER1_BLADE : GameConfig.PLAYER2_BLADE;
-        this.points = new CopyOnWriteArrayList<>();
+        for (int s = 0; s < MAX_STROKES; s++) {
+            strokes[s] = new Stroke();
+        }
         this.active = false;
+        this.glowBrush = GlowSprites.getBladeBrush(bladeColor);
+        this.bladeRgb = bladeColor.getRGB() & 0xFFFFFF;
     }
     
     /**
-     * Add a new point to the trail
+     * Set the time source (nanoseconds) for sample times and fading
+     */
+    public void setClock(LongSupplier clock) {
+        this.clock = clock;
+    }
+    
+    /**
+     * Add a new point to the trail (single-stroke use)
      */
     public void addPoint(double x, double y) {
-        points.add(new TrailPoint(x, y, System.nanoTime()));
+        addPoint(0, x, y, x, y);
+    }
+    
+    /**
+     * Add a new sample of a touch
+     * @param sessionId Touch session (each one is its own stroke)
+     * @param x Raw position (hit testing)
+     * @param drawX Filtered position (drawing)
+     */
+    public void addPoint(long sessionId, double x, double y, double drawX, double drawY) {
+        long now = clock.getAsLong();
+        strokeFor(sessionId, now).add(x, y, drawX, drawY, now);
         active = true;
-        
-        // Remove old points
-        while (points.size() > MAX_POINTS) {
-            points.remove(0);
+    }
+    
+    /**
+     * The session's stroke, taking a free one (or the stalest) for a new session
+     */
+    private Stroke strokeFor(long sessionId, long now) {
+        Stroke stalest = null;
+        for (Stroke stroke : strokes) {
+            if (stroke.inUse && stroke.sessionId == sessionId) return stroke;
+            if (stalest == null || stroke.staleness(now) > stalest.staleness(now)) {
+                stalest = stroke;
+            }
         }
+        stalest.start(sessionId);
+        return stalest;
     }
     
     /**
-     * Update the trail (fade old points)
+     * Update the trail (fade old points). Points live for the fixed
+     * MAX_AGE whatever the quality tier, since the trail being active
+     * gates slicing; the tier only shortens what is drawn.
      */
     public void update(double deltaTime) {
-        long currentTime = System.nanoTime();
-        long maxAge = 150_000_000L; // 150ms
+        long currentTime = clock.getAsLong();
         
-        // Collect points to remove first, then remove them
-        List<TrailPoint> toRemove = new ArrayList<>();
-        for (TrailPoint p : points) {
-            if ((currentTime - p.timestamp) > maxAge) {
-                toRemove.add(p);
+        boolean anyPoints = false;
+        for (Stroke stroke : strokes) {
+            while (stroke.pointStart < stroke.pointEnd
+                    && currentTime - stroke.pointTime[(int) (stroke.pointStart % MAX_POINTS)] > MAX_AGE) {
+                stroke.pointStart++;
             }
+            anyPoints |= stroke.pointEnd > stroke.pointStart;
         }
-        points.removeAll(toRemove);
-        
-        if (points.isEmpty()) {
-            active = false;
-        }
+        active = anyPoints;
     }
     
     /**
      * Clear the trail
      */
     public void clear() {
-        points.clear();
+        for (Stroke stroke : strokes) {
+            stroke.reset();
+        }
+        lastHit = null;
         active = false;
     }
     
+    /**
+     * Take over another trail's strokes (replay keyframes)
+     */
+    public synchronized void copyFrom(BladeTrail other) {
+        for (int s = 0; s < MAX_STROKES; s++) {
+            strokes[s].copyFrom(other.strokes[s]);
+        }
+        lastHit = other.lastHit != null ? strokes[indexOf(other.strokes, other.lastHit)] : null;
+        active = other.active;
+    }
+    
+    private static int indexOf(Stroke[] in, Stroke stroke) {
+        for (int s = 0; s < in.length; s++) {
+            if (in[s] == stroke) return s;
+        }
+        return -1;
+    }
+    
+    /**
+     * Set the extrapolated tip drawn past the session's newest sample
+     * (replaced by its next addPoint)
+     */
+    public void setPredictedTip(long sessionId, double x, double y) {
+        for (Stroke stroke : strokes) {
+            if (stroke.inUse && stroke.sessionId == sessionId) {
+                stroke.setTip(x, y);
+                return;
+            }
+        }
+    }
+    
     /**
      * Check if the trail intersects with a game object
      */
@@ -75,23 +189,47 @@ public class BladeTrail {
     }
     
     /**
-     * Check if the trail intersects with a game object, with size multiplier
+     * Check if the trail intersects with a game object, with size multiplier.
+     * A hit makes its stroke the one getVelocity() and getSliceAngle() measure.
      * @param sizeMultiplier Multiplies the effective hitbox size (for power-ups)
      */
     public boolean intersectsWithMultiplier(GameObject obj, double sizeMultiplier) {
-        if (points.size() < 2) return false;
-        
-        // Check last few segments
-        int checkCount = Math.min(5, points.size() - 1);
-        for (int i = points.size() - 1; i >= points.size() - checkCount && i > 0; i--) {
-            TrailPoint p1 = points.get(i - 1);
-            TrailPoint p2 = points.get(i);
-            
-            if (intersectsLineWithMultiplier(obj, p1.x, p1.y, p2.x, p2.y, sizeMultiplier)) {
-                return true;
+        long now = clock.getAsLong();
+        for (Stroke stroke : strokes) {
+            if (!stroke.isLive(now)) continue;
+            // Check every raw segment in the hit window, newest first
+            long end = stroke.pathEnd;
+            long first = stroke.windowStart(end, HIT_WINDOW);
+            for (long k = end - 1; k > first; k--) {
+                int i1 = (int) ((k - 1) % PATH_CAPACITY);
+                int i2 = (int) (k % PATH_CAPACITY);
+                if (intersectsLineWithMultiplier(obj, stroke.pathX[i1], stroke.pathY[i1],
+                        stroke.pathX[i2], stroke.pathY[i2], sizeMultiplier)) {
+                    lastHit = stroke;
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Check if the trail passes through a power-up
+     */
+    public boolean intersects(PowerUpObject obj) {
+        long now = clock.getAsLong();
+        for (Stroke stroke : strokes) {
+            if (!stroke.isLive(now)) continue;
+            long end = stroke.pathEnd;
+            long first = stroke.windowStart(end, HIT_WINDOW);
+            for (long k = end - 1; k > first; k--) {
+                int i1 = (int) ((k - 1) % PATH_CAPACITY);
+                int i2 = (int) (k % PATH_CAPACITY);
+                if (obj.intersectsLine(stroke.pathX[i1], stroke.pathY[i1], stroke.pathX[i2], stroke.pathY[i2])) {
+                    return true;
+                }
             }
         }
-        
         return false;
     }
     
@@ -123,26 +261,33 @@ public class BladeTrail {
      * Get the current slice angle (direction of movement)
      */
     public double getSliceAngle() {
-        if (points.size() < 2) return 0;
-        
-        TrailPoint p1 = points.get(points.size() - 2);
-        TrailPoint p2 = points.get(points.size() - 1);
+        Stroke stroke = measuredStroke();
+        if (stroke == null) return 0;
+        long end = stroke.pathEnd;
+        long first = stroke.windowStart(end, VELOCITY_WINDOW);
+        if (end - first < 2) return 0;
         
-        return Math.atan2(p2.y - p1.y, p2.x - p1.x);
+        int i1 = (int) (first % PATH_CAPACITY);
+        int i2 = (int) ((end - 1) % PATH_CAPACITY);
+        return Math.atan2(stroke.pathY[i2] - stroke.pathY[i1], stroke.pathX[i2] - stroke.pathX[i1]);
     }
     
     /**
      * Get the current velocity of the blade
      */
     public double getVelocity() {
-        if (points.size() < 2) return 0;
-        
-        TrailPoint p1 = points.get(points.size() - 2);
-        TrailPoint p2 = points.get(points.size() - 1);
+        // Measured over a fixed time span, so fast trackers do not make it noisy
+        Stroke stroke = measuredStroke();
+        if (stroke == null) return 0;
+        long end = stroke.pathEnd;
+        long first = stroke.windowStart(end, VELOCITY_WINDOW);
+        if (end - first < 2) return 0;
         
-        double dx = p2.x - p1.x;
-        double dy = p2.y - p1.y;
-        double dt = (p2.timestamp - p1.timestamp) / 1_000_000_000.0;
+        int i1 = (int) (first % PATH_CAPACITY);
+        int i2 = (int) ((end - 1) % PATH_CAPACITY);
+        double dx = stroke.pathX[i2] - stroke.pathX[i1];
+        double dy = stroke.pathY[i2] - stroke.pathY[i1];
+        double dt = (stroke.pathTime[i2] - stroke.pathTime[i1]) / 1_000_000_000.0;
         
         if (dt <= 0) return 0;
         
@@ -150,125 +295,474 @@ public class BladeTrail {
     }
     
     /**
-     * Get current X position
+     * Stroke that made the last hit if it is still live, else the newest one
+     */
+    private Stroke measuredStroke() {
+        long now = clock.getAsLong();
+        if (lastHit != null && lastHit.isLive(now)) return lastHit;
+        return newestStroke();
+    }
+    
+    /**
+     * Stroke with the most recent sample (null if there is none)
+     */
+    private Stroke newestStroke() {
+        Stroke newest = null;
+        for (Stroke stroke : strokes) {
+            if (stroke.pathEnd > stroke.pathStart
+                    && (newest == null || stroke.newestTime() > newest.newestTime())) {
+                newest = stroke;
+            }
+        }
+        return newest;
+    }
+    
+    /**
+     * Get current X position (newest raw sample)
      */
     public double getCurrentX() {
-        if (points.isEmpty()) return 0;
-        return points.get(points.size() - 1).x;
+        Stroke stroke = newestStroke();
+        return stroke != null ? stroke.pathSample(stroke.pathX, 1) : 0;
     }
     
     /**
-     * Get current Y position
+     * Get current Y position (newest raw sample)
      */
     public double getCurrentY() {
-        if (points.isEmpty()) return 0;
-        return points.get(points.size() - 1).y;
+        Stroke stroke = newestStroke();
+        return stroke != null ? stroke.pathSample(stroke.pathY, 1) : 0;
     }
     
     /**
-     * Get last X position
+     * Get last X position (the raw sample before the newest)
      */
     public double getLastX() {
-        if (points.size() < 2) return getCurrentX();
-        return points.get(points.size() - 2).x;
+        Stroke stroke = newestStroke();
+        return stroke != null ? stroke.pathSample(stroke.pathX, 2) : 0;
     }
     
     /**
-     * Get last Y position
+     * Get last Y position (the raw sample before the newest)
      */
     public double getLastY() {
-        if (points.size() < 2) return getCurrentY();
-        return points.get(points.size() - 2).y;
+        Stroke stroke = newestStroke();
+        return stroke != null ? stroke.pathSample(stroke.pathY, 2) : 0;
     }
     
     /**
-     * Render the blade trail
+     * Render the blade trail.
+     * The trail is built as one variable-width ribbon strip (thin at the
+     * tail, wide at the tip) and filled once, each point at its own fade.
+     * The glow is a pre-blurred brush stamped along the trail, so no line is
+     * stroked and nothing is allocated per segment.
+     * Each stroke is drawn on its own.
+     * Synchronized because the scratch buffers are shared and a trail that
+     * crosses the divider is drawn by both split-render workers.
      */
-    public void render(Graphics2D g2d) {
-        if (points.size() < 2) return;
-        
-        Graphics2D g = (Graphics2D) g2d.create();
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    public synchronized void render(RenderBackend r) {
+        for (Stroke stroke : strokes) {
+            if (stroke.pointEnd > stroke.pointStart) {
+                renderStroke(r, stroke);
+            }
+        }
+    }
+    
+    private void renderStroke(RenderBackend r, Stroke stroke) {
+        int count = snapshotPoints(stroke);
+        if (count < 2) return;
         
-        long currentTime = System.nanoTime();
-        long maxAge = 150_000_000L;
+        // Glow first so the ribbon core draws on top (skipped at low quality)
+        if (QualityGovernor.getActiveTier().isBladeGlow()) {
+            renderGlow(r, count);
+        }
         
-        // Draw trail with varying thickness and opacity
-        for (int i = 1; i < points.size(); i++) {
-            TrailPoint p1 = points.get(i - 1);
-            TrailPoint p2 = points.get(i);
-            
-            // Calculate age-based alpha
-            float age1 = (currentTime - p1.timestamp) / (float) maxAge;
-            float age2 = (currentTime - p2.timestamp) / (float) maxAge;
-            float alpha = 1.0f - (age1 + age2) / 2.0f;
-            alpha = Math.max(0, Math.min(1, alpha));
+        // Ribbon core
+        float tipAlpha = 1.0f - renderAge[count - 1];
+        if (tipAlpha > 0) {
+            computeNormals(count);
+            renderRibbon(r, count, tipAlpha);
             
-            // Position-based thickness (thicker at the end)
-            float progress = (float) i / points.size();
-            float thickness = 3 + progress * 15;
+            // Draw tip sparkle
+            int sparkleSize = 8;
+            float tipX = renderX[count - 1];
+            float tipY = renderY[count - 1];
+            r.fillOval((int)(tipX - sparkleSize/2), (int)(tipY - sparkleSize/2), 
+                      sparkleSize, sparkleSize, ((int)(tipAlpha * 200) << 24) | 0xFFFFFF);
+        }
+    }
+    
+    /**
+     * Copy a stroke's points into the scratch arrays with their ages
+     * @return Number of points copied
+     */
+    private int snapshotPoints(Stroke stroke) {
+        long currentTime = clock.getAsLong();
+        float maxAge = drawnMaxAge();
+        int count = 0;
+        for (long k = stroke.pointStart; k < stroke.pointEnd; k++) {
+            int i = (int) (k % MAX_POINTS);
+            float age = Math.max(0, (currentTime - stroke.pointTime[i]) / maxAge);
+            if (age >= 1 && count == 0) {
+                continue; // Past the drawn length (points are oldest first)
+            }
+            if (count == renderX.length) {
+                growBuffers();
+            }
+            renderX[count] = (float) stroke.pointX[i];
+            renderY[count] = (float) stroke.pointY[i];
+            renderAge[count] = Math.min(1, age);
+            count++;
+        }
+        
+        // Extend to the newest sample or predicted tip (same age as the newest point)
+        if (stroke.hasTip && count > 0) {
+            float dx = (float) stroke.tipX - renderX[count - 1];
+            float dy = (float) stroke.tipY - renderY[count - 1];
+            if (dx * dx + dy * dy > 0.25f) {
+                if (count == renderX.length) {
+                    growBuffers();
+                }
+                renderX[count] = (float) stroke.tipX;
+                renderY[count] = (float) stroke.tipY;
+                renderAge[count] = renderAge[count - 1];
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Drawn trail lifetime for the current quality tier (shorter trails at
+     * low quality). Drawing only: expiry and slicing use MAX_AGE.
+     */
+    private static long drawnMaxAge() {
+        QualityTier tier = QualityGovernor.getActiveTier();
+        return (long) (MAX_AGE * tier.getTrailScale());
+    }
+    
+    private void growBuffers() {
+        int capacity = renderX.length * 2;
+        renderX = Arrays.copyOf(renderX, capacity);
+        renderY = Arrays.copyOf(renderY, capacity);
+        renderAge = Arrays.copyOf(renderAge, capacity);
+        normalX = Arrays.copyOf(normalX, capacity);
+        normalY = Arrays.copyOf(normalY, capacity);
+        ribbonX = new float[capacity * 2 + 6];
+        ribbonY = new float[capacity * 2 + 6];
+        ribbonAlpha = new float[capacity * 2 + 6];
+    }
+    
+    /**
+     * Trail thickness at a point (thicker towards the tip)
+     */
+    private static float thicknessAt(int index, int count) {
+        return 3 + ((float) index / count) * 15;
+    }
+    
+    /**
+     * Compute per-point normals from the neighbouring points
+     */
+    private void computeNormals(int count) {
+        float lastNx = 0, lastNy = -1;
+        for (int i = 0; i < count; i++) {
+            int prev = Math.max(0, i - 1);
+            int next = Math.min(count - 1, i + 1);
+            float dx = renderX[next] - renderX[prev];
+            float dy = renderY[next] - renderY[prev];
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
+            if (length > 0.0001f) {
+                lastNx = -dy / length;
+                lastNy = dx / length;
+            }
+            normalX[i] = lastNx;
+            normalY[i] = lastNy;
+        }
+    }
+    
+    /**
+     * Build the ribbon as a triangle strip (a left and right edge point per
+     * trail point, then a rounded tip) with each point's own fade as its
+     * alpha, so the ribbon fades with the age of each part of the path
+     * however it curves.
+     */
+    private void renderRibbon(RenderBackend r, int count, float tipAlpha) {
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            float half = thicknessAt(i, count) / 2;
+            float alpha = 1.0f - renderAge[i];
+            ribbonX[n] = renderX[i] + normalX[i] * half;
+            ribbonY[n] = renderY[i] + normalY[i] * half;
+            ribbonAlpha[n++] = alpha;
+            ribbonX[n] = renderX[i] - normalX[i] * half;
+            ribbonY[n] = renderY[i] - normalY[i] * half;
+            ribbonAlpha[n++] = alpha;
+        }
+        // Rounded tip: both edges turn towards the trail direction and meet in front of the last point
+        int tip = count - 1;
+        float tipHalf = thicknessAt(tip, count) / 2;
+        float dirX = normalY[tip];
+        float dirY = -normalX[tip];
+        for (int step = 1; step <= 3; step++) {
+            double angle = Math.PI * step / 6;
+            float along = (float) Math.sin(angle) * tipHalf;
+            float across = (float) Math.cos(angle) * tipHalf;
+            ribbonX[n] = renderX[tip] + dirX * along + normalX[tip] * across;
+            ribbonY[n] = renderY[tip] + dirY * along + normalY[tip] * across;
+            ribbonAlpha[n++] = tipAlpha;
+            ribbonX[n] = renderX[tip] + dirX * along - normalX[tip] * across;
+            ribbonY[n] = renderY[tip] + dirY * along - normalY[tip] * across;
+            ribbonAlpha[n++] = tipAlpha;
+        }
+        
+        r.fillAlphaStrip(ribbonX, ribbonY, ribbonAlpha, n, bladeRgb);
+    }
+    
+    /**
+     * Stamp the pre-blurred glow brush along the trail (additively, so the
+     * overlapping stamps build up like light)
+     */
+    private void renderGlow(RenderBackend r, int count) {
+        r.setAdditive(GameConfig.ADDITIVE_BLENDING);
+        int stamps = 0;
+        float carry = 0; // Distance left over from the previous segment
+        for (int i = 1; i < count && stamps < MAX_GLOW_STAMPS; i++) {
+            float x1 = renderX[i - 1], y1 = renderY[i - 1];
+            float dx = renderX[i] - x1;
+            float dy = renderY[i] - y1;
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
             
-            // Create gradient color with clamped alpha
-            int alpha1 = Math.max(0, Math.min(255, (int)(alpha * 255 * (1 - age1))));
-            int alpha2 = Math.max(0, Math.min(255, (int)(alpha * 255 * (1 - age2))));
-            Color color1 = new Color(
-                    bladeColor.getRed(),
-                    bladeColor.getGreen(),
-                    bladeColor.getBlue(),
-                    alpha1);
-            Color color2 = new Color(
-                    bladeColor.getRed(),
-                    bladeColor.getGreen(),
-                    bladeColor.getBlue(),
-                    alpha2);
+            float alpha = 1.0f - (renderAge[i - 1] + renderAge[i]) / 2.0f;
+            if (alpha <= 0) {
+                carry = 0;
+                continue;
+            }
             
-            // Draw line segment
-            g.setStroke(new BasicStroke(thickness, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            g.setColor(color2);
-            g.draw(new Line2D.Double(p1.x, p1.y, p2.x, p2.y));
+            // Brush covers the old glow stroke width; the soft edge needs a bit more room
+            float stampSize = (thicknessAt(i, count) + 8) * 1.5f;
+            float spacing = Math.max(1, stampSize * (float) GLOW_STAMP_SPACING);
             
-            // Glow effect
-            g.setStroke(new BasicStroke(thickness + 8, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            int glowAlpha = Math.max(0, Math.min(255, (int)(alpha * 50)));
-            g.setColor(new Color(
-                    bladeColor.getRed(),
-                    bladeColor.getGreen(),
-                    bladeColor.getBlue(),
-                    glowAlpha));
-            g.draw(new Line2D.Double(p1.x, p1.y, p2.x, p2.y));
+            float t = carry;
+            while (t <= length && stamps < MAX_GLOW_STAMPS) {
+                float f = length > 0 ? t / length : 0;
+                int size = Math.round(stampSize);
+                int sx = Math.round(x1 + dx * f - size / 2f);
+                int sy = Math.round(y1 + dy * f - size / 2f);
+                r.drawImage(glowBrush, sx, sy, size, size, alpha * 0.12f);
+                stamps++;
+                t += spacing;
+            }
+            carry = t - length;
         }
-        
-        // Draw tip sparkle
-        if (!points.isEmpty()) {
-            TrailPoint tip = points.get(points.size() - 1);
-            float tipAlpha = 1.0f - (currentTime - tip.timestamp) / (float) maxAge;
-            if (tipAlpha > 0) {
-                int sparkleAlpha = Math.max(0, Math.min(255, (int)(tipAlpha * 200)));
-                g.setColor(new Color(255, 255, 255, sparkleAlpha));
-                int sparkleSize = 8;
-                g.fillOval((int)(tip.x - sparkleSize/2), (int)(tip.y - sparkleSize/2), 
-                          sparkleSize, sparkleSize);
+        r.setAdditive(false);
+    }
+    
+    /**
+     * Check if any part of the trail (including its glow) lies between minX and maxX
+     */
+    public boolean overlapsX(double minX, double maxX) {
+        for (Stroke stroke : strokes) {
+            if (stroke.pointEnd == stroke.pointStart) continue;
+            for (long k = stroke.pointStart; k < stroke.pointEnd; k++) {
+                double x = stroke.pointX[(int) (k % MAX_POINTS)];
+                if (x + GLOW_MARGIN >= minX && x - GLOW_MARGIN <= maxX) {
+                    return true;
+                }
+            }
+            if (stroke.hasTip && stroke.tipX + GLOW_MARGIN >= minX && stroke.tipX - GLOW_MARGIN <= maxX) {
+                return true;
             }
         }
-        
-        g.dispose();
+        return false;
     }
     
     public boolean isActive() { return active; }
     public int getPlayerId() { return playerId; }
-    public List<TrailPoint> getPoints() { return points; }
     
     /**
-     * Inner class for trail points
+     * One touch session's hit path and drawn trail
      */
-    public static class TrailPoint {
-        public final double x, y;
-        public final long timestamp;
+    private static final class Stroke {
+        
+        long sessionId;
+        boolean inUse;
+        
+        // Raw hit path ring
+        final double[] pathX = new double[PATH_CAPACITY];
+        final double[] pathY = new double[PATH_CAPACITY];
+        final long[] pathTime = new long[PATH_CAPACITY];
+        long pathEnd;   // Sequence number after the newest sample
+        long pathStart; // First sample of this stroke
+        
+        // Drawn trail ring: resampled points (filtered positions), oldest first
+        final double[] pointX = new double[MAX_POINTS];
+        final double[] pointY = new double[MAX_POINTS];
+        final long[] pointTime = new long[MAX_POINTS];
+        long pointEnd;   // Sequence number after the newest point
+        long pointStart; // Oldest point not yet expired
+        
+        // Then the newest sample or the predicted tip
+        boolean hasTip;
+        double tipX, tipY;
+        
+        // Resampler: previous sample, last kept point and the next time on the sample grid
+        double lastDrawX, lastDrawY;
+        boolean hasKept;
+        double keptX, keptY;
+        long nextSample;
+        
+        /**
+         * Take the stroke over for a new session (its old trail is dropped)
+         */
+        void start(long session) {
+            reset();
+            sessionId = session;
+            inUse = true;
+        }
+        
+        void reset() {
+            pointStart = pointEnd;
+            hasTip = false;
+            hasKept = false;
+            pathStart = pathEnd;
+            inUse = false;
+        }
+        
+        /**
+         * How long ago the stroke last moved (free strokes first)
+         */
+        long staleness(long now) {
+            if (!inUse || pathEnd == pathStart) return Long.MAX_VALUE;
+            return now - newestTime();
+        }
+        
+        long newestTime() {
+            return pathTime[(int) ((pathEnd - 1) % PATH_CAPACITY)];
+        }
+        
+        /**
+         * Whether the stroke moved recently enough to slice
+         */
+        boolean isLive(long now) {
+            return pathEnd > pathStart && now - newestTime() <= MAX_AGE;
+        }
+        
+        void add(double x, double y, double drawX, double drawY, long now) {
+            long interval = Math.max(1, (long) (GameConfig.BLADE_TRAIL_SAMPLE_MS * 1_000_000));
+            if (pathEnd == pathStart) {
+                keep(drawX, drawY, now);
+                nextSample = now + interval;
+            } else {
+                // Anything older than MAX_AGE would expire at once: skip to it
+                long lastTime = newestTime();
+                long oldest = now - MAX_AGE;
+                if (nextSample < oldest) {
+                    nextSample += ((oldest - nextSample) / interval + 1) * interval;
+                }
+                // A point at every grid time since the previous sample, on the line to this one
+                long span = now - lastTime;
+                while (nextSample <= now) {
+                    double f = span > 0 ? Math.max(0, (double) (nextSample - lastTime) / span) : 1;
+                    keep(lastDrawX + (drawX - lastDrawX) * f, lastDrawY + (drawY - lastDrawY) * f, nextSample);
+                    nextSample += interval;
+                }
+            }
+            appendPath(x, y, now);
+            lastDrawX = drawX;
+            lastDrawY = drawY;
+            // Drawn up to the newest sample until a prediction replaces it
+            setTip(drawX, drawY);
+        }
+        
+        void setTip(double x, double y) {
+            hasTip = true;
+            tipX = x;
+            tipY = y;
+        }
+        
+        /**
+         * Add a resampled point unless the blade has barely moved since the
+         * last one (the oldest is overwritten once the ring is full)
+         */
+        private void keep(double drawX, double drawY, long time) {
+            if (hasKept) {
+                double dx = drawX - keptX;
+                double dy = drawY - keptY;
+                if (dx * dx + dy * dy < MIN_TRAIL_STEP * MIN_TRAIL_STEP) return;
+            }
+            hasKept = true;
+            keptX = drawX;
+            keptY = drawY;
+            long end = pointEnd;
+            int i = (int) (end % MAX_POINTS);
+            pointX[i] = drawX;
+            pointY[i] = drawY;
+            pointTime[i] = time;
+            pointEnd = end + 1;
+            if (end + 1 - pointStart > MAX_POINTS) {
+                pointStart = end + 1 - MAX_POINTS;
+            }
+        }
+        
+        private void appendPath(double x, double y, long time) {
+            long end = pathEnd;
+            int i = (int) (end % PATH_CAPACITY);
+            pathX[i] = x;
+            pathY[i] = y;
+            pathTime[i] = time;
+            pathEnd = end + 1;
+            if (end + 1 - pathStart > PATH_CAPACITY) {
+                pathStart = end + 1 - PATH_CAPACITY;
+            }
+        }
+        
+        /**
+         * Oldest sample needed to cover the given time window before the
+         * newest sample (always at least one segment if there is one)
+         */
+        long windowStart(long end, long window) {
+            long start = Math.max(pathStart, end - PATH_CAPACITY);
+            if (end - start < 2) return start;
+            long newest = pathTime[(int) ((end - 1) % PATH_CAPACITY)];
+            long k = end - 2;
+            while (k > start && newest - pathTime[(int) (k % PATH_CAPACITY)] < window) {
+                k--;
+            }
+            return k;
+        }
+        
+        /**
+         * Sample back from the newest (clamped to the stroke's first)
+         */
+        double pathSample(double[] values, int back) {
+            long end = pathEnd;
+            long start = Math.max(pathStart, end - PATH_CAPACITY);
+            if (end == start) return 0;
+            long k = Math.max(start, end - back);
+            return values[(int) (k % PATH_CAPACITY)];
+        }
         
-        public TrailPoint(double x, double y, long timestamp) {
-            this.x = x;
-            this.y = y;
-            this.timestamp = timestamp;
+        void copyFrom(Stroke other) {
+            sessionId = other.sessionId;
+            inUse = other.inUse;
+            System.arraycopy(other.pathX, 0, pathX, 0, PATH_CAPACITY);
+            System.arraycopy(other.pathY, 0, pathY, 0, PATH_CAPACITY);
+            System.arraycopy(other.pathTime, 0, pathTime, 0, PATH_CAPACITY);
+            pathEnd = other.pathEnd;
+            pathStart = other.pathStart;
+            System.arraycopy(other.pointX, 0, pointX, 0, MAX_POINTS);
+            System.arraycopy(other.pointY, 0, pointY, 0, MAX_POINTS);
+            System.arraycopy(other.pointTime, 0, pointTime, 0, MAX_POINTS);
+            pointEnd = other.pointEnd;
+            pointStart = other.pointStart;
+            hasTip = other.hasTip;
+            tipX = other.tipX;
+            tipY = other.tipY;
+            lastDrawX = other.lastDrawX;
+            lastDrawY = other.lastDrawY;
+            hasKept = other.hasKept;
+            keptX = other.keptX;
+            keptY = other.keptY;
+            nextSample = other.nextSample;
         }
     }
 }
@@ -2,6 +2,8 @@ package com.superninja.objects;
 
 import com.superninja.config.GameConfig;
 import com.superninja.render.EmojiLoader;
+import com.superninja.render.GlowSprites;
+import com.superninja.render.RenderList;
 import java.awt.*;
 import java.awt.geom.*;
 import java.awt.image.BufferedImage;
@@ -20,6 +22,7 @@ public class GameObject {
     private boolean sliced;
     private boolean active;
     private int targetPlayer; // 1 or 2
+    private double pulsePhase; // Danger ring pulse (bombs)
     
     // Sliced halves
     private SlicedHalf leftHalf;
@@ -39,6 +42,24 @@ public class GameObject {
                    (type.isSpecial() ? GameConfig.SPECIAL_SIZE : GameConfig.FRUIT_SIZE);
         this.sliced = false;
         this.active = true;
+        this.pulsePhase = Math.random() * Math.PI * 2;
+    }
+    
+    /**
+     * Independent copy of this object's current state (replay keyframes)
+     */
+    public GameObject copy() {
+        GameObject c = new GameObject(type, x, y, velocityX, velocityY, targetPlayer);
+        c.rotation = rotation;
+        c.rotationSpeed = rotationSpeed;
+        c.size = size;
+        c.sliced = sliced;
+        c.active = active;
+        c.pulsePhase = pulsePhase;
+        c.leftHalf = leftHalf != null ? leftHalf.copy() : null;
+        c.rightHalf = rightHalf != null ? rightHalf.copy() : null;
+        c.sliceAngle = sliceAngle;
+        return c;
     }
     
     /**
@@ -65,6 +86,9 @@ public class GameObject {
         
         // Update rotation
         rotation += rotationSpeed * deltaTime;
+        
+        // Danger ring pulses at ~1.6 Hz
+        pulsePhase += deltaTime * 10;
     }
     
     /**
@@ -144,46 +168,26 @@ public class GameObject {
     }
     
     /**
-     * Render the object
+     * Queue the object's sprites for this frame
      */
-    public void render(Graphics2D g2d) {
+    public void render(RenderList list) {
         if (sliced) {
-            renderSlicedHalves(g2d);
+            renderSlicedHalves(list);
         } else {
-            renderWhole(g2d);
+            renderWhole(list);
         }
     }
     
-    private void renderWhole(Graphics2D g2d) {
-        Graphics2D g = (Graphics2D) g2d.create();
-        g.translate(x, y);
-        g.rotate(Math.toRadians(rotation));
+    private void renderWhole(RenderList list) {
+        double angle = Math.toRadians(rotation);
         
-        // Render emoji for all object types
-        renderEmoji(g);
+        // Emoji image (EmojiLoader supplies a placeholder if the image is missing)
+        list.addSprite(RenderList.LAYER_WHOLE, EmojiLoader.getEmoji(type, size), x, y, angle, 1f);
         
-        g.dispose();
-    }
-    
-    private void renderEmoji(Graphics2D g) {
-        // Get the emoji image for this object type
-        BufferedImage emoji = EmojiLoader.getEmoji(type, size);
-        
-        if (emoji != null) {
-            // Draw the emoji image centered
-            int halfSize = size / 2;
-            g.drawImage(emoji, -halfSize, -halfSize, null);
-        } else {
-            // Fallback: draw a colored circle if emoji not loaded
-            int halfSize = size / 2;
-            Color baseColor = type.getColor();
-            RadialGradientPaint gradient = new RadialGradientPaint(
-                -halfSize / 3f, -halfSize / 3f, size * 0.8f,
-                new float[]{0f, 0.5f, 1f},
-                new Color[]{baseColor.brighter(), baseColor, baseColor.darker()}
-            );
-            g.setPaint(gradient);
-            g.fillOval(-halfSize, -halfSize, size, size);
+        // Pulsing danger ring around bombs (pre-rendered frame)
+        if (type.isDangerous()) {
+            BufferedImage ring = GlowSprites.getBombRing(size, GlowSprites.frameIndex(pulsePhase));
+            list.addSprite(RenderList.LAYER_BOMB_RING, ring, x, y, angle, 1f);
         }
     }
     
@@ -498,14 +502,12 @@ public class GameObject {
         g.draw(star);
     }
     
-    private void renderSlicedHalves(Graphics2D g2d) {
-        BufferedImage emoji = EmojiLoader.getEmoji(type, size);
-        
+    private void renderSlicedHalves(RenderList list) {
         if (leftHalf != null) {
-            leftHalf.render(g2d, emoji, size);
+            leftHalf.render(list, EmojiLoader.getHalfEmoji(type, size, true));
         }
         if (rightHalf != null) {
-            rightHalf.render(g2d, emoji, size);
+            rightHalf.render(list, EmojiLoader.getHalfEmoji(type, size, false));
         }
     }
     
@@ -548,6 +550,12 @@ public class GameObject {
             this.isLeft = isLeft;
         }
         
+        SlicedHalf copy() {
+            SlicedHalf c = new SlicedHalf(x, y, velocityX, velocityY, rotation, rotationSpeed, size, sliceAngle, isLeft);
+            c.alpha = alpha;
+            return c;
+        }
+        
         public void update(double deltaTime, int targetPlayer) {
             // Horizontal gravity towards player's edge
             if (targetPlayer == 1) {
@@ -561,34 +569,16 @@ public class GameObject {
             alpha = Math.max(0, alpha - deltaTime * 0.5);
         }
         
-        public void render(Graphics2D g2d, BufferedImage emoji, int originalSize) {
-            Graphics2D g = (Graphics2D) g2d.create();
-            int clampedAlpha = Math.max(0, Math.min(255, (int)(alpha * 255)));
-            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, clampedAlpha / 255f));
-            g.translate(x, y);
-            g.rotate(Math.toRadians(rotation));
-            
-            int halfSize = originalSize / 2;
-            
-            // Create clipping shape for half
-            Arc2D.Double halfShape = new Arc2D.Double(
-                    -halfSize, -halfSize, originalSize, originalSize,
-                    isLeft ? 90 : 270, 180, Arc2D.PIE);
-            
-            g.setClip(halfShape);
-            
-            // Draw the emoji image (clipped to half)
-            if (emoji != null) {
-                g.drawImage(emoji, -halfSize, -halfSize, originalSize, originalSize, null);
-            } else {
-                // Fallback gradient circle
-                g.setColor(Color.ORANGE);
-                g.fillOval(-halfSize, -halfSize, originalSize, originalSize);
-            }
-            
-            g.dispose();
+        /**
+         * Queue this half for this frame
+         * @param halfEmoji Pre-masked half image from EmojiLoader.getHalfEmoji
+         */
+        public void render(RenderList list, BufferedImage halfEmoji) {
+            if (alpha <= 0) return;
+            list.addSprite(RenderList.LAYER_SLICED, halfEmoji, x, y, Math.toRadians(rotation), (float) alpha);
         }
         
+        public double getX() { return x; }
         public double getY() { return y; }
     }
 }
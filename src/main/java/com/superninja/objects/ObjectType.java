@@ -2,6 +2,7 @@ package com.superninja.objects;
 
 import com.superninja.config.GameConfig;
 import java.awt.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Enumeration of all game object types with their properties.
@@ -74,23 +75,23 @@ public enum ObjectType {
     /**
      * Get a random fruit type (not bomb or special)
      */
-    public static ObjectType getRandomFruit() {
+    public static ObjectType getRandomFruit(RandomGenerator random) {
         ObjectType[] fruits = {APPLE, ORANGE, WATERMELON, BANANA, GRAPE, PINEAPPLE};
-        return fruits[(int)(Math.random() * fruits.length)];
+        return fruits[(int)(random.nextDouble() * fruits.length)];
     }
     
     /**
      * Get object type based on spawn chances
      */
-    public static ObjectType getRandomObject() {
-        double rand = Math.random();
+    public static ObjectType getRandomObject(RandomGenerator random) {
+        double rand = random.nextDouble();
         
         if (rand < GameConfig.BOMB_SPAWN_CHANCE) {
             return BOMB;
         } else if (rand < GameConfig.BOMB_SPAWN_CHANCE + GameConfig.SPECIAL_FRUIT_CHANCE) {
             return STAR_FRUIT;
         } else {
-            return getRandomFruit();
+            return getRandomFruit(random);
         }
     }
 }
@@ -36,6 +36,20 @@ public class Player {
         isWinner = false;
     }
     
+    /**
+     * Take over another player's stats (replay keyframes)
+     */
+    public void copyFrom(Player other) {
+        score = other.score;
+        roundScore = other.roundScore;
+        roundsWon = other.roundsWon;
+        comboCount = other.comboCount;
+        maxCombo = other.maxCombo;
+        fruitsSliced = other.fruitsSliced;
+        bombsHit = other.bombsHit;
+        isWinner = other.isWinner;
+    }
+    
     /**
      * Reset for a new round
      */
@@ -2,15 +2,19 @@ package com.superninja.objects;
 
 import com.superninja.config.GameConfig;
 import com.superninja.render.EmojiLoader;
-
-import java.awt.*;
-import java.awt.image.BufferedImage;
+import com.superninja.render.GlowSprites;
+import com.superninja.render.QualityGovernor;
+import com.superninja.render.QualityTier;
+import com.superninja.render.RenderList;
 
 /**
  * Represents a collectible power-up object.
  */
 public class PowerUpObject {
     
+    /** Aura frame used when the pulse is frozen (mid brightness) */
+    private static final int STATIC_AURA_FRAME = 0;
+    
     private final PowerUpType type;
     private double x, y;
     private double velocityX, velocityY;
@@ -37,6 +41,20 @@ public class PowerUpObject {
         this.pulsePhase = Math.random() * Math.PI * 2;
     }
     
+    /**
+     * Independent copy of this power-up's current state (replay keyframes)
+     */
+    public PowerUpObject copy() {
+        PowerUpObject c = new PowerUpObject(type, x, y, velocityX, velocityY, targetPlayer);
+        c.rotation = rotation;
+        c.rotationSpeed = rotationSpeed;
+        c.size = size;
+        c.collected = collected;
+        c.active = active;
+        c.pulsePhase = pulsePhase;
+        return c;
+    }
+    
     /**
      * Update power-up physics
      */
@@ -112,50 +130,23 @@ public class PowerUpObject {
     }
     
     /**
-     * Render the power-up
+     * Queue the power-up's sprites for this frame
      */
-    public void render(Graphics2D g2d) {
+    public void render(RenderList list) {
         if (collected) return;
         
-        Graphics2D g = (Graphics2D) g2d.create();
-        g.translate(x, y);
-        
-        // Draw glowing aura
-        float pulse = (float)(0.5 + 0.5 * Math.sin(pulsePhase));
-        int glowSize = (int)(size * 1.5);
-        int alpha = (int)(80 + pulse * 80);
-        Color glowColor = new Color(
-            type.getColor().getRed(),
-            type.getColor().getGreen(),
-            type.getColor().getBlue(),
-            Math.max(0, Math.min(255, alpha))
-        );
-        
-        RadialGradientPaint glow = new RadialGradientPaint(
-            0, 0, glowSize / 2f,
-            new float[]{0f, 0.5f, 1f},
-            new Color[]{glowColor, new Color(glowColor.getRed(), glowColor.getGreen(), glowColor.getBlue(), alpha / 2), new Color(0, 0, 0, 0)}
-        );
-        g.setPaint(glow);
-        g.fillOval(-glowSize / 2, -glowSize / 2, glowSize, glowSize);
-        
-        // Rotate for the icon
-        g.rotate(Math.toRadians(rotation));
-        
-        // Draw the emoji
-        BufferedImage emoji = EmojiLoader.getPowerUpEmoji(type, size);
-        if (emoji != null) {
-            g.drawImage(emoji, -size / 2, -size / 2, null);
-        } else {
-            // Fallback
-            g.setColor(type.getColor());
-            g.fillOval(-size / 2, -size / 2, size, size);
-            g.setColor(Color.WHITE);
-            g.setFont(new Font("Arial", Font.BOLD, size / 2));
-            g.drawString("?", -size / 6, size / 6);
+        // Draw glowing aura (pre-rendered pulse frame, frozen or skipped at low quality)
+        QualityTier.AuraQuality auraQuality = QualityGovernor.getActiveTier().getAuraQuality();
+        if (auraQuality != QualityTier.AuraQuality.NONE) {
+            int glowSize = (int)(size * 1.5);
+            int frame = auraQuality == QualityTier.AuraQuality.PULSE
+                    ? GlowSprites.frameIndex(pulsePhase) : STATIC_AURA_FRAME;
+            list.addSprite(RenderList.LAYER_AURA, GlowSprites.getPowerUpAura(type, glowSize, frame), x, y, 0, 1f);
         }
         
-        g.dispose();
+        // Draw the emoji, rotated (EmojiLoader supplies a placeholder if the image is missing)
+        list.addSprite(RenderList.LAYER_POWER_UP, EmojiLoader.getPowerUpEmoji(type, size),
+                x, y, Math.toRadians(rotation), 1f);
     }
     
     // Getters
@@ -1,7 +1,6 @@
 package com.superninja.objects;
 
-import java.util.EnumMap;
-import java.util.Map;
+import com.superninja.util.EnumDoubleMap;
 
 /**
  * Tracks active power-up effects for a player.
@@ -9,15 +8,23 @@ import java.util.Map;
 public class PowerUpState {
     
     private final int playerId;
-    private final Map<PowerUpType, Double> activeEffects; // PowerUp -> remaining duration
+    private final EnumDoubleMap<PowerUpType> remaining; // Remaining duration per type (0 = inactive)
     private boolean hasShield; // Shield is a one-use effect
     
     public PowerUpState(int playerId) {
         this.playerId = playerId;
-        this.activeEffects = new EnumMap<>(PowerUpType.class);
+        this.remaining = new EnumDoubleMap<>(PowerUpType.class);
         this.hasShield = false;
     }
     
+    /**
+     * Take over another state's timers and shield (replay keyframes)
+     */
+    public void copyFrom(PowerUpState other) {
+        remaining.copyFrom(other.remaining);
+        hasShield = other.hasShield;
+    }
+    
     /**
      * Activate a power-up for this player
      */
@@ -25,7 +32,7 @@ public class PowerUpState {
         if (type == PowerUpType.SHIELD) {
             hasShield = true;
         } else if (type.getDuration() > 0) {
-            activeEffects.put(type, type.getDuration());
+            remaining.put(type, type.getDuration());
         }
     }
     
@@ -33,10 +40,12 @@ public class PowerUpState {
      * Update timers, removing expired effects
      */
     public void update(double deltaTime) {
-        activeEffects.entrySet().removeIf(entry -> {
-            entry.setValue(entry.getValue() - deltaTime);
-            return entry.getValue() <= 0;
-        });
+        for (int i = 0; i < remaining.size(); i++) {
+            double left = remaining.getAt(i);
+            if (left > 0) {
+                remaining.putAt(i, Math.max(0, left - deltaTime));
+            }
+        }
     }
     
     /**
@@ -46,14 +55,14 @@ public class PowerUpState {
         if (type == PowerUpType.SHIELD) {
             return hasShield;
         }
-        return activeEffects.containsKey(type) && activeEffects.get(type) > 0;
+        return remaining.get(type) > 0;
     }
     
     /**
      * Get remaining duration for a power-up (0 if not active)
      */
     public double getRemainingDuration(PowerUpType type) {
-        return activeEffects.getOrDefault(type, 0.0);
+        return remaining.get(type);
     }
     
     /**
@@ -104,17 +113,18 @@ public class PowerUpState {
     }
     
     /**
-     * Get all active effects for UI display
+     * Copy all remaining durations (0 = inactive) into a caller-owned map
+     * for UI display
      */
-    public Map<PowerUpType, Double> getActiveEffects() {
-        return new EnumMap<>(activeEffects);
+    public void getActiveEffects(EnumDoubleMap<PowerUpType> into) {
+        into.copyFrom(remaining);
     }
     
     /**
      * Clear all effects (for round reset)
      */
     public void clearAll() {
-        activeEffects.clear();
+        remaining.clear();
         hasShield = false;
     }
     
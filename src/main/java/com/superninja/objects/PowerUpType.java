@@ -1,6 +1,7 @@
 package com.superninja.objects;
 
 import java.awt.Color;
+import java.util.random.RandomGenerator;
 
 /**
  * Types of power-ups that can be collected.
@@ -63,8 +64,8 @@ public enum PowerUpType {
     /**
      * Get a random power-up type
      */
-    public static PowerUpType getRandomPowerUp() {
+    public static PowerUpType getRandomPowerUp(RandomGenerator random) {
         PowerUpType[] types = values();
-        return types[(int)(Math.random() * types.length)];
+        return types[(int)(random.nextDouble() * types.length)];
     }
 }
@@ -0,0 +1,39 @@
+package com.superninja.render;
+
+import java.awt.AlphaComposite;
+
+/**
+ * Quantised lookup table of SRC_OVER composites.
+ * AlphaComposite.getInstance allocates a new object for every alpha other than 1.0,
+ * so per-frame fades pick a shared instance from this table instead.
+ */
+public final class AlphaLut {
+
+    /** Number of alpha steps (visually indistinguishable from continuous fades) */
+    public static final int LEVELS = 64;
+
+    private static final AlphaComposite[] COMPOSITES = new AlphaComposite[LEVELS + 1];
+
+    static {
+        for (int i = 0; i <= LEVELS; i++) {
+            COMPOSITES[i] = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) i / LEVELS);
+        }
+    }
+
+    private AlphaLut() {}
+
+    /**
+     * Get the shared composite closest to the given alpha (0.0 - 1.0)
+     */
+    public static AlphaComposite get(float alpha) {
+        return COMPOSITES[level(alpha)];
+    }
+
+    /**
+     * Quantise an alpha value (0.0 - 1.0) to a table index
+     */
+    public static int level(float alpha) {
+        int level = Math.round(alpha * LEVELS);
+        return Math.max(0, Math.min(LEVELS, level));
+    }
+}
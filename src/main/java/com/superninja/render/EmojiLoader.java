@@ -1,31 +1,41 @@
 package com.superninja.render;
 
+import com.superninja.config.GameConfig;
 import com.superninja.objects.ObjectType;
 import com.superninja.objects.PowerUpType;
 import javax.imageio.ImageIO;
 import java.awt.*;
+import java.awt.geom.Arc2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.DirectColorModel;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Loads and caches emoji images for game objects and power-ups.
+ * Lookups are synchronized so split rendering can use the caches from two threads.
+ * Scaled sprites use bitmask transparency when the hardware profile asks for it.
  */
 public class EmojiLoader {
     
     private static final Map<ObjectType, BufferedImage> emojiCache = new EnumMap<>(ObjectType.class);
-    private static final Map<ObjectType, Map<Integer, BufferedImage>> scaledCache = new EnumMap<>(ObjectType.class);
     private static final Map<PowerUpType, BufferedImage> powerUpCache = new EnumMap<>(PowerUpType.class);
-    private static final Map<PowerUpType, Map<Integer, BufferedImage>> powerUpScaledCache = new EnumMap<>(PowerUpType.class);
+    
+    // Scaled images indexed by [type ordinal][size] (arrays instead of Integer-keyed maps so lookups never box)
+    private static final BufferedImage[][] scaledCache = new BufferedImage[ObjectType.values().length][];
+    private static final BufferedImage[][] powerUpScaledCache = new BufferedImage[PowerUpType.values().length][];
+    
+    // Pre-masked sliced halves indexed by [type ordinal * 2 + (left ? 0 : 1)][size]
+    private static final BufferedImage[][] halfCache = new BufferedImage[ObjectType.values().length * 2][];
     private static boolean loaded = false;
     
     /**
      * Load all emoji images from resources
      */
-    public static void loadEmojis() {
+    public static synchronized void loadEmojis() {
         if (loaded) return;
         
         // Load fruit/object emojis
@@ -52,7 +62,6 @@ public class EmojiLoader {
             if (is != null) {
                 BufferedImage img = ImageIO.read(is);
                 emojiCache.put(type, img);
-                scaledCache.put(type, new HashMap<>());
             } else {
                 System.err.println("Could not find emoji resource: " + resourcePath);
             }
@@ -66,7 +75,6 @@ public class EmojiLoader {
             if (is != null) {
                 BufferedImage img = ImageIO.read(is);
                 powerUpCache.put(type, img);
-                powerUpScaledCache.put(type, new HashMap<>());
             } else {
                 System.err.println("Could not find power-up emoji resource: " + resourcePath);
             }
@@ -75,46 +83,69 @@ public class EmojiLoader {
         }
     }
     
+    /** Resolution of generated placeholders for missing emoji images */
+    private static final int PLACEHOLDER_SIZE = 128;
+    
+    /** ARGB with a 1-bit alpha (Java2D blits it with its bitmask loops) */
+    private static final DirectColorModel BITMASK_MODEL =
+            new DirectColorModel(25, 0xFF0000, 0xFF00, 0xFF, 0x1000000);
+    
     /**
-     * Get the emoji image for a given object type, scaled to the specified size
+     * Get the emoji image for a given object type, scaled to the specified size.
+     * A missing image is replaced by a shaded circle in the type's colour.
      */
-    public static BufferedImage getEmoji(ObjectType type, int size) {
+    public static synchronized BufferedImage getEmoji(ObjectType type, int size) {
         if (!loaded) {
             loadEmojis();
         }
         
         BufferedImage original = emojiCache.get(type);
         if (original == null) {
-            return null;
+            original = createPlaceholder(type.getColor(), null);
+            emojiCache.put(type, original);
         }
         
         // Check scaled cache
-        Map<Integer, BufferedImage> sizeCache = scaledCache.get(type);
-        if (sizeCache != null && sizeCache.containsKey(size)) {
-            return sizeCache.get(size);
+        BufferedImage cached = lookup(scaledCache, type.ordinal(), size);
+        if (cached != null) {
+            return cached;
         }
         
-        // Scale the image
-        BufferedImage scaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g = scaled.createGraphics();
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g.drawImage(original, 0, 0, size, size, null);
-        g.dispose();
-        
-        // Cache the scaled version
-        if (sizeCache != null) {
-            sizeCache.put(size, scaled);
+        // Scale and cache the image
+        BufferedImage scaled = scale(original, size);
+        store(scaledCache, type.ordinal(), size, scaled);
+        return scaled;
+    }
+    
+    /**
+     * Get one half of a sliced object's emoji, pre-clipped so sliced halves
+     * can be drawn without a per-frame clip shape.
+     * The left half covers the arc from 90 to 270 degrees, the right half the rest.
+     */
+    public static synchronized BufferedImage getHalfEmoji(ObjectType type, int size, boolean left) {
+        int index = type.ordinal() * 2 + (left ? 0 : 1);
+        BufferedImage cached = lookup(halfCache, index, size);
+        if (cached != null) {
+            return cached;
         }
         
-        return scaled;
+        BufferedImage emoji = getEmoji(type, size);
+        
+        BufferedImage half = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = half.createGraphics();
+        g.setClip(new Arc2D.Double(0, 0, size, size, left ? 90 : 270, 180, Arc2D.PIE));
+        g.drawImage(emoji, 0, 0, null);
+        g.dispose();
+        half = forProfile(half);
+        
+        store(halfCache, index, size, half);
+        return half;
     }
     
     /**
      * Get the original unscaled emoji image
      */
-    public static BufferedImage getOriginalEmoji(ObjectType type) {
+    public static synchronized BufferedImage getOriginalEmoji(ObjectType type) {
         if (!loaded) {
             loadEmojis();
         }
@@ -122,25 +153,58 @@ public class EmojiLoader {
     }
     
     /**
-     * Get the power-up emoji image, scaled to the specified size
+     * Get the power-up emoji image, scaled to the specified size.
+     * A missing image is replaced by a circle in the power-up colour with a question mark.
      */
-    public static BufferedImage getPowerUpEmoji(PowerUpType type, int size) {
+    public static synchronized BufferedImage getPowerUpEmoji(PowerUpType type, int size) {
         if (!loaded) {
             loadEmojis();
         }
         
         BufferedImage original = powerUpCache.get(type);
         if (original == null) {
-            return null;
+            original = createPlaceholder(type.getColor(), "?");
+            powerUpCache.put(type, original);
         }
         
         // Check scaled cache
-        Map<Integer, BufferedImage> sizeCache = powerUpScaledCache.get(type);
-        if (sizeCache != null && sizeCache.containsKey(size)) {
-            return sizeCache.get(size);
+        BufferedImage cached = lookup(powerUpScaledCache, type.ordinal(), size);
+        if (cached != null) {
+            return cached;
         }
         
-        // Scale the image
+        // Scale and cache the image
+        BufferedImage scaled = scale(original, size);
+        store(powerUpScaledCache, type.ordinal(), size, scaled);
+        return scaled;
+    }
+    
+    private static BufferedImage createPlaceholder(Color baseColor, String label) {
+        int size = PLACEHOLDER_SIZE;
+        float half = size / 2f;
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        if (label == null) {
+            g.setPaint(new RadialGradientPaint(
+                half - half / 3, half - half / 3, size * 0.8f,
+                new float[]{0f, 0.5f, 1f},
+                new Color[]{baseColor.brighter(), baseColor, baseColor.darker()}
+            ));
+            g.fillOval(0, 0, size, size);
+        } else {
+            g.setColor(baseColor);
+            g.fillOval(0, 0, size, size);
+            g.setColor(Color.WHITE);
+            g.setFont(new Font("Arial", Font.BOLD, size / 2));
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.drawString(label, half - size / 6f, half + size / 6f);
+        }
+        g.dispose();
+        return image;
+    }
+    
+    private static BufferedImage scale(BufferedImage original, int size) {
         BufferedImage scaled = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
         Graphics2D g = scaled.createGraphics();
         g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
@@ -148,12 +212,42 @@ public class EmojiLoader {
         g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g.drawImage(original, 0, 0, size, size, null);
         g.dispose();
-        
-        // Cache the scaled version
-        if (sizeCache != null) {
-            sizeCache.put(size, scaled);
+        return forProfile(scaled);
+    }
+    
+    /**
+     * Convert a sprite to the hardware profile's format: bitmask transparency
+     * (alpha thresholded at half) for the low-bandwidth profile, unchanged otherwise
+     */
+    private static BufferedImage forProfile(BufferedImage sprite) {
+        if (!GameConfig.HARDWARE_PROFILE.isBitmaskSprites()) {
+            return sprite;
         }
-        
-        return scaled;
+        int width = sprite.getWidth();
+        int height = sprite.getHeight();
+        int[] argb = sprite.getRGB(0, 0, width, height, null, 0, width);
+        for (int i = 0; i < argb.length; i++) {
+            argb[i] = (argb[i] >>> 24) >= 128 ? argb[i] | 0xFF000000 : 0;
+        }
+        BufferedImage bitmask = new BufferedImage(BITMASK_MODEL,
+                BITMASK_MODEL.createCompatibleWritableRaster(width, height), false, null);
+        bitmask.setRGB(0, 0, width, height, argb, 0, width);
+        return bitmask;
+    }
+    
+    private static BufferedImage lookup(BufferedImage[][] cache, int index, int size) {
+        BufferedImage[] sizes = cache[index];
+        return sizes != null && size < sizes.length ? sizes[size] : null;
+    }
+    
+    private static void store(BufferedImage[][] cache, int index, int size, BufferedImage image) {
+        BufferedImage[] sizes = cache[index];
+        if (sizes == null) {
+            sizes = new BufferedImage[Math.max(256, size + 1)];
+        } else if (size >= sizes.length) {
+            sizes = Arrays.copyOf(sizes, Math.max(sizes.length * 2, size + 1));
+        }
+        sizes[size] = image;
+        cache[index] = sizes;
     }
 }
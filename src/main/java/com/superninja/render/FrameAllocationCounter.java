@@ -0,0 +1,72 @@
+package com.superninja.render;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures heap allocation of the render thread per frame.
+ * Uses the HotSpot per-thread allocation counter, so it costs two counter
+ * reads per frame and works without a profiler attached. Alongside bytes it
+ * tracks how many new render resources were created, which should stay at
+ * zero once the game has warmed up.
+ */
+public class FrameAllocationCounter {
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final boolean supported;
+
+    private long frameStartBytes;
+    private int frameStartResources;
+
+    private long lastFrameBytes;
+    private double averageFrameBytes;
+    private long peakFrameBytes;
+    private int lastFrameResources;
+
+    public FrameAllocationCounter() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean hotspotBean
+                && hotspotBean.isThreadAllocatedMemorySupported()) {
+            hotspotBean.setThreadAllocatedMemoryEnabled(true);
+            this.threadBean = hotspotBean;
+            this.supported = true;
+        } else {
+            this.threadBean = null;
+            this.supported = false;
+        }
+    }
+
+    /**
+     * Mark the start of a frame (call on the render thread)
+     */
+    public void beginFrame() {
+        frameStartResources = RenderResources.getCreatedCount();
+        if (supported) {
+            frameStartBytes = threadBean.getCurrentThreadAllocatedBytes();
+        }
+    }
+
+    /**
+     * Mark the end of a frame (call on the same thread as beginFrame)
+     */
+    public void endFrame() {
+        if (supported) {
+            lastFrameBytes = threadBean.getCurrentThreadAllocatedBytes() - frameStartBytes;
+            averageFrameBytes = averageFrameBytes * 0.95 + lastFrameBytes * 0.05; // Smooth average
+            peakFrameBytes = Math.max(peakFrameBytes, lastFrameBytes);
+        }
+        lastFrameResources = RenderResources.getCreatedCount() - frameStartResources;
+    }
+
+    /**
+     * Reset the peak (e.g. once per second together with the FPS counter)
+     */
+    public void resetPeak() {
+        peakFrameBytes = 0;
+    }
+
+    public boolean isSupported() { return supported; }
+    public long getLastFrameBytes() { return lastFrameBytes; }
+    public double getAverageFrameBytes() { return averageFrameBytes; }
+    public long getPeakFrameBytes() { return peakFrameBytes; }
+    public int getLastFrameResources() { return lastFrameResources; }
+}
@@ -2,10 +2,14 @@ package com.superninja.render;
 
 import com.superninja.config.GameConfig;
 import com.superninja.effects.EffectManager;
+import com.superninja.effects.ParticleRenderer;
 import com.superninja.engine.GameEngine;
 import com.superninja.objects.*;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferUShort;
+import java.awt.image.VolatileImage;
 
 /**
  * Handles all game rendering.
@@ -16,6 +20,21 @@ public class GameRenderer {
     private int screenWidth;
     private int screenHeight;
     
+    private static final PowerUpType[] POWER_UP_TYPES = PowerUpType.values();
+    
+    private static final Color OVERLAY_COLOR = new Color(0, 0, 0, 150);
+    private static final Color TIMER_WARNING_COLOR = new Color(255, 100, 100);
+    private static final Color INACTIVE_ROUND_COLOR = new Color(100, 100, 100);
+    private static final Color COMBO_COLOR = new Color(255, 215, 0);
+    private static final Color GO_COLOR = new Color(0, 255, 100);
+    
+    private static final String[] RULES = {
+        "Slice fruits for points!",
+        "Avoid the bombs!",
+        "3 rounds of 60 seconds each",
+        "Highest score wins!"
+    };
+    
     // Fonts
     private Font scoreFont;
     private Font timerFont;
@@ -23,6 +42,40 @@ public class GameRenderer {
     private Font countdownFont;
     private Font infoFont;
     
+    // Cached HUD text (rebuilt only when the value changes)
+    private final CachedText player1ScoreText = new CachedText("");
+    private final CachedText player2ScoreText = new CachedText("");
+    private final CachedText player1ComboText = new CachedText("x", " COMBO");
+    private final CachedText player2ComboText = new CachedText("x", " COMBO");
+    private final CachedText timerText = new CachedText("");
+    private final CachedText roundText = new CachedText("Round ", "/" + GameConfig.TOTAL_ROUNDS);
+    private final CachedText countdownText = new CachedText("");
+    
+    // Background gradient and divider, pre-rendered per screen size
+    private BufferedImage backgroundImage;
+    
+    // Dynamic resolution: the world is drawn into worldBuffer at scaler.getScale()
+    // and stretched to the screen; the UI is always drawn at native resolution
+    private final ResolutionScaler resolutionScaler = new ResolutionScaler();
+    private VolatileImage worldBuffer;
+    private BufferedImage worldLayer; // 16-bit stand-in for worldBuffer (low-bandwidth profile)
+    
+    // Two-thread world pass (created on first use)
+    private SplitWorldRenderer splitRenderer;
+    
+    // World pass backends: Java2D on the frame's graphics, or the int[]
+    // software rasteriser when SOFTWARE_RENDERER is on (created on first use)
+    private final Java2DBackend java2dBackend = new Java2DBackend();
+    private SoftwareBackend softwareBackend;
+    
+    // Visible entity sprites for the current frame, culled and batched
+    private final RenderList renderList = new RenderList();
+    
+    // Overlay text for ROUND_END / GAME_OVER (rebuilt when state or round changes)
+    private GameEngine.GameState overlayState;
+    private int overlayRound;
+    private String[] overlayLines = new String[0];
+    
     // Animation timers
     private double animTimer = 0;
     
@@ -42,17 +95,18 @@ public class GameRenderer {
     }
     
     private void initFonts() {
-        scoreFont = new Font("Arial", Font.BOLD, screenHeight / 15);
-        timerFont = new Font("Arial", Font.BOLD, screenHeight / 25);
-        titleFont = new Font("Arial", Font.BOLD, screenHeight / 12);
-        countdownFont = new Font("Arial", Font.BOLD, screenHeight / 4);
-        infoFont = new Font("Arial", Font.PLAIN, 18);
+        scoreFont = RenderResources.font(RenderResources.ARIAL, Font.BOLD, screenHeight / 15);
+        timerFont = RenderResources.font(RenderResources.ARIAL, Font.BOLD, screenHeight / 25);
+        titleFont = RenderResources.font(RenderResources.ARIAL, Font.BOLD, screenHeight / 12);
+        countdownFont = RenderResources.font(RenderResources.ARIAL, Font.BOLD, screenHeight / 4);
+        infoFont = RenderResources.font(RenderResources.ARIAL, Font.PLAIN, 18);
     }
     
     public void setScreenSize(int width, int height) {
         this.screenWidth = width;
         this.screenHeight = height;
         initFonts();
+        resolutionScaler.reset();
     }
     
     public int getScreenWidth() {
@@ -63,6 +117,10 @@ public class GameRenderer {
         return screenHeight;
     }
     
+    public ResolutionScaler getResolutionScaler() {
+        return resolutionScaler;
+    }
+    
     public void setTuioStatus(boolean connected, int touchCount) {
         this.tuioConnected = connected;
         this.tuioTouchCount = touchCount;
@@ -73,51 +131,227 @@ public class GameRenderer {
     }
     
     /**
-     * Main render method
+     * Main render method.
+     * Draws the world pass (background, objects, trails, effects), at a
+     * reduced internal resolution if the resolution scaler asks for it,
+     * either through the software rasteriser (SOFTWARE_RENDERER) or split
+     * across two threads (SPLIT_RENDERING), then the divider and the UI pass
+     * at native resolution on top.
      */
     public void render(Graphics2D g2d, GameEngine engine, int width, int height) {
-        this.screenWidth = width;
-        this.screenHeight = height;
+        long renderStart = System.nanoTime();
+        if (width != screenWidth || height != screenHeight) {
+            setScreenSize(width, height);
+        }
         
         // Get effect manager from engine
         EffectManager effectManager = engine.getEffectManager();
         
-        // Minimal rendering hints for performance (sprites are pre-rendered with AA)
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        applyRenderingHints(g2d);
         
         // Apply screen shake
         double shakeX = effectManager.getShakeOffsetX();
         double shakeY = effectManager.getShakeOffsetY();
-        if (shakeX != 0 || shakeY != 0) {
+        
+        buildRenderList(engine, shakeX, shakeY);
+        
+        double scale = GameConfig.DYNAMIC_RESOLUTION ? resolutionScaler.getScale() : 1.0;
+        if (splitRenderer != null && (GameConfig.SOFTWARE_RENDERER || !GameConfig.SPLIT_RENDERING)) {
+            stopSplitRenderer();
+        }
+        if (GameConfig.SOFTWARE_RENDERER) {
+            renderSoftwareWorld(g2d, engine, scale, shakeX, shakeY);
+        } else if (GameConfig.SPLIT_RENDERING) {
+            renderSplitWorld(g2d, engine, scale, shakeX, shakeY);
+        } else if (scale < 1.0) {
+            renderScaledWorld(g2d, engine, scale, shakeX, shakeY);
+        } else {
             g2d.translate(shakeX, shakeY);
+            renderWorld(g2d, engine);
+            g2d.translate(-shakeX, -shakeY);
         }
         
-        // Draw background
-        renderBackground(g2d);
-        
-        // Draw center divider
+        // Divider and UI shake with the world but are always sharp
+        g2d.translate(shakeX, shakeY);
         renderDivider(g2d);
+        renderOverlay(g2d, engine);
+        g2d.translate(-shakeX, -shakeY);
         
-        // Draw game objects
+        resolutionScaler.recordFrame((System.nanoTime() - renderStart) / 1_000_000.0);
+    }
+    
+    /**
+     * Collect the entity sprites that can be seen this frame (the world is
+     * shifted by the shake offset, so the viewport is shifted back)
+     */
+    private void buildRenderList(GameEngine engine, double shakeX, double shakeY) {
+        renderList.begin(-shakeX, -shakeY, screenWidth - shakeX, screenHeight - shakeY);
         for (GameObject obj : engine.getGameObjects()) {
-            obj.render(g2d);
+            obj.render(renderList);
         }
-        
-        // Draw power-up objects
         for (PowerUpObject obj : engine.getPowerUpObjects()) {
-            obj.render(g2d);
+            obj.render(renderList);
+        }
+        renderList.sort();
+    }
+    
+    private void applyRenderingHints(Graphics2D g2d) {
+        // Minimal rendering hints for performance (sprites are pre-rendered with AA)
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    }
+    
+    /**
+     * Draw the world into the offscreen buffer at the given scale and
+     * stretch it over the screen
+     */
+    private void renderScaledWorld(Graphics2D g2d, GameEngine engine, double scale, double shakeX, double shakeY) {
+        int layerType = GameConfig.HARDWARE_PROFILE.getLayerType();
+        if (layerType != BufferedImage.TYPE_INT_RGB) {
+            // Reduced bit depth layers are plain images in the profile's format
+            if (worldLayer == null || worldLayer.getWidth() != screenWidth
+                    || worldLayer.getHeight() != screenHeight || worldLayer.getType() != layerType) {
+                worldLayer = new BufferedImage(Math.max(1, screenWidth), Math.max(1, screenHeight), layerType);
+            }
+            renderScaledWorld(g2d, engine, worldLayer, worldLayer.createGraphics(), scale, shakeX, shakeY);
+            return;
         }
         
+        GraphicsConfiguration gc = g2d.getDeviceConfiguration();
+        if (worldBuffer == null
+                || worldBuffer.getWidth() != screenWidth
+                || worldBuffer.getHeight() != screenHeight
+                || worldBuffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (worldBuffer != null) {
+                worldBuffer.flush();
+            }
+            // Allocated at native size once; lower scales use its top-left corner
+            worldBuffer = gc.createCompatibleVolatileImage(screenWidth, screenHeight);
+        }
+        
+        renderScaledWorld(g2d, engine, worldBuffer, worldBuffer.createGraphics(), scale, shakeX, shakeY);
+    }
+    
+    private void renderScaledWorld(Graphics2D g2d, GameEngine engine, Image buffer, Graphics2D wg,
+                                   double scale, double shakeX, double shakeY) {
+        int internalWidth = (int) Math.ceil(screenWidth * scale);
+        int internalHeight = (int) Math.ceil(screenHeight * scale);
+        
+        applyRenderingHints(wg);
+        wg.scale(scale, scale);
+        wg.translate(shakeX, shakeY);
+        renderWorld(wg, engine);
+        wg.dispose();
+        
+        g2d.drawImage(buffer, 0, 0, screenWidth, screenHeight,
+                0, 0, internalWidth, internalHeight, null);
+    }
+    
+    /**
+     * Rasterise the world into the software framebuffer (at the given scale,
+     * tiled over SOFTWARE_RENDER_THREADS bands) and present it with one blit
+     */
+    private void renderSoftwareWorld(Graphics2D g2d, GameEngine engine, double scale, double shakeX, double shakeY) {
+        if (softwareBackend == null) {
+            softwareBackend = new SoftwareBackend(GameConfig.SOFTWARE_RENDER_THREADS);
+        }
+        softwareBackend.begin(screenWidth, screenHeight, scale, shakeX, shakeY);
+        renderWorld(softwareBackend, engine, engine.getEffectManager().getParticleRenderer(),
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        softwareBackend.present(g2d, screenWidth, screenHeight);
+    }
+    
+    /**
+     * Draw the world as two halves on two worker threads and composite them
+     */
+    private void renderSplitWorld(Graphics2D g2d, GameEngine engine, double scale, double shakeX, double shakeY) {
+        if (splitRenderer == null) {
+            splitRenderer = new SplitWorldRenderer(this::renderWorldHalf);
+        }
+        
+        // Build the shared background here so the workers only read it
+        getBackgroundImage();
+        
+        splitRenderer.render(g2d, engine, screenWidth, screenHeight, scale, shakeX, shakeY);
+    }
+    
+    /**
+     * Stop the split-render workers once the split path is no longer used
+     */
+    private void stopSplitRenderer() {
+        splitRenderer.shutdown();
+        splitRenderer = null;
+    }
+    
+    /**
+     * Release the renderer's threads. Call after the last frame.
+     */
+    public void dispose() {
+        if (splitRenderer != null) {
+            stopSplitRenderer();
+        }
+    }
+    
+    /**
+     * World pass for one split-render worker
+     */
+    private void renderWorldHalf(Java2DBackend backend, GameEngine engine, ParticleRenderer particles,
+                                 double minX, double maxX) {
+        applyRenderingHints(backend.getGraphics());
+        renderWorld(backend, engine, particles, minX, maxX);
+    }
+    
+    /**
+     * World pass: everything that lives on the table, drawn through Java2D
+     */
+    private void renderWorld(Graphics2D g2d, GameEngine engine) {
+        java2dBackend.begin(g2d);
+        renderWorld(java2dBackend, engine, engine.getEffectManager().getParticleRenderer(),
+                Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+        java2dBackend.end();
+    }
+    
+    /**
+     * World pass limited to entities that reach the column between minX and maxX
+     */
+    private void renderWorld(RenderBackend r, GameEngine engine, ParticleRenderer particles,
+                             double minX, double maxX) {
+        EffectManager effectManager = engine.getEffectManager();
+        
+        if (GameConfig.HARDWARE_PROFILE.isCompositedTable()) {
+            // Background with the juice splatter already composited in (one opaque blit)
+            effectManager.renderBackgroundWithDecals(r, getBackgroundImage());
+        } else {
+            // Draw background (one opaque blit)
+            r.drawImage(getBackgroundImage(), 0, 0, 1f);
+            
+            // Draw juice splatter decals
+            effectManager.renderDecals(r, screenWidth, screenHeight);
+        }
+        
+        // Draw game objects and power-ups (culled and batched by sprite)
+        renderList.render(r, minX, maxX);
+        
         // Draw blade trails
-        engine.getPlayer1Blade().render(g2d);
-        engine.getPlayer2Blade().render(g2d);
+        BladeTrail blade1 = engine.getPlayer1Blade();
+        if (blade1.overlapsX(minX, maxX)) {
+            blade1.render(r);
+        }
+        BladeTrail blade2 = engine.getPlayer2Blade();
+        if (blade2.overlapsX(minX, maxX)) {
+            blade2.render(r);
+        }
         
         // Draw effects
-        effectManager.render(g2d);
-        
+        effectManager.render(r, particles, minX, maxX);
+    }
+    
+    /**
+     * UI pass: scores, timer, indicators and state overlays (native resolution)
+     */
+    private void renderOverlay(Graphics2D g2d, GameEngine engine) {
         // Draw UI
         renderUI(g2d, engine);
         
@@ -130,26 +364,65 @@ public class GameRenderer {
             case COUNTDOWN -> renderCountdown(g2d, engine.getCountdownValue());
             case ROUND_END -> renderRoundEnd(g2d, engine);
             case GAME_OVER -> renderGameOver(g2d, engine);
-            default -> {}
+            default -> overlayState = null; // Rebuild overlay text next time it is shown
         }
-        
-        // Debug info
-        if (GameConfig.TUIO_DEBUG) {
-            renderDebugInfo(g2d, engine);
+    }
+    
+    /**
+     * Get the static background for the current screen size.
+     * Filling a GradientPaint and translucent lines every frame allocates
+     * paint contexts and raster tiles inside Java2D, so both are drawn once.
+     */
+    private BufferedImage getBackgroundImage() {
+        // The software rasteriser works on 32-bit pixels, so it keeps 32-bit layers
+        int layerType = GameConfig.SOFTWARE_RENDERER
+                ? BufferedImage.TYPE_INT_RGB : GameConfig.HARDWARE_PROFILE.getLayerType();
+        if (backgroundImage == null
+                || backgroundImage.getWidth() != screenWidth
+                || backgroundImage.getHeight() != screenHeight
+                || backgroundImage.getType() != layerType) {
+            backgroundImage = new BufferedImage(Math.max(1, screenWidth), Math.max(1, screenHeight),
+                    BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = backgroundImage.createGraphics();
+            renderBackground(g);
+            g.dispose();
+            if (layerType == BufferedImage.TYPE_USHORT_565_RGB) {
+                backgroundImage = dither565(backgroundImage);
+            }
         }
-        
-        // Remove shake transform
-        if (shakeX != 0 || shakeY != 0) {
-            g2d.translate(-shakeX, -shakeY);
+        return backgroundImage;
+    }
+    
+    /** 4x4 ordered dither thresholds (0 - 15) */
+    private static final int[] BAYER_4X4 = {0, 8, 2, 10, 12, 4, 14, 6, 3, 11, 1, 9, 15, 7, 13, 5};
+    
+    /**
+     * Convert an RGB image to 565 with an ordered dither, so the dark
+     * gradient does not break into wide bands at 16 bits
+     */
+    private static BufferedImage dither565(BufferedImage source) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        BufferedImage dithered = new BufferedImage(width, height, BufferedImage.TYPE_USHORT_565_RGB);
+        short[] out = ((DataBufferUShort) dithered.getRaster().getDataBuffer()).getData();
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            source.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                int threshold = BAYER_4X4[(y & 3) * 4 + (x & 3)];
+                int rgb = row[x];
+                int r = Math.min(31, (((rgb >> 16) & 0xFF) + threshold / 2) >> 3);
+                int g = Math.min(63, (((rgb >> 8) & 0xFF) + threshold / 4) >> 2);
+                int b = Math.min(31, ((rgb & 0xFF) + threshold / 2) >> 3);
+                out[y * width + x] = (short) (r << 11 | g << 5 | b);
+            }
         }
+        return dithered;
     }
     
     private void renderBackground(Graphics2D g2d) {
-        // Solid gradient background - optimized
-        GradientPaint gradient = new GradientPaint(
-                0, 0, GameConfig.BACKGROUND_TOP,
-                0, screenHeight, GameConfig.BACKGROUND_BOTTOM);
-        g2d.setPaint(gradient);
+        // Solid gradient background
+        g2d.setPaint(RenderResources.backgroundGradient(screenHeight));
         g2d.fillRect(0, 0, screenWidth, screenHeight);
     }
     
@@ -157,12 +430,12 @@ public class GameRenderer {
         int x = screenWidth / 2;
         
         // Simple glowing divider line (vertical) - optimized
-        g2d.setColor(new Color(255, 255, 255, 60));
-        g2d.setStroke(new BasicStroke(6));
+        g2d.setColor(RenderResources.color(255, 255, 255, 60));
+        g2d.setStroke(RenderResources.stroke(6));
         g2d.drawLine(x, 0, x, screenHeight);
         
-        g2d.setColor(new Color(255, 255, 255, 120));
-        g2d.setStroke(new BasicStroke(2));
+        g2d.setColor(RenderResources.color(255, 255, 255, 120));
+        g2d.setStroke(RenderResources.stroke(2));
         g2d.drawLine(x, 0, x, screenHeight);
     }
     
@@ -185,43 +458,49 @@ public class GameRenderer {
         renderRoundIndicators(g2d, p1, p2, engine.getCurrentRound());
     }
     
-    private void renderPlayerScore(Graphics2D g2d, Player player, boolean flipped) {
-        Graphics2D g = (Graphics2D) g2d.create();
-        
+    private void renderPlayerScore(Graphics2D g, Player player, boolean flipped) {
         Color playerColor = player.getId() == 1 ? GameConfig.PLAYER1_COLOR : GameConfig.PLAYER2_COLOR;
         
         // Player 1: top-left corner | Player 2: bottom-right corner (diagonal opposite)
         int edgeMargin = 55;
+        double anchorX, anchorY, angle;
         
         if (!flipped) {
             // Player 1 - top-left corner, text readable from left side
-            g.translate(edgeMargin, 120);
-            g.rotate(Math.PI / 2); // Rotate so text goes down along left edge
+            anchorX = edgeMargin;
+            anchorY = 120;
+            angle = Math.PI / 2; // Rotate so text goes down along left edge
         } else {
             // Player 2 - bottom-right corner, text readable from right side
-            g.translate(screenWidth - edgeMargin, screenHeight - 120);
-            g.rotate(-Math.PI / 2); // Rotate so text goes up along right edge
+            anchorX = screenWidth - edgeMargin;
+            anchorY = screenHeight - 120;
+            angle = -Math.PI / 2; // Rotate so text goes up along right edge
         }
+        g.translate(anchorX, anchorY);
+        g.rotate(angle);
         
         // Player label
         g.setColor(playerColor);
-        g.setFont(new Font("Arial", Font.BOLD, 22));
+        g.setFont(RenderResources.font(RenderResources.ARIAL, Font.BOLD, 22));
         g.drawString(player.getName(), 0, 0);
         
         // Score (large, prominent)
-        g.setFont(new Font("Arial", Font.BOLD, 44));
+        g.setFont(RenderResources.font(RenderResources.ARIAL, Font.BOLD, 44));
         g.setColor(Color.WHITE);
-        String scoreText = String.valueOf(player.getScore());
-        g.drawString(scoreText, 0, 45);
+        CachedText scoreText = player.getId() == 1 ? player1ScoreText : player2ScoreText;
+        g.drawString(scoreText.get(player.getScore()), 0, 45);
         
         // Combo indicator
         if (player.getComboCount() > 1) {
-            g.setColor(new Color(255, 215, 0));
-            g.setFont(new Font("Arial", Font.BOLD, 18));
-            g.drawString("x" + player.getComboCount() + " COMBO", 0, 75);
+            CachedText comboText = player.getId() == 1 ? player1ComboText : player2ComboText;
+            g.setColor(COMBO_COLOR);
+            g.setFont(RenderResources.font(RenderResources.ARIAL, Font.BOLD, 18));
+            g.drawString(comboText.get(player.getComboCount()), 0, 75);
         }
         
-        g.dispose();
+        // Undo the transform instead of copying the Graphics2D
+        g.rotate(-angle);
+        g.translate(-anchorX, -anchorY);
     }
     
     private void renderPowerUpIndicators(Graphics2D g2d, GameEngine engine) {
@@ -251,9 +530,10 @@ public class GameRenderer {
         }
         
         // Show all timed effects
-        for (java.util.Map.Entry<PowerUpType, Double> entry : state.getActiveEffects().entrySet()) {
-            PowerUpType type = entry.getKey();
-            double remaining = entry.getValue();
+        for (PowerUpType type : POWER_UP_TYPES) {
+            if (type == PowerUpType.SHIELD || !state.isActive(type)) continue;
+            
+            double remaining = state.getRemainingDuration(type);
             double maxDuration = type.getDuration();
             double progress = remaining / maxDuration;
             
@@ -262,28 +542,24 @@ public class GameRenderer {
         }
     }
     
-    private void drawPowerUpIcon(Graphics2D g2d, PowerUpType type, int x, int y, int size, double progress, boolean leftSide) {
-        Graphics2D g = (Graphics2D) g2d.create();
-        
+    private void drawPowerUpIcon(Graphics2D g, PowerUpType type, int x, int y, int size, double progress, boolean leftSide) {
         int drawX = leftSide ? x : x - size;
         
         // Background circle with progress
-        g.setColor(new Color(0, 0, 0, 150));
+        g.setColor(OVERLAY_COLOR);
         g.fillOval(drawX, y, size, size);
         
         // Progress arc
         g.setColor(type.getColor());
-        g.setStroke(new BasicStroke(3));
+        g.setStroke(RenderResources.stroke(3));
         int arcAngle = (int)(360 * progress);
         g.drawArc(drawX, y, size, size, 90, -arcAngle);
         
         // Icon
-        java.awt.image.BufferedImage icon = EmojiLoader.getPowerUpEmoji(type, size - 8);
+        BufferedImage icon = EmojiLoader.getPowerUpEmoji(type, size - 8);
         if (icon != null) {
             g.drawImage(icon, drawX + 4, y + 4, null);
         }
-        
-        g.dispose();
     }
     
     private void renderTimer(Graphics2D g2d, double time, int round) {
@@ -291,22 +567,23 @@ public class GameRenderer {
         int centerY = screenHeight / 2;
         
         // Timer background
-        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.setColor(OVERLAY_COLOR);
         g2d.fillRoundRect(centerX - 80, centerY - 40, 160, 80, 20, 20);
         
-        // Timer text
+        // Timer text (tenths of a second, formatted only when it changes)
         g2d.setFont(timerFont);
-        g2d.setColor(time < 10 ? new Color(255, 100, 100) : Color.WHITE);
-        String timeText = String.format("%.1f", Math.max(0, time));
+        g2d.setColor(time < 10 ? TIMER_WARNING_COLOR : Color.WHITE);
+        int tenths = (int) Math.round(Math.max(0, time) * 10);
+        String timeText = timerText.getTenths(tenths);
         FontMetrics fm = g2d.getFontMetrics();
         g2d.drawString(timeText, centerX - fm.stringWidth(timeText) / 2, centerY + 12);
         
         // Round indicator
-        g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.PLAIN, 16));
         g2d.setColor(Color.GRAY);
-        String roundText = "Round " + round + "/" + GameConfig.TOTAL_ROUNDS;
+        String roundLabel = roundText.get(round);
         fm = g2d.getFontMetrics();
-        g2d.drawString(roundText, centerX - fm.stringWidth(roundText) / 2, centerY + 32);
+        g2d.drawString(roundLabel, centerX - fm.stringWidth(roundLabel) / 2, centerY + 32);
     }
     
     private void renderRoundIndicators(Graphics2D g2d, Player p1, Player p2, int currentRound) {
@@ -322,7 +599,7 @@ public class GameRenderer {
                 g2d.setColor(GameConfig.PLAYER1_COLOR);
                 g2d.fillOval(x, y, size, size);
             } else {
-                g2d.setColor(new Color(100, 100, 100));
+                g2d.setColor(INACTIVE_ROUND_COLOR);
                 g2d.drawOval(x, y, size, size);
             }
         }
@@ -336,7 +613,7 @@ public class GameRenderer {
                 g2d.setColor(GameConfig.PLAYER2_COLOR);
                 g2d.fillOval(x, y, size, size);
             } else {
-                g2d.setColor(new Color(100, 100, 100));
+                g2d.setColor(INACTIVE_ROUND_COLOR);
                 g2d.drawOval(x, y, size, size);
             }
         }
@@ -344,7 +621,7 @@ public class GameRenderer {
     
     private void renderWaitingOverlay(Graphics2D g2d) {
         // Semi-transparent overlay
-        g2d.setColor(new Color(0, 0, 0, 180));
+        g2d.setColor(RenderResources.color(0, 0, 0, 180));
         g2d.fillRect(0, 0, screenWidth, screenHeight);
         
         // Title
@@ -354,9 +631,9 @@ public class GameRenderer {
         int titleX = (screenWidth - fm.stringWidth(title)) / 2;
         
         // Glowing text effect
+        float pulse = (float)(0.5 + 0.5 * Math.sin(animTimer * 3));
         for (int i = 5; i >= 0; i--) {
-            float pulse = (float)(0.5 + 0.5 * Math.sin(animTimer * 3));
-            g2d.setColor(new Color(255, 100, 50, (int)(30 * pulse * (5 - i) / 5)));
+            g2d.setColor(RenderResources.color(255, 100, 50, (int)(30 * pulse * (5 - i) / 5)));
             g2d.drawString(title, titleX - i, screenHeight / 2 - 50 - i);
             g2d.drawString(title, titleX + i, screenHeight / 2 - 50 + i);
         }
@@ -364,25 +641,19 @@ public class GameRenderer {
         g2d.drawString(title, titleX, screenHeight / 2 - 50);
         
         // Instruction
-        g2d.setFont(new Font("Arial", Font.PLAIN, 28));
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.PLAIN, 28));
         String instruction = "Touch anywhere to start!";
         fm = g2d.getFontMetrics();
-        int instructionAlpha = Math.max(0, Math.min(255, (int)(150 + 105 * Math.sin(animTimer * 4))));
-        g2d.setColor(new Color(200, 200, 200, instructionAlpha));
+        int instructionAlpha = (int)(150 + 105 * Math.sin(animTimer * 4));
+        g2d.setColor(RenderResources.color(200, 200, 200, instructionAlpha));
         g2d.drawString(instruction, (screenWidth - fm.stringWidth(instruction)) / 2, screenHeight / 2 + 50);
         
         // Game rules
-        g2d.setFont(new Font("Arial", Font.PLAIN, 20));
-        g2d.setColor(new Color(150, 150, 150));
-        String[] rules = {
-            "Slice fruits for points!",
-            "Avoid the bombs!",
-            "3 rounds of 60 seconds each",
-            "Highest score wins!"
-        };
-        for (int i = 0; i < rules.length; i++) {
-            fm = g2d.getFontMetrics();
-            g2d.drawString(rules[i], (screenWidth - fm.stringWidth(rules[i])) / 2, 
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.PLAIN, 20));
+        g2d.setColor(RenderResources.color(150, 150, 150));
+        fm = g2d.getFontMetrics();
+        for (int i = 0; i < RULES.length; i++) {
+            g2d.drawString(RULES[i], (screenWidth - fm.stringWidth(RULES[i])) / 2, 
                           screenHeight / 2 + 120 + i * 30);
         }
     }
@@ -390,83 +661,79 @@ public class GameRenderer {
     private void renderCountdown(Graphics2D g2d, int value) {
         g2d.setFont(countdownFont);
         // Value is already an int (ceiling of countdown timer), show as whole number
-        String text = value <= 0 ? "GO!" : String.valueOf(value);
+        String text = value <= 0 ? "GO!" : countdownText.get(value);
         FontMetrics fm = g2d.getFontMetrics();
         
         int x = (screenWidth - fm.stringWidth(text)) / 2;
         int y = screenHeight / 2 + fm.getAscent() / 3;
         
-        // Pulsing effect
+        // Pulsing effect (scaled around the screen centre, undone afterwards)
         double scale = 1.0 + 0.1 * Math.sin(animTimer * 10);
-        Graphics2D g = (Graphics2D) g2d.create();
-        g.translate(screenWidth / 2, screenHeight / 2);
-        g.scale(scale, scale);
-        g.translate(-screenWidth / 2, -screenHeight / 2);
+        double centerX = screenWidth / 2;
+        double centerY = screenHeight / 2;
+        g2d.translate(centerX, centerY);
+        g2d.scale(scale, scale);
+        g2d.translate(-centerX, -centerY);
         
         // Shadow
-        g.setColor(new Color(0, 0, 0, 150));
-        g.drawString(text, x + 4, y + 4);
+        g2d.setColor(OVERLAY_COLOR);
+        g2d.drawString(text, x + 4, y + 4);
         
         // Main text
-        g.setColor(value <= 0 ? new Color(0, 255, 100) : Color.WHITE);
-        g.drawString(text, x, y);
+        g2d.setColor(value <= 0 ? GO_COLOR : Color.WHITE);
+        g2d.drawString(text, x, y);
         
-        g.dispose();
+        g2d.translate(centerX, centerY);
+        g2d.scale(1 / scale, 1 / scale);
+        g2d.translate(-centerX, -centerY);
     }
     
     private void renderRoundEnd(Graphics2D g2d, GameEngine engine) {
         // Semi-transparent overlay
-        g2d.setColor(new Color(0, 0, 0, 150));
+        g2d.setColor(OVERLAY_COLOR);
         g2d.fillRect(0, 0, screenWidth, screenHeight);
         
         Player p1 = engine.getPlayer1();
         Player p2 = engine.getPlayer2();
+        String[] lines = getOverlayLines(engine);
         
-        g2d.setFont(new Font("Arial", Font.BOLD, 48));
-        String roundText = "ROUND " + engine.getCurrentRound() + " COMPLETE";
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.BOLD, 48));
         FontMetrics fm = g2d.getFontMetrics();
         g2d.setColor(Color.WHITE);
-        g2d.drawString(roundText, (screenWidth - fm.stringWidth(roundText)) / 2, screenHeight / 2 - 80);
+        g2d.drawString(lines[0], (screenWidth - fm.stringWidth(lines[0])) / 2, screenHeight / 2 - 80);
         
         // Round scores
-        g2d.setFont(new Font("Arial", Font.BOLD, 36));
-        
-        String p1Score = p1.getName() + ": " + p1.getRoundScore();
-        String p2Score = p2.getName() + ": " + p2.getRoundScore();
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.BOLD, 36));
         
         g2d.setColor(GameConfig.PLAYER1_COLOR);
         fm = g2d.getFontMetrics();
-        g2d.drawString(p1Score, (screenWidth - fm.stringWidth(p1Score)) / 2, screenHeight / 2);
+        g2d.drawString(lines[1], (screenWidth - fm.stringWidth(lines[1])) / 2, screenHeight / 2);
         
         g2d.setColor(GameConfig.PLAYER2_COLOR);
-        g2d.drawString(p2Score, (screenWidth - fm.stringWidth(p2Score)) / 2, screenHeight / 2 + 50);
+        g2d.drawString(lines[2], (screenWidth - fm.stringWidth(lines[2])) / 2, screenHeight / 2 + 50);
         
         // Winner announcement
-        g2d.setFont(new Font("Arial", Font.BOLD, 32));
-        String winner;
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.BOLD, 32));
         if (p1.getRoundScore() > p2.getRoundScore()) {
-            winner = p1.getName() + " wins the round!";
             g2d.setColor(GameConfig.PLAYER1_COLOR);
         } else if (p2.getRoundScore() > p1.getRoundScore()) {
-            winner = p2.getName() + " wins the round!";
             g2d.setColor(GameConfig.PLAYER2_COLOR);
         } else {
-            winner = "It's a tie!";
             g2d.setColor(Color.YELLOW);
         }
         fm = g2d.getFontMetrics();
-        g2d.drawString(winner, (screenWidth - fm.stringWidth(winner)) / 2, screenHeight / 2 + 120);
+        g2d.drawString(lines[3], (screenWidth - fm.stringWidth(lines[3])) / 2, screenHeight / 2 + 120);
     }
     
     private void renderGameOver(Graphics2D g2d, GameEngine engine) {
         // Dark overlay
-        g2d.setColor(new Color(0, 0, 0, 200));
+        g2d.setColor(RenderResources.color(0, 0, 0, 200));
         g2d.fillRect(0, 0, screenWidth, screenHeight);
         
         Player p1 = engine.getPlayer1();
-        Player p2 = engine.getPlayer2();
-        Player winner = p1.isWinner() ? p1 : p2;
+        Player winner = p1.isWinner() ? p1 : engine.getPlayer2();
         Color winnerColor = winner.getId() == 1 ? GameConfig.PLAYER1_COLOR : GameConfig.PLAYER2_COLOR;
+        String[] lines = getOverlayLines(engine);
         
         // Game Over title
         g2d.setFont(titleFont);
@@ -476,14 +743,13 @@ public class GameRenderer {
         g2d.drawString(title, (screenWidth - fm.stringWidth(title)) / 2, screenHeight / 2 - 150);
         
         // Winner announcement with animation
-        g2d.setFont(new Font("Arial", Font.BOLD, 56));
-        String winText = winner.getName() + " WINS!";
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.BOLD, 56));
+        String winText = lines[0];
         fm = g2d.getFontMetrics();
         
         // Glowing effect
         for (int i = 3; i >= 0; i--) {
-            g2d.setColor(new Color(winnerColor.getRed(), winnerColor.getGreen(), 
-                                   winnerColor.getBlue(), 50 * (3 - i)));
+            g2d.setColor(RenderResources.withAlpha(winnerColor, 50 * (3 - i)));
             g2d.drawString(winText, (screenWidth - fm.stringWidth(winText)) / 2 - i, 
                           screenHeight / 2 - 60 - i);
         }
@@ -491,49 +757,158 @@ public class GameRenderer {
         g2d.drawString(winText, (screenWidth - fm.stringWidth(winText)) / 2, screenHeight / 2 - 60);
         
         // Final scores
-        g2d.setFont(new Font("Arial", Font.BOLD, 32));
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.BOLD, 32));
         fm = g2d.getFontMetrics();
         
-        String score1 = p1.getName() + ": " + p1.getScore() + " pts | " + p1.getRoundsWon() + " rounds";
-        String score2 = p2.getName() + ": " + p2.getScore() + " pts | " + p2.getRoundsWon() + " rounds";
-        
         g2d.setColor(GameConfig.PLAYER1_COLOR);
-        g2d.drawString(score1, (screenWidth - fm.stringWidth(score1)) / 2, screenHeight / 2 + 30);
+        g2d.drawString(lines[1], (screenWidth - fm.stringWidth(lines[1])) / 2, screenHeight / 2 + 30);
         
         g2d.setColor(GameConfig.PLAYER2_COLOR);
-        g2d.drawString(score2, (screenWidth - fm.stringWidth(score2)) / 2, screenHeight / 2 + 80);
+        g2d.drawString(lines[2], (screenWidth - fm.stringWidth(lines[2])) / 2, screenHeight / 2 + 80);
         
         // Statistics
-        g2d.setFont(new Font("Arial", Font.PLAIN, 20));
-        g2d.setColor(new Color(180, 180, 180));
-        String stats1 = "Fruits: " + p1.getFruitsSliced() + " | Best Combo: " + p1.getMaxCombo() + 
-                       " | Bombs Hit: " + p1.getBombsHit();
-        String stats2 = "Fruits: " + p2.getFruitsSliced() + " | Best Combo: " + p2.getMaxCombo() + 
-                       " | Bombs Hit: " + p2.getBombsHit();
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.PLAIN, 20));
+        g2d.setColor(RenderResources.color(180, 180, 180));
         fm = g2d.getFontMetrics();
-        g2d.drawString(stats1, (screenWidth - fm.stringWidth(stats1)) / 2, screenHeight / 2 + 130);
-        g2d.drawString(stats2, (screenWidth - fm.stringWidth(stats2)) / 2, screenHeight / 2 + 160);
+        g2d.drawString(lines[3], (screenWidth - fm.stringWidth(lines[3])) / 2, screenHeight / 2 + 130);
+        g2d.drawString(lines[4], (screenWidth - fm.stringWidth(lines[4])) / 2, screenHeight / 2 + 160);
         
         // Restart instruction
-        g2d.setFont(new Font("Arial", Font.PLAIN, 24));
+        g2d.setFont(RenderResources.font(RenderResources.ARIAL, Font.PLAIN, 24));
         String restart = "Touch to play again!";
         fm = g2d.getFontMetrics();
-        int restartAlpha = Math.max(0, Math.min(255, (int)(150 + 105 * Math.sin(animTimer * 4))));
-        g2d.setColor(new Color(200, 200, 200, restartAlpha));
+        int restartAlpha = (int)(150 + 105 * Math.sin(animTimer * 4));
+        g2d.setColor(RenderResources.color(200, 200, 200, restartAlpha));
         g2d.drawString(restart, (screenWidth - fm.stringWidth(restart)) / 2, screenHeight / 2 + 220);
     }
     
-    private void renderDebugInfo(Graphics2D g2d, GameEngine engine) {
+    /**
+     * Get the text lines for the round end / game over overlay.
+     * Scores are frozen while these overlays are shown, so the strings are
+     * built once when the state or round changes instead of every frame.
+     */
+    private String[] getOverlayLines(GameEngine engine) {
+        GameEngine.GameState state = engine.getState();
+        int round = engine.getCurrentRound();
+        if (state == overlayState && round == overlayRound) {
+            return overlayLines;
+        }
+        
+        Player p1 = engine.getPlayer1();
+        Player p2 = engine.getPlayer2();
+        
+        if (state == GameEngine.GameState.GAME_OVER) {
+            Player winner = p1.isWinner() ? p1 : p2;
+            overlayLines = new String[] {
+                winner.getName() + " WINS!",
+                p1.getName() + ": " + p1.getScore() + " pts | " + p1.getRoundsWon() + " rounds",
+                p2.getName() + ": " + p2.getScore() + " pts | " + p2.getRoundsWon() + " rounds",
+                "Fruits: " + p1.getFruitsSliced() + " | Best Combo: " + p1.getMaxCombo() + 
+                        " | Bombs Hit: " + p1.getBombsHit(),
+                "Fruits: " + p2.getFruitsSliced() + " | Best Combo: " + p2.getMaxCombo() + 
+                        " | Bombs Hit: " + p2.getBombsHit()
+            };
+        } else {
+            String winner;
+            if (p1.getRoundScore() > p2.getRoundScore()) {
+                winner = p1.getName() + " wins the round!";
+            } else if (p2.getRoundScore() > p1.getRoundScore()) {
+                winner = p2.getName() + " wins the round!";
+            } else {
+                winner = "It's a tie!";
+            }
+            overlayLines = new String[] {
+                "ROUND " + round + " COMPLETE",
+                p1.getName() + ": " + p1.getRoundScore(),
+                p2.getName() + ": " + p2.getRoundScore(),
+                winner
+            };
+        }
+        overlayState = state;
+        overlayRound = round;
+        return overlayLines;
+    }
+    
+    /**
+     * Render the debug overlay. Called by the game after the measured frame,
+     * so its string building does not show up in the allocation counter.
+     */
+    public void renderDebugInfo(Graphics2D g2d, GameEngine engine, FrameAllocationCounter allocations,
+                                QualityGovernor quality) {
         g2d.setFont(infoFont);
         g2d.setColor(Color.YELLOW);
         
         int y = 20;
-        int x = screenWidth - 200;
+        int x = screenWidth - 260;
         
         g2d.drawString("State: " + engine.getState(), x, y);
         y += 20;
         g2d.drawString("Objects: " + engine.getGameObjects().size(), x, y);
         y += 20;
+        g2d.drawString("Sprites: " + renderList.getDrawnCount() + " drawn, " + renderList.getCulledCount()
+                + " culled, " + renderList.getBatchCount() + " batches", x, y);
+        y += 20;
         g2d.drawString("TUIO: " + (tuioConnected ? "Connected (" + tuioTouchCount + ")" : "Disconnected"), x, y);
+        y += 20;
+        if (allocations.isSupported()) {
+            g2d.drawString("Alloc: " + (allocations.getLastFrameBytes() / 1024) + " KB/frame (peak " 
+                    + (allocations.getPeakFrameBytes() / 1024) + ")", x, y);
+            y += 20;
+        }
+        g2d.drawString("New resources: " + allocations.getLastFrameResources(), x, y);
+        y += 20;
+        g2d.drawString("Render scale: " + Math.round(resolutionScaler.getScale() * 100) + "% ("
+                + Math.round(resolutionScaler.getAverageMs() * 10) / 10.0 + " ms)", x, y);
+        y += 20;
+        g2d.drawString("Quality: " + quality.getTier() + " (" + Math.round(quality.getAverageMs() * 10) / 10.0
+                + " ms, " + quality.getDowngrades() + " down / " + quality.getUpgrades() + " up)", x, y);
+        y += 20;
+        if (GameConfig.SOFTWARE_RENDERER && softwareBackend != null) {
+            g2d.drawString("Backend: Software (" + softwareBackend.getThreads() + " threads, "
+                    + softwareBackend.getCommandCount() + " cmds)", x, y);
+        } else {
+            g2d.drawString("Backend: Java2D" + (GameConfig.SPLIT_RENDERING ? " (split)" : ""), x, y);
+        }
+        y += 20;
+        g2d.drawString("Profile: " + GameConfig.HARDWARE_PROFILE + " (" 
+                + GameConfig.HARDWARE_PROFILE.getLayerBits() + "-bit layers)", x, y);
+    }
+    
+    /**
+     * Integer-to-text cache for HUD values.
+     * Holds the last value and its string so unchanged numbers are not
+     * re-formatted every frame.
+     */
+    private static final class CachedText {
+        private final String prefix;
+        private final String suffix;
+        private int value = Integer.MIN_VALUE;
+        private String text;
+        
+        CachedText(String suffix) {
+            this("", suffix);
+        }
+        
+        CachedText(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+        
+        String get(int newValue) {
+            if (newValue != value || text == null) {
+                value = newValue;
+                text = prefix + newValue + suffix;
+            }
+            return text;
+        }
+        
+        /** Format a value given in tenths as "12.3" */
+        String getTenths(int tenths) {
+            if (tenths != value || text == null) {
+                value = tenths;
+                text = prefix + (tenths / 10) + "." + (tenths % 10) + suffix;
+            }
+            return text;
+        }
     }
 }
@@ -0,0 +1,180 @@
+package com.superninja.render;
+
+import com.superninja.config.GameConfig;
+import com.superninja.objects.PowerUpType;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Pre-rendered pulse animations for power-up auras and the bomb danger ring,
+ * plus the soft brush used for the blade glow.
+ * Each animation is a small set of frames covering one pulse cycle; callers
+ * pick a frame from their pulse phase, so an aura is a single image blit
+ * instead of a radial gradient fill per object per frame.
+ */
+public class GlowSprites {
+
+    /** Frames per pulse cycle */
+    public static final int PULSE_FRAMES = 16;
+
+    private static final PowerUpType[] POWER_UP_TYPES = PowerUpType.values();
+
+    // Frames are rebuilt if an object asks for a different size (e.g. after a screen resize)
+    private static final Frames[] auraFrames = new Frames[POWER_UP_TYPES.length];
+    private static Frames bombRingFrames;
+
+    /** Resolution of the blade glow brush */
+    public static final int BRUSH_SIZE = 64;
+
+    // Blade glow brushes, one per blade colour (there are only a couple)
+    private static int[] brushColors = new int[0];
+    private static BufferedImage[] brushes = new BufferedImage[0];
+
+    /**
+     * Build the frames for the default object sizes
+     */
+    public static void preload() {
+        int auraSize = (int) (GameConfig.SPECIAL_SIZE * 1.5);
+        for (PowerUpType type : POWER_UP_TYPES) {
+            getPowerUpAura(type, auraSize, 0);
+        }
+        getBombRing(GameConfig.BOMB_SIZE, 0);
+        System.out.println("Built " + (POWER_UP_TYPES.length + 1) + " glow animations");
+    }
+
+    /**
+     * Map a pulse phase (radians, any range) to a frame index
+     */
+    public static int frameIndex(double pulsePhase) {
+        double cycles = pulsePhase / (Math.PI * 2);
+        int frame = (int) Math.floor((cycles - Math.floor(cycles)) * PULSE_FRAMES);
+        return Math.min(PULSE_FRAMES - 1, frame);
+    }
+
+    /**
+     * Get a power-up aura frame (glowSize x glowSize, centred on the power-up)
+     */
+    public static synchronized BufferedImage getPowerUpAura(PowerUpType type, int glowSize, int frame) {
+        Frames frames = auraFrames[type.ordinal()];
+        if (frames == null || frames.size != glowSize) {
+            frames = createAuraFrames(type.getColor(), glowSize);
+            auraFrames[type.ordinal()] = frames;
+        }
+        return frames.images[frame];
+    }
+
+    /**
+     * Get a bomb danger ring frame. The image is (bombSize + 12) square and
+     * centred on the bomb.
+     */
+    public static synchronized BufferedImage getBombRing(int bombSize, int frame) {
+        Frames frames = bombRingFrames;
+        if (frames == null || frames.size != bombSize) {
+            frames = createBombRingFrames(bombSize);
+            bombRingFrames = frames;
+        }
+        return frames.images[frame];
+    }
+
+    /**
+     * Get a soft, pre-blurred round brush in the given colour (alpha ignored).
+     * Stamped along the blade trail to draw its glow without stroking.
+     */
+    public static synchronized BufferedImage getBladeBrush(Color color) {
+        int rgb = color.getRGB() & 0xFFFFFF;
+        for (int i = 0; i < brushColors.length; i++) {
+            if (brushColors[i] == rgb) {
+                return brushes[i];
+            }
+        }
+        BufferedImage brush = createBrush(rgb);
+        brushColors = Arrays.copyOf(brushColors, brushColors.length + 1);
+        brushes = Arrays.copyOf(brushes, brushes.length + 1);
+        brushColors[brushColors.length - 1] = rgb;
+        brushes[brushes.length - 1] = brush;
+        return brush;
+    }
+
+    private static BufferedImage createBrush(int rgb) {
+        BufferedImage brush = new BufferedImage(BRUSH_SIZE, BRUSH_SIZE, BufferedImage.TYPE_INT_ARGB);
+        double center = (BRUSH_SIZE - 1) / 2.0;
+        double sigma = BRUSH_SIZE / 6.0; // Falls to ~0 at the edge
+        int[] pixels = new int[BRUSH_SIZE * BRUSH_SIZE];
+        for (int y = 0; y < BRUSH_SIZE; y++) {
+            for (int x = 0; x < BRUSH_SIZE; x++) {
+                double dx = x - center;
+                double dy = y - center;
+                double falloff = Math.exp(-(dx * dx + dy * dy) / (2 * sigma * sigma));
+                int alpha = (int) Math.round(255 * falloff);
+                pixels[y * BRUSH_SIZE + x] = (alpha << 24) | rgb;
+            }
+        }
+        brush.setRGB(0, 0, BRUSH_SIZE, BRUSH_SIZE, pixels, 0, BRUSH_SIZE);
+        return brush;
+    }
+
+    private static Frames createAuraFrames(Color color, int glowSize) {
+        BufferedImage[] images = new BufferedImage[PULSE_FRAMES];
+        int size = Math.max(1, glowSize);
+        float radius = Math.max(1, size / 2f);
+
+        for (int f = 0; f < PULSE_FRAMES; f++) {
+            int alpha = (int) (80 + pulseAt(f) * 80);
+
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setPaint(new RadialGradientPaint(
+                size / 2f, size / 2f, radius,
+                new float[]{0f, 0.5f, 1f},
+                new Color[]{
+                    RenderResources.withAlpha(color, alpha),
+                    RenderResources.withAlpha(color, alpha / 2),
+                    RenderResources.color(0, 0, 0, 0)
+                }
+            ));
+            g.fillOval(0, 0, size, size);
+            g.dispose();
+            images[f] = image;
+        }
+        return new Frames(glowSize, images);
+    }
+
+    private static Frames createBombRingFrames(int bombSize) {
+        BufferedImage[] images = new BufferedImage[PULSE_FRAMES];
+        int size = Math.max(1, bombSize) + 12;
+        int ringSize = bombSize + 6;
+
+        for (int f = 0; f < PULSE_FRAMES; f++) {
+            BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = image.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(RenderResources.color(255, 0, 0, (int) (80 * pulseAt(f))));
+            g.setStroke(RenderResources.stroke(3));
+            g.drawOval(3, 3, ringSize, ringSize);
+            g.dispose();
+            images[f] = image;
+        }
+        return new Frames(bombSize, images);
+    }
+
+    /**
+     * Pulse intensity (0 - 1) at the middle of a frame's phase range
+     */
+    private static float pulseAt(int frame) {
+        double phase = (frame + 0.5) * Math.PI * 2 / PULSE_FRAMES;
+        return (float) (0.5 + 0.5 * Math.sin(phase));
+    }
+
+    private static final class Frames {
+        final int size;
+        final BufferedImage[] images;
+
+        Frames(int size, BufferedImage[] images) {
+            this.size = size;
+            this.images = images;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.superninja.render;
+
+import com.superninja.objects.PowerUpType;
+import com.superninja.util.LongObjectMap;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-rasterised glyphs and words for floating score popups.
+ * Each sprite already contains the drop shadow and (for big sizes) the glow,
+ * so a popup is drawn as a handful of alpha-modulated image blits instead of
+ * several passes through the text pipeline.
+ */
+public final class GlyphAtlas {
+
+    /** Single characters used to compose score numbers and combo counters */
+    private static final String GLYPHS = "0123456789+-x ";
+
+    /** Whole words rasterised as one sprite */
+    private static final String[] WORDS = {"CRITICAL!", "COMBO", "BLOCKED!"};
+
+    /** Sizes above this get a glow pass baked in (matches the old popup renderer) */
+    private static final int GLOW_MIN_SIZE = 33;
+
+    private static final int PADDING = 3;
+    private static final int SHADOW_OFFSET = 2;
+    private static final int SHADOW_ALPHA = 150;
+    private static final int GLOW_ALPHA = 50;
+
+    private static final LongObjectMap<GlyphAtlas> atlases = new LongObjectMap<>(32);
+
+    private final Color color;
+    private final Font font;
+    private final FontMetrics metrics;
+    private final boolean glow;
+    private final Sprite[] glyphs;
+    private final Map<String, Sprite> words;
+
+    private GlyphAtlas(Color color, int fontSize, boolean allowGlow) {
+        this.color = color;
+        this.font = new Font("Arial", Font.BOLD, fontSize);
+        this.glow = allowGlow && fontSize >= GLOW_MIN_SIZE;
+        this.words = new HashMap<>();
+
+        // Metrics from a scratch surface so atlases can be built off the render thread
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = scratch.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        this.metrics = g.getFontMetrics(font);
+        g.dispose();
+
+        this.glyphs = new Sprite[128];
+        for (int i = 0; i < GLYPHS.length(); i++) {
+            char c = GLYPHS.charAt(i);
+            glyphs[c] = rasterise(String.valueOf(c));
+        }
+        for (String word : WORDS) {
+            words.put(word, rasterise(word));
+        }
+    }
+
+    /**
+     * Get (or build) the atlas for a popup colour and font size
+     */
+    public static GlyphAtlas get(Color color, int fontSize) {
+        return get(color, fontSize, true);
+    }
+    
+    /**
+     * Get (or build) an atlas, optionally without the glow pass for big sizes
+     */
+    public static synchronized GlyphAtlas get(Color color, int fontSize, boolean allowGlow) {
+        long key = ((long) color.getRGB() << 32) | (allowGlow ? 0 : 1L << 31) | fontSize;
+        GlyphAtlas atlas = atlases.get(key);
+        if (atlas == null) {
+            atlas = new GlyphAtlas(color, fontSize, allowGlow);
+            atlases.put(key, atlas);
+        }
+        return atlas;
+    }
+
+    /**
+     * Pre-build the atlases used by score popups so the first combo does not stall a frame
+     */
+    public static void preload() {
+        get(Color.WHITE, 28);
+        get(new Color(255, 50, 50), 32);
+        get(new Color(100, 255, 100), 30);
+        GlyphAtlas gold = get(new Color(255, 215, 0), 36);
+        for (int combo = 2; combo <= 10; combo++) {
+            get(gold.color, 36 + combo * 2);
+        }
+
+        // Power-up labels
+        for (PowerUpType type : PowerUpType.values()) {
+            get(type.getColor(), 28).layout(type.getEmoji() + " " + type.getName());
+        }
+
+        System.out.println("Built " + atlases.size() + " popup glyph atlases");
+    }
+
+    /**
+     * Get the sprite for a single character, or null if it is not in the atlas
+     */
+    public Sprite glyph(char c) {
+        return c < glyphs.length ? glyphs[c] : null;
+    }
+
+    /**
+     * Get the sprite for a whole word, rasterising it on first use
+     */
+    public synchronized Sprite word(String text) {
+        Sprite sprite = words.get(text);
+        if (sprite == null) {
+            sprite = rasterise(text);
+            words.put(text, sprite);
+        }
+        return sprite;
+    }
+
+    /**
+     * Lay out text as a run of sprites.
+     * Characters in the atlas are used directly, any other run of characters becomes a word sprite.
+     */
+    public Sprite[] layout(String text) {
+        List<Sprite> run = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            Sprite g = glyph(text.charAt(i));
+            if (g != null) {
+                run.add(g);
+                i++;
+                continue;
+            }
+            int end = i + 1;
+            while (end < text.length() && glyph(text.charAt(end)) == null) {
+                end++;
+            }
+            run.add(word(text.substring(i, end)));
+            i = end;
+        }
+        return run.toArray(new Sprite[0]);
+    }
+
+    private Sprite rasterise(String text) {
+        int advance = metrics.stringWidth(text);
+        int ascent = metrics.getAscent();
+        int height = ascent + metrics.getDescent();
+        int width = Math.max(1, advance + PADDING * 2 + SHADOW_OFFSET);
+        int imgHeight = height + PADDING * 2 + SHADOW_OFFSET;
+
+        BufferedImage image = new BufferedImage(width, imgHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setFont(font);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        int drawX = PADDING;
+        int drawY = PADDING + ascent;
+
+        // Shadow
+        g.setColor(new Color(0, 0, 0, SHADOW_ALPHA));
+        g.drawString(text, drawX + SHADOW_OFFSET, drawY + SHADOW_OFFSET);
+
+        // Main text
+        g.setColor(color);
+        g.drawString(text, drawX, drawY);
+
+        // Glow for big scores
+        if (glow) {
+            g.setColor(new Color(color.getRed(), color.getGreen(), color.getBlue(), GLOW_ALPHA));
+            g.drawString(text, drawX - 1, drawY - 1);
+            g.drawString(text, drawX + 1, drawY + 1);
+        }
+
+        g.dispose();
+        return new Sprite(image, advance, PADDING, PADDING + ascent);
+    }
+
+    /**
+     * A pre-rendered glyph or word.
+     * (originX, originY) is the pen position inside the image, so the sprite
+     * is drawn at (penX - originX, baseline - originY).
+     */
+    public static final class Sprite {
+        public final BufferedImage image;
+        public final int advance;
+        public final int originX;
+        public final int originY;
+
+        Sprite(BufferedImage image, int advance, int originX, int originY) {
+            this.image = image;
+            this.advance = advance;
+            this.originX = originX;
+            this.originY = originY;
+        }
+    }
+}
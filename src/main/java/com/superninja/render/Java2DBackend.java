@@ -0,0 +1,213 @@
+package com.superninja.render;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+
+/**
+ * Render backend that draws through a Graphics2D (the default).
+ * One instance is reused per render thread: begin() attaches it to the
+ * frame's graphics and end() restores the composite. Fades are shared
+ * AlphaLut (or AdditiveComposite) instances, only switched when the level
+ * or blend mode changes.
+ */
+public class Java2DBackend implements RenderBackend {
+
+    private final Path2D.Float polygon = new Path2D.Float(Path2D.WIND_NON_ZERO, 64);
+    private final float[] quadX = new float[4];
+    private final float[] quadY = new float[4];
+    private Graphics2D g;
+    private int alphaLevel = -1;
+    private boolean additive;
+
+    /**
+     * Start drawing into the given graphics
+     */
+    public void begin(Graphics2D g) {
+        this.g = g;
+        this.alphaLevel = -1;
+        this.additive = false;
+    }
+
+    /**
+     * Finish drawing and restore the default composite
+     */
+    public void end() {
+        if (g != null) {
+            g.setComposite(AlphaComposite.SrcOver);
+            g = null;
+        }
+    }
+
+    /**
+     * The graphics currently drawn into (for rendering hints and the UI pass)
+     */
+    public Graphics2D getGraphics() {
+        return g;
+    }
+
+    @Override
+    public void setAdditive(boolean additive) {
+        if (additive != this.additive) {
+            this.additive = additive;
+            alphaLevel = -1;
+        }
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, int x, int y, float alpha) {
+        setAlpha(alpha);
+        g.drawImage(image, x, y, null);
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, int x, int y, int width, int height, float alpha) {
+        setAlpha(alpha);
+        g.drawImage(image, x, y, width, height, null);
+    }
+
+    @Override
+    public void drawSprite(BufferedImage image, double centerX, double centerY, double angle, float alpha) {
+        setAlpha(alpha);
+        g.translate(centerX, centerY);
+        if (angle != 0) {
+            g.rotate(angle);
+        }
+        g.drawImage(image, -image.getWidth() / 2, -image.getHeight() / 2, null);
+        // Undo the transform instead of copying the Graphics2D
+        if (angle != 0) {
+            g.rotate(-angle);
+        }
+        g.translate(-centerX, -centerY);
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, AffineTransform transform, float alpha) {
+        setAlpha(alpha);
+        g.drawImage(image, transform, null);
+    }
+
+    @Override
+    public void fillOval(double x, double y, double width, double height, int argb) {
+        setAlpha(1f);
+        g.setColor(RenderResources.color((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, argb >>> 24));
+        g.fillOval((int) x, (int) y, (int) width, (int) height);
+    }
+
+    /**
+     * Java2D has no per-vertex colours, so each quad of the strip is filled
+     * on its own with a ramp from the alpha of one step to the next (exact
+     * when both vertices of a step share an alpha, as on the blade ribbon).
+     * Antialiasing covers the shared edges of neighbouring quads twice, so
+     * the joins can show faint seams; SoftwareBackend fills the strip as one.
+     */
+    @Override
+    public void fillAlphaStrip(float[] xs, float[] ys, float[] alphas, int count, int rgb) {
+        if (count < 4) return;
+        Object oldAntialias = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        for (int k = 0; k + 3 < count; k += 2) {
+            float a0 = (alphas[k] + alphas[k + 1]) / 2;
+            float a1 = (alphas[k + 2] + alphas[k + 3]) / 2;
+            if (a0 <= 0 && a1 <= 0) continue;
+            quadX[0] = xs[k];
+            quadY[0] = ys[k];
+            quadX[1] = xs[k + 2];
+            quadY[1] = ys[k + 2];
+            quadX[2] = xs[k + 3];
+            quadY[2] = ys[k + 3];
+            quadX[3] = xs[k + 1];
+            quadY[3] = ys[k + 1];
+            float x0 = (xs[k] + xs[k + 1]) / 2, y0 = (ys[k] + ys[k + 1]) / 2;
+            float x1 = (xs[k + 2] + xs[k + 3]) / 2, y1 = (ys[k + 2] + ys[k + 3]) / 2;
+
+            // The ramp starts at 0, so start it where the quad's alpha line reaches 0
+            if (Math.abs(a1 - a0) < 1 / 255f) {
+                fillRamp(quadX, quadY, 4, rgb, Math.max(a0, a1), x1, y1, x1, y1);
+            } else if (a1 > a0) {
+                float back = a0 / (a1 - a0);
+                fillRamp(quadX, quadY, 4, rgb, a1, x0 - (x1 - x0) * back, y0 - (y1 - y0) * back, x1, y1);
+            } else {
+                float back = a1 / (a0 - a1);
+                fillRamp(quadX, quadY, 4, rgb, a0, x1 + (x1 - x0) * back, y1 + (y1 - y0) * back, x0, y0);
+            }
+        }
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, oldAntialias);
+    }
+
+    /**
+     * Fill a polygon in an RGB colour whose alpha ramps linearly from 0 at
+     * (fromX, fromY) to the given alpha at (toX, toY), measured along that
+     * line (flat if the two points coincide).
+     * The polygon is filled in gradient space (origin at the start of the
+     * ramp, x along it scaled to 0..1, y perpendicular in pixels) so one
+     * cached 0..1 gradient per colour serves every ramp.
+     */
+    private void fillRamp(float[] xs, float[] ys, int count, int rgb, float alpha,
+                          float fromX, float fromY, float toX, float toY) {
+
+        float rampX = toX - fromX;
+        float rampY = toY - fromY;
+        double rampLength = Math.sqrt(rampX * rampX + rampY * rampY);
+        boolean useGradient = rampLength >= 1;
+        double dirX = useGradient ? rampX / rampLength : 1;
+        double dirY = useGradient ? rampY / rampLength : 0;
+        double scaleX = useGradient ? rampLength : 1;
+
+        polygon.reset();
+        for (int i = 0; i < count; i++) {
+            double rx = xs[i] - fromX;
+            double ry = ys[i] - fromY;
+            float u = (float) ((rx * dirX + ry * dirY) / scaleX);
+            float v = (float) (ry * dirX - rx * dirY);
+            if (i == 0) {
+                polygon.moveTo(u, v);
+            } else {
+                polygon.lineTo(u, v);
+            }
+        }
+        polygon.closePath();
+
+        setAlpha(alpha);
+
+        double angle = Math.atan2(dirY, dirX);
+        g.translate(fromX, fromY);
+        g.rotate(angle);
+        g.scale(scaleX, 1);
+
+        if (useGradient) {
+            g.setPaint(getRampPaint(rgb));
+        } else {
+            g.setColor(RenderResources.color((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF));
+        }
+        g.fill(polygon);
+
+        g.scale(1 / scaleX, 1);
+        g.rotate(-angle);
+        g.translate(-fromX, -fromY);
+    }
+
+    /**
+     * Cached transparent-to-opaque gradient from x = 0 to x = 1 in one colour
+     */
+    private static Paint getRampPaint(int rgb) {
+        long key = RenderResources.PAINT_BLADE_RIBBON | (rgb & 0xFFFFFFL);
+        Paint paint = RenderResources.paint(key);
+        if (paint == null) {
+            Color color = RenderResources.color((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+            paint = RenderResources.cachePaint(key, new GradientPaint(
+                    0, 0, RenderResources.withAlpha(color, 0),
+                    1, 0, RenderResources.withAlpha(color, 255)));
+        }
+        return paint;
+    }
+
+    private void setAlpha(float alpha) {
+        int level = AlphaLut.level(alpha);
+        if (level != alphaLevel) {
+            g.setComposite(additive ? AdditiveComposite.get(alpha) : AlphaLut.get(alpha));
+            alphaLevel = level;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.superninja.render;
+
+/**
+ * Packed premultiplied ARGB arithmetic shared by the software rasteriser
+ * and the additive composite. Channels are processed two at a time
+ * (red/blue and alpha/green lanes) with one multiply each.
+ */
+final class Pixels {
+
+    private Pixels() {}
+
+    /**
+     * Multiply all four channels by a / 255
+     */
+    static int scale(int s, int a) {
+        int rb = (s & 0xFF00FF) * a + 0x800080;
+        rb = ((rb + ((rb >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF;
+        int ag = ((s >>> 8) & 0xFF00FF) * a + 0x800080;
+        ag = (ag + ((ag >>> 8) & 0xFF00FF)) & 0xFF00FF00;
+        return ag | rb;
+    }
+
+    /**
+     * Premultiply a non-premultiplied ARGB pixel
+     */
+    static int premultiply(int argb) {
+        int a = argb >>> 24;
+        if (a == 255) return argb;
+        return (scale(argb | 0xFF000000, a) & 0xFFFFFF) | (a << 24);
+    }
+
+    /**
+     * Undo premultiplication (for destinations that store straight alpha)
+     */
+    static int unpremultiply(int s) {
+        int a = s >>> 24;
+        if (a == 255 || a == 0) return a == 0 ? 0 : s;
+        int r = Math.min(255, ((s >> 16) & 0xFF) * 255 / a);
+        int g = Math.min(255, ((s >> 8) & 0xFF) * 255 / a);
+        int b = Math.min(255, (s & 0xFF) * 255 / a);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * SRC_OVER onto an opaque destination (result alpha byte is 0)
+     */
+    static int over(int s, int d) {
+        int sa = s >>> 24;
+        if (sa == 255) return s & 0xFFFFFF;
+        int inv = 255 - sa;
+        int rb = (d & 0xFF00FF) * inv + 0x800080;
+        rb = ((rb + ((rb >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF;
+        int g = (d & 0x00FF00) * inv + 0x008000;
+        g = ((g + ((g >>> 8) & 0x00FF00)) >>> 8) & 0x00FF00;
+        return (s & 0xFFFFFF) + rb + g;
+    }
+
+    /**
+     * Saturating add of all four channels
+     */
+    static int add(int s, int d) {
+        int rb = (d & 0xFF00FF) + (s & 0xFF00FF);
+        int ag = ((d >>> 8) & 0xFF00FF) + ((s >>> 8) & 0xFF00FF);
+        // Lanes that overflowed into bit 8 are clamped to 0xFF
+        int rbCarry = rb & 0x1000100;
+        int agCarry = ag & 0x1000100;
+        rb = (rb | (rbCarry - (rbCarry >>> 8))) & 0xFF00FF;
+        ag = (ag | (agCarry - (agCarry >>> 8))) & 0xFF00FF;
+        return (ag << 8) | rb;
+    }
+
+    /**
+     * Blend p towards q by f / 256
+     */
+    static int lerp(int p, int q, int f) {
+        int g = 256 - f;
+        int rb = (((p & 0xFF00FF) * g + (q & 0xFF00FF) * f) >>> 8) & 0xFF00FF;
+        int ag = (((p >>> 8) & 0xFF00FF) * g + ((q >>> 8) & 0xFF00FF) * f) & 0xFF00FF00;
+        return ag | rb;
+    }
+}
@@ -0,0 +1,176 @@
+package com.superninja.render;
+
+import com.superninja.config.GameConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Steps effect quality up and down from the rolling frame time.
+ * Frame work times go into a one-second window. A full window averaging over
+ * the budget drops one tier; four windows in a row well under it raise one
+ * tier again. The window restarts after every change, so each tier gets a
+ * full second of measurements before the next decision.
+ *
+ * The active tier is published statically so effects, trails and popups can
+ * read it wherever they are created.
+ */
+public class QualityGovernor {
+    
+    /** Frames per measurement window (one second at 60 fps) */
+    private static final int WINDOW_FRAMES = 60;
+    
+    /** Drop when the window average is more than this fraction over budget */
+    private static final double DOWNGRADE_SLACK = 1.05;
+    
+    /** Raise only when the window average is under this fraction of the budget */
+    private static final double UPGRADE_HEADROOM = 0.6;
+    
+    /** Consecutive quiet windows needed before raising */
+    private static final int UPGRADE_WINDOWS = 4;
+    
+    private static final QualityTier[] TIERS = QualityTier.values();
+    
+    private static volatile QualityTier activeTier = QualityTier.HIGH;
+    
+    /**
+     * Listener for tier changes (called on the game thread)
+     */
+    public interface TierListener {
+        void onQualityTierChanged(QualityTier previous, QualityTier current, double averageFrameMs);
+    }
+    
+    private final double budgetMs;
+    private final List<TierListener> listeners = new ArrayList<>();
+    private final long[] framesAtTier = new long[TIERS.length];
+    
+    private ResolutionScaler resolutionScaler;
+    private int seenScaleChanges;
+    private int windowCount;
+    private double windowSum;
+    private double averageMs;
+    private int quietWindows;
+    private int tierChanges;
+    private int downgrades;
+    private int upgrades;
+    
+    public QualityGovernor() {
+        this(GameConfig.FRAME_BUDGET_MS);
+    }
+    
+    public QualityGovernor(double budgetMs) {
+        this.budgetMs = budgetMs;
+    }
+    
+    /**
+     * The tier effects should use right now
+     */
+    public static QualityTier getActiveTier() {
+        return activeTier;
+    }
+    
+    public void addListener(TierListener listener) {
+        listeners.add(listener);
+    }
+    
+    public void removeListener(TierListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * The scaler that acts first on a slowdown (null = tiers act alone)
+     */
+    public void setResolutionScaler(ResolutionScaler scaler) {
+        this.resolutionScaler = scaler;
+        this.seenScaleChanges = scaler != null ? scaler.getScaleChanges() : 0;
+    }
+    
+    /**
+     * Record the work time of one frame and change tier if needed
+     */
+    public void recordFrame(double frameMs) {
+        QualityTier tier = activeTier;
+        framesAtTier[tier.ordinal()]++;
+        
+        if (resolutionScaler != null && resolutionScaler.getScaleChanges() != seenScaleChanges) {
+            seenScaleChanges = resolutionScaler.getScaleChanges();
+            windowCount = 0;
+            windowSum = 0;
+            quietWindows = 0;
+        }
+        
+        windowCount++;
+        windowSum += frameMs;
+        if (windowCount < WINDOW_FRAMES) return;
+        
+        averageMs = windowSum / WINDOW_FRAMES;
+        windowCount = 0;
+        windowSum = 0;
+        
+        if (!GameConfig.QUALITY_GOVERNOR_ENABLED) {
+            if (tier != QualityTier.HIGH) {
+                setTier(QualityTier.HIGH);
+            }
+            return;
+        }
+        
+        if (averageMs > budgetMs * DOWNGRADE_SLACK) {
+            quietWindows = 0;
+            if (tier.lower() != tier && resolutionExhausted()) {
+                downgrades++;
+                setTier(tier.lower());
+            }
+        } else if (averageMs < budgetMs * UPGRADE_HEADROOM) {
+            if (++quietWindows >= UPGRADE_WINDOWS && tier.higher() != tier) {
+                quietWindows = 0;
+                upgrades++;
+                setTier(tier.higher());
+            }
+        } else {
+            quietWindows = 0;
+        }
+    }
+    
+    /**
+     * Whether the scaler has nothing left to give (or is not in use)
+     */
+    private boolean resolutionExhausted() {
+        return resolutionScaler == null || !GameConfig.DYNAMIC_RESOLUTION
+                || resolutionScaler.isAtMinScale();
+    }
+    
+    private void setTier(QualityTier tier) {
+        QualityTier previous = activeTier;
+        activeTier = tier;
+        tierChanges++;
+        for (TierListener listener : listeners) {
+            listener.onQualityTierChanged(previous, tier, averageMs);
+        }
+    }
+    
+    /**
+     * Back to full quality with a fresh window (e.g. after a screen size change)
+     */
+    public void reset() {
+        windowCount = 0;
+        windowSum = 0;
+        quietWindows = 0;
+        if (activeTier != QualityTier.HIGH) {
+            setTier(QualityTier.HIGH);
+        }
+    }
+    
+    public QualityTier getTier() { return activeTier; }
+    public double getAverageMs() { return averageMs; }
+    public double getBudgetMs() { return budgetMs; }
+    public int getTierChanges() { return tierChanges; }
+    public int getDowngrades() { return downgrades; }
+    public int getUpgrades() { return upgrades; }
+    
+    /**
+     * Frames rendered at a tier since startup
+     */
+    public long getFramesAtTier(QualityTier tier) {
+        return framesAtTier[tier.ordinal()];
+    }
+}
@@ -0,0 +1,67 @@
+package com.superninja.render;
+
+/**
+ * Effect quality levels chosen by the QualityGovernor, from full detail down
+ * to the bare minimum. Each tier scales particle counts and trail length and
+ * switches the purely decorative glows on or off.
+ */
+public enum QualityTier {
+    
+    HIGH(1.0, true, 1.0, true, AuraQuality.PULSE),
+    MEDIUM(0.7, true, 0.85, true, AuraQuality.PULSE),
+    LOW(0.45, false, 0.7, false, AuraQuality.STATIC),
+    MINIMAL(0.25, false, 0.5, false, AuraQuality.NONE);
+    
+    /** How power-up auras are drawn */
+    public enum AuraQuality {
+        /** Animated pulse frames */
+        PULSE,
+        /** One fixed frame */
+        STATIC,
+        /** No aura */
+        NONE
+    }
+    
+    private final double particleMultiplier;
+    private final boolean bladeGlow;
+    private final double trailScale;
+    private final boolean popupGlow;
+    private final AuraQuality auraQuality;
+    
+    QualityTier(double particleMultiplier, boolean bladeGlow, double trailScale,
+                boolean popupGlow, AuraQuality auraQuality) {
+        this.particleMultiplier = particleMultiplier;
+        this.bladeGlow = bladeGlow;
+        this.trailScale = trailScale;
+        this.popupGlow = popupGlow;
+        this.auraQuality = auraQuality;
+    }
+    
+    /**
+     * Scale a particle count for this tier (never below 1)
+     */
+    public int scaleParticles(int count) {
+        return Math.max(1, (int) Math.round(count * particleMultiplier));
+    }
+    
+    /**
+     * Next lower tier, or this one if already the lowest
+     */
+    public QualityTier lower() {
+        QualityTier[] tiers = values();
+        return ordinal() < tiers.length - 1 ? tiers[ordinal() + 1] : this;
+    }
+    
+    /**
+     * Next higher tier, or this one if already the highest
+     */
+    public QualityTier higher() {
+        return ordinal() > 0 ? values()[ordinal() - 1] : this;
+    }
+    
+    public double getParticleMultiplier() { return particleMultiplier; }
+    public boolean isBladeGlow() { return bladeGlow; }
+    public double getTrailScale() { return trailScale; }
+    public boolean isPopupGlow() { return popupGlow; }
+    public AuraQuality getAuraQuality() { return auraQuality; }
+}
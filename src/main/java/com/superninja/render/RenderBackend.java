@@ -0,0 +1,57 @@
+package com.superninja.render;
+
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Drawing primitives used by the world pass (objects, power-ups, blade
+ * trails, effects and decals). Everything on the table is drawn as images,
+ * solid ovals or the blade ribbon strip, so a backend only has to provide
+ * these few operations.
+ *
+ * Java2DBackend draws through a Graphics2D; SoftwareBackend rasterises into
+ * an int[] framebuffer. Alpha values are 0.0 - 1.0 and multiply the image's
+ * own alpha; coordinates are world pixels.
+ */
+public interface RenderBackend {
+
+    /**
+     * Draw an image with its top-left corner at (x, y)
+     */
+    void drawImage(BufferedImage image, int x, int y, float alpha);
+
+    /**
+     * Draw an image scaled into the given rectangle
+     */
+    void drawImage(BufferedImage image, int x, int y, int width, int height, float alpha);
+
+    /**
+     * Draw an image centred on (centerX, centerY) and rotated by angle radians
+     */
+    void drawSprite(BufferedImage image, double centerX, double centerY, double angle, float alpha);
+
+    /**
+     * Draw an image through a transform from image space to world space
+     */
+    void drawImage(BufferedImage image, AffineTransform transform, float alpha);
+
+    /**
+     * Fill the ellipse bounded by the rectangle with an ARGB colour
+     */
+    void fillOval(double x, double y, double width, double height, int argb);
+
+    /**
+     * Fill a triangle strip in an RGB colour with an alpha per vertex,
+     * interpolated across each triangle. Vertices 2k and 2k + 1 are the two
+     * edges of the strip at step k, so consecutive steps form a quad.
+     */
+    void fillAlphaStrip(float[] xs, float[] ys, float[] alphas, int count, int rgb);
+
+    /**
+     * Switch between normal (SRC_OVER) and additive blending for the
+     * following draws. Additive draws add their premultiplied colour to the
+     * destination, so light-like effects brighten instead of fogging.
+     * Callers switch it back off when done.
+     */
+    void setAdditive(boolean additive);
+}
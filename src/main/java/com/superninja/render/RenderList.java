@@ -0,0 +1,207 @@
+package com.superninja.render;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Per-frame list of entity sprites (fruit, sliced halves, bomb rings,
+ * power-ups and their auras).
+ * Entities add their sprites once per frame; anything whose rotated bounds
+ * miss the viewport is culled right away. The rest are sorted by layer,
+ * then sprite, then alpha level, so the draw pass issues runs of the same
+ * image and composite instead of switching on every call the way insertion
+ * order did.
+ * The list is built on the render thread; after sort() it is only read, so
+ * the split-render workers can draw their columns from it concurrently.
+ */
+public class RenderList {
+
+    /** Draw layers, bottom to top */
+    public static final int LAYER_SLICED = 0;
+    public static final int LAYER_WHOLE = 1;
+    public static final int LAYER_BOMB_RING = 2;
+    public static final int LAYER_AURA = 3;
+    public static final int LAYER_POWER_UP = 4;
+
+    private static final int INDEX_BITS = 16;
+    private static final int ALPHA_BITS = 8;
+    private static final int SPRITE_BITS = 16;
+    private static final int ALPHA_SHIFT = INDEX_BITS;
+    private static final int SPRITE_SHIFT = ALPHA_SHIFT + ALPHA_BITS;
+    private static final int LAYER_SHIFT = SPRITE_SHIFT + SPRITE_BITS;
+    private static final int MAX_ITEMS = 1 << INDEX_BITS;
+    private static final int MAX_SPRITES = 1 << SPRITE_BITS;
+
+    /**
+     * Stable small ids per sprite image: an open-addressed identity table,
+     * so lookups neither box nor allocate (cleared if the caches ever
+     * produce too many)
+     */
+    private BufferedImage[] idImages = new BufferedImage[256];
+    private int[] ids = new int[256];
+    private int spriteCount;
+
+    // Queued sprites (structure of arrays, grown as needed)
+    private BufferedImage[] images = new BufferedImage[64];
+    private double[] x = new double[64];
+    private double[] y = new double[64];
+    private double[] angle = new double[64];
+    private double[] reach = new double[64];
+    private long[] keys = new long[64];
+    private int count;
+
+    // Viewport in world coordinates
+    private double viewMinX, viewMinY, viewMaxX, viewMaxY;
+
+    // Statistics for the last frame
+    private int culled;
+    private int batches;
+
+    /**
+     * Start a new frame with the visible part of the world
+     */
+    public void begin(double minX, double minY, double maxX, double maxY) {
+        Arrays.fill(images, 0, count, null);
+        count = 0;
+        culled = 0;
+        batches = 0;
+        viewMinX = minX;
+        viewMinY = minY;
+        viewMaxX = maxX;
+        viewMaxY = maxY;
+    }
+
+    /**
+     * Queue a sprite centred on (centerX, centerY), or cull it if it cannot
+     * reach the viewport or is fully transparent
+     */
+    public void addSprite(int layer, BufferedImage image, double centerX, double centerY, double angle, float alpha) {
+        int alphaLevel = AlphaLut.level(alpha);
+        int w = image.getWidth();
+        int h = image.getHeight();
+        // Half the diagonal covers any rotation
+        double r = angle == 0 ? Math.max(w, h) * 0.5 : Math.sqrt((double) w * w + (double) h * h) * 0.5;
+        if (alphaLevel == 0 || count == MAX_ITEMS
+                || centerX + r < viewMinX || centerX - r > viewMaxX
+                || centerY + r < viewMinY || centerY - r > viewMaxY) {
+            culled++;
+            return;
+        }
+
+        if (count == images.length) {
+            grow();
+        }
+        int i = count++;
+        images[i] = image;
+        x[i] = centerX;
+        y[i] = centerY;
+        this.angle[i] = angle;
+        reach[i] = r;
+        keys[i] = ((long) layer << LAYER_SHIFT) | ((long) spriteId(image) << SPRITE_SHIFT)
+                | ((long) alphaLevel << ALPHA_SHIFT) | i;
+    }
+
+    /**
+     * Order the queued sprites into batches. Call once after all entities
+     * have been added and before render().
+     */
+    public void sort() {
+        Arrays.sort(keys, 0, count);
+        long lastBatch = -1;
+        for (int k = 0; k < count; k++) {
+            long batch = keys[k] >>> ALPHA_SHIFT;
+            if (batch != lastBatch) {
+                batches++;
+                lastBatch = batch;
+            }
+        }
+    }
+
+    /**
+     * Draw the queued sprites that may reach the column between minX and maxX
+     */
+    public void render(RenderBackend r, double minX, double maxX) {
+        for (int k = 0; k < count; k++) {
+            long key = keys[k];
+            int i = (int) (key & (MAX_ITEMS - 1));
+            if (x[i] + reach[i] < minX || x[i] - reach[i] > maxX) continue;
+            float alpha = (float) ((key >>> ALPHA_SHIFT) & ((1 << ALPHA_BITS) - 1)) / AlphaLut.LEVELS;
+            r.drawSprite(images[i], x[i], y[i], angle[i], alpha);
+        }
+    }
+
+    /** Sprites queued for drawing in the last frame */
+    public int getDrawnCount() {
+        return count;
+    }
+
+    /** Sprites culled in the last frame */
+    public int getCulledCount() {
+        return culled;
+    }
+
+    /** Runs of the same layer, sprite and alpha level in the last frame */
+    public int getBatchCount() {
+        return batches;
+    }
+
+    private int spriteId(BufferedImage image) {
+        int mask = idImages.length - 1;
+        int slot = slot(image, mask);
+        while (idImages[slot] != null) {
+            if (idImages[slot] == image) {
+                return ids[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (spriteCount == MAX_SPRITES) {
+            Arrays.fill(idImages, null);
+            spriteCount = 0;
+            slot = slot(image, mask);
+        } else if (spriteCount * 2 >= idImages.length) {
+            growIds();
+            mask = idImages.length - 1;
+            slot = slot(image, mask);
+            while (idImages[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+        }
+        int id = spriteCount++;
+        idImages[slot] = image;
+        ids[slot] = id;
+        return id;
+    }
+
+    private static int slot(BufferedImage image, int mask) {
+        int h = System.identityHashCode(image);
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void growIds() {
+        BufferedImage[] oldImages = idImages;
+        int[] oldIds = ids;
+        idImages = new BufferedImage[oldImages.length * 2];
+        ids = new int[oldImages.length * 2];
+        int mask = idImages.length - 1;
+        for (int i = 0; i < oldImages.length; i++) {
+            if (oldImages[i] == null) continue;
+            int slot = slot(oldImages[i], mask);
+            while (idImages[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            idImages[slot] = oldImages[i];
+            ids[slot] = oldIds[i];
+        }
+    }
+
+    private void grow() {
+        int size = images.length * 2;
+        images = Arrays.copyOf(images, size);
+        x = Arrays.copyOf(x, size);
+        y = Arrays.copyOf(y, size);
+        angle = Arrays.copyOf(angle, size);
+        reach = Arrays.copyOf(reach, size);
+        keys = Arrays.copyOf(keys, size);
+    }
+}
@@ -0,0 +1,308 @@
+package com.superninja.render;
+
+import com.superninja.config.GameConfig;
+import com.superninja.objects.PowerUpType;
+
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared registry of immutable paint objects for the render path.
+ * Colors are kept as 256-step alpha ramps per RGB value, strokes as width
+ * tables, fonts per family/style/size and gradients under caller-chosen keys.
+ * Everything is created on first use and then reused, so a steady-state frame
+ * allocates no Color, BasicStroke, Font or Paint objects.
+ */
+public final class RenderResources {
+
+    public static final String ARIAL = "Arial";
+    public static final String MONOSPACED = "Monospaced";
+    public static final String SANS_SERIF = "SansSerif";
+
+    private static final String[] FONT_FAMILIES = {ARIAL, MONOSPACED, SANS_SERIF};
+    private static final int MAX_FONT_SIZE = 1024;
+
+    /** Strokes are quantised to half pixels */
+    private static final int STROKE_STEPS_PER_PIXEL = 2;
+    private static final int MAX_STROKE_WIDTH = 64;
+
+    // Key namespaces for cached paints (top byte of the key)
+    public static final long PAINT_BACKGROUND = 1L << 56;
+    public static final long PAINT_OBJECT_FALLBACK = 2L << 56;
+    public static final long PAINT_BLADE_RIBBON = 3L << 56;
+
+    /** Alpha ramps keyed by 0xRRGGBB */
+    private static volatile LongTable ramps = new LongTable(64);
+
+    /** Gradient and other paints keyed by caller-defined keys */
+    private static volatile LongTable paints = new LongTable(64);
+
+    private static final Font[][][] fonts = new Font[FONT_FAMILIES.length][4][];
+
+    private static final int STROKE_TABLE_SIZE = MAX_STROKE_WIDTH * STROKE_STEPS_PER_PIXEL + 1;
+    private static final BasicStroke[] strokes = new BasicStroke[STROKE_TABLE_SIZE];
+    private static final BasicStroke[] roundStrokes = new BasicStroke[STROKE_TABLE_SIZE];
+
+    /** Number of resources created since startup (cache misses; split-render workers add too) */
+    private static final AtomicInteger createdCount = new AtomicInteger();
+
+    static {
+        for (int i = 0; i < STROKE_TABLE_SIZE; i++) {
+            float width = (float) i / STROKE_STEPS_PER_PIXEL;
+            strokes[i] = new BasicStroke(width);
+            roundStrokes[i] = new BasicStroke(width, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+        }
+    }
+
+    private RenderResources() {}
+
+    /**
+     * Pre-build alpha ramps for the colours every frame uses
+     */
+    public static void preload() {
+        ramp(Color.WHITE.getRGB());
+        ramp(Color.BLACK.getRGB());
+        ramp(GameConfig.PLAYER1_COLOR.getRGB());
+        ramp(GameConfig.PLAYER2_COLOR.getRGB());
+        ramp(GameConfig.PLAYER1_BLADE.getRGB());
+        ramp(GameConfig.PLAYER2_BLADE.getRGB());
+        for (PowerUpType type : PowerUpType.values()) {
+            ramp(type.getColor().getRGB());
+        }
+    }
+
+    // ============================================
+    // Colors
+    // ============================================
+
+    /**
+     * Get a cached opaque colour
+     */
+    public static Color color(int r, int g, int b) {
+        return color(r, g, b, 255);
+    }
+
+    /**
+     * Get a cached colour (components are clamped to 0 - 255)
+     */
+    public static Color color(int r, int g, int b, int a) {
+        int rgb = (clamp(r) << 16) | (clamp(g) << 8) | clamp(b);
+        return ramp(rgb)[clamp(a)];
+    }
+
+    /**
+     * Get a colour with the RGB of base and the given alpha (0 - 255, clamped)
+     */
+    public static Color withAlpha(Color base, int alpha) {
+        return ramp(base.getRGB())[clamp(alpha)];
+    }
+
+    /**
+     * Get a colour with the RGB of base and the given alpha (0.0 - 1.0, clamped)
+     */
+    public static Color withAlpha(Color base, float alpha) {
+        return withAlpha(base, (int) (alpha * 255));
+    }
+
+    private static Color[] ramp(int rgb) {
+        long key = rgb & 0xFFFFFFL;
+        Object ramp = ramps.get(key);
+        if (ramp == null) {
+            ramp = createRamp(key);
+        }
+        return (Color[]) ramp;
+    }
+
+    private static synchronized Object createRamp(long key) {
+        Object existing = ramps.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        int rgb = (int) key;
+        Color[] ramp = new Color[256];
+        for (int a = 0; a < 256; a++) {
+            ramp[a] = new Color((a << 24) | rgb, true);
+        }
+        ramps = ramps.with(key, ramp);
+        createdCount.incrementAndGet();
+        return ramp;
+    }
+
+    // ============================================
+    // Strokes
+    // ============================================
+
+    /**
+     * Get a cached stroke (width quantised to half pixels)
+     */
+    public static BasicStroke stroke(float width) {
+        return strokes[strokeIndex(width)];
+    }
+
+    /**
+     * Get a cached stroke with round caps and joins (width quantised to half pixels)
+     */
+    public static BasicStroke roundStroke(float width) {
+        return roundStrokes[strokeIndex(width)];
+    }
+
+    private static int strokeIndex(float width) {
+        int index = Math.round(width * STROKE_STEPS_PER_PIXEL);
+        return Math.max(0, Math.min(STROKE_TABLE_SIZE - 1, index));
+    }
+
+    // ============================================
+    // Fonts
+    // ============================================
+
+    /**
+     * Get a cached font. Family must be one of ARIAL, MONOSPACED or SANS_SERIF.
+     */
+    public static Font font(String family, int style, int size) {
+        int familyIndex = familyIndex(family);
+        int clampedSize = Math.max(1, Math.min(MAX_FONT_SIZE, size));
+        Font[] sizes = fonts[familyIndex][style & 3];
+        if (sizes != null && sizes[clampedSize] != null) {
+            return sizes[clampedSize];
+        }
+        return createFont(familyIndex, style & 3, clampedSize);
+    }
+
+    private static synchronized Font createFont(int familyIndex, int style, int size) {
+        Font[] sizes = fonts[familyIndex][style];
+        if (sizes == null) {
+            sizes = new Font[MAX_FONT_SIZE + 1];
+            fonts[familyIndex][style] = sizes;
+        }
+        if (sizes[size] == null) {
+            sizes[size] = new Font(FONT_FAMILIES[familyIndex], style, size);
+            createdCount.incrementAndGet();
+        }
+        return sizes[size];
+    }
+
+    private static int familyIndex(String family) {
+        for (int i = 0; i < FONT_FAMILIES.length; i++) {
+            if (FONT_FAMILIES[i].equals(family)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unregistered font family: " + family);
+    }
+
+    // ============================================
+    // Paints
+    // ============================================
+
+    /**
+     * Get a cached paint, or null if nothing is registered under the key.
+     * Keys should start with one of the PAINT_ namespaces.
+     */
+    public static Paint paint(long key) {
+        return (Paint) paints.get(key);
+    }
+
+    /**
+     * Register a paint under a key and return the cached instance
+     */
+    public static synchronized Paint cachePaint(long key, Paint paint) {
+        Object existing = paints.get(key);
+        if (existing != null) {
+            return (Paint) existing;
+        }
+        paints = paints.with(key, paint);
+        createdCount.incrementAndGet();
+        return paint;
+    }
+
+    /**
+     * Get the vertical background gradient for a screen height
+     */
+    public static Paint backgroundGradient(int height) {
+        long key = PAINT_BACKGROUND | (height & 0xFFFFFFFFL);
+        Paint paint = paint(key);
+        if (paint == null) {
+            paint = cachePaint(key, new GradientPaint(
+                    0, 0, GameConfig.BACKGROUND_TOP,
+                    0, height, GameConfig.BACKGROUND_BOTTOM));
+        }
+        return paint;
+    }
+
+    /**
+     * Number of resources created since startup.
+     * Stays constant once every colour, font and paint in use has been cached.
+     */
+    public static int getCreatedCount() {
+        return createdCount.get();
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+
+    /**
+     * Immutable open-addressed long-keyed table.
+     * Lookups never lock or allocate; inserts copy the table and publish it
+     * through a volatile field, which is cheap because inserts are rare.
+     */
+    private static final class LongTable {
+        private final long[] keys;
+        private final Object[] values;
+        private final int size;
+
+        LongTable(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Object[capacity];
+            this.size = 0;
+        }
+
+        private LongTable(long[] keys, Object[] values, int size) {
+            this.keys = keys;
+            this.values = values;
+            this.size = size;
+        }
+
+        Object get(long key) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (values[slot] != null) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return null;
+        }
+
+        LongTable with(long key, Object value) {
+            int capacity = keys.length;
+            if ((size + 1) * 2 > capacity) {
+                capacity *= 2;
+            }
+            LongTable copy = new LongTable(new long[capacity], new Object[capacity], size + 1);
+            for (int i = 0; i < keys.length; i++) {
+                if (values[i] != null) {
+                    copy.insert(keys[i], values[i]);
+                }
+            }
+            copy.insert(key, value);
+            return copy;
+        }
+
+        private void insert(long key, Object value) {
+            int mask = keys.length - 1;
+            int slot = hash(key) & mask;
+            while (values[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private static int hash(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.superninja.render;
+
+import com.superninja.config.GameConfig;
+
+/**
+ * Picks the internal resolution for the world pass from measured render time.
+ * The scale moves in 10% steps between MIN_RENDER_SCALE and 1.0. Dropping
+ * needs half a second over budget; raising needs three seconds well under
+ * it, and both counters restart after every change, so the scale does not
+ * oscillate around the budget.
+ *
+ * The scale is the first thing given up and the last thing restored: it
+ * only rises again once QualityGovernor is back at the HIGH tier, and the
+ * governor only drops tiers once the scale is at its minimum.
+ */
+public class ResolutionScaler {
+    
+    private static final double STEP = 0.1;
+    
+    /** Frames over budget before the scale drops */
+    private static final int DOWNSCALE_FRAMES = 30;
+    
+    /** Frames under the headroom threshold before the scale rises */
+    private static final int UPSCALE_FRAMES = 180;
+    
+    /** Raise only when frames take less than this fraction of the budget */
+    private static final double UPSCALE_HEADROOM = 0.7;
+    
+    private final double budgetMs;
+    private final double minScale;
+    
+    private double scale = 1.0;
+    private double averageMs;
+    private int overBudgetFrames;
+    private int underBudgetFrames;
+    private int scaleChanges;
+    
+    public ResolutionScaler() {
+        this(GameConfig.RENDER_BUDGET_MS, GameConfig.MIN_RENDER_SCALE);
+    }
+    
+    public ResolutionScaler(double budgetMs, double minScale) {
+        this.budgetMs = budgetMs;
+        this.minScale = minScale;
+    }
+    
+    /**
+     * Record the render time of a frame and adjust the scale if needed
+     */
+    public void recordFrame(double renderMs) {
+        averageMs = averageMs == 0 ? renderMs : averageMs * 0.9 + renderMs * 0.1;
+        
+        if (averageMs > budgetMs) {
+            overBudgetFrames++;
+            underBudgetFrames = 0;
+        } else if (averageMs < budgetMs * UPSCALE_HEADROOM) {
+            underBudgetFrames++;
+            overBudgetFrames = 0;
+        } else {
+            overBudgetFrames = 0;
+            underBudgetFrames = 0;
+        }
+        
+        if (overBudgetFrames >= DOWNSCALE_FRAMES && scale > minScale) {
+            setScale(scale - STEP);
+        } else if (underBudgetFrames >= UPSCALE_FRAMES && scale < 1.0
+                && QualityGovernor.getActiveTier() == QualityTier.HIGH) {
+            setScale(scale + STEP);
+        }
+    }
+    
+    private void setScale(double newScale) {
+        // Round to whole steps so repeated changes do not drift
+        double rounded = Math.round(newScale / STEP) * STEP;
+        scale = Math.max(minScale, Math.min(1.0, rounded));
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+        scaleChanges++;
+        if (GameConfig.TUIO_DEBUG) {
+            System.out.println("Render scale: " + Math.round(scale * 100) + "% (avg " 
+                    + Math.round(averageMs * 10) / 10.0 + " ms)");
+        }
+    }
+    
+    /**
+     * Go back to full resolution (e.g. after a screen size change)
+     */
+    public void reset() {
+        scale = 1.0;
+        averageMs = 0;
+        overBudgetFrames = 0;
+        underBudgetFrames = 0;
+    }
+    
+    public double getScale() { return scale; }
+    public boolean isAtMinScale() { return scale <= minScale + STEP / 2; }
+    public double getAverageMs() { return averageMs; }
+    public int getScaleChanges() { return scaleChanges; }
+}
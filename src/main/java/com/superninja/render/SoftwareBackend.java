@@ -0,0 +1,612 @@
+package com.superninja.render;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Render backend that rasterises the world pass straight into the int[] of
+ * an opaque BufferedImage and presents it with a single drawImage.
+ * Meant for machines where Java2D falls back to XRender or its software
+ * loops and per-call overhead dominates.
+ *
+ * Draw calls are recorded into a flat command list in device space, then
+ * rasterised when the frame is presented, either on the calling thread or
+ * in horizontal bands across worker threads. Blending is premultiplied
+ * SRC_OVER, or a saturating add while additive blending is on; sprites are
+ * converted to premultiplied pixels once and cached.
+ * Recording must happen on one thread.
+ */
+public class SoftwareBackend implements RenderBackend {
+
+    private static final byte OP_BLIT = 0;
+    private static final byte OP_AFFINE = 1;
+    private static final byte OP_OVAL = 2;
+    private static final byte OP_STRIP = 3;
+    private static final byte OP_MASK = 0x0F;
+    /** Set on commands drawn while additive blending is on */
+    private static final byte FLAG_ADDITIVE = 0x10;
+
+    /** Float parameters per command */
+    private static final int PARAMS = 7;
+
+    /** Sub-scanlines per pixel row for strip antialiasing */
+    private static final int SUBSAMPLES = 4;
+
+    /** Premultiplied pixels per source image */
+    private final Map<BufferedImage, Source> sources = new WeakHashMap<>();
+
+    // Recorded commands (device space)
+    private int commandCount;
+    private byte[] ops = new byte[256];
+    private Source[] commandSources = new Source[256];
+    private int[] colors = new int[256];
+    private float[] params = new float[256 * PARAMS];
+    private float[] vertices = new float[1024];
+    private float[] vertexAlphas = new float[512];
+    private int vertexCount; // Floats used in vertices (two per vertex)
+
+    // Framebuffer; frames drawn at a reduced scale use its top-left corner
+    private BufferedImage frame;
+    private int[] pixels;
+    private int stride;
+    private int width;
+    private int height;
+    private double scale = 1.0;
+    private double offsetX;
+    private double offsetY;
+    private boolean clearFrame;
+    private boolean additive;
+
+    private final Band[] bands;
+    private final Semaphore finished = new Semaphore(0);
+
+    /**
+     * @param threads Number of bands rasterised in parallel (1 = on the calling thread)
+     */
+    public SoftwareBackend(int threads) {
+        int count = Math.max(1, threads);
+        bands = new Band[count];
+        for (int i = 0; i < count; i++) {
+            bands[i] = new Band(count > 1 ? "SoftwareRaster-" + i : null);
+        }
+    }
+
+    /**
+     * Start a frame. World coordinates are offset (screen shake) and then
+     * scaled (dynamic resolution) into the framebuffer.
+     */
+    public void begin(int screenWidth, int screenHeight, double scale, double offsetX, double offsetY) {
+        if (frame == null || frame.getWidth() != screenWidth || frame.getHeight() != screenHeight) {
+            frame = new BufferedImage(Math.max(1, screenWidth), Math.max(1, screenHeight), BufferedImage.TYPE_INT_RGB);
+            pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+            stride = frame.getWidth();
+        }
+        this.width = Math.min(stride, (int) Math.ceil(screenWidth * scale));
+        this.height = Math.min(frame.getHeight(), (int) Math.ceil(screenHeight * scale));
+        this.scale = scale;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+
+        // The background covers the frame unless it is shaken off an edge
+        this.clearFrame = offsetX != 0 || offsetY != 0;
+
+        commandCount = 0;
+        vertexCount = 0;
+        additive = false;
+        for (int i = 0; i < bands.length; i++) {
+            bands[i].y0 = height * i / bands.length;
+            bands[i].y1 = height * (i + 1) / bands.length;
+        }
+    }
+
+    /**
+     * Rasterise the recorded frame and draw it over the screen
+     */
+    public void present(Graphics2D g2d, int screenWidth, int screenHeight) {
+        if (bands.length == 1) {
+            bands[0].rasterise();
+        } else {
+            for (Band band : bands) {
+                band.start.release();
+            }
+            finished.acquireUninterruptibly(bands.length);
+        }
+        for (Band band : bands) {
+            if (band.error != null) {
+                System.err.println("Software render error: " + band.error);
+                band.error = null;
+            }
+        }
+        g2d.drawImage(frame, 0, 0, screenWidth, screenHeight, 0, 0, width, height, null);
+    }
+
+    public int getThreads() { return bands.length; }
+    public int getCommandCount() { return commandCount; }
+
+    // ============================================
+    // Recording
+    // ============================================
+
+    @Override
+    public void setAdditive(boolean additive) {
+        this.additive = additive;
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, int x, int y, float alpha) {
+        if (image == null || alpha <= 0) return;
+        if (scale == 1.0) {
+            int p = addCommand(OP_BLIT, source(image), 0);
+            params[p] = x + Math.round(offsetX);
+            params[p + 1] = y + Math.round(offsetY);
+            params[p + 2] = alpha;
+        } else {
+            addAffine(image, 1, 0, 0, 1, x, y, alpha);
+        }
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, int x, int y, int width, int height, float alpha) {
+        if (image == null || alpha <= 0) return;
+        addAffine(image, (double) width / image.getWidth(), 0, 0, (double) height / image.getHeight(),
+                x, y, alpha);
+    }
+
+    @Override
+    public void drawSprite(BufferedImage image, double centerX, double centerY, double angle, float alpha) {
+        if (image == null || alpha <= 0) return;
+        int halfWidth = image.getWidth() / 2;
+        int halfHeight = image.getHeight() / 2;
+        if (angle == 0) {
+            if (scale == 1.0) {
+                drawImage(image, (int) Math.round(centerX) - halfWidth, (int) Math.round(centerY) - halfHeight, alpha);
+            } else {
+                addAffine(image, 1, 0, 0, 1, centerX - halfWidth, centerY - halfHeight, alpha);
+            }
+            return;
+        }
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        addAffine(image, cos, sin, -sin, cos,
+                centerX - cos * halfWidth + sin * halfHeight,
+                centerY - sin * halfWidth - cos * halfHeight, alpha);
+    }
+
+    @Override
+    public void drawImage(BufferedImage image, AffineTransform t, float alpha) {
+        if (image == null || alpha <= 0) return;
+        addAffine(image, t.getScaleX(), t.getShearY(), t.getShearX(), t.getScaleY(),
+                t.getTranslateX(), t.getTranslateY(), alpha);
+    }
+
+    @Override
+    public void fillOval(double x, double y, double width, double height, int argb) {
+        if ((argb >>> 24) == 0 || width <= 0 || height <= 0) return;
+        int p = addCommand(OP_OVAL, null, argb);
+        params[p] = (float) ((x + width / 2 + offsetX) * scale);
+        params[p + 1] = (float) ((y + height / 2 + offsetY) * scale);
+        params[p + 2] = (float) (width / 2 * scale);
+        params[p + 3] = (float) (height / 2 * scale);
+    }
+
+    @Override
+    public void fillAlphaStrip(float[] xs, float[] ys, float[] alphas, int count, int rgb) {
+        if (count < 3) return;
+        if (vertexCount + count * 2 > vertices.length) {
+            vertices = Arrays.copyOf(vertices, Math.max(vertices.length * 2, vertexCount + count * 2));
+        }
+        if (vertices.length / 2 > vertexAlphas.length) {
+            vertexAlphas = Arrays.copyOf(vertexAlphas, vertices.length / 2);
+        }
+        int start = vertexCount / 2;
+        for (int i = 0; i < count; i++) {
+            vertexAlphas[vertexCount / 2] = Math.max(0, Math.min(1, alphas[i]));
+            vertices[vertexCount++] = (float) ((xs[i] + offsetX) * scale);
+            vertices[vertexCount++] = (float) ((ys[i] + offsetY) * scale);
+        }
+        int p = addCommand(OP_STRIP, null, rgb);
+        params[p] = start;
+        params[p + 1] = count;
+    }
+
+    /**
+     * Record an image drawn through (m00 m01 m02 / m10 m11 m12) in world space
+     */
+    private void addAffine(BufferedImage image, double m00, double m10, double m01, double m11,
+                           double m02, double m12, float alpha) {
+        int p = addCommand(OP_AFFINE, source(image), 0);
+        params[p] = (float) (m00 * scale);
+        params[p + 1] = (float) (m10 * scale);
+        params[p + 2] = (float) (m01 * scale);
+        params[p + 3] = (float) (m11 * scale);
+        params[p + 4] = (float) ((m02 + offsetX) * scale);
+        params[p + 5] = (float) ((m12 + offsetY) * scale);
+        params[p + 6] = alpha;
+    }
+
+    private int addCommand(byte op, Source source, int color) {
+        if (commandCount == ops.length) {
+            int capacity = ops.length * 2;
+            ops = Arrays.copyOf(ops, capacity);
+            commandSources = Arrays.copyOf(commandSources, capacity);
+            colors = Arrays.copyOf(colors, capacity);
+            params = Arrays.copyOf(params, capacity * PARAMS);
+        }
+        ops[commandCount] = additive ? (byte) (op | FLAG_ADDITIVE) : op;
+        commandSources[commandCount] = source;
+        colors[commandCount] = color;
+        return commandCount++ * PARAMS;
+    }
+
+    private Source source(BufferedImage image) {
+        Source source = sources.get(image);
+        if (source == null) {
+            source = Source.of(image);
+            sources.put(image, source);
+        }
+        return source;
+    }
+
+    private static int alpha255(float alpha) {
+        return Math.max(0, Math.min(255, Math.round(alpha * 255)));
+    }
+
+    /**
+     * Premultiplied pixels of a source image. INT_ARGB_PRE and INT_RGB images
+     * are read in place (so a changing layer stays live); other types are
+     * converted once.
+     */
+    private static final class Source {
+        final int[] pixels;
+        final int width;
+        final int height;
+        final int alphaMask; // Forces alpha to 255 for opaque sources
+
+        private Source(int[] pixels, int width, int height, boolean opaque) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.alphaMask = opaque ? 0xFF000000 : 0;
+        }
+
+        static Source of(BufferedImage image) {
+            int w = image.getWidth();
+            int h = image.getHeight();
+            switch (image.getType()) {
+                case BufferedImage.TYPE_INT_ARGB_PRE:
+                    return new Source(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), w, h, false);
+                case BufferedImage.TYPE_INT_RGB:
+                    return new Source(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), w, h, true);
+                default:
+                    int[] argb = image.getRGB(0, 0, w, h, null, 0, w);
+                    for (int i = 0; i < argb.length; i++) {
+                        argb[i] = Pixels.premultiply(argb[i]);
+                    }
+                    return new Source(argb, w, h, false);
+            }
+        }
+
+        int texel(int x, int y) {
+            if (x < 0 || y < 0 || x >= width || y >= height) return 0;
+            return pixels[y * width + x] | alphaMask;
+        }
+    }
+
+    // ============================================
+    // Rasterising
+    // ============================================
+
+    /**
+     * A horizontal band of the framebuffer with its own scratch buffers,
+     * rasterised on its own thread when there is more than one band
+     */
+    private final class Band implements Runnable {
+        final Semaphore start = new Semaphore(0);
+        int y0;
+        int y1;
+        RuntimeException error;
+
+        /** Blend mode of the command being rasterised */
+        private boolean add;
+
+        private float[] coverage = new float[0];
+        private float[] weighted = new float[0];
+        // Per triangle of the strip being rasterised: y range and alpha plane
+        private float[] triMinY = new float[64];
+        private float[] triMaxY = new float[64];
+        private float[] planeX = new float[64];
+        private float[] planeY = new float[64];
+        private float[] planeC = new float[64];
+
+        Band(String threadName) {
+            if (threadName != null) {
+                Thread thread = new Thread(this, threadName);
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MAX_PRIORITY);
+                thread.start();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    start.acquire();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    rasterise();
+                } finally {
+                    finished.release();
+                }
+            }
+        }
+
+        void rasterise() {
+            try {
+                if (clearFrame) {
+                    for (int y = y0; y < y1; y++) {
+                        Arrays.fill(pixels, y * stride, y * stride + width, 0);
+                    }
+                }
+                for (int c = 0; c < commandCount; c++) {
+                    int p = c * PARAMS;
+                    add = (ops[c] & FLAG_ADDITIVE) != 0;
+                    switch (ops[c] & OP_MASK) {
+                        case OP_BLIT -> blit(commandSources[c], (int) params[p], (int) params[p + 1],
+                                alpha255(params[p + 2]));
+                        case OP_AFFINE -> affine(commandSources[c], p);
+                        case OP_OVAL -> oval(params[p], params[p + 1], params[p + 2], params[p + 3], colors[c]);
+                        case OP_STRIP -> strip(p, colors[c]);
+                        default -> { }
+                    }
+                }
+            } catch (RuntimeException e) {
+                error = e;
+            }
+        }
+
+        private int blend(int s, int d) {
+            return add ? Pixels.add(s, d) : Pixels.over(s, d);
+        }
+
+        private void blit(Source src, int dx, int dy, int a) {
+            if (a == 0) return;
+            int x0 = Math.max(dx, 0);
+            int x1 = Math.min(dx + src.width, width);
+            int ya = Math.max(dy, y0);
+            int yb = Math.min(dy + src.height, y1);
+            if (x0 >= x1 || ya >= yb) return;
+
+            int[] sp = src.pixels;
+            boolean copy = src.alphaMask != 0 && a == 255 && !add;
+            for (int y = ya; y < yb; y++) {
+                int si = (y - dy) * src.width + (x0 - dx);
+                int di = y * stride + x0;
+                if (copy) {
+                    System.arraycopy(sp, si, pixels, di, x1 - x0);
+                    continue;
+                }
+                for (int x = x0; x < x1; x++, si++, di++) {
+                    int s = sp[si] | src.alphaMask;
+                    if (a != 255) {
+                        s = Pixels.scale(s, a);
+                    }
+                    if ((s >>> 24) != 0) {
+                        pixels[di] = blend(s, pixels[di]);
+                    }
+                }
+            }
+        }
+
+        private void affine(Source src, int p) {
+            double m00 = params[p], m10 = params[p + 1], m01 = params[p + 2], m11 = params[p + 3];
+            double m02 = params[p + 4], m12 = params[p + 5];
+            int a = alpha255(params[p + 6]);
+            double det = m00 * m11 - m01 * m10;
+            if (a == 0 || Math.abs(det) < 1e-9) return;
+
+            // Device bounds of the transformed image
+            double w = src.width, h = src.height;
+            double minX = m02 + Math.min(0, m00 * w) + Math.min(0, m01 * h);
+            double maxX = m02 + Math.max(0, m00 * w) + Math.max(0, m01 * h);
+            double minY = m12 + Math.min(0, m10 * w) + Math.min(0, m11 * h);
+            double maxY = m12 + Math.max(0, m10 * w) + Math.max(0, m11 * h);
+            int bx0 = Math.max(0, (int) Math.floor(minX));
+            int bx1 = Math.min(width, (int) Math.ceil(maxX));
+            int by0 = Math.max(y0, (int) Math.floor(minY));
+            int by1 = Math.min(y1, (int) Math.ceil(maxY));
+            if (bx0 >= bx1 || by0 >= by1) return;
+
+            // Inverse transform: device pixel centre -> source texel space
+            double i00 = m11 / det, i01 = -m01 / det;
+            double i10 = -m10 / det, i11 = m00 / det;
+            double i02 = (m01 * m12 - m11 * m02) / det;
+            double i12 = (m10 * m02 - m00 * m12) / det;
+            float du = (float) i00;
+            float dv = (float) i10;
+
+            for (int y = by0; y < by1; y++) {
+                double cy = y + 0.5;
+                double cx = bx0 + 0.5;
+                float u = (float) (i00 * cx + i01 * cy + i02) - 0.5f;
+                float v = (float) (i10 * cx + i11 * cy + i12) - 0.5f;
+                int di = y * stride + bx0;
+                for (int x = bx0; x < bx1; x++, di++, u += du, v += dv) {
+                    if (u <= -1 || v <= -1 || u >= src.width || v >= src.height) continue;
+                    int iu = (int) (u + 1) - 1; // floor for u > -1
+                    int iv = (int) (v + 1) - 1;
+                    int fu = (int) ((u - iu) * 256);
+                    int fv = (int) ((v - iv) * 256);
+                    int top = Pixels.lerp(src.texel(iu, iv), src.texel(iu + 1, iv), fu);
+                    int bottom = Pixels.lerp(src.texel(iu, iv + 1), src.texel(iu + 1, iv + 1), fu);
+                    int s = Pixels.lerp(top, bottom, fv);
+                    if (a != 255) {
+                        s = Pixels.scale(s, a);
+                    }
+                    if ((s >>> 24) != 0) {
+                        pixels[di] = blend(s, pixels[di]);
+                    }
+                }
+            }
+        }
+
+        private void oval(float cx, float cy, float rx, float ry, int argb) {
+            int s = Pixels.scale(argb | 0xFF000000, argb >>> 24);
+            int by0 = Math.max(y0, (int) Math.floor(cy - ry));
+            int by1 = Math.min(y1, (int) Math.ceil(cy + ry));
+            for (int y = by0; y < by1; y++) {
+                float dy = (y + 0.5f - cy) / ry;
+                if (dy * dy >= 1) continue;
+                float half = rx * (float) Math.sqrt(1 - dy * dy);
+                int xs = Math.max(0, (int) Math.ceil(cx - half - 0.5f));
+                int xe = Math.min(width - 1, (int) Math.floor(cx + half - 0.5f));
+                int di = y * stride + xs;
+                for (int x = xs; x <= xe; x++, di++) {
+                    pixels[di] = blend(s, pixels[di]);
+                }
+            }
+        }
+
+        /**
+         * Rasterise a strip as one shape: every triangle adds its
+         * sub-scanline spans to the row's coverage, and its alpha (a plane
+         * through its vertex alphas) weighted by that coverage. Neighbouring
+         * triangles cut each scanline at exactly the same x on their shared
+         * edge, so the strip has no seams; where it folds over itself the
+         * coverage is capped and the alphas averaged.
+         */
+        private void strip(int p, int rgb) {
+            int start = (int) params[p];
+            int count = (int) params[p + 1];
+            int triangles = count - 2;
+
+            float minX = Float.MAX_VALUE, maxX = -Float.MAX_VALUE;
+            float minY = Float.MAX_VALUE, maxY = -Float.MAX_VALUE;
+            for (int i = start; i < start + count; i++) {
+                float vx = vertices[i * 2], vy = vertices[i * 2 + 1];
+                minX = Math.min(minX, vx);
+                maxX = Math.max(maxX, vx);
+                minY = Math.min(minY, vy);
+                maxY = Math.max(maxY, vy);
+            }
+            int bx0 = Math.max(0, (int) Math.floor(minX));
+            int bx1 = Math.min(width, (int) Math.ceil(maxX) + 1);
+            int by0 = Math.max(y0, (int) Math.floor(minY));
+            int by1 = Math.min(y1, (int) Math.ceil(maxY) + 1);
+            if (bx0 >= bx1 || by0 >= by1) return;
+
+            if (coverage.length < width + 1) {
+                coverage = new float[width + 1];
+                weighted = new float[width + 1];
+            }
+            if (triMinY.length < triangles) {
+                triMinY = new float[triangles];
+                triMaxY = new float[triangles];
+                planeX = new float[triangles];
+                planeY = new float[triangles];
+                planeC = new float[triangles];
+            }
+            for (int t = 0; t < triangles; t++) {
+                setupTriangle(t, start + t);
+            }
+            int opaque = rgb | 0xFF000000;
+
+            for (int y = by0; y < by1; y++) {
+                Arrays.fill(coverage, bx0, bx1, 0f);
+                Arrays.fill(weighted, bx0, bx1, 0f);
+                for (int k = 0; k < SUBSAMPLES; k++) {
+                    float sy = y + (k + 0.5f) / SUBSAMPLES;
+                    for (int t = 0; t < triangles; t++) {
+                        if (sy >= triMinY[t] && sy < triMaxY[t]) {
+                            accumulateTriangle(t, start + t, sy, bx0, bx1);
+                        }
+                    }
+                }
+
+                int di = y * stride + bx0;
+                for (int x = bx0; x < bx1; x++, di++) {
+                    float cov = coverage[x];
+                    if (cov <= 0) continue;
+                    float alpha = weighted[x] / cov;
+                    int a = alpha255(Math.min(1, cov / SUBSAMPLES) * alpha);
+                    if (a != 0) {
+                        pixels[di] = blend(Pixels.scale(opaque, a), pixels[di]);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Y range and alpha plane (alpha = planeX * x + planeY * y + planeC)
+         * of the triangle whose first vertex is v
+         */
+        private void setupTriangle(int t, int v) {
+            float ax = vertices[v * 2], ay = vertices[v * 2 + 1];
+            float bx = vertices[v * 2 + 2], by = vertices[v * 2 + 3];
+            float cx = vertices[v * 2 + 4], cy = vertices[v * 2 + 5];
+            triMinY[t] = Math.min(ay, Math.min(by, cy));
+            triMaxY[t] = Math.max(ay, Math.max(by, cy));
+
+            float aa = vertexAlphas[v], ab = vertexAlphas[v + 1], ac = vertexAlphas[v + 2];
+            float e1x = bx - ax, e1y = by - ay;
+            float e2x = cx - ax, e2y = cy - ay;
+            float det = e1x * e2y - e2x * e1y;
+            if (Math.abs(det) < 1e-6f) {
+                // No area: it adds no coverage, any alpha will do
+                planeX[t] = 0;
+                planeY[t] = 0;
+                planeC[t] = (aa + ab + ac) / 3;
+                return;
+            }
+            float d1 = ab - aa, d2 = ac - aa;
+            planeX[t] = (d1 * e2y - d2 * e1y) / det;
+            planeY[t] = (d2 * e1x - d1 * e2x) / det;
+            planeC[t] = aa - planeX[t] * ax - planeY[t] * ay;
+        }
+
+        /**
+         * Add the span of the triangle whose first vertex is v on one sub-scanline
+         */
+        private void accumulateTriangle(int t, int v, float sy, int bx0, int bx1) {
+            float left = Float.MAX_VALUE, right = -Float.MAX_VALUE;
+            int crossings = 0;
+            for (int e = 0; e < 3; e++) {
+                // Edges always go from the lower vertex index, so a shared edge gives the same x
+                int i = e == 2 ? v : v + e;
+                int j = e == 2 ? v + 2 : v + e + 1;
+                float ax = vertices[i * 2], ay = vertices[i * 2 + 1];
+                float bx = vertices[j * 2], by = vertices[j * 2 + 1];
+                if ((ay <= sy && sy < by) || (by <= sy && sy < ay)) {
+                    float cx = ax + (sy - ay) * (bx - ax) / (by - ay);
+                    left = Math.min(left, cx);
+                    right = Math.max(right, cx);
+                    crossings++;
+                }
+            }
+            if (crossings < 2) return;
+
+            float from = Math.max(left, bx0);
+            float to = Math.min(right, bx1);
+            if (from >= to) return;
+            float ax = planeX[t], ay = planeY[t] * sy + planeC[t];
+            int first = (int) from;
+            int last = (int) Math.ceil(to) - 1;
+            for (int x = first; x <= last; x++) {
+                float x0 = Math.max(from, x);
+                float x1 = Math.min(to, x + 1);
+                float cov = x1 - x0;
+                float alpha = Math.max(0, Math.min(1, ax * (x0 + x1) / 2 + ay));
+                coverage[x] += cov;
+                weighted[x] += cov * alpha;
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.superninja.render;
+
+import com.superninja.config.GameConfig;
+import com.superninja.effects.ParticleRenderer;
+import com.superninja.engine.GameEngine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Draws the world pass as two halves on two worker threads.
+ * The table is split at screenWidth / 2. Each worker draws its half into its
+ * own opaque buffer with its own ParticleRenderer, skipping entities that do
+ * not reach its half, and the game thread waits for both and blits the
+ * buffers side by side.
+ *
+ * The buffers are plain software images on purpose: the accelerated Java2D
+ * pipelines funnel every thread through one render queue, so only
+ * CPU-rasterised images are actually drawn in parallel. They use the
+ * hardware profile's layer format when it is not 32-bit.
+ */
+class SplitWorldRenderer {
+
+    /**
+     * Draws the world into a half through the half's backend. Entities
+     * outside minX..maxX (world coordinates) can be skipped; the buffer
+     * clips the rest.
+     */
+    interface WorldPainter {
+        void paint(Java2DBackend backend, GameEngine engine, ParticleRenderer particles, double minX, double maxX);
+    }
+
+    private final WorldPainter painter;
+    private final Half[] halves = new Half[2];
+    private final Semaphore finished = new Semaphore(0);
+
+    // Frame parameters, written by the game thread before the workers are released
+    private GameEngine engine;
+    private double scale;
+    private double shakeX;
+    private double shakeY;
+
+    SplitWorldRenderer(WorldPainter painter) {
+        this.painter = painter;
+        halves[0] = new Half("RenderLeft");
+        halves[1] = new Half("RenderRight");
+    }
+
+    /**
+     * Draw the world at the given scale and shake, then composite both halves
+     * onto g2d. Blocks until both workers are done.
+     */
+    void render(Graphics2D g2d, GameEngine engine, int width, int height,
+                double scale, double shakeX, double shakeY) {
+        this.engine = engine;
+        this.scale = scale;
+        this.shakeX = shakeX;
+        this.shakeY = shakeY;
+
+        int splitX = width / 2;
+        GraphicsConfiguration gc = g2d.getDeviceConfiguration();
+        halves[0].prepare(gc, 0, splitX, height);
+        halves[1].prepare(gc, splitX, width - splitX, height);
+
+        for (Half half : halves) {
+            half.start.release();
+        }
+        finished.acquireUninterruptibly(halves.length);
+
+        for (Half half : halves) {
+            if (half.error != null) {
+                System.err.println("Split render error (" + half.thread.getName() + "): " + half.error);
+                half.error = null;
+            }
+            half.composite(g2d, height);
+        }
+    }
+
+    /**
+     * Stop the worker threads
+     */
+    void shutdown() {
+        for (Half half : halves) {
+            half.thread.interrupt();
+        }
+    }
+
+    /**
+     * One half of the table: a worker thread, its buffer, backend and particle renderer
+     */
+    private final class Half implements Runnable {
+        final Semaphore start = new Semaphore(0);
+        final Thread thread;
+        final ParticleRenderer particles = new ParticleRenderer();
+        final Java2DBackend backend = new Java2DBackend();
+
+        BufferedImage buffer;
+        int bufferType;
+        int x0;
+        int width;
+        int height;
+        RuntimeException error;
+
+        Half(String name) {
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            thread.start();
+        }
+
+        /**
+         * Set the half's column and make sure the buffer fits it (game thread).
+         * The buffer is sized for native resolution; lower scales use its top-left corner.
+         */
+        void prepare(GraphicsConfiguration gc, int x0, int width, int height) {
+            this.x0 = x0;
+            this.width = Math.max(1, width);
+            this.height = Math.max(1, height);
+            int layerType = GameConfig.HARDWARE_PROFILE.getLayerType();
+            if (buffer == null || buffer.getWidth() != this.width || buffer.getHeight() != this.height
+                    || bufferType != layerType) {
+                buffer = layerType == BufferedImage.TYPE_INT_RGB
+                        ? gc.createCompatibleImage(this.width, this.height, Transparency.OPAQUE)
+                        : new BufferedImage(this.width, this.height, layerType);
+                bufferType = layerType;
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    start.acquire();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    draw();
+                } catch (RuntimeException e) {
+                    error = e;
+                } finally {
+                    finished.release();
+                }
+            }
+        }
+
+        private void draw() {
+            Graphics2D g = buffer.createGraphics();
+            try {
+                g.scale(scale, scale);
+                g.translate(shakeX - x0, shakeY);
+                double minX = x0 - shakeX;
+                backend.begin(g);
+                painter.paint(backend, engine, particles, minX, minX + width);
+            } finally {
+                backend.end();
+                g.dispose();
+            }
+        }
+
+        void composite(Graphics2D g2d, int screenHeight) {
+            int internalWidth = (int) Math.ceil(width * scale);
+            int internalHeight = (int) Math.ceil(height * scale);
+            g2d.drawImage(buffer, x0, 0, x0 + width, screenHeight,
+                    0, 0, internalWidth, internalHeight, null);
+        }
+    }
+}
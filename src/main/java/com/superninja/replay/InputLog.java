@@ -0,0 +1,93 @@
+package com.superninja.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary input log format shared by the recorder and the reader.
+ *
+ * A log file is a sequence of segments, one per match. Each segment starts
+ * with a self-describing header:
+ * <pre>
+ *   "SNIR"            magic
+ *   u8                format version
+ *   i64               gameplay random seed
+ *   i64               wall-clock start (epoch ms)
+ *   varint x2         screen width, height (px)
+ *   varint x2         velocity scale, time unit (ns)
+ *   varint            engine ticks per second
+ * </pre>
+ * followed by records, each a tag byte and a time delta (varint, time
+ * units since the previous record):
+ * <pre>
+ *   DOWN/MOVE/UP      zigzag session id delta from the previous touch,
+ *                     zigzag x, y float bits (delta from the session's
+ *                     last position, or absolute when the tag has
+ *                     ABSOLUTE set), zigzag velocity x, y
+ *   TICK              one engine update
+ *   END               end of the segment
+ * </pre>
+ * Positions are the exact normalised floats the engine applied (their
+ * Float.floatToIntBits), so a replay hits what live play hit; nearby
+ * positions share their high bits, which keeps the deltas short.
+ * Velocities, which only the drawing uses, are in screens per second
+ * scaled by VELOCITY_SCALE. A zero tag byte marks the end of the data
+ * (the unused, zero-filled tail of a file).
+ */
+final class InputLog {
+
+    static final int MAGIC = ('S' << 24) | ('N' << 16) | ('I' << 8) | 'R';
+    static final int VERSION = 1;
+
+    static final int VELOCITY_SCALE = 1024;
+    static final int TIME_UNIT_NANOS = 1000;
+
+    // Record tags
+    static final int TAG_DOWN = 1;
+    static final int TAG_MOVE = 2;
+    static final int TAG_UP = 3;
+    static final int TAG_TICK = 4;
+    static final int TAG_END = 5;
+    static final int TAG_TYPE_MASK = 0x0F;
+    /** Touch record carries an absolute position rather than a delta */
+    static final int TAG_ABSOLUTE = 0x80;
+
+    /** Largest encoded record (tag, time and five 64-bit varints) */
+    static final int MAX_RECORD_BYTES = 1 + 6 * 10;
+    /** Largest encoded segment header */
+    static final int MAX_HEADER_BYTES = 4 + 1 + 8 + 8 + 5 * 5;
+
+    static final String FILE_SUFFIX = ".snir";
+
+    private InputLog() {}
+
+    static void putVarint(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    static void putZigzag(ByteBuffer out, long value) {
+        putVarint(out, (value << 1) ^ (value >> 63));
+    }
+
+    static long getVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    static long getZigzag(ByteBuffer in) {
+        long v = getVarint(in);
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    static int quantizeVelocity(float screensPerSecond) {
+        return Math.round(screensPerSecond * VELOCITY_SCALE);
+    }
+}
@@ -0,0 +1,137 @@
+package com.superninja.replay;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decodes an input log file into its matches (see InputLog for the format).
+ * A segment cut short (the game was killed while recording) is returned
+ * with the records up to the cut and isComplete() false.
+ */
+public final class InputLogReader {
+
+    private static final int MAX_SESSIONS = 64;
+
+    // Last position per session, mirroring the recorder's delta state
+    private final long[] sessionIds = new long[MAX_SESSIONS];
+    private final boolean[] sessionUsed = new boolean[MAX_SESSIONS];
+    private final long[] sessionX = new long[MAX_SESSIONS];
+    private final long[] sessionY = new long[MAX_SESSIONS];
+
+    private InputLogReader() {}
+
+    /**
+     * Read every match in a log file
+     */
+    public static List<RecordedMatch> read(Path file) throws IOException {
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        List<RecordedMatch> matches = new ArrayList<>();
+        InputLogReader reader = new InputLogReader();
+        while (in.remaining() >= 4 && in.getInt(in.position()) != 0) {
+            matches.add(reader.readSegment(in));
+        }
+        return matches;
+    }
+
+    private RecordedMatch readSegment(ByteBuffer in) throws IOException {
+        int offset = in.position();
+        if (in.getInt() != InputLog.MAGIC) {
+            throw new IOException("No input log segment at offset " + offset);
+        }
+        int version = in.get();
+        if (version != InputLog.VERSION) {
+            throw new IOException("Unsupported input log version " + version + " at offset " + offset);
+        }
+        long seed = in.getLong();
+        long startMillis = in.getLong();
+        int width = (int) InputLog.getVarint(in);
+        int height = (int) InputLog.getVarint(in);
+        double velocityScale = InputLog.getVarint(in);
+        long timeUnit = InputLog.getVarint(in);
+        int tickRate = (int) InputLog.getVarint(in);
+        RecordedMatch match = new RecordedMatch(seed, startMillis, width, height, tickRate);
+
+        Arrays.fill(sessionUsed, false);
+        long time = 0;
+        long session = 0;
+        try {
+            while (in.hasRemaining()) {
+                int tag = in.get() & 0xFF;
+                if (tag == 0) {
+                    in.position(in.position() - 1); // Zero tail: end of data
+                    break;
+                }
+                time += InputLog.getVarint(in) * timeUnit;
+                int type = tag & InputLog.TAG_TYPE_MASK;
+                if (type == InputLog.TAG_END) {
+                    match.markComplete();
+                    break;
+                }
+                if (type == InputLog.TAG_TICK) {
+                    match.add(type, time, 0, 0, 0, 0, 0);
+                    continue;
+                }
+                if (type < InputLog.TAG_DOWN || type > InputLog.TAG_UP) {
+                    throw new IOException("Unknown record tag " + tag + " at offset " + (in.position() - 1));
+                }
+
+                session += InputLog.getZigzag(in);
+                long x = InputLog.getZigzag(in);
+                long y = InputLog.getZigzag(in);
+                long vx = InputLog.getZigzag(in);
+                long vy = InputLog.getZigzag(in);
+                int slot = findSlot(session);
+                if ((tag & InputLog.TAG_ABSOLUTE) == 0) {
+                    if (slot < 0) {
+                        throw new IOException("Position delta for unknown session " + session);
+                    }
+                    x += sessionX[slot];
+                    y += sessionY[slot];
+                }
+                if (type == InputLog.TAG_UP) {
+                    if (slot >= 0) sessionUsed[slot] = false;
+                } else {
+                    if (slot < 0) slot = allocateSlot(session);
+                    if (slot >= 0) {
+                        sessionX[slot] = x;
+                        sessionY[slot] = y;
+                    }
+                }
+                match.add(type, time, session, Float.intBitsToFloat((int) x), Float.intBitsToFloat((int) y),
+                        (float) (vx / velocityScale), (float) (vy / velocityScale));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            // Cut off mid-record: keep what was complete
+            in.position(in.limit());
+        }
+        return match;
+    }
+
+    private int findSlot(long sessionId) {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (sessionUsed[s] && sessionIds[s] == sessionId) return s;
+        }
+        return -1;
+    }
+
+    private int allocateSlot(long sessionId) {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (!sessionUsed[s]) {
+                sessionUsed[s] = true;
+                sessionIds[s] = sessionId;
+                return s;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,350 @@
+package com.superninja.replay;
+
+import com.superninja.config.GameConfig;
+import com.superninja.engine.GameEngine;
+import com.superninja.input.TouchPoint;
+import com.superninja.objects.GameObject;
+import com.superninja.objects.Player;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records every touch and engine tick of each match to a compact binary
+ * log (see InputLog for the format). Register it with the engine as its
+ * InputListener and as a GameEventListener, and give the engine now() as
+ * its clock. The engine reports each touch as it applies it and each
+ * simulation step after them, on the game thread, so the log holds exactly
+ * the order and times the engine used, and a replay can match it exactly.
+ * The callbacks only copy a few primitives into a ring; a background thread
+ * encodes them (delta and varint) into a memory-mapped rolling file, so the
+ * input and game threads never wait on the disk. A match is one segment,
+ * opened when the countdown starts with the match's seed and screen size
+ * and closed when the game returns to waiting.
+ */
+public class InputRecorder implements GameEngine.InputListener, GameEngine.GameEventListener, Runnable {
+
+    private static final int RING_CAPACITY = 1 << 14;
+    private static final int RING_MASK = RING_CAPACITY - 1;
+    private static final int DRAIN_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = 5_000_000L;
+    private static final int MAX_SESSIONS = 64;
+
+    // Ring record kinds (a segment start carries seed and screen size in the touch fields)
+    private static final byte RECORD_BEGIN = 0;
+    private static final byte RECORD_DOWN = InputLog.TAG_DOWN;
+    private static final byte RECORD_MOVE = InputLog.TAG_MOVE;
+    private static final byte RECORD_UP = InputLog.TAG_UP;
+    private static final byte RECORD_TICK = InputLog.TAG_TICK;
+    private static final byte RECORD_END = InputLog.TAG_END;
+
+    private final GameEngine engine;
+    private final int screenWidth;
+    private final int screenHeight;
+    private final MappedLogFile file;
+
+    // Ring filled by the game thread and emptied by the writer (guarded by this)
+    private final byte[] ringKind = new byte[RING_CAPACITY];
+    private final long[] ringTime = new long[RING_CAPACITY];
+    private final long[] ringSession = new long[RING_CAPACITY];
+    private final float[] ringX = new float[RING_CAPACITY];
+    private final float[] ringY = new float[RING_CAPACITY];
+    private final float[] ringVx = new float[RING_CAPACITY];
+    private final float[] ringVy = new float[RING_CAPACITY];
+    private int ringHead;
+    private int ringSize;
+    private volatile boolean segmentOpen;
+    private volatile long recordsDropped;
+
+    // Batch taken off the ring by the writer thread
+    private final byte[] batchKind = new byte[DRAIN_BATCH];
+    private final long[] batchTime = new long[DRAIN_BATCH];
+    private final long[] batchSession = new long[DRAIN_BATCH];
+    private final float[] batchX = new float[DRAIN_BATCH];
+    private final float[] batchY = new float[DRAIN_BATCH];
+    private final float[] batchVx = new float[DRAIN_BATCH];
+    private final float[] batchVy = new float[DRAIN_BATCH];
+
+    // Encoder state (writer thread)
+    private boolean writing;
+    private long lastTime;
+    private long lastSession;
+    private final long[] sessionIds = new long[MAX_SESSIONS];
+    private final boolean[] sessionUsed = new boolean[MAX_SESSIONS];
+    private final int[] sessionX = new int[MAX_SESSIONS];
+    private final int[] sessionY = new int[MAX_SESSIONS];
+    private long bytesWritten;
+
+    private Thread thread;
+    private volatile boolean running;
+
+    public InputRecorder(GameEngine engine, int screenWidth, int screenHeight) {
+        this.engine = engine;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.file = new MappedLogFile(Path.of(GameConfig.INPUT_RECORDING_DIR),
+                GameConfig.INPUT_RECORDING_FILE_MB * 1024L * 1024L);
+    }
+
+    public void start() {
+        running = true;
+        thread = new Thread(this, "Input recorder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Close the open segment, write out everything queued and close the file
+     */
+    public void stop() {
+        if (segmentOpen) {
+            segmentOpen = false;
+            push(RECORD_END, now(), 0, 0, 0, 0, 0);
+        }
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * Engine clock: the system time on the log's time grid, so the times
+     * the engine uses are logged without loss
+     */
+    public long now() {
+        return System.nanoTime() / InputLog.TIME_UNIT_NANOS * InputLog.TIME_UNIT_NANOS;
+    }
+
+    public long getRecordsDropped() {
+        return recordsDropped;
+    }
+
+    /** Records waiting in the ring for the writer thread */
+    public synchronized int getQueuedRecords() {
+        return ringSize;
+    }
+
+    // ========================================
+    // Listeners (game thread)
+    // ========================================
+
+    @Override
+    public void onTouchApplied(TouchPoint.TouchState state, long sessionId, float x, float y,
+                               float velocityX, float velocityY, long time) {
+        if (!segmentOpen) return;
+        byte kind = switch (state) {
+            case DOWN -> RECORD_DOWN;
+            case MOVE -> RECORD_MOVE;
+            case UP -> RECORD_UP;
+        };
+        push(kind, time, sessionId, x, y, velocityX, velocityY);
+    }
+
+    @Override
+    public void onTick(long time) {
+        if (segmentOpen) {
+            push(RECORD_TICK, time, 0, 0, 0, 0, 0);
+        }
+    }
+
+    @Override
+    public void onStateChanged(GameEngine.GameState newState) {
+        if (newState == GameEngine.GameState.COUNTDOWN && !segmentOpen) {
+            // Seed and screen size ride in the session and position fields
+            push(RECORD_BEGIN, engine.getTime(), engine.getMatchSeed(), screenWidth, screenHeight, 0, 0);
+            segmentOpen = true;
+        } else if (newState == GameEngine.GameState.WAITING && segmentOpen) {
+            segmentOpen = false;
+            push(RECORD_END, engine.getTime(), 0, 0, 0, 0, 0);
+        }
+    }
+
+    @Override
+    public void onRoundEnd(Player roundWinner, int round) {}
+
+    @Override
+    public void onGameOver(Player winner) {}
+
+    @Override
+    public void onSlice(GameObject obj, int playerId, int points, boolean critical) {}
+
+    @Override
+    public void onBombHit(int playerId) {}
+
+    private synchronized void push(byte kind, long time, long session, float x, float y, float vx, float vy) {
+        add(kind, time, session, x, y, vx, vy);
+    }
+
+    private void add(byte kind, long time, long session, float x, float y, float vx, float vy) {
+        if (ringSize == RING_CAPACITY) {
+            recordsDropped++;
+            return;
+        }
+        int i = (ringHead + ringSize) & RING_MASK;
+        ringKind[i] = kind;
+        ringTime[i] = time;
+        ringSession[i] = session;
+        ringX[i] = x;
+        ringY[i] = y;
+        ringVx[i] = vx;
+        ringVy[i] = vy;
+        ringSize++;
+    }
+
+    /**
+     * Move up to a batch of records off the ring
+     */
+    private synchronized int drain() {
+        int n = Math.min(ringSize, DRAIN_BATCH);
+        for (int k = 0; k < n; k++) {
+            int i = (ringHead + k) & RING_MASK;
+            batchKind[k] = ringKind[i];
+            batchTime[k] = ringTime[i];
+            batchSession[k] = ringSession[i];
+            batchX[k] = ringX[i];
+            batchY[k] = ringY[i];
+            batchVx[k] = ringVx[i];
+            batchVy[k] = ringVy[i];
+        }
+        ringHead = (ringHead + n) & RING_MASK;
+        ringSize -= n;
+        return n;
+    }
+
+    // ========================================
+    // Writer thread
+    // ========================================
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                int n = drain();
+                for (int k = 0; k < n; k++) {
+                    write(k);
+                }
+                if (n == 0) {
+                    if (!running) break;
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("InputRecorder: Recording stopped: " + e.getMessage());
+            segmentOpen = false;
+        } finally {
+            try {
+                file.close();
+            } catch (IOException e) {
+                System.err.println("InputRecorder: Failed to close log: " + e.getMessage());
+            }
+        }
+    }
+
+    private void write(int k) throws IOException {
+        byte kind = batchKind[k];
+        if (kind == RECORD_BEGIN) {
+            beginSegment(k);
+            return;
+        }
+        if (!writing) return;
+
+        MappedByteBuffer out = file.reserve(InputLog.MAX_RECORD_BYTES);
+        int start = out.position();
+        long time = batchTime[k] / InputLog.TIME_UNIT_NANOS;
+        long timeDelta = Math.max(0, time - lastTime);
+        lastTime = time;
+
+        if (kind == RECORD_TICK || kind == RECORD_END) {
+            out.put(kind);
+            InputLog.putVarint(out, timeDelta);
+            if (kind == RECORD_END) {
+                writing = false;
+                file.force();
+                System.out.println("InputRecorder: Match recorded to " + file.getPath()
+                        + " (" + bytesWritten / 1024 + " KB" + (recordsDropped > 0 ? ", " + recordsDropped + " records dropped" : "") + ")");
+            }
+            bytesWritten += out.position() - start;
+            return;
+        }
+
+        long session = batchSession[k];
+        int x = Float.floatToIntBits(batchX[k]);
+        int y = Float.floatToIntBits(batchY[k]);
+        int slot = findSlot(session);
+        boolean absolute = kind == RECORD_DOWN || slot < 0;
+
+        out.put((byte) (kind | (absolute ? InputLog.TAG_ABSOLUTE : 0)));
+        InputLog.putVarint(out, timeDelta);
+        InputLog.putZigzag(out, session - lastSession);
+        if (absolute) {
+            InputLog.putZigzag(out, x);
+            InputLog.putZigzag(out, y);
+        } else {
+            InputLog.putZigzag(out, (long) x - sessionX[slot]);
+            InputLog.putZigzag(out, (long) y - sessionY[slot]);
+        }
+        InputLog.putZigzag(out, InputLog.quantizeVelocity(batchVx[k]));
+        InputLog.putZigzag(out, InputLog.quantizeVelocity(batchVy[k]));
+        lastSession = session;
+
+        // Track the session's position; the reader mirrors this
+        if (kind == RECORD_UP) {
+            if (slot >= 0) sessionUsed[slot] = false;
+        } else {
+            if (slot < 0) slot = allocateSlot(session);
+            if (slot >= 0) {
+                sessionX[slot] = x;
+                sessionY[slot] = y;
+            }
+        }
+        bytesWritten += out.position() - start;
+    }
+
+    private void beginSegment(int k) throws IOException {
+        file.beginSegment(InputLog.MAX_HEADER_BYTES);
+        MappedByteBuffer out = file.reserve(InputLog.MAX_HEADER_BYTES);
+        int start = out.position();
+        out.putInt(InputLog.MAGIC);
+        out.put((byte) InputLog.VERSION);
+        out.putLong(batchSession[k]);
+        out.putLong(System.currentTimeMillis());
+        InputLog.putVarint(out, (long) batchX[k]);
+        InputLog.putVarint(out, (long) batchY[k]);
+        InputLog.putVarint(out, InputLog.VELOCITY_SCALE);
+        InputLog.putVarint(out, InputLog.TIME_UNIT_NANOS);
+        InputLog.putVarint(out, GameConfig.TARGET_FPS);
+
+        writing = true;
+        lastTime = batchTime[k] / InputLog.TIME_UNIT_NANOS;
+        lastSession = 0;
+        Arrays.fill(sessionUsed, false);
+        bytesWritten = out.position() - start;
+    }
+
+    private int findSlot(long sessionId) {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (sessionUsed[s] && sessionIds[s] == sessionId) return s;
+        }
+        return -1;
+    }
+
+    private int allocateSlot(long sessionId) {
+        for (int s = 0; s < MAX_SESSIONS; s++) {
+            if (!sessionUsed[s]) {
+                sessionUsed[s] = true;
+                sessionIds[s] = sessionId;
+                return s;
+            }
+        }
+        return -1;
+    }
+}
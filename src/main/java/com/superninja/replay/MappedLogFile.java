@@ -0,0 +1,113 @@
+package com.superninja.replay;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Rolling log file written through a memory mapping. The file is mapped a
+ * chunk at a time; writes are plain buffer puts and the OS pages them out.
+ * A new file is started (at a segment boundary) once the current one
+ * reaches the roll size. On close the file is cut to what was written.
+ * Used from the recorder thread only.
+ */
+final class MappedLogFile {
+
+    private static final int CHUNK_BYTES = 1 << 20;
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final long rollBytes;
+
+    private FileChannel channel;
+    private Path path;
+    private MappedByteBuffer mapped;
+    private long mappedStart;
+    private int fileIndex;
+
+    MappedLogFile(Path directory, long rollBytes) {
+        this.directory = directory;
+        this.rollBytes = rollBytes;
+    }
+
+    /**
+     * Make room for a new segment, rolling over to a new file if the
+     * current one is full (or none is open yet)
+     */
+    void beginSegment(int bytes) throws IOException {
+        if (channel == null || position() >= rollBytes) {
+            roll();
+        }
+        reserve(bytes);
+    }
+
+    /**
+     * The buffer to write the next record into, with at least this many
+     * bytes left in the mapping
+     */
+    MappedByteBuffer reserve(int bytes) throws IOException {
+        if (mapped.remaining() < bytes) {
+            map(position());
+        }
+        return mapped;
+    }
+
+    /** Bytes written to the current file */
+    long position() {
+        return mapped != null ? mappedStart + mapped.position() : 0;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * Push written records to the file (they survive a crash of the game anyway)
+     */
+    void force() {
+        if (mapped != null) {
+            mapped.force();
+        }
+    }
+
+    void close() throws IOException {
+        if (channel == null) return;
+        long written = position();
+        force();
+        mapped = null;
+        try {
+            channel.truncate(written);
+        } catch (IOException e) {
+            // Some platforms refuse while the mapping is alive; the zero tail reads as end of data
+        }
+        channel.close();
+        channel = null;
+    }
+
+    private void roll() throws IOException {
+        close();
+        Files.createDirectories(directory);
+        String stamp = LocalDateTime.now().format(FILE_TIME);
+        do {
+            path = directory.resolve("superninja-input-" + stamp
+                    + (fileIndex > 0 ? "-" + fileIndex : "") + InputLog.FILE_SUFFIX);
+            fileIndex++;
+        } while (Files.exists(path));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(0);
+    }
+
+    private void map(long start) throws IOException {
+        if (mapped != null) {
+            mapped.force();
+        }
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, start, CHUNK_BYTES);
+        mappedStart = start;
+    }
+}
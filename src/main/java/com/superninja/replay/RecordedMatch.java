@@ -0,0 +1,136 @@
+package com.superninja.replay;
+
+import java.util.Arrays;
+
+/**
+ * One decoded segment of an input log: the match's header and its touch
+ * and tick records in order, held in primitive arrays.
+ * Record times are nanoseconds since the segment started.
+ */
+public final class RecordedMatch {
+
+    private final long seed;
+    private final long startMillis;
+    private final int screenWidth;
+    private final int screenHeight;
+    private final int tickRate;
+
+    private byte[] kind = new byte[1024];
+    private long[] time = new long[1024];
+    private long[] session = new long[1024];
+    private float[] x = new float[1024];
+    private float[] y = new float[1024];
+    private float[] velocityX = new float[1024];
+    private float[] velocityY = new float[1024];
+    private int count;
+    private int tickCount;
+    private boolean complete;
+
+    RecordedMatch(long seed, long startMillis, int screenWidth, int screenHeight, int tickRate) {
+        this.seed = seed;
+        this.startMillis = startMillis;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+        this.tickRate = tickRate;
+    }
+
+    void add(int tag, long timeNanos, long sessionId, float px, float py, float vx, float vy) {
+        if (count == kind.length) {
+            int size = count * 2;
+            kind = Arrays.copyOf(kind, size);
+            time = Arrays.copyOf(time, size);
+            session = Arrays.copyOf(session, size);
+            x = Arrays.copyOf(x, size);
+            y = Arrays.copyOf(y, size);
+            velocityX = Arrays.copyOf(velocityX, size);
+            velocityY = Arrays.copyOf(velocityY, size);
+        }
+        kind[count] = (byte) tag;
+        time[count] = timeNanos;
+        session[count] = sessionId;
+        x[count] = px;
+        y[count] = py;
+        velocityX[count] = vx;
+        velocityY[count] = vy;
+        count++;
+        if (tag == InputLog.TAG_TICK) {
+            tickCount++;
+        }
+    }
+
+    void markComplete() {
+        complete = true;
+    }
+
+    /** Gameplay random seed of the match */
+    public long getSeed() {
+        return seed;
+    }
+
+    /** Wall-clock start (epoch ms) */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    public int getScreenWidth() {
+        return screenWidth;
+    }
+
+    public int getScreenHeight() {
+        return screenHeight;
+    }
+
+    /** Engine updates per second the match was played at */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /** Engine updates recorded */
+    public int getTickCount() {
+        return tickCount;
+    }
+
+    /** Match length in game time (s) */
+    public double getDuration() {
+        return (double) tickCount / tickRate;
+    }
+
+    /** False if the log ends before the segment's end record (the game did not shut down cleanly) */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /** Number of records (touches and ticks) */
+    public int size() {
+        return count;
+    }
+
+    /** Record tag (InputLog.TAG_DOWN, TAG_MOVE, TAG_UP or TAG_TICK) */
+    int getKind(int i) {
+        return kind[i];
+    }
+
+    long getTime(int i) {
+        return time[i];
+    }
+
+    long getSession(int i) {
+        return session[i];
+    }
+
+    float getX(int i) {
+        return x[i];
+    }
+
+    float getY(int i) {
+        return y[i];
+    }
+
+    float getVelocityX(int i) {
+        return velocityX[i];
+    }
+
+    float getVelocityY(int i) {
+        return velocityY[i];
+    }
+}
@@ -0,0 +1,183 @@
+package com.superninja.replay;
+
+import com.superninja.config.GameConfig;
+import com.superninja.engine.EngineSnapshot;
+import com.superninja.engine.GameEngine;
+import com.superninja.input.TouchPoint;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Re-simulates a recorded match through its own GameEngine: the recorded
+ * touches are queued through the engine's touch handlers and every recorded
+ * tick is one engine update, which applies them as the live update did,
+ * with the match's seed and the recorded times as the engine clock, so the
+ * match plays out as it did.
+ * Playback runs in real time, at any speed, or as fast as possible. A
+ * full engine snapshot is kept every REPLAY_KEYFRAME_SECONDS of game time
+ * as playback passes it, so seeking restores the nearest keyframe and only
+ * simulates from there.
+ * Use from one thread (the one that also renders the engine).
+ */
+public class ReplayPlayer {
+
+    /** Speed for "as fast as possible" */
+    public static final double MAX_SPEED = Double.POSITIVE_INFINITY;
+
+    /** Wall time one advance() may spend at MAX_SPEED, so the viewer keeps drawing */
+    private static final long MAX_SPEED_BUDGET_NANOS = 12_000_000L;
+
+    private final RecordedMatch match;
+    private final GameEngine engine;
+    private final double tickSeconds;
+    private final int keyframeTicks;
+    private final List<Keyframe> keyframes = new ArrayList<>();
+
+    private long clockNanos;
+    private int recordIndex;
+    private int tick;
+    private double speed = 1.0;
+    private boolean paused;
+    private double owedTicks;
+
+    /**
+     * State to return to when seeking
+     */
+    private record Keyframe(int tick, int recordIndex, long clockNanos, EngineSnapshot snapshot) {}
+
+    public ReplayPlayer(RecordedMatch match) {
+        this.match = match;
+        // Object sizes and speeds scale with the screen: use the recorded one
+        GameConfig.recalculatePixelValues(match.getScreenWidth(), match.getScreenHeight());
+        this.engine = new GameEngine(match.getScreenWidth(), match.getScreenHeight());
+        this.engine.setClock(() -> clockNanos);
+        // A segment starts with the countdown: start the match as the touch that began it did
+        this.engine.setNextMatchSeed(match.getSeed());
+        this.engine.startGame();
+        this.tickSeconds = 1.0 / match.getTickRate();
+        this.keyframeTicks = Math.max(1, (int) Math.round(GameConfig.REPLAY_KEYFRAME_SECONDS * match.getTickRate()));
+    }
+
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    public RecordedMatch getMatch() {
+        return match;
+    }
+
+    /** Game time played so far (s) */
+    public double getTime() {
+        return tick * tickSeconds;
+    }
+
+    public boolean isFinished() {
+        return recordIndex >= match.size();
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * @param speed Game seconds per wall second (1 = real time, MAX_SPEED = as fast as possible)
+     */
+    public void setSpeed(double speed) {
+        this.speed = speed;
+        owedTicks = 0;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void setPaused(boolean paused) {
+        this.paused = paused;
+        owedTicks = 0;
+    }
+
+    /**
+     * Play on by the game time that corresponds to this much wall time
+     */
+    public void advance(double wallSeconds) {
+        if (paused || isFinished()) return;
+        if (speed == MAX_SPEED) {
+            long deadline = System.nanoTime() + MAX_SPEED_BUDGET_NANOS;
+            while (System.nanoTime() < deadline && stepTick()) {
+                // Simulate until the frame's budget is used up
+            }
+            return;
+        }
+        // Do not pile up more than a second of catching up after a stall
+        owedTicks = Math.min(owedTicks + wallSeconds * speed / tickSeconds, Math.max(1, speed / tickSeconds));
+        while (owedTicks >= 1 && stepTick()) {
+            owedTicks--;
+        }
+    }
+
+    /**
+     * Play the rest of the match as fast as possible
+     */
+    public void runToEnd() {
+        while (stepTick()) {
+            // Nothing to do between ticks
+        }
+    }
+
+    /**
+     * Jump to a game time: restore the nearest keyframe at or before it
+     * (unless playback is already between that keyframe and the target)
+     * and simulate forward
+     */
+    public void seek(double seconds) {
+        int target = (int) Math.max(0, Math.min(match.getTickCount(), Math.round(seconds / tickSeconds)));
+        int k = Math.min(target / keyframeTicks, keyframes.size() - 1);
+        if (k >= 0) {
+            Keyframe keyframe = keyframes.get(k);
+            if (tick > target || tick < keyframe.tick()) {
+                tick = keyframe.tick();
+                recordIndex = keyframe.recordIndex();
+                clockNanos = keyframe.clockNanos();
+                engine.restore(keyframe.snapshot());
+            }
+        }
+        while (tick < target && stepTick()) {
+            // Simulate up to the target, keeping keyframes on the way
+        }
+        owedTicks = 0;
+    }
+
+    /**
+     * Apply the records up to and including the next tick
+     * @return false at the end of the match
+     */
+    public boolean stepTick() {
+        if (tick % keyframeTicks == 0 && keyframes.size() == tick / keyframeTicks) {
+            keyframes.add(new Keyframe(tick, recordIndex, clockNanos, engine.snapshot()));
+        }
+        while (recordIndex < match.size()) {
+            int i = recordIndex++;
+            clockNanos = match.getTime(i);
+            switch (match.getKind(i)) {
+                case InputLog.TAG_DOWN -> engine.onTouchDown(touch(i, TouchPoint.TouchState.DOWN));
+                case InputLog.TAG_MOVE -> engine.onTouchMove(touch(i, TouchPoint.TouchState.MOVE));
+                case InputLog.TAG_UP -> engine.onTouchUp(touch(i, TouchPoint.TouchState.UP));
+                case InputLog.TAG_TICK -> {
+                    engine.update(tickSeconds);
+                    tick++;
+                    return true;
+                }
+                default -> {
+                    // No other kinds are stored
+                }
+            }
+        }
+        return false;
+    }
+
+    private TouchPoint touch(int i, TouchPoint.TouchState state) {
+        return new TouchPoint(match.getSession(i), match.getX(i), match.getY(i),
+                match.getVelocityX(i), match.getVelocityY(i), 0, state);
+    }
+}
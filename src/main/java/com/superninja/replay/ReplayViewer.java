@@ -0,0 +1,302 @@
+package com.superninja.replay;
+
+import com.superninja.config.GameConfig;
+import com.superninja.engine.GameEngine;
+import com.superninja.render.EmojiLoader;
+import com.superninja.render.GameRenderer;
+import com.superninja.render.GlowSprites;
+import com.superninja.render.GlyphAtlas;
+import com.superninja.render.RenderResources;
+
+import java.awt.*;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferStrategy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Plays back a recorded match through the game renderer, on the last
+ * screen by default so a spare monitor can be used for review while the
+ * table keeps playing. With --headless it only re-simulates and prints
+ * the final scores (for disputes and for timing the engine).
+ *
+ * Usage: java -cp superninja.jar com.superninja.replay.ReplayViewer LOG [options]
+ */
+public class ReplayViewer extends Canvas implements Runnable {
+
+    private static final long FRAME_NANOS = 1_000_000_000L / GameConfig.TARGET_FPS;
+    private static final double SEEK_STEP_SECONDS = 5.0;
+    private static final double MAX_FIXED_SPEED = 64.0;
+    private static final Color STATUS_BACKGROUND = new Color(0, 0, 0, 160);
+
+    private final ReplayPlayer player;
+    private final GameRenderer renderer;
+    private final int worldWidth;
+    private final int worldHeight;
+    private Frame frame;
+    private volatile boolean running;
+
+    // Requests from the key handler, applied by the playback thread
+    private volatile double requestedSeek = Double.NaN;
+    private volatile double requestedSpeed = Double.NaN;
+    private volatile boolean togglePause;
+
+    private ReplayViewer(ReplayPlayer player) {
+        this.player = player;
+        this.worldWidth = player.getMatch().getScreenWidth();
+        this.worldHeight = player.getMatch().getScreenHeight();
+        this.renderer = new GameRenderer(worldWidth, worldHeight);
+        setBackground(Color.BLACK);
+        setIgnoreRepaint(true);
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                handleKey(e);
+            }
+        });
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file = null;
+        int matchNumber = 0; // 0: all matches headless, the first one in the window
+        double speed = 1.0;
+        double seek = 0;
+        int screen = -1;
+        boolean headless = false;
+        for (String arg : args) {
+            String lower = arg.toLowerCase(Locale.ROOT);
+            try {
+                if (lower.startsWith("--match=")) {
+                    matchNumber = Integer.parseInt(arg.substring("--match=".length()));
+                } else if (lower.startsWith("--speed=")) {
+                    String value = lower.substring("--speed=".length());
+                    speed = value.equals("max") ? ReplayPlayer.MAX_SPEED : Double.parseDouble(value);
+                } else if (lower.startsWith("--seek=")) {
+                    seek = Double.parseDouble(arg.substring("--seek=".length()));
+                } else if (lower.startsWith("--screen=")) {
+                    screen = Integer.parseInt(arg.substring("--screen=".length()));
+                } else if (lower.equals("--headless")) {
+                    headless = true;
+                } else if (lower.equals("-h") || lower.equals("--help")) {
+                    printHelp();
+                    return;
+                } else if (!lower.startsWith("-")) {
+                    file = Path.of(arg);
+                } else {
+                    System.err.println("Unknown option: " + arg);
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid option: " + arg);
+            }
+        }
+        if (file == null) {
+            printHelp();
+            return;
+        }
+
+        List<RecordedMatch> matches = InputLogReader.read(file);
+        for (int m = 0; m < matches.size(); m++) {
+            RecordedMatch match = matches.get(m);
+            System.out.println(String.format(Locale.ROOT, "Match %d: %s, %s, %dx%d, seed %d, %d records%s",
+                    m + 1, Instant.ofEpochMilli(match.getStartMillis()), formatTime(match.getDuration()),
+                    match.getScreenWidth(), match.getScreenHeight(), match.getSeed(), match.size(),
+                    match.isComplete() ? "" : " (cut short)"));
+        }
+
+        if (headless) {
+            for (int m = 0; m < matches.size(); m++) {
+                if (matchNumber > 0 && m + 1 != matchNumber) continue;
+                ReplayPlayer player = new ReplayPlayer(matches.get(m));
+                long start = System.nanoTime();
+                player.runToEnd();
+                double seconds = (System.nanoTime() - start) / 1e9;
+                GameEngine engine = player.getEngine();
+                System.out.println(String.format(Locale.ROOT,
+                        "Match %d result: %d - %d (rounds %d - %d), state %s, simulated in %.0f ms (%.0fx real time)",
+                        m + 1, engine.getPlayer1().getScore(), engine.getPlayer2().getScore(),
+                        engine.getPlayer1().getRoundsWon(), engine.getPlayer2().getRoundsWon(), engine.getState(),
+                        seconds * 1000, player.getTime() / Math.max(seconds, 1e-9)));
+            }
+            return;
+        }
+
+        if (matchNumber == 0) matchNumber = 1;
+        if (matchNumber < 1 || matchNumber > matches.size()) {
+            System.err.println("ReplayViewer: No match " + matchNumber + " in " + file);
+            return;
+        }
+        EmojiLoader.loadEmojis();
+        GlyphAtlas.preload();
+        RenderResources.preload();
+        ReplayPlayer player = new ReplayPlayer(matches.get(matchNumber - 1));
+        GlowSprites.preload();
+        player.setSpeed(speed);
+        if (seek > 0) {
+            player.seek(seek);
+        }
+
+        ReplayViewer viewer = new ReplayViewer(player);
+        viewer.open(screen);
+        new Thread(viewer, "Replay").start();
+    }
+
+    private static void printHelp() {
+        System.out.println("ReplayViewer - play back a recorded match");
+        System.out.println("Usage: java -cp superninja.jar com.superninja.replay.ReplayViewer LOG [options]");
+        System.out.println("  --match=N     Match in the log to play (default: the first; all with --headless)");
+        System.out.println("  --speed=X     Playback speed, or max (default 1)");
+        System.out.println("  --seek=S      Start at this game time (s)");
+        System.out.println("  --screen=N    Screen to show on (default: the last one)");
+        System.out.println("  --headless    Re-simulate without a window and print the results");
+        System.out.println("Keys: Space pause, Left/Right seek 5 s, Up/Down speed, M max speed, Home restart, Esc quit");
+    }
+
+    private void open(int screenIndex) {
+        GraphicsDevice[] screens = GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices();
+        int index = screenIndex >= 0 && screenIndex < screens.length ? screenIndex : screens.length - 1;
+        GraphicsConfiguration config = screens[index].getDefaultConfiguration();
+        Rectangle bounds = config.getBounds();
+
+        frame = new Frame("SuperNinja Replay", config);
+        frame.setBackground(Color.BLACK);
+        frame.setIgnoreRepaint(true);
+        if (screens.length > 1) {
+            // A screen of its own: cover it
+            frame.setUndecorated(true);
+            frame.setBounds(bounds);
+        } else {
+            int w = Math.min(1280, bounds.width);
+            int h = w * worldHeight / worldWidth;
+            frame.setBounds(bounds.x + (bounds.width - w) / 2, bounds.y + (bounds.height - h) / 2, w, h);
+        }
+        frame.add(this);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                running = false;
+            }
+        });
+        frame.setVisible(true);
+        createBufferStrategy(2);
+        requestFocus();
+    }
+
+    private void handleKey(KeyEvent e) {
+        double speed = player.getSpeed();
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_SPACE -> togglePause = true;
+            case KeyEvent.VK_LEFT -> requestedSeek = player.getTime() - SEEK_STEP_SECONDS;
+            case KeyEvent.VK_RIGHT -> requestedSeek = player.getTime() + SEEK_STEP_SECONDS;
+            case KeyEvent.VK_HOME -> requestedSeek = 0;
+            case KeyEvent.VK_UP -> requestedSpeed = speed == ReplayPlayer.MAX_SPEED ? speed : Math.min(MAX_FIXED_SPEED, speed * 2);
+            case KeyEvent.VK_DOWN -> requestedSpeed = speed == ReplayPlayer.MAX_SPEED ? MAX_FIXED_SPEED : speed / 2;
+            case KeyEvent.VK_M -> requestedSpeed = speed == ReplayPlayer.MAX_SPEED ? 1.0 : ReplayPlayer.MAX_SPEED;
+            case KeyEvent.VK_ESCAPE -> running = false;
+            default -> {}
+        }
+    }
+
+    @Override
+    public void run() {
+        running = true;
+        BufferStrategy strategy = getBufferStrategy();
+        long last = System.nanoTime();
+        while (running) {
+            long now = System.nanoTime();
+            double wallSeconds = (now - last) / 1e9;
+            last = now;
+
+            applyRequests();
+            double before = player.getTime();
+            player.advance(wallSeconds);
+            renderer.update(player.getTime() - before);
+            draw(strategy);
+
+            long sleep = FRAME_NANOS - (System.nanoTime() - now);
+            if (sleep > 0) {
+                try {
+                    Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+        frame.dispose();
+    }
+
+    private void applyRequests() {
+        if (togglePause) {
+            togglePause = false;
+            player.setPaused(!player.isPaused());
+        }
+        double speed = requestedSpeed;
+        if (!Double.isNaN(speed)) {
+            requestedSpeed = Double.NaN;
+            player.setSpeed(speed);
+        }
+        double seek = requestedSeek;
+        if (!Double.isNaN(seek)) {
+            requestedSeek = Double.NaN;
+            player.seek(seek);
+        }
+    }
+
+    private void draw(BufferStrategy strategy) {
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    int w = getWidth();
+                    int h = getHeight();
+                    g.setColor(Color.BLACK);
+                    g.fillRect(0, 0, w, h);
+
+                    // Draw the world at its recorded size, scaled to fit the window
+                    double scale = Math.min((double) w / worldWidth, (double) h / worldHeight);
+                    AffineTransform saved = g.getTransform();
+                    g.translate((w - worldWidth * scale) / 2, (h - worldHeight * scale) / 2);
+                    g.scale(scale, scale);
+                    g.clipRect(0, 0, worldWidth, worldHeight);
+                    renderer.render(g, player.getEngine(), worldWidth, worldHeight);
+                    g.setTransform(saved);
+                    g.setClip(null);
+
+                    drawStatus(g, h);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    private void drawStatus(Graphics2D g, int height) {
+        double speed = player.getSpeed();
+        String status = String.format(Locale.ROOT, "REPLAY  %s / %s  %s%s%s   Space pause  ←/→ seek  ↑/↓ speed  M max  Esc quit",
+                formatTime(player.getTime()), formatTime(player.getMatch().getDuration()),
+                speed == ReplayPlayer.MAX_SPEED ? "max" : String.format(Locale.ROOT, "%sx", trim(speed)),
+                player.isPaused() ? "  PAUSED" : "", player.isFinished() ? "  END" : "");
+        g.setFont(RenderResources.font(RenderResources.MONOSPACED, Font.PLAIN, 14));
+        g.setColor(STATUS_BACKGROUND);
+        g.fillRect(0, height - 26, g.getFontMetrics().stringWidth(status) + 20, 26);
+        g.setColor(Color.YELLOW);
+        g.drawString(status, 10, height - 8);
+    }
+
+    private static String trim(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static String formatTime(double seconds) {
+        int tenths = (int) Math.round(seconds * 10);
+        return String.format(Locale.ROOT, "%d:%02d.%d", tenths / 600, (tenths / 10) % 60, tenths % 10);
+    }
+}
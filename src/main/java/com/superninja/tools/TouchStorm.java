@@ -0,0 +1,174 @@
+package com.superninja.tools;
+
+import com.superninja.config.GameConfig;
+import com.superninja.engine.GameEngine;
+import com.superninja.input.TouchFrame;
+import com.superninja.input.TouchListener;
+import com.superninja.input.TouchManager;
+import com.superninja.input.TouchPoint;
+import com.superninja.input.TuioLoadGenerator;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Headless touch-storm harness. Runs the game engine without a window,
+ * fed by a TouchManager on TUIO_PORT, while a TuioLoadGenerator in the same
+ * process sends to that port. The generator logs sent, received and
+ * delivered rates once a second; this adds the time the engine spent
+ * handling touch frames and ticking.
+ *
+ * Usage: java -cp superninja.jar com.superninja.tools.TouchStorm [options]
+ */
+public final class TouchStorm {
+
+    private static final double TICK_SECONDS = 1.0 / GameConfig.TARGET_FPS;
+
+    private TouchStorm() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int seconds = 30;
+        for (String arg : args) {
+            String lower = arg.toLowerCase(Locale.ROOT);
+            if (TuioLoadGenerator.parseOption(arg)) continue;
+            try {
+                if (lower.startsWith("--seconds=")) {
+                    seconds = Integer.parseInt(arg.substring("--seconds=".length()));
+                } else if (lower.startsWith("--port=")) {
+                    GameConfig.TUIO_PORT = Integer.parseInt(arg.substring("--port=".length()));
+                } else if (lower.equals("--tuio-lib")) {
+                    GameConfig.TUIO_NIO_RECEIVER = false;
+                } else if (lower.equals("-h") || lower.equals("--help")) {
+                    System.out.println("TouchStorm - headless TUIO load test");
+                    System.out.println("Usage: java -cp superninja.jar com.superninja.tools.TouchStorm [options]");
+                    System.out.println("  --seconds=N           Run time (default 30)");
+                    System.out.println("  --port=N              TUIO port (default " + GameConfig.TUIO_PORT + ")");
+                    System.out.println("  --tuio-lib            Receive through tuio-lib instead of the built-in receiver");
+                    System.out.println("  --storm-sessions=N    Concurrent sessions (default " + GameConfig.STORM_SESSIONS + ")");
+                    System.out.println("  --storm-rate=HZ       Bundles per second (default " + GameConfig.STORM_RATE_HZ + ")");
+                    System.out.println("  --storm-drop=F        Fraction of bundles dropped (0..1)");
+                    System.out.println("  --storm-lost-up=F     Fraction of strokes whose lift-off is lost (0..1)");
+                    System.out.println("  --storm-pattern=NAME  line, zigzag, circle or mixed");
+                    return;
+                } else {
+                    System.err.println("Unknown option: " + arg);
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid option: " + arg);
+            }
+        }
+
+        GameEngine engine = new GameEngine(GameConfig.DISPLAY_WIDTH, GameConfig.DISPLAY_HEIGHT);
+        TimedListener timed = new TimedListener(engine);
+        TouchManager touchManager = new TouchManager();
+        touchManager.addListener(timed);
+        if (!touchManager.connect(GameConfig.TUIO_PORT)) {
+            System.err.println("TouchStorm: Could not open TUIO port " + GameConfig.TUIO_PORT);
+            return;
+        }
+
+        TuioLoadGenerator generator = new TuioLoadGenerator(GameConfig.TUIO_PORT);
+        generator.setMonitor(touchManager);
+        generator.addQueue("engine", engine::getQueuedTouches);
+        generator.start();
+
+        engine.startGame();
+        long tickNanos = (long) (TICK_SECONDS * 1_000_000_000L);
+        long end = System.nanoTime() + seconds * 1_000_000_000L;
+        long nextReport = System.nanoTime() + 1_000_000_000L;
+        long updateNanos = 0;
+        int ticks = 0;
+        while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            if (engine.getState() == GameEngine.GameState.GAME_OVER) {
+                engine.restart();
+                engine.startGame();
+            }
+            engine.update(TICK_SECONDS);
+            long now = System.nanoTime();
+            updateNanos += now - start;
+            ticks++;
+
+            if (now >= nextReport) {
+                System.out.println(String.format(Locale.ROOT,
+                        "TouchStorm: engine %.3f ms/tick, touch frames %.3f ms/s (%d frames, max %d changes), %d objects",
+                        updateNanos / 1e6 / ticks, timed.takeNanos() / 1e6, timed.takeFrames(),
+                        timed.takeLargestFrame(), engine.getGameObjects().size()));
+                updateNanos = 0;
+                ticks = 0;
+                nextReport = now + 1_000_000_000L;
+            }
+            long sleep = tickNanos - (System.nanoTime() - start);
+            if (sleep > 0) {
+                Thread.sleep(sleep / 1_000_000, (int) (sleep % 1_000_000));
+            }
+        }
+
+        generator.stop();
+        touchManager.disconnect();
+        System.out.println("TouchStorm: sent " + generator.getEventsSent() + " changes in "
+                + generator.getFramesSent() + " bundles (" + generator.getFramesDropped() + " dropped), delivered "
+                + touchManager.getChangesDelivered() + " changes in " + touchManager.getFramesDelivered() + " frames");
+    }
+
+    /**
+     * Passes frames to the engine and measures how long it takes with them
+     */
+    private static final class TimedListener implements TouchListener {
+
+        private final TouchListener target;
+        private volatile long nanos;
+        private volatile long frames;
+        private volatile int largestFrame;
+
+        TimedListener(TouchListener target) {
+            this.target = target;
+        }
+
+        @Override
+        public void onTouchFrame(TouchFrame frame) {
+            long start = System.nanoTime();
+            target.onTouchFrame(frame);
+            nanos += System.nanoTime() - start;
+            frames++;
+            if (frame.size() > largestFrame) {
+                largestFrame = frame.size();
+            }
+        }
+
+        @Override
+        public void onTouchDown(TouchPoint touch) {
+            target.onTouchDown(touch);
+        }
+
+        @Override
+        public void onTouchMove(TouchPoint touch) {
+            target.onTouchMove(touch);
+        }
+
+        @Override
+        public void onTouchUp(TouchPoint touch) {
+            target.onTouchUp(touch);
+        }
+
+        // Read and reset once a second by the tick thread (approximate: a frame ending in between can be missed)
+
+        long takeNanos() {
+            long n = nanos;
+            nanos = 0;
+            return n;
+        }
+
+        long takeFrames() {
+            long n = frames;
+            frames = 0;
+            return n;
+        }
+
+        int takeLargestFrame() {
+            int n = largestFrame;
+            largestFrame = 0;
+            return n;
+        }
+    }
+}
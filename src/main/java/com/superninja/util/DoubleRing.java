@@ -0,0 +1,88 @@
+package com.superninja.util;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity ring of doubles: the newest values, the oldest dropped
+ * as new ones arrive. Keeps a running sum for an O(1) mean.
+ * Not thread-safe.
+ */
+public final class DoubleRing {
+
+    private final double[] values;
+    private int next;
+    private int size;
+    private double sum;
+
+    public DoubleRing(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.values = new double[capacity];
+    }
+
+    /**
+     * Add a value, dropping the oldest if full
+     */
+    public void add(double value) {
+        if (size == values.length) {
+            sum -= values[next];
+        } else {
+            size++;
+        }
+        values[next] = value;
+        sum += value;
+        next = next + 1 == values.length ? 0 : next + 1;
+    }
+
+    /**
+     * @param i 0 = oldest, size() - 1 = newest
+     */
+    public double get(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index " + i + ", size " + size);
+        }
+        int index = next - size + i;
+        return values[index < 0 ? index + values.length : index];
+    }
+
+    /** Newest value (0 if empty) */
+    public double last() {
+        return size == 0 ? 0 : values[next == 0 ? values.length - 1 : next - 1];
+    }
+
+    /** Mean of the held values (0 if empty) */
+    public double mean() {
+        return size == 0 ? 0 : sum / size;
+    }
+
+    /** Largest held value (0 if empty) */
+    public double max() {
+        if (size == 0) return 0;
+        // Until full the values fill 0..size-1, after that the whole array
+        double max = values[0];
+        for (int i = 1; i < size; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0);
+        next = 0;
+        size = 0;
+        sum = 0;
+    }
+}
@@ -0,0 +1,61 @@
+package com.superninja.util;
+
+import java.util.Arrays;
+
+/**
+ * A double for every constant of an enum, held in a double[] indexed by
+ * ordinal: the primitive counterpart of EnumMap&lt;E, Double&gt;. Every key
+ * is always present (0 until set). The *At methods take ordinals for
+ * loops over all keys.
+ * Not thread-safe.
+ */
+public final class EnumDoubleMap<E extends Enum<E>> {
+
+    private final E[] keys;
+    private final double[] values;
+
+    public EnumDoubleMap(Class<E> type) {
+        this.keys = type.getEnumConstants();
+        this.values = new double[keys.length];
+    }
+
+    public double get(E key) {
+        return values[key.ordinal()];
+    }
+
+    public void put(E key, double value) {
+        values[key.ordinal()] = value;
+    }
+
+    /** Number of enum constants (every one has a value) */
+    public int size() {
+        return values.length;
+    }
+
+    /** The constant with this ordinal */
+    public E keyAt(int ordinal) {
+        return keys[ordinal];
+    }
+
+    public double getAt(int ordinal) {
+        return values[ordinal];
+    }
+
+    public void putAt(int ordinal, double value) {
+        values[ordinal] = value;
+    }
+
+    /**
+     * Take over another map's values (same enum)
+     */
+    public void copyFrom(EnumDoubleMap<E> other) {
+        System.arraycopy(other.values, 0, values, 0, values.length);
+    }
+
+    /**
+     * Set every value to 0
+     */
+    public void clear() {
+        Arrays.fill(values, 0);
+    }
+}
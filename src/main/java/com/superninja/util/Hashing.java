@@ -0,0 +1,30 @@
+package com.superninja.util;
+
+/**
+ * Shared hashing and sizing for the open-addressed maps
+ */
+final class Hashing {
+
+    private static final int MIN_CAPACITY = 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Hashing() {}
+
+    /**
+     * Spread a long key over the int range (Fibonacci multiply, then fold),
+     * so sequential session ids do not cluster
+     */
+    static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Power-of-two table size that holds the given entries at most half full
+     */
+    static int tableSize(int expectedSize) {
+        int needed = Math.max(MIN_CAPACITY, expectedSize * 2);
+        if (needed >= MAX_CAPACITY) return MAX_CAPACITY;
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
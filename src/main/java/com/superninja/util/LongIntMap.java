@@ -0,0 +1,160 @@
+package com.superninja.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressed long-to-int hash map (linear probing, backward-shift
+ * deletion). Keys and values live in primitive arrays, so lookups and
+ * updates never box and only growing allocates.
+ * Absent keys read as the missing value given at construction.
+ * Not thread-safe.
+ */
+public final class LongIntMap {
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size;
+    private final int missingValue;
+
+    /**
+     * @param expectedSize Entries to hold without growing
+     * @param missingValue Returned by get/put/remove for absent keys
+     */
+    public LongIntMap(int expectedSize, int missingValue) {
+        int capacity = Hashing.tableSize(expectedSize);
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.used = new boolean[capacity];
+        this.missingValue = missingValue;
+    }
+
+    /**
+     * @return The key's value, or the missing value
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = Hashing.hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return values[slot];
+        }
+        return missingValue;
+    }
+
+    public boolean containsKey(long key) {
+        int mask = keys.length - 1;
+        for (int slot = Hashing.hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The previous value, or the missing value
+     */
+    public int put(long key, int value) {
+        int mask = keys.length - 1;
+        int slot = Hashing.hash(key) & mask;
+        while (used[slot]) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return missingValue;
+    }
+
+    /**
+     * @return The removed value, or the missing value
+     */
+    public int remove(long key) {
+        int mask = keys.length - 1;
+        for (int slot = Hashing.hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+        }
+        return missingValue;
+    }
+
+    /**
+     * Make this map an exact copy of another
+     */
+    public void copyFrom(LongIntMap other) {
+        if (keys.length != other.keys.length) {
+            keys = new long[other.keys.length];
+            values = new int[other.values.length];
+            used = new boolean[other.used.length];
+        }
+        System.arraycopy(other.keys, 0, keys, 0, keys.length);
+        System.arraycopy(other.values, 0, values, 0, values.length);
+        System.arraycopy(other.used, 0, used, 0, used.length);
+        size = other.size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Close the gap left at a removed slot by moving later entries of its
+     * probe run back, so lookups never need tombstones
+     */
+    private void shiftBack(int gap) {
+        int mask = keys.length - 1;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (!used[slot]) break;
+            int home = Hashing.hash(keys[slot]) & mask;
+            // Move it if its home is not in (gap, slot] cyclically
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        used[gap] = false;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        int capacity = oldKeys.length * 2;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = Hashing.hash(oldKeys[i]) & mask;
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+            used[slot] = true;
+        }
+    }
+}